@@ -0,0 +1,3 @@
+#!/bin/sh
+# レプリカ (postgres-replica) からのレプリケーション接続を許可する
+echo "host replication all all scram-sha-256" >> "$PGDATA/pg_hba.conf"
@@ -0,0 +1,101 @@
+package com.yourcompany.benchmark;
+
+import ch.qos.logback.classic.Logger;
+import com.sqlcanvas.sharedkernel.shared.result.Result;
+import com.yourcompany.domain.model.gacha.GachaPool;
+import com.yourcompany.domain.model.gacha.GachaState;
+import com.yourcompany.domain.model.gacha.Rarity;
+import com.yourcompany.domain.model.inventory.InventoryItem;
+import com.yourcompany.domain.model.wallet.Gems;
+import com.yourcompany.domain.model.wallet.Wallet;
+import com.yourcompany.domain.shared.exception.GachaErrorCode;
+import com.yourcompany.domain.shared.exception.GachaException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 抽選1回ごとに呼ばれるドメインメソッドの割り当て量の計測
+ * gc プロファイラ (build.gradle の jmh 設定) の gc.alloc.rate.norm を見る。
+ * 成功経路は 0 B/op になることを期待する (Wallet.consume は成功時に MDC を設定せず、ログも DEBUG だけ)。
+ *
+ * ※ Spring を起動しないため logback-spring.xml は読まれない。既定の DEBUG のままだと
+ *   ログ出力自体の割り当てを計測してしまうため、本番と同じ INFO 未満を抑止した状態にする。
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class DomainResultBenchmark {
+
+    private final UUID userId = UUID.randomUUID();
+    private GachaPool pool;
+    private Wallet wallet;
+    private InventoryItem inventory;
+    private GachaState state;
+    private Gems gems;
+
+    @Setup(Level.Trial)
+    public void setUpTrial() {
+        ((Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME)).setLevel(ch.qos.logback.classic.Level.WARN);
+        pool = GachaPool.restore(UUID.randomUUID(), "benchmark",
+                Instant.parse("2026-01-01T00:00:00Z"), Instant.parse("2027-01-01T00:00:00Z"), 300, 90);
+        gems = Gems.of(1_000).unwrap();
+    }
+
+    // 1回の計測 (1秒) で残高・所持上限に達しないよう、イテレーションごとに作り直す
+    @Setup(Level.Iteration)
+    public void setUpIteration() {
+        wallet = Wallet.restore(userId, Wallet.MAX_STONES, Wallet.MAX_STONES, 0L);
+        inventory = InventoryItem.restore(userId, UUID.randomUUID(), 0, 0L);
+        state = GachaState.create(userId, pool.getId());
+    }
+
+    @Benchmark
+    public Result<Wallet> walletConsume() {
+        return wallet.consume(1);
+    }
+
+    @Benchmark
+    public Result<Wallet> walletConsumeInsufficient() {
+        return Wallet.create(userId).consume(1);
+    }
+
+    @Benchmark
+    public Result<InventoryItem> inventoryAddQuantity() {
+        return inventory.addQuantity(1, Integer.MAX_VALUE);
+    }
+
+    @Benchmark
+    public Result<GachaState> gachaStateUpdate() {
+        return state.updateState(Rarity.RARE, pool);
+    }
+
+    @Benchmark
+    public Result<Gems> gemsAddZero() {
+        return gems.add(0);
+    }
+
+    @Benchmark
+    public Result<Gems> gemsSubtractInsufficient() {
+        return gems.subtract(Integer.MAX_VALUE);
+    }
+
+    @Benchmark
+    public GachaException expectedBusinessException() {
+        return new GachaException(GachaErrorCode.INSUFFICIENT_BALANCE);
+    }
+}
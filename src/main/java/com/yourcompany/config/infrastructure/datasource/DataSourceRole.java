@@ -0,0 +1,9 @@
+package com.yourcompany.config.infrastructure.datasource;
+
+/**
+ * ルーティング先のデータソース種別
+ */
+public enum DataSourceRole {
+    PRIMARY, // 書き込み・ロックを伴う処理 (ガチャ実行、認証)
+    REPLICA  // 読み取り専用トランザクション (履歴参照など)
+}
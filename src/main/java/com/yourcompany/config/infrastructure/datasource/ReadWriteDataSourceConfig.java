@@ -0,0 +1,73 @@
+package com.yourcompany.config.infrastructure.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * 読み書き分離の DataSource 構成 (gacha.datasource.replica.enabled=true のときのみ有効)
+ * プライマリは spring.datasource.*、レプリカは gacha.datasource.replica.* で設定する。
+ * 接続プールを分けることで、履歴参照のポーリングがガチャ実行の接続を奪わないようにする。
+ */
+@Configuration
+@ConditionalOnProperty(name = "gacha.datasource.replica.enabled", havingValue = "true")
+public class ReadWriteDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName("primary-pool");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("gacha.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(
+            @Value("${gacha.datasource.replica.url}") String url,
+            @Value("${gacha.datasource.replica.username}") String username,
+            @Value("${gacha.datasource.replica.password}") String password
+    ) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        dataSource.setPoolName("replica-pool");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            @Qualifier("primaryDataSource") DataSource primary,
+            @Qualifier("replicaDataSource") DataSource replica,
+            ReplicaLagGuard lagGuard
+    ) {
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(lagGuard);
+        routing.setTargetDataSources(Map.of(
+                DataSourceRole.PRIMARY, primary,
+                DataSourceRole.REPLICA, replica
+        ));
+        routing.setDefaultTargetDataSource(primary);
+        routing.afterPropertiesSet();
+
+        // 実際の接続取得を最初のSQL実行まで遅らせ、readOnly フラグ確定後にルーティングさせる
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+}
@@ -0,0 +1,37 @@
+package com.yourcompany.config.infrastructure.datasource;
+
+import com.yourcompany.security.CustomUserDetails;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.UUID;
+
+/**
+ * 読み書き分離のルーティングデータソース
+ * readOnly トランザクションはレプリカへ、それ以外 (ガチャ実行・認証) はプライマリへ振り分ける。
+ * レプリカの遅延が大きい間と、直近に書き込んだユーザーの読み取りはプライマリに向ける (判定は ReplicaLagGuard)。
+ * ※ トランザクションの readOnly フラグは接続取得より後に確定するため、
+ *    必ず LazyConnectionDataSourceProxy でラップして使うこと
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    private final ReplicaLagGuard lagGuard;
+
+    public ReadWriteRoutingDataSource(ReplicaLagGuard lagGuard) {
+        this.lagGuard = lagGuard;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return DataSourceRole.PRIMARY;
+        }
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        UUID userId = auth != null && auth.getPrincipal() instanceof CustomUserDetails userDetails
+                ? userDetails.getUser().getId()
+                : null;
+        return lagGuard.routeRead(userId);
+    }
+}
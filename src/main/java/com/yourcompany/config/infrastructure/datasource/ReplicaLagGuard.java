@@ -0,0 +1,146 @@
+package com.yourcompany.config.infrastructure.datasource;
+
+import com.yourcompany.domain.model.gacha.event.GachaDrawnEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.sql.DataSource;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * レプリカ遅延対策
+ * 責務：
+ * 1. レプリカの遅延 (未適用の WAL がある場合は最後に適用したトランザクションからの経過時間) を定期的に測る
+ * 2. 遅延が上限を超えた・測れない間は、読み取りをすべてプライマリに向ける
+ * 3. 直近に書き込みを行ったユーザーの読み取りを、レプリカが追いつくまで (遅延と固定時間の長い方) プライマリに固定する
+ *
+ * 測定値は最後に測った時点の値に経過時間を足したものを上限として使う (測定が止まると自然にプライマリへ寄る)。
+ * 書き込みの記録はノードごとのメモリにあるため、他のノードで書き込んだ直後の読み取りは遅延の分だけ古い場合がある
+ * (遅延が小さい間だけレプリカを使うことで、その幅を max-lag-ms 以内に抑える)。
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "gacha.datasource.replica.enabled", havingValue = "true")
+public class ReplicaLagGuard {
+
+    // 保持するユーザー数の上限 (超えた場合は期限切れのものを掃除する)
+    private static final int MAX_TRACKED_USERS = 100_000;
+
+    // 測定前・測定失敗時の遅延 (レプリカを使わない)
+    static final long UNKNOWN_LAG = Long.MAX_VALUE;
+
+    // レプリカ上で遅延を測る (未適用の WAL がなければ 0。レプリカでない場合も 0)
+    private static final String LAG_QUERY = """
+            SELECT CASE
+                WHEN NOT pg_is_in_recovery() THEN 0
+                WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                ELSE COALESCE(EXTRACT(EPOCH FROM (clock_timestamp() - pg_last_xact_replay_timestamp())) * 1000, -1)
+            END::bigint
+            """;
+
+    private final JdbcTemplate replicaJdbcTemplate;
+    private final long pinWindowMillis;
+    private final long maxLagMillis;
+
+    // userId -> 書き込んだ時刻 (エポックミリ秒)
+    private final ConcurrentHashMap<UUID, Long> writtenAt = new ConcurrentHashMap<>();
+
+    private volatile long measuredLagMillis = UNKNOWN_LAG;
+    private volatile long measuredAtMillis;
+
+    public ReplicaLagGuard(@Qualifier("replicaDataSource") DataSource replicaDataSource,
+                           MeterRegistry meterRegistry,
+                           @Value("${gacha.datasource.replica.pin-window-ms:5000}") long pinWindowMillis,
+                           @Value("${gacha.datasource.replica.max-lag-ms:3000}") long maxLagMillis) {
+        this.replicaJdbcTemplate = new JdbcTemplate(replicaDataSource);
+        this.pinWindowMillis = pinWindowMillis;
+        this.maxLagMillis = maxLagMillis;
+        Gauge.builder("gacha.datasource.replica.lag", this, guard -> guard.currentLag(System.currentTimeMillis()))
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * ガチャ確定後にユーザーをプライマリへ固定する
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onGachaDrawn(GachaDrawnEvent event) {
+        markWritten(event.userId());
+    }
+
+    public void markWritten(UUID userId) {
+        if (writtenAt.size() >= MAX_TRACKED_USERS) {
+            evictExpired();
+        }
+        writtenAt.put(userId, System.currentTimeMillis());
+    }
+
+    /**
+     * readOnly トランザクションの振り分け先
+     *
+     * @param userId 認証済みユーザー (不明な場合は null)
+     */
+    public DataSourceRole routeRead(UUID userId) {
+        long now = System.currentTimeMillis();
+        Long lastWrite = userId != null ? writtenAt.get(userId) : null;
+        return route(lastWrite, now, currentLag(now), pinWindowMillis, maxLagMillis);
+    }
+
+    /**
+     * 振り分けの判定 (状態を持たない)
+     *
+     * @param lastWriteAt このノードで記録したユーザーの最終書き込み時刻 (なければ null)
+     * @param lag         レプリカの遅延の上限の見積もり (UNKNOWN_LAG は測れていない)
+     */
+    static DataSourceRole route(Long lastWriteAt, long now, long lag, long pinWindowMillis, long maxLagMillis) {
+        if (lag > maxLagMillis) {
+            return DataSourceRole.PRIMARY;
+        }
+        if (lastWriteAt != null && now - lastWriteAt <= Math.max(pinWindowMillis, lag)) {
+            return DataSourceRole.PRIMARY;
+        }
+        return DataSourceRole.REPLICA;
+    }
+
+    /**
+     * 最後の測定値に、測定からの経過時間を足した遅延の上限
+     */
+    long currentLag(long now) {
+        long lag = measuredLagMillis;
+        if (lag == UNKNOWN_LAG) {
+            return UNKNOWN_LAG;
+        }
+        return lag + Math.max(0, now - measuredAtMillis);
+    }
+
+    @Scheduled(fixedDelayString = "${gacha.datasource.replica.lag-probe-interval-ms:1000}")
+    public void probeLag() {
+        try {
+            Long lag = replicaJdbcTemplate.queryForObject(LAG_QUERY, Long.class);
+            measuredAtMillis = System.currentTimeMillis();
+            measuredLagMillis = lag == null || lag < 0 ? UNKNOWN_LAG : lag;
+        } catch (RuntimeException e) {
+            if (measuredLagMillis != UNKNOWN_LAG) {
+                log.warn("Failed to measure replica lag. Routing reads to primary.", e);
+            }
+            measuredLagMillis = UNKNOWN_LAG;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${gacha.datasource.replica.pin-window-ms:5000}")
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        long keep = Math.max(pinWindowMillis, maxLagMillis);
+        writtenAt.entrySet().removeIf(entry -> now - entry.getValue() > keep);
+    }
+}
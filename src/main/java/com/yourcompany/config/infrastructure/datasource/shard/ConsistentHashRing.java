@@ -0,0 +1,114 @@
+package com.yourcompany.config.infrastructure.datasource.shard;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * userId → シャード名の consistent hashing (不変オブジェクト)
+ * 各シャードを仮想ノードとしてリング上に複数配置し、キーのハッシュ値から時計回りに最初のノードを所有者とする。
+ * シャードを1台追加したときに移動するユーザーは全体の約 1/(N+1) で、既存シャード間での移動は発生しない。
+ */
+public final class ConsistentHashRing {
+
+    private final int virtualNodes;
+    private final Set<String> shards;
+    // ハッシュ値の昇順に並んだ仮想ノードの位置と所有シャード
+    private final long[] points;
+    private final String[] owners;
+
+    private ConsistentHashRing(int virtualNodes, Set<String> shards) {
+        this.virtualNodes = virtualNodes;
+        this.shards = shards;
+
+        List<Node> nodes = new ArrayList<>(shards.size() * virtualNodes);
+        for (String shard : shards) {
+            for (int i = 0; i < virtualNodes; i++) {
+                nodes.add(new Node(hash(shard + "#" + i), shard));
+            }
+        }
+        // 位置が衝突した場合もシャード名順で決定的にする
+        nodes.sort((a, b) -> a.point() != b.point()
+                ? Long.compare(a.point(), b.point())
+                : a.shard().compareTo(b.shard()));
+
+        this.points = new long[nodes.size()];
+        this.owners = new String[nodes.size()];
+        for (int i = 0; i < nodes.size(); i++) {
+            points[i] = nodes.get(i).point();
+            owners[i] = nodes.get(i).shard();
+        }
+    }
+
+    public static ConsistentHashRing of(Collection<String> shards, int virtualNodes) {
+        if (shards.isEmpty()) {
+            throw new IllegalArgumentException("At least one shard is required");
+        }
+        if (virtualNodes <= 0) {
+            throw new IllegalArgumentException("virtualNodes must be positive: " + virtualNodes);
+        }
+        return new ConsistentHashRing(virtualNodes, Set.copyOf(shards));
+    }
+
+    /**
+     * シャードを追加したリングを返す (自身は変更しない)
+     */
+    public ConsistentHashRing withShard(String shard) {
+        if (shards.contains(shard)) {
+            throw new IllegalArgumentException("Shard already exists: " + shard);
+        }
+        Set<String> next = new LinkedHashSet<>(shards);
+        next.add(shard);
+        return new ConsistentHashRing(virtualNodes, Set.copyOf(next));
+    }
+
+    public String ownerOf(UUID userId) {
+        long key = hash(userId);
+        int index = Arrays.binarySearch(points, key);
+        if (index < 0) {
+            index = -index - 1;
+        }
+        // 最後のノードより後ろは先頭に巻き戻る
+        return owners[index == points.length ? 0 : index];
+    }
+
+    public Set<String> shards() {
+        return shards;
+    }
+
+    public boolean contains(String shard) {
+        return shards.contains(shard);
+    }
+
+    static long hash(UUID userId) {
+        return mix(userId.getMostSignificantBits() ^ Long.rotateLeft(userId.getLeastSignificantBits(), 32));
+    }
+
+    // FNV-1a (64bit) の後に finalizer をかけ、似た名前 ("shard-1#0", "shard-1#1") でも位置を散らす
+    static long hash(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b & 0xff;
+            h *= 0x100000001b3L;
+        }
+        return mix(h);
+    }
+
+    // MurmurHash3 の fmix64
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private record Node(long point, String shard) {
+    }
+}
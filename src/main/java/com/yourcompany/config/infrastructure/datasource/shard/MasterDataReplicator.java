@@ -0,0 +1,90 @@
+package com.yourcompany.config.infrastructure.datasource.shard;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * マスタ (items / gacha_pools / gacha_emissions) のシャードへの複製
+ * 正本はディレクトリシャードで、master_data_version が変わるたびに各シャードへ upsert する。
+ * 抽選はマスタキャッシュ (ディレクトリシャードから読み込む) を使うため、シャード側の複製は
+ * 所持レコード・ガチャ状態の外部キーを満たすためのもの。
+ * アイテム・プールは所持レコードから参照されている可能性があるため削除しない (排出設定のみ削除を反映する)。
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "gacha.shard.enabled", havingValue = "true")
+public class MasterDataReplicator {
+
+    private final ShardRouter router;
+    private final JdbcTemplate directory;
+    // シャード名 -> 複製済みのディレクトリ側の版数
+    private final Map<String, Long> replicatedVersions = new ConcurrentHashMap<>();
+
+    public MasterDataReplicator(ShardRouter router) {
+        this.router = router;
+        this.directory = new JdbcTemplate(router.dataSource(router.directoryShard()));
+    }
+
+    @Scheduled(fixedDelayString = "${gacha.shard.master-replication-interval-ms:5000}")
+    public void replicateChanged() {
+        long version = currentVersion();
+        for (String shard : router.shardNames()) {
+            if (shard.equals(router.directoryShard()) || Long.valueOf(version).equals(replicatedVersions.get(shard))) {
+                continue;
+            }
+            try {
+                replicate(shard);
+            } catch (RuntimeException e) {
+                log.warn("Master data replication failed. shard={}", shard, e);
+            }
+        }
+    }
+
+    /**
+     * 指定シャードへマスタを複製する (シャード追加時はユーザーの移動より先に呼ぶ)
+     */
+    public void replicate(String shard) {
+        replicate(shard, router.dataSource(shard));
+    }
+
+    /**
+     * ルーターに登録する前のシャードへ複製する
+     */
+    public synchronized void replicate(String shard, DataSource dataSource) {
+        long startedAt = System.nanoTime();
+        // データより先に版数を読む (複製中に更新されても、次回に必ず複製し直される)
+        long version = currentVersion();
+
+        JdbcTemplate target = new JdbcTemplate(dataSource);
+        new TransactionTemplate(new DataSourceTransactionManager(dataSource)).executeWithoutResult(status -> {
+            Object[] none = new Object[0];
+            int items = ShardRowCopier.copy(directory, target, "items", "TRUE", none, "id");
+            int pools = ShardRowCopier.copy(directory, target, "gacha_pools", "TRUE", none, "id");
+            int emissions = ShardRowCopier.copy(directory, target, "gacha_emissions", "TRUE", none, "id");
+
+            List<UUID> emissionIds = directory.queryForList("SELECT id FROM gacha_emissions", UUID.class);
+            int removed = target.update("DELETE FROM gacha_emissions WHERE id <> ALL (?)",
+                    (Object) emissionIds.toArray(UUID[]::new));
+
+            log.info("Master data replicated. shard={}, version={}, items={}, pools={}, emissions={}, removedEmissions={}, elapsedMs={}",
+                    shard, version, items, pools, emissions, removed, (System.nanoTime() - startedAt) / 1_000_000);
+        });
+        replicatedVersions.put(shard, version);
+    }
+
+    private long currentVersion() {
+        Long version = directory.queryForObject("SELECT version FROM master_data_version WHERE id = 1", Long.class);
+        return version != null ? version : 0L;
+    }
+}
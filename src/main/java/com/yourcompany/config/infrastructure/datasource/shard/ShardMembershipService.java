@@ -0,0 +1,83 @@
+package com.yourcompany.config.infrastructure.datasource.shard;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * シャードのオンライン追加
+ * 手順：接続 → スキーマ適用 → マスタ複製 → ディレクトリ DB へ登録 (再配置中) → 全インスタンスへ反映 → ユーザーの移動
+ *
+ * 登録は shard_ring_changed の通知で全インスタンスのリングに反映される (ShardRingSynchronizer)。
+ * 追加・再配置の開始はどのインスタンスから行ってもよく、移動は全インスタンスの反映を待ってから始まる。
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "gacha.shard.enabled", havingValue = "true")
+public class ShardMembershipService {
+
+    private final ShardRouter router;
+    private final ShardProperties properties;
+    private final MasterDataReplicator replicator;
+    private final UserShardRebalancer rebalancer;
+    private final ShardRingStore ringStore;
+    private final ShardRingSynchronizer synchronizer;
+
+    @Value("${gacha.shard.ring.liveness:30s}")
+    private Duration liveness;
+
+    /**
+     * @throws IllegalStateException    再配置中の場合
+     * @throws IllegalArgumentException 同名のシャードが登録済みの場合
+     */
+    public void join(String name, String url, String username, String password) {
+        if (router.rebalanceSources().isPresent()) {
+            throw new IllegalStateException("Another shard is being rebalanced");
+        }
+        if (router.shardNames().contains(name)) {
+            throw new IllegalArgumentException("Shard already exists: " + name);
+        }
+
+        // スキーマ適用とマスタ複製はこのインスタンスだけで行う (各インスタンスは反映時に自分の接続プールを作る)
+        try (HikariDataSource dataSource = ShardSchemaMigrator.createDataSource(
+                name, url, username, password, properties.getMaximumPoolSize())) {
+            ShardSchemaMigrator.migrate(dataSource);
+            replicator.replicate(name, dataSource);
+        }
+        ringStore.addJoining(name, url, username, password);
+        synchronizer.sync();
+    }
+
+    public boolean startRebalance() {
+        return rebalancer.start();
+    }
+
+    public UserShardRebalancer.Status rebalanceStatus() {
+        return rebalancer.status();
+    }
+
+    public List<String> shardNames() {
+        return router.shardNames();
+    }
+
+    /**
+     * このインスタンスが反映したリングの版数
+     */
+    public long ringVersion() {
+        return synchronizer.appliedVersion();
+    }
+
+    /**
+     * 最新のリングをまだ反映していない稼働中のインスタンス
+     */
+    public List<String> unacknowledgedNodes() {
+        return ringStore.unacknowledgedNodes(ringStore.currentVersion(), liveness);
+    }
+}
@@ -0,0 +1,41 @@
+package com.yourcompany.config.infrastructure.datasource.shard;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ユーザーシャーディングの設定 (gacha.shard.*)
+ * ディレクトリシャードの接続先は spring.datasource.* を使う。
+ * nodes には起動時から使うシャードを書く。管理 API で追加したシャードはディレクトリ DB (shard_ring_members) から読み込まれる。
+ */
+@Getter
+@Setter
+@ConfigurationProperties("gacha.shard")
+public class ShardProperties {
+
+    private boolean enabled;
+
+    // ディレクトリシャード (spring.datasource) のシャード名
+    private String directoryName = "main";
+
+    // 1シャードあたりの仮想ノード数 (多いほど偏りが小さい)
+    private int virtualNodes = 256;
+
+    // 1シャードあたりの接続プール上限
+    private int maximumPoolSize = 20;
+
+    private List<Node> nodes = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class Node {
+        private String name;
+        private String url;
+        private String username;
+        private String password;
+    }
+}
@@ -0,0 +1,121 @@
+package com.yourcompany.config.infrastructure.datasource.shard;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * シャードリングの構成の永続化 (ディレクトリシャードの shard_ring_* テーブル)
+ * メンバーの変更はトリガーが版数を加算して shard_ring_changed を通知する (V16)。
+ */
+@Component
+@ConditionalOnProperty(name = "gacha.shard.enabled", havingValue = "true")
+public class ShardRingStore {
+
+    private static final RowMapper<Member> MEMBER_MAPPER = (rs, rowNum) -> new Member(
+            rs.getString("name"),
+            rs.getString("url"),
+            rs.getString("username"),
+            rs.getString("password"),
+            "JOINING".equals(rs.getString("state"))
+    );
+
+    private final JdbcTemplate directory;
+    private final TransactionTemplate transactionTemplate;
+
+    public ShardRingStore(ShardRouter router) {
+        DataSource dataSource = router.dataSource(router.directoryShard());
+        this.directory = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    /**
+     * 現在の構成
+     * 版数を先に読むため、読み取り中に変更されても古い版数として報告される (次の通知で読み直す)。
+     */
+    public Ring load() {
+        long version = currentVersion();
+        List<Member> members = directory.query(
+                "SELECT name, url, username, password, state FROM shard_ring_members ORDER BY name", MEMBER_MAPPER);
+        return new Ring(version, members);
+    }
+
+    public long currentVersion() {
+        Long version = directory.queryForObject("SELECT version FROM shard_ring_version WHERE id = 1", Long.class);
+        return version != null ? version : 0L;
+    }
+
+    /**
+     * 再配置中のシャードとして登録する
+     * 版数の行をロックして、複数インスタンスからの同時追加を直列化する。
+     *
+     * @throws IllegalStateException    他のシャードが再配置中の場合
+     * @throws IllegalArgumentException 同名のシャードが登録済みの場合
+     */
+    public void addJoining(String name, String url, String username, String password) {
+        transactionTemplate.executeWithoutResult(status -> {
+            directory.queryForObject("SELECT version FROM shard_ring_version WHERE id = 1 FOR UPDATE", Long.class);
+            Boolean joining = directory.queryForObject(
+                    "SELECT EXISTS (SELECT 1 FROM shard_ring_members WHERE state = 'JOINING')", Boolean.class);
+            if (Boolean.TRUE.equals(joining)) {
+                throw new IllegalStateException("Another shard is being rebalanced");
+            }
+            Boolean exists = directory.queryForObject(
+                    "SELECT EXISTS (SELECT 1 FROM shard_ring_members WHERE name = ?)", Boolean.class, name);
+            if (Boolean.TRUE.equals(exists)) {
+                throw new IllegalArgumentException("Shard already exists: " + name);
+            }
+            directory.update(
+                    "INSERT INTO shard_ring_members (name, url, username, password, state) VALUES (?, ?, ?, ?, 'JOINING')",
+                    name, url, username, password);
+        });
+    }
+
+    /**
+     * 再配置の完了 (再配置中のシャードをリングの正式なメンバーにする)
+     *
+     * @return 更新した件数
+     */
+    public int activateJoining() {
+        return directory.update(
+                "UPDATE shard_ring_members SET state = 'ACTIVE', updated_at = CURRENT_TIMESTAMP WHERE state = 'JOINING'");
+    }
+
+    /**
+     * このインスタンスが反映したリングの版数を報告する (生存確認を兼ねる)
+     */
+    public void acknowledge(String nodeId, long version) {
+        directory.update(
+                "INSERT INTO shard_ring_acks (node_id, ring_version, reported_at) VALUES (?, ?, CURRENT_TIMESTAMP)" +
+                        " ON CONFLICT (node_id) DO UPDATE SET ring_version = EXCLUDED.ring_version, reported_at = EXCLUDED.reported_at",
+                nodeId, version);
+    }
+
+    /**
+     * 指定した版数をまだ反映していない稼働中のインスタンス
+     * liveness より長く報告がないインスタンスは停止したものとみなして除く (時刻は DB の時計で比べる)。
+     */
+    public List<String> unacknowledgedNodes(long version, Duration liveness) {
+        return directory.queryForList(
+                "SELECT node_id FROM shard_ring_acks" +
+                        " WHERE ring_version < ? AND reported_at >= CURRENT_TIMESTAMP - ? * INTERVAL '1 millisecond'" +
+                        " ORDER BY node_id",
+                String.class, version, liveness.toMillis());
+    }
+
+    /**
+     * @param joining true の場合は再配置中 (移動元の判定に前のリングも使う)
+     */
+    public record Member(String name, String url, String username, String password, boolean joining) {
+    }
+
+    public record Ring(long version, List<Member> members) {
+    }
+}
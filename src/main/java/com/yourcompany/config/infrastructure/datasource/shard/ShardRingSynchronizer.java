@@ -0,0 +1,209 @@
+package com.yourcompany.config.infrastructure.datasource.shard;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * シャードリングの構成の全インスタンスへの反映
+ * 責務：
+ * 1. 起動時と shard_ring_changed の通知 (LISTEN/NOTIFY) ごとに、ディレクトリ DB の構成をこのインスタンスの ShardRouter に反映する
+ * 2. 反映した版数を定期的に報告する (UserShardRebalancer は全インスタンスの報告を待ってから移動を始める)
+ *
+ * 接続が切れている間の通知は失われるため、定期的な報告のたびにも構成を読み直す。
+ * 構成はメンバーの追加と再配置の完了だけを反映する (シャードの削除は扱わない)。
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "gacha.shard.enabled", havingValue = "true")
+public class ShardRingSynchronizer implements SmartLifecycle {
+
+    static final String CHANNEL = "shard_ring_changed";
+
+    private static final Duration INITIAL_BACKOFF = Duration.ofMillis(500);
+    private static final Duration MAX_BACKOFF = Duration.ofSeconds(30);
+
+    private final ShardRouter router;
+    private final ShardRingStore store;
+    private final ShardProperties properties;
+    private final DataSourceProperties dataSourceProperties;
+
+    // インスタンスの識別子 (pid@host)
+    private final String nodeId = ManagementFactory.getRuntimeMXBean().getName();
+
+    @Value("${gacha.shard.ring.poll-timeout-ms:500}")
+    private int pollTimeoutMillis;
+
+    private volatile long appliedVersion = -1;
+    private volatile boolean running;
+    private volatile Thread worker;
+
+    public ShardRingSynchronizer(ShardRouter router,
+                                 ShardRingStore store,
+                                 ShardProperties properties,
+                                 DataSourceProperties dataSourceProperties) {
+        this.router = router;
+        this.store = store;
+        this.properties = properties;
+        this.dataSourceProperties = dataSourceProperties;
+    }
+
+    @Override
+    public void start() {
+        // 受付開始前に、稼働中に追加されたシャードをリングに組み込む
+        sync();
+        running = true;
+        worker = Thread.ofPlatform().daemon().name("shard-ring-listener").start(this::listenLoop);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Thread current = worker;
+        if (current != null) {
+            current.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    public String nodeId() {
+        return nodeId;
+    }
+
+    public long appliedVersion() {
+        return appliedVersion;
+    }
+
+    @Scheduled(fixedDelayString = "${gacha.shard.ring.heartbeat-interval-ms:5000}")
+    public void heartbeat() {
+        try {
+            sync();
+        } catch (RuntimeException e) {
+            log.warn("Shard ring sync failed. appliedVersion={}", appliedVersion, e);
+        }
+    }
+
+    /**
+     * ディレクトリ DB の構成を反映し、反映した版数を報告する
+     * 反映に失敗したシャードがある場合は報告しない (再配置はこのインスタンスを待ち続ける)。
+     *
+     * @return 反映した版数
+     */
+    public synchronized long sync() {
+        ShardRingStore.Ring ring = store.load();
+        Set<String> known = new HashSet<>(router.shardNames());
+
+        // 再配置中だったシャードが正式なメンバーになっていれば完了させる
+        boolean joiningKnown = ring.members().stream()
+                .anyMatch(member -> member.joining() && known.contains(member.name()));
+        if (router.rebalanceSources().isPresent() && !joiningKnown) {
+            router.completeRebalance();
+        }
+
+        for (ShardRingStore.Member member : ring.members()) {
+            if (!known.contains(member.name())) {
+                attach(member);
+            }
+        }
+
+        store.acknowledge(nodeId, ring.version());
+        if (ring.version() != appliedVersion) {
+            log.info("Shard ring applied. version={}, shards={}, rebalancing={}",
+                    ring.version(), router.shardNames(), router.rebalanceSources().isPresent());
+        }
+        appliedVersion = ring.version();
+        return ring.version();
+    }
+
+    private void attach(ShardRingStore.Member member) {
+        HikariDataSource dataSource = ShardSchemaMigrator.createDataSource(
+                member.name(), member.url(), member.username(), member.password(), properties.getMaximumPoolSize());
+        try {
+            // 追加したインスタンスで適用済みのため、通常は検証だけで終わる
+            ShardSchemaMigrator.migrate(dataSource);
+            if (member.joining()) {
+                router.beginJoin(member.name(), dataSource);
+            } else {
+                router.addConfiguredShard(member.name(), dataSource);
+            }
+        } catch (RuntimeException e) {
+            dataSource.close();
+            throw e;
+        }
+    }
+
+    private void listenLoop() {
+        Duration backoff = INITIAL_BACKOFF;
+        while (running) {
+            try (Connection connection = connect()) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                // 切断中の通知は失われているため、LISTEN 開始後に読み直す
+                sync();
+                backoff = INITIAL_BACKOFF;
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(pollTimeoutMillis);
+                    if (notifications != null && notifications.length > 0 && isNewer(notifications)) {
+                        sync();
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Shard ring listener disconnected. Reconnecting in {} ms", backoff.toMillis(), e);
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                backoff = backoff.multipliedBy(2).compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : backoff.multipliedBy(2);
+            }
+        }
+    }
+
+    private boolean isNewer(PGNotification[] notifications) {
+        for (PGNotification notification : notifications) {
+            try {
+                if (Long.parseLong(notification.getParameter()) > appliedVersion) {
+                    return true;
+                }
+            } catch (NumberFormatException e) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Connection connect() throws SQLException {
+        // 接続プールの接続を占有しないよう、ディレクトリシャードへ専用の接続を張る
+        return DriverManager.getConnection(
+                dataSourceProperties.determineUrl(),
+                dataSourceProperties.determineUsername(),
+                dataSourceProperties.determinePassword());
+    }
+}
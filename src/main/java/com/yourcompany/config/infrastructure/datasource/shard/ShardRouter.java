@@ -0,0 +1,214 @@
+package com.yourcompany.config.infrastructure.datasource.shard;
+
+import com.yourcompany.domain.model.user.User;
+import com.yourcompany.security.CustomUserDetails;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ユーザー単位のシャード振り分け
+ * 責務：
+ * 1. 現在のスレッドの接続先シャードを決める (明示指定 → 認証ユーザー → ディレクトリシャード)
+ * 2. シャードのオンライン追加と、再配置中のルーティング
+ *
+ * ディレクトリシャード (spring.datasource) は users・マスタの正本・一括付与などユーザーに紐づかないデータを持ち、
+ * 同時にリングの一員としてユーザーデータも持つ。マスタは MasterDataReplicator が全シャードへ複製する。
+ *
+ * 再配置中 (previousRing != null) は、移動対象のユーザーについて移動先にウォレットがあるかを確認し、
+ * あれば移動先、なければ移動元へ振り分ける。移動はウォレットのロック中に1ユーザーずつ行うため、
+ * どのインスタンスから見ても同じユーザーのデータが2か所で更新されることはない。
+ */
+@Slf4j
+public class ShardRouter {
+
+    // 移動済みと確認できたユーザーのキャッシュ上限 (超えたら捨てて確認し直す)
+    private static final int MAX_MIGRATED_CACHE = 200_000;
+
+    private final String directoryShard;
+    private final Map<String, DataSource> dataSources = new ConcurrentHashMap<>();
+    private final Map<String, JdbcTemplate> probes = new ConcurrentHashMap<>();
+    private final Set<UUID> migratedUsers = ConcurrentHashMap.newKeySet();
+
+    private volatile Placement placement;
+
+    public ShardRouter(String directoryShard, DataSource directory, int virtualNodes) {
+        this.directoryShard = directoryShard;
+        putDataSource(directoryShard, directory);
+        this.placement = new Placement(ConsistentHashRing.of(List.of(directoryShard), virtualNodes), null);
+    }
+
+    /**
+     * 起動時の構成 (再配置済みのシャード) を登録する
+     */
+    public synchronized void addConfiguredShard(String shard, DataSource dataSource) {
+        Placement current = placement;
+        ConsistentHashRing ring = current.ring().withShard(shard);
+        putDataSource(shard, dataSource);
+        placement = new Placement(ring, current.previousRing());
+    }
+
+    /**
+     * 稼働中にシャードを追加し、再配置モードに入る (ユーザーの移動は UserShardRebalancer が行う)
+     */
+    public synchronized void beginJoin(String shard, DataSource dataSource) {
+        Placement current = placement;
+        if (current.previousRing() != null) {
+            throw new IllegalStateException("Another shard is being rebalanced");
+        }
+        if (dataSources.containsKey(shard)) {
+            throw new IllegalArgumentException("Shard already exists: " + shard);
+        }
+        putDataSource(shard, dataSource);
+        placement = new Placement(current.ring().withShard(shard), current.ring());
+        log.info("Shard joined. shard={}, shards={}", shard, placement.ring().shards());
+    }
+
+    /**
+     * 再配置の完了 (以降はリングだけで振り分ける)
+     */
+    public synchronized void completeRebalance() {
+        placement = new Placement(placement.ring(), null);
+        migratedUsers.clear();
+        log.info("Shard rebalance completed. shards={}", placement.ring().shards());
+    }
+
+    /**
+     * 現在のスレッドの接続先
+     */
+    public DataSource currentDataSource() {
+        return dataSource(currentShard());
+    }
+
+    public String currentShard() {
+        UserShardContext.Scope scope = UserShardContext.current();
+        if (scope != null) {
+            return scope.shard() != null ? scope.shard() : shardOf(scope.userId());
+        }
+        return authenticatedUserId().map(this::shardOf).orElse(directoryShard);
+    }
+
+    /**
+     * 既存ユーザーの現在の所属シャード (再配置中は移動済みかどうかで移動元・移動先を選ぶ)
+     */
+    public String shardOf(UUID userId) {
+        Placement current = placement;
+        String owner = current.ring().ownerOf(userId);
+        if (current.previousRing() == null) {
+            return owner;
+        }
+        String previousOwner = current.previousRing().ownerOf(userId);
+        if (previousOwner.equals(owner) || migratedUsers.contains(userId)) {
+            return owner;
+        }
+        if (walletExists(owner, userId)) {
+            if (migratedUsers.size() >= MAX_MIGRATED_CACHE) {
+                migratedUsers.clear();
+            }
+            migratedUsers.add(userId);
+            return owner;
+        }
+        return previousOwner;
+    }
+
+    /**
+     * 新規ユーザーの配置先 (再配置中でも新しいリングに従う)
+     */
+    public String placementOf(UUID userId) {
+        return placement.ring().ownerOf(userId);
+    }
+
+    /**
+     * 再配置で移動すべきユーザーか (移動先のシャード名。移動不要なら空)
+     */
+    public Optional<String> relocationOf(UUID userId, String currentShard) {
+        String owner = placement.ring().ownerOf(userId);
+        return owner.equals(currentShard) ? Optional.empty() : Optional.of(owner);
+    }
+
+    void markMigrated(UUID userId) {
+        migratedUsers.add(userId);
+    }
+
+    public DataSource dataSource(String shard) {
+        DataSource dataSource = dataSources.get(shard);
+        if (dataSource == null) {
+            throw new IllegalStateException("Unknown shard: " + shard);
+        }
+        return dataSource;
+    }
+
+    public String directoryShard() {
+        return directoryShard;
+    }
+
+    /**
+     * 登録済みの全シャード (ディレクトリシャードが先頭)
+     */
+    public List<String> shardNames() {
+        List<String> names = new ArrayList<>();
+        names.add(directoryShard);
+        dataSources.keySet().stream()
+                .filter(name -> !name.equals(directoryShard))
+                .sorted()
+                .forEach(names::add);
+        return names;
+    }
+
+    /**
+     * 再配置中であれば、移動元として走査すべきシャード
+     */
+    public Optional<Set<String>> rebalanceSources() {
+        ConsistentHashRing previous = placement.previousRing();
+        return previous == null ? Optional.empty() : Optional.of(previous.shards());
+    }
+
+    /**
+     * シャード用に作成した接続プールを閉じる (ディレクトリシャードは Spring が管理する)
+     */
+    public void close() {
+        dataSources.forEach((shard, dataSource) -> {
+            if (!shard.equals(directoryShard) && dataSource instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    log.warn("Failed to close shard data source. shard={}", shard, e);
+                }
+            }
+        });
+    }
+
+    private boolean walletExists(String shard, UUID userId) {
+        Boolean exists = probes.get(shard).queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM wallets WHERE user_id = ?)", Boolean.class, userId);
+        return Boolean.TRUE.equals(exists);
+    }
+
+    private void putDataSource(String shard, DataSource dataSource) {
+        dataSources.put(shard, dataSource);
+        probes.put(shard, new JdbcTemplate(dataSource));
+    }
+
+    // 管理者はユーザーデータを持たない運用のため、ディレクトリシャードで処理する
+    private static Optional<UUID> authenticatedUserId() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.getPrincipal() instanceof CustomUserDetails userDetails
+                && userDetails.getUser().getRole() == User.Role.USER) {
+            return Optional.of(userDetails.getUser().getId());
+        }
+        return Optional.empty();
+    }
+
+    private record Placement(ConsistentHashRing ring, ConsistentHashRing previousRing) {
+    }
+}
@@ -0,0 +1,54 @@
+package com.yourcompany.config.infrastructure.datasource.shard;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * シャード間の行コピー (列はコピー元の SELECT * の結果から決める)
+ * 同じマイグレーションを適用したシャード同士でのみ使うこと。
+ */
+final class ShardRowCopier {
+
+    private ShardRowCopier() {
+    }
+
+    /**
+     * コピー元の条件に合う行をコピー先に書き込む
+     *
+     * @param conflictKey 指定した場合はその列で upsert する。null の場合は既存行を残す (ON CONFLICT DO NOTHING)
+     * @return コピー元から読んだ行数
+     */
+    static int copy(JdbcTemplate source, JdbcTemplate target, String table, String where, Object[] args, String conflictKey) {
+        List<Map<String, Object>> rows = source.queryForList("SELECT * FROM " + table + " WHERE " + where, args);
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        List<String> columns = List.copyOf(rows.getFirst().keySet());
+
+        String sql = "INSERT INTO " + table + " (" + String.join(", ", columns) + ")" +
+                " VALUES (" + columns.stream().map(column -> "?").collect(Collectors.joining(", ")) + ")" +
+                onConflict(columns, conflictKey);
+
+        List<Object[]> batch = new ArrayList<>(rows.size());
+        for (Map<String, Object> row : rows) {
+            batch.add(columns.stream().map(row::get).toArray());
+        }
+        target.batchUpdate(sql, batch);
+        return rows.size();
+    }
+
+    private static String onConflict(List<String> columns, String conflictKey) {
+        if (conflictKey == null) {
+            return " ON CONFLICT DO NOTHING";
+        }
+        String updates = columns.stream()
+                .filter(column -> !column.equalsIgnoreCase(conflictKey))
+                .map(column -> column + " = EXCLUDED." + column)
+                .collect(Collectors.joining(", "));
+        return " ON CONFLICT (" + conflictKey + ") DO UPDATE SET " + updates;
+    }
+}
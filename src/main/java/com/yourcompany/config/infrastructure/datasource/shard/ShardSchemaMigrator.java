@@ -0,0 +1,39 @@
+package com.yourcompany.config.infrastructure.datasource.shard;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.flywaydb.core.Flyway;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+
+import javax.sql.DataSource;
+
+/**
+ * シャードの接続プール作成とスキーマ適用
+ * ディレクトリシャードと同じマイグレーションに加え、シャード専用のスクリプト (db/shard) を適用する。
+ */
+final class ShardSchemaMigrator {
+
+    private static final String[] LOCATIONS = {"classpath:db/migration", "classpath:db/shard"};
+
+    private ShardSchemaMigrator() {
+    }
+
+    static HikariDataSource createDataSource(String name, String url, String username, String password, int maximumPoolSize) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        dataSource.setPoolName("shard-" + name + "-pool");
+        dataSource.setMaximumPoolSize(maximumPoolSize);
+        return dataSource;
+    }
+
+    static void migrate(DataSource dataSource) {
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations(LOCATIONS)
+                .load()
+                .migrate();
+    }
+}
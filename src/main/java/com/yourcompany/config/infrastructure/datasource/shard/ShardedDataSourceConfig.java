@@ -0,0 +1,66 @@
+package com.yourcompany.config.infrastructure.datasource.shard;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * ユーザーシャーディングの DataSource 構成 (gacha.shard.enabled=true のときのみ有効)
+ * wallets・user_items・user_gacha_states・gacha_transactions (と同じトランザクションで書く Outbox) は
+ * userId の consistent hashing で決まるシャードに置き、JPA / JdbcTemplate はルーティングデータソース経由で使う。
+ * 読み書き分離 (gacha.datasource.replica.enabled) とは併用できない。
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "gacha.shard.enabled", havingValue = "true")
+@EnableConfigurationProperties(ShardProperties.class)
+public class ShardedDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource directoryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName("directory-pool");
+        return dataSource;
+    }
+
+    @Bean
+    public ShardRouter shardRouter(
+            @Qualifier("directoryDataSource") DataSource directory,
+            ShardProperties properties,
+            @Value("${gacha.datasource.replica.enabled:false}") boolean replicaEnabled
+    ) {
+        if (replicaEnabled) {
+            throw new IllegalStateException("gacha.shard.enabled cannot be combined with gacha.datasource.replica.enabled");
+        }
+        ShardRouter router = new ShardRouter(properties.getDirectoryName(), directory, properties.getVirtualNodes());
+        for (ShardProperties.Node node : properties.getNodes()) {
+            HikariDataSource dataSource = ShardSchemaMigrator.createDataSource(
+                    node.getName(), node.getUrl(), node.getUsername(), node.getPassword(), properties.getMaximumPoolSize());
+            ShardSchemaMigrator.migrate(dataSource);
+            router.addConfiguredShard(node.getName(), dataSource);
+        }
+        log.info("User sharding enabled. shards={}", router.shardNames());
+        return router;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ShardRouter router) {
+        // 実際の接続取得を最初のSQL実行まで遅らせ、認証情報・UserShardContext からシャードを決めさせる
+        return new LazyConnectionDataSourceProxy(new UserShardRoutingDataSource(router));
+    }
+}
@@ -0,0 +1,55 @@
+package com.yourcompany.config.infrastructure.datasource.shard;
+
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * 接続先シャードの明示指定 (スレッド単位)
+ * リクエスト中は認証ユーザーからシャードが決まるため通常は不要。
+ * 認証情報のないバックグラウンド処理 (Outbox リレー・再配置) や、登録直後のユーザーの処理で使う。
+ *
+ * 接続は LazyConnectionDataSourceProxy により最初の SQL 実行時に確定するため、
+ * トランザクション全体をこのスコープで囲むこと。
+ */
+public final class UserShardContext {
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    private UserShardContext() {
+    }
+
+    /**
+     * 指定ユーザーの所属シャードで実行する
+     */
+    public static <T> T callAsUser(UUID userId, Supplier<T> action) {
+        return call(new Scope(userId, null), action);
+    }
+
+    /**
+     * 指定シャードで実行する
+     */
+    public static <T> T callOnShard(String shard, Supplier<T> action) {
+        return call(new Scope(null, shard), action);
+    }
+
+    static Scope current() {
+        return CURRENT.get();
+    }
+
+    private static <T> T call(Scope scope, Supplier<T> action) {
+        Scope previous = CURRENT.get();
+        CURRENT.set(scope);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    record Scope(UUID userId, String shard) {
+    }
+}
@@ -0,0 +1,196 @@
+package com.yourcompany.config.infrastructure.datasource.shard;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * シャード追加後のユーザー再配置
+ * 責務：
+ * 1. 全インスタンスが新しいリングを反映した (ShardRingSynchronizer の報告) のを確認してから移動を始める
+ * 2. 既存シャードのウォレットを user_id 順に走査し、新しいリングで所有者が変わるユーザーを移動する
+ * 3. 全シャードの走査が終わったらディレクトリ DB の構成を完了にし、ShardRouter の再配置モードを解除する
+ *    (他のインスタンスは通知を受けて解除する)
+ *
+ * 古いリングのままのインスタンスは移動済みのユーザーを移動元へ振り分けてしまうため、
+ * 報告が揃うまでは移動元から何も削除しない。
+ *
+ * 1ユーザーの移動は「移動元でウォレットを FOR UPDATE → 移動先へコピーしてコミット → 移動元から削除してコミット」。
+ * ウォレットのロック中に行うため、同じユーザーの抽選とは直列化される
+ * (ロック待ちしていた抽選は移動元でウォレットが見つからず失敗し、再試行すると移動先で処理される)。
+ * 移動先のコミット後に移動元の削除が失敗しても、次の走査で移動先のウォレットを確認して削除だけをやり直す。
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "gacha.shard.enabled", havingValue = "true")
+public class UserShardRebalancer {
+
+    // 移動対象のテーブル (コピー順。削除は wallets の ON DELETE CASCADE と、外部キーのないテーブルの明示削除で行う)
+    private static final List<String> USER_TABLES = List.of(
+            "wallets", "user_spending_caps", "user_draw_counters", "user_items", "user_gacha_states", "user_box_states",
+            "gacha_transactions", "user_pool_draw_stats", "stone_grant_ledger");
+
+    private final ShardRouter router;
+    private final ShardRingStore ringStore;
+    private final int chunkSize;
+    private final Duration ackTimeout;
+    private final Duration liveness;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicLong scannedUsers = new AtomicLong();
+    private final AtomicLong movedUsers = new AtomicLong();
+    private final AtomicReference<String> lastError = new AtomicReference<>();
+
+    public UserShardRebalancer(ShardRouter router,
+                               ShardRingStore ringStore,
+                               @Value("${gacha.shard.rebalance.chunk-size:500}") int chunkSize,
+                               @Value("${gacha.shard.rebalance.ack-timeout:5m}") Duration ackTimeout,
+                               @Value("${gacha.shard.ring.liveness:30s}") Duration liveness) {
+        this.router = router;
+        this.ringStore = ringStore;
+        this.chunkSize = chunkSize;
+        this.ackTimeout = ackTimeout;
+        this.liveness = liveness;
+    }
+
+    /**
+     * 再配置をバックグラウンドで開始する
+     *
+     * @return すでに実行中の場合は false
+     */
+    public boolean start() {
+        Optional<Set<String>> sources = router.rebalanceSources();
+        if (sources.isEmpty() || !running.compareAndSet(false, true)) {
+            return false;
+        }
+        scannedUsers.set(0);
+        movedUsers.set(0);
+        lastError.set(null);
+        Thread.ofVirtual().name("shard-rebalancer").start(() -> run(sources.get()));
+        return true;
+    }
+
+    public Status status() {
+        return new Status(running.get(), router.rebalanceSources().isPresent(),
+                scannedUsers.get(), movedUsers.get(), lastError.get());
+    }
+
+    private void run(Set<String> sources) {
+        long startedAt = System.nanoTime();
+        try {
+            awaitAcknowledged();
+            for (String source : sources) {
+                scan(source);
+            }
+            ringStore.activateJoining();
+            router.completeRebalance();
+            log.info("Shard rebalance finished. scanned={}, moved={}, elapsedMs={}",
+                    scannedUsers.get(), movedUsers.get(), (System.nanoTime() - startedAt) / 1_000_000);
+        } catch (RuntimeException e) {
+            // 再配置モードのまま止める (ルーティングは移動済みかどうかを確認し続けるため整合性は保たれる)
+            lastError.set(e.getMessage());
+            log.error("Shard rebalance failed. scanned={}, moved={}", scannedUsers.get(), movedUsers.get(), e);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * 稼働中の全インスタンスが現在のリングの版数を報告するまで待つ
+     *
+     * @throws IllegalStateException 待ち時間を超えた場合 (再配置モードのまま止め、再度開始できる)
+     */
+    private void awaitAcknowledged() {
+        long version = ringStore.currentVersion();
+        long deadline = System.nanoTime() + ackTimeout.toNanos();
+        while (true) {
+            List<String> pending = ringStore.unacknowledgedNodes(version, liveness);
+            if (pending.isEmpty()) {
+                log.info("All nodes applied shard ring. version={}", version);
+                return;
+            }
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("Nodes have not applied shard ring version " + version + ": " + pending);
+            }
+            try {
+                Thread.sleep(1_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for shard ring acknowledgements", e);
+            }
+        }
+    }
+
+    private void scan(String source) {
+        JdbcTemplate jdbc = new JdbcTemplate(router.dataSource(source));
+        UUID after = new UUID(Long.MIN_VALUE, Long.MIN_VALUE);
+        boolean first = true;
+        while (true) {
+            List<UUID> userIds = first
+                    ? jdbc.queryForList("SELECT user_id FROM wallets ORDER BY user_id LIMIT ?", UUID.class, chunkSize)
+                    : jdbc.queryForList("SELECT user_id FROM wallets WHERE user_id > ? ORDER BY user_id LIMIT ?",
+                    UUID.class, after, chunkSize);
+            for (UUID userId : userIds) {
+                scannedUsers.incrementAndGet();
+                Optional<String> destination = router.relocationOf(userId, source);
+                if (destination.isPresent()) {
+                    move(userId, source, destination.get());
+                }
+            }
+            if (userIds.size() < chunkSize) {
+                return;
+            }
+            after = userIds.getLast();
+            first = false;
+        }
+    }
+
+    private void move(UUID userId, String source, String destination) {
+        DataSource sourceDataSource = router.dataSource(source);
+        DataSource destinationDataSource = router.dataSource(destination);
+        JdbcTemplate from = new JdbcTemplate(sourceDataSource);
+        JdbcTemplate to = new JdbcTemplate(destinationDataSource);
+        Object[] byUser = {userId};
+
+        new TransactionTemplate(new DataSourceTransactionManager(sourceDataSource)).executeWithoutResult(status -> {
+            List<UUID> locked = from.queryForList(
+                    "SELECT user_id FROM wallets WHERE user_id = ? FOR UPDATE", UUID.class, userId);
+            if (locked.isEmpty()) {
+                return;
+            }
+            Boolean copied = to.queryForObject(
+                    "SELECT EXISTS (SELECT 1 FROM wallets WHERE user_id = ?)", Boolean.class, userId);
+            if (!Boolean.TRUE.equals(copied)) {
+                new TransactionTemplate(new DataSourceTransactionManager(destinationDataSource)).executeWithoutResult(inner -> {
+                    for (String table : USER_TABLES) {
+                        ShardRowCopier.copy(from, to, table, "user_id = ?", byUser, null);
+                    }
+                });
+            }
+            from.update("DELETE FROM gacha_transactions WHERE user_id = ?", userId);
+            from.update("DELETE FROM user_pool_draw_stats WHERE user_id = ?", userId);
+            from.update("DELETE FROM stone_grant_ledger WHERE user_id = ?", userId);
+            from.update("DELETE FROM wallets WHERE user_id = ?", userId);
+        });
+
+        router.markMigrated(userId);
+        movedUsers.incrementAndGet();
+    }
+
+    public record Status(boolean running, boolean rebalancing, long scannedUsers, long movedUsers, String lastError) {
+    }
+}
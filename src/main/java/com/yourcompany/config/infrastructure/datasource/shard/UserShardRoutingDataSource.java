@@ -0,0 +1,30 @@
+package com.yourcompany.config.infrastructure.datasource.shard;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * ユーザー単位のシャードへ振り分けるデータソース
+ * 接続先は ShardRouter が決める (シャードはオンラインで増えるため、固定の振り分け表を持つ AbstractRoutingDataSource は使わない)。
+ * ※ 認証情報・UserShardContext が確定してから接続を取るよう、必ず LazyConnectionDataSourceProxy でラップして使うこと
+ */
+public class UserShardRoutingDataSource extends AbstractDataSource {
+
+    private final ShardRouter router;
+
+    public UserShardRoutingDataSource(ShardRouter router) {
+        this.router = router;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return router.currentDataSource().getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return router.currentDataSource().getConnection(username, password);
+    }
+}
@@ -0,0 +1,89 @@
+package com.yourcompany.config.infrastructure.datasource.shard;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * シャーディングの有無を意識せずにシャード単位の処理を書くための窓口
+ * シャーディング無効時 (ShardRouter がない場合) はすべて単一 DB でそのまま実行する。
+ */
+@Component
+public class UserShardScope {
+
+    // シャーディング無効時の唯一のシャード名 (メトリクス・ログ用)
+    public static final String SINGLE_SHARD = "default";
+
+    private final ObjectProvider<ShardRouter> routerProvider;
+    private final TransactionTemplate requiresNew;
+
+    public UserShardScope(ObjectProvider<ShardRouter> routerProvider, PlatformTransactionManager transactionManager) {
+        this.routerProvider = routerProvider;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * 新規ユーザーのデータを配置先シャードに作る
+     * シャーディング有効時は配置先シャードの別トランザクションで先にコミットする
+     * (呼び出し側のトランザクションが失敗すると、どのユーザーからも参照されない行が残るが実害はない)。
+     * 無効時は呼び出し側のトランザクションでそのまま実行する。
+     */
+    public <T> T provision(UUID userId, Supplier<T> action) {
+        ShardRouter router = routerProvider.getIfAvailable();
+        if (router == null) {
+            return action.get();
+        }
+        return UserShardContext.callOnShard(router.placementOf(userId), () -> requiresNew.execute(status -> action.get()));
+    }
+
+    /**
+     * ディレクトリシャード (ユーザーに紐づかない全体共有のデータ) の別トランザクションで実行する
+     * 抽選中 (ユーザーのシャードのトランザクション内) からも呼べる。無効時は単一 DB の別トランザクション。
+     */
+    public <T> T inDirectoryTransaction(Supplier<T> action) {
+        ShardRouter router = routerProvider.getIfAvailable();
+        if (router == null) {
+            return requiresNew.execute(status -> action.get());
+        }
+        return UserShardContext.callOnShard(router.directoryShard(), () -> requiresNew.execute(status -> action.get()));
+    }
+
+    /**
+     * 既存ユーザーの所属シャード名 (バックグラウンド処理でユーザー単位のデータをシャードごとにまとめる用)
+     */
+    public String shardOf(UUID userId) {
+        ShardRouter router = routerProvider.getIfAvailable();
+        return router == null ? SINGLE_SHARD : router.shardOf(userId);
+    }
+
+    /**
+     * 指定ユーザーの所属シャードで実行する (管理者が他のユーザーのデータを参照する場合など)
+     */
+    public <T> T asUser(UUID userId, Supplier<T> action) {
+        ShardRouter router = routerProvider.getIfAvailable();
+        return router == null ? action.get() : UserShardContext.callAsUser(userId, action);
+    }
+
+    /**
+     * 全シャード名 (バックグラウンド処理の巡回用)
+     */
+    public List<String> shardNames() {
+        ShardRouter router = routerProvider.getIfAvailable();
+        return router == null ? List.of(SINGLE_SHARD) : router.shardNames();
+    }
+
+    /**
+     * 指定シャードで実行する (トランザクションはこの中で開始すること)
+     */
+    public <T> T onShard(String shard, Supplier<T> action) {
+        ShardRouter router = routerProvider.getIfAvailable();
+        return router == null ? action.get() : UserShardContext.callOnShard(shard, action);
+    }
+}
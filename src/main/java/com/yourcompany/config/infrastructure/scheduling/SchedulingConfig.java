@@ -0,0 +1,12 @@
+package com.yourcompany.config.infrastructure.scheduling;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * 定期実行 (@Scheduled) の有効化
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,289 @@
+package com.yourcompany.config.infrastructure.startup;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sqlcanvas.sharedkernel.shared.result.Result;
+import com.yourcompany.domain.model.gacha.GachaEmission;
+import com.yourcompany.domain.model.gacha.GachaPool;
+import com.yourcompany.domain.model.gacha.GachaState;
+import com.yourcompany.domain.model.gacha.Rarity;
+import com.yourcompany.domain.model.gacha.tier.TieredSampler;
+import com.yourcompany.domain.model.user.User;
+import com.yourcompany.domain.model.wallet.Wallet;
+import com.yourcompany.domain.shared.exception.GachaException;
+import com.yourcompany.features.gacha.draw.DrawGachaResponse;
+import com.yourcompany.schoolasset.application.service.master.ItemMaster;
+import com.yourcompany.schoolasset.application.service.master.MasterDataCache;
+import com.yourcompany.schoolasset.application.service.random.DrawRandomStrategy;
+import com.yourcompany.schoolasset.application.service.sampler.TieredSamplerCache;
+import com.yourcompany.security.CustomUserDetails;
+import com.yourcompany.security.JwtTokenProvider;
+import io.jsonwebtoken.Claims;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.logging.LoggerConfiguration;
+import org.springframework.boot.logging.LoggingSystem;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.random.RandomGenerator;
+
+/**
+ * 起動直後の JIT ウォームアップ
+ * 責務：
+ * 1. プール・アイテムのマスタキャッシュを並列にプリロードし、全プールの抽選表 (TieredSampler) をコンパイルしておく
+ * 2. 本番と同じ抽選経路 (Wallet.consume → TieredSampler → GachaState.updateState → レスポンスの JSON 化 → JWT 検証)
+ *    を合成データでメモリ上だけで回し、C2 コンパイルとクラスロードを済ませる
+ *
+ * ApplicationRunner は ApplicationReadyEvent (= Readiness が ACCEPTING_TRAFFIC になる) より前に実行されるため、
+ * ウォームアップが終わるまで readiness プローブは DOWN のままで、ロードバランサーからトラフィックは来ない。
+ * DB には一切書き込まない。失敗しても起動は止めず、ウォームアップなしで受付を開始する。
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DrawWarmupRunner implements ApplicationRunner {
+
+    // 1イテレーション = 10連1回分
+    private static final int DRAWS_PER_ITERATION = 10;
+
+    // 合成データ用の固定ID (永続化しない)
+    private static final UUID WARMUP_USER_ID = new UUID(0L, 0L);
+
+    // ウォームアップ中に大量に出る業務ログ (残高更新の INFO など) を抑止する対象
+    private static final List<String> QUIET_LOGGERS = List.of(
+            Wallet.class.getName(),
+            GachaState.class.getName()
+    );
+
+    private final MasterDataCache masterDataCache;
+    private final TieredSamplerCache samplerCache;
+    private final DrawRandomStrategy randomStrategy;
+    private final ObjectMapper objectMapper;
+    private final JwtTokenProvider jwtTokenProvider;
+    private final LoggingSystem loggingSystem;
+
+    @Value("${gacha.warmup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${gacha.warmup.iterations:2000}")
+    private int iterations;
+
+    // 0 の場合は CPU コア数
+    @Value("${gacha.warmup.threads:0}")
+    private int threads;
+
+    @Value("${gacha.warmup.max-duration:30s}")
+    private Duration maxDuration;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        try {
+            masterDataCache.preload();
+        } catch (RuntimeException e) {
+            // キャッシュは未ロード分を都度 DB から読むため、起動は継続する
+            log.warn("Master data preload failed. Falling back to lazy loading.", e);
+        }
+        try {
+            int compiled = samplerCache.precompile();
+            log.info("Tiered samplers precompiled. pools={}", compiled);
+        } catch (RuntimeException e) {
+            // 抽選時にプールごとにコンパイルされるため、起動は継続する
+            log.warn("Tiered sampler precompile failed. Falling back to lazy compilation.", e);
+        }
+
+        if (!enabled || iterations <= 0) {
+            log.info("Draw warm-up skipped. enabled={}, iterations={}", enabled, iterations);
+            return;
+        }
+
+        Map<String, LogLevel> previousLevels = quietLoggers();
+        try {
+            warmUp();
+        } catch (RuntimeException e) {
+            log.warn("Draw warm-up failed. Accepting traffic without warm-up.", e);
+        } finally {
+            restoreLoggers(previousLevels);
+        }
+    }
+
+    private void warmUp() {
+        List<WarmupPool> pools = resolvePools();
+        String token = jwtTokenProvider.generateToken(syntheticAuthentication());
+
+        int workers = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        long deadline = System.nanoTime() + maxDuration.toNanos();
+        long startedAt = System.nanoTime();
+
+        int completed = 0;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (int worker = 0; worker < workers; worker++) {
+                // 端数は先頭のワーカーに寄せる
+                int share = iterations / workers + (worker < iterations % workers ? 1 : 0);
+                int offset = worker;
+                futures.add(executor.submit(() -> runIterations(pools, offset, share, token, deadline)));
+            }
+            for (Future<Integer> future : futures) {
+                completed += future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Warm-up interrupted", e);
+        } catch (Exception e) {
+            throw new IllegalStateException("Warm-up worker failed", e);
+        }
+
+        log.info("Draw warm-up finished. pools={}, iterations={}/{}, draws={}, elapsedMs={}",
+                pools.size(), completed, iterations, (long) completed * DRAWS_PER_ITERATION,
+                (System.nanoTime() - startedAt) / 1_000_000);
+    }
+
+    private int runIterations(List<WarmupPool> pools, int offset, int count, String token, long deadline)
+            throws JsonProcessingException {
+        int done = 0;
+        for (int i = 0; i < count; i++) {
+            if (System.nanoTime() > deadline) {
+                break;
+            }
+            simulateRequest(pools.get((offset + i) % pools.size()), token);
+            done++;
+        }
+        return done;
+    }
+
+    /**
+     * 1リクエスト分の処理をメモリ上で再現する (DrawGachaUseCase / JwtAuthenticationFilter と同じ呼び出し)
+     */
+    private void simulateRequest(WarmupPool target, String token) throws JsonProcessingException {
+        // 認証 (リクエストごとに JWT を検証・パースする)
+        if (!jwtTokenProvider.validateToken(token)) {
+            throw new IllegalStateException("Warm-up token rejected");
+        }
+        Claims claims = jwtTokenProvider.getClaims(token);
+        UUID userId = UUID.fromString(claims.get("userId", String.class));
+
+        GachaPool pool = target.pool();
+        int totalCost = pool.getCostAmount() * DRAWS_PER_ITERATION;
+
+        Wallet wallet = Wallet.create(userId);
+        unwrap(wallet.deposit(Math.min(totalCost, Wallet.MAX_STONES), 0));
+        unwrap(wallet.consume(totalCost));
+
+        GachaState state = GachaState.create(userId, pool.getId());
+        RandomGenerator random = randomStrategy.newDrawRandom().generator();
+        List<DrawGachaResponse.EmissionItem> responseItems = new ArrayList<>(DRAWS_PER_ITERATION);
+
+        for (int i = 0; i < DRAWS_PER_ITERATION; i++) {
+            GachaEmission emission = target.sampler().sample(state.nextSlot(pool), state.getCurrentPityCount(), random);
+            ItemMaster item = target.items().get(emission.getItemId());
+            unwrap(state.updateState(item.rarity(), pool));
+            responseItems.add(new DrawGachaResponse.EmissionItem(
+                    emission.getItemId(), item.name(), item.rarity().name(), false, 1
+            ));
+        }
+
+        DrawGachaResponse response = new DrawGachaResponse(
+                UUID.randomUUID().toString(), totalCost, 0, responseItems);
+        objectMapper.writeValueAsBytes(response);
+    }
+
+    /**
+     * ウォームアップに使うプールを決める
+     * 設定が正しく、アイテムマスタが揃っているプールを使う。1件もなければ合成プールを使う。
+     * 実在のプールは本番と同じくキャッシュ済みの抽選表を使う。
+     */
+    private List<WarmupPool> resolvePools() {
+        List<WarmupPool> pools = new ArrayList<>();
+        for (GachaPool pool : masterDataCache.allPools()) {
+            if (pool.validateConfiguration() instanceof Result.Failure<GachaPool>) {
+                continue;
+            }
+            Map<UUID, ItemMaster> items = new HashMap<>();
+            for (GachaEmission emission : pool.getEmissions()) {
+                masterDataCache.findItem(emission.getItemId()).ifPresent(item -> items.put(item.id(), item));
+            }
+            if (items.size() == pool.getEmissions().stream().map(GachaEmission::getItemId).distinct().count()
+                    && samplerCache.samplerFor(pool) instanceof Result.Success<TieredSampler> sampler) {
+                pools.add(new WarmupPool(pool, Map.copyOf(items), sampler.value()));
+            }
+        }
+        if (pools.isEmpty()) {
+            pools.add(syntheticPool());
+        }
+        return pools;
+    }
+
+    private WarmupPool syntheticPool() {
+        Instant now = Instant.now();
+        GachaPool pool = unwrap(GachaPool.create("warmup", now.minus(1, ChronoUnit.HOURS), now.plus(1, ChronoUnit.HOURS), 300, 90));
+
+        Map<UUID, ItemMaster> items = new HashMap<>();
+        addSyntheticItem(pool, items, Rarity.SSR, 300, true);
+        addSyntheticItem(pool, items, Rarity.SSR, 300, false);
+        addSyntheticItem(pool, items, Rarity.SR, 1_400, false);
+        addSyntheticItem(pool, items, Rarity.RARE, 8_000, false);
+        return WarmupPool.of(pool, items);
+    }
+
+    private static void addSyntheticItem(GachaPool pool, Map<UUID, ItemMaster> items,
+                                         Rarity rarity, int weight, boolean pickup) {
+        UUID itemId = UUID.randomUUID();
+        pool.addEmission(new GachaEmission(itemId, weight, pickup));
+        items.put(itemId, new ItemMaster(itemId, "warmup-" + rarity.name(), rarity, 9999));
+    }
+
+    private static UsernamePasswordAuthenticationToken syntheticAuthentication() {
+        User user = new User();
+        user.setId(WARMUP_USER_ID);
+        user.setEmail("warmup@localhost");
+        user.setPasswordHash("");
+        user.setRole(User.Role.USER);
+        CustomUserDetails details = new CustomUserDetails(user);
+        return new UsernamePasswordAuthenticationToken(details, null, details.getAuthorities());
+    }
+
+    private Map<String, LogLevel> quietLoggers() {
+        Map<String, LogLevel> previous = new HashMap<>();
+        for (String name : QUIET_LOGGERS) {
+            LoggerConfiguration configuration = loggingSystem.getLoggerConfiguration(name);
+            // 明示設定がなかったロガーは null (親から継承) に戻す
+            previous.put(name, configuration != null ? configuration.getConfiguredLevel() : null);
+            loggingSystem.setLogLevel(name, LogLevel.WARN);
+        }
+        return previous;
+    }
+
+    private void restoreLoggers(Map<String, LogLevel> previous) {
+        previous.forEach(loggingSystem::setLogLevel);
+    }
+
+    private static <T> T unwrap(Result<T> result) {
+        return result.orElseThrow(failure -> new GachaException(failure.errorCode(), failure.message()));
+    }
+
+    private record WarmupPool(GachaPool pool, Map<UUID, ItemMaster> items, TieredSampler sampler) {
+
+        static WarmupPool of(GachaPool pool, Map<UUID, ItemMaster> items) {
+            TieredSampler sampler = unwrap(TieredSampler.compile(pool,
+                    itemId -> Optional.ofNullable(items.get(itemId)).map(ItemMaster::rarity)));
+            return new WarmupPool(pool, Map.copyOf(items), sampler);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.yourcompany.config.infrastructure.startup;
+
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.annotation.Schedules;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Method;
+
+/**
+ * 高速起動モード (spring.main.lazy-initialization=true) で遅延させてはいけない Bean の指定
+ * 誰からも参照されず、生成されて初めて動き出す Bean は遅延生成だと永久に動かないため除外する。
+ * - @Scheduled を持つ Bean (生成時にスケジュール登録される)
+ * - SmartLifecycle (DrawEventBus など)
+ * - ApplicationRunner (ウォームアップなど)
+ */
+@Configuration
+public class FastStartupConfig {
+
+    @Bean
+    static LazyInitializationExcludeFilter eagerInfrastructureBeans() {
+        return (beanName, beanDefinition, beanType) -> beanType != null && (
+                SmartLifecycle.class.isAssignableFrom(beanType)
+                        || ApplicationRunner.class.isAssignableFrom(beanType)
+                        || hasScheduledMethod(beanType));
+    }
+
+    private static boolean hasScheduledMethod(Class<?> beanType) {
+        for (Method method : ReflectionUtils.getUniqueDeclaredMethods(beanType, ReflectionUtils.USER_DECLARED_METHODS)) {
+            if (AnnotatedElementUtils.hasAnnotation(method, Scheduled.class)
+                    || AnnotatedElementUtils.hasAnnotation(method, Schedules.class)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
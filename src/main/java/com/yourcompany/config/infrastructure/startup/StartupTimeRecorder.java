@@ -0,0 +1,51 @@
+package com.yourcompany.config.infrastructure.startup;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.support.ServletRequestHandledEvent;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 起動時間の記録 (JVM 起動からの経過時間)
+ * - gacha.startup.ready: ApplicationReadyEvent まで
+ * - gacha.startup.first.request: 最初のリクエスト処理完了まで (オートスケール時に実際に効く値)
+ */
+@Slf4j
+@Component
+public class StartupTimeRecorder {
+
+    private final AtomicLong readyMillis = new AtomicLong(-1);
+    private final AtomicLong firstRequestMillis = new AtomicLong(-1);
+
+    public StartupTimeRecorder(MeterRegistry meterRegistry) {
+        Gauge.builder("gacha.startup.ready", readyMillis, AtomicLong::get)
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        Gauge.builder("gacha.startup.first.request", firstRequestMillis, AtomicLong::get)
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    @EventListener
+    public void onReady(ApplicationReadyEvent event) {
+        long uptime = ManagementFactory.getRuntimeMXBean().getUptime();
+        readyMillis.set(uptime);
+        log.info("Application ready. uptimeMs={}", uptime);
+    }
+
+    @EventListener
+    public void onRequestHandled(ServletRequestHandledEvent event) {
+        if (firstRequestMillis.get() < 0) {
+            long uptime = ManagementFactory.getRuntimeMXBean().getUptime();
+            if (firstRequestMillis.compareAndSet(-1, uptime)) {
+                log.info("Time to first request. uptimeMs={}, url={}", uptime, event.getRequestUrl());
+            }
+        }
+    }
+}
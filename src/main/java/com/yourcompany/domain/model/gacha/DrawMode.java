@@ -0,0 +1,9 @@
+package com.yourcompany.domain.model.gacha;
+
+/**
+ * ガチャの抽選方式
+ */
+public enum DrawMode {
+    NORMAL, // 排出率 (weight) に基づく復元抽選
+    BOX     // ユーザーごとの箱から引いたものを取り除く非復元抽選 (排出設定の box_count が箱の中身)
+}
@@ -0,0 +1,10 @@
+package com.yourcompany.domain.model.gacha;
+
+/**
+ * 乱数系列から排出結果を決める方式 (監査リプレイで記録時と同じ方式を使うために履歴へ保存する)
+ */
+public enum DrawSampler {
+    FLAT,   // 排出設定を並び順に累積して1段で引く (導入前の履歴)
+    TIERED, // レアリティ → アイテムの2段階で引く (TieredSampler)
+    BOX     // 抽選前の箱の残数から非復元で引く (BoxState。導入前のボックスガチャの履歴は TIERED で記録されている)
+}
@@ -0,0 +1,48 @@
+package com.yourcompany.domain.model.gacha;
+
+import com.yourcompany.domain.model.gacha.box.BoxSnapshot;
+
+/**
+ * 抽選シード (Value Object)
+ * 責務：1回のガチャ実行で使った乱数系列を再現するための情報を保持する
+ * （gacha_transactions に保存され、監査時のリプレイに使われる）
+ *
+ * リプレイは現在のプール設定で再抽選するため、抽選時の設定の指紋も保持し、設定が変わった履歴を区別できるようにする。
+ * ボックスガチャは結果が抽選前の箱の残数にも依存するため、抽選前の箱の状態も保持する。
+ */
+public record DrawSeed(
+        long value,
+        String algorithm, // RandomGenerator のアルゴリズム名 (例: L64X128MixRandom)
+        DrawSampler sampler, // 乱数から排出結果を決める方式
+        Long masterVersion, // 抽選したインスタンスが読み込んでいたマスタの版数 (記録導入前は null)
+        Long configFingerprint, // 抽選表の設定の指紋 (TieredSampler#fingerprint、ボックスガチャは BoxLayout#fingerprint。記録導入前は null)
+        BoxSnapshot box // 抽選前の箱の状態 (BOX のみ。記録導入前のボックスガチャの履歴は null)
+) {
+    /**
+     * 抽選方式の記録がない (導入前の) シード
+     */
+    public DrawSeed(long value, String algorithm) {
+        this(value, algorithm, DrawSampler.FLAT);
+    }
+
+    /**
+     * 設定の記録がないシード
+     */
+    public DrawSeed(long value, String algorithm, DrawSampler sampler) {
+        this(value, algorithm, sampler, null, null, null);
+    }
+
+    /**
+     * 抽選時の設定を記録したシードを返す
+     */
+    public DrawSeed withConfig(long masterVersion, long configFingerprint) {
+        return new DrawSeed(value, algorithm, sampler, masterVersion, configFingerprint, box);
+    }
+
+    /**
+     * ボックスガチャとして、抽選前の箱の状態を記録したシードを返す (設定の指紋は箱の構成の指紋)
+     */
+    public DrawSeed withBox(long masterVersion, BoxSnapshot box) {
+        return new DrawSeed(value, algorithm, DrawSampler.BOX, masterVersion, box.layoutFingerprint(), box);
+    }
+}
@@ -1,5 +1,8 @@
 package com.yourcompany.domain.model.gacha;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -11,10 +14,29 @@ public record EmissionResult(
         String itemName,
         String rarity,
         boolean isPickup,
-        EmissionType emissionType // NORMAL, GUARANTEED, PITY
+        EmissionType emissionType, // NORMAL, SOFT_PITY, GUARANTEED, PITY
+        int pityCount, // 抽選前の天井カウント (ソフト天井の排出率を決める。リプレイ用)
+        @JsonInclude(JsonInclude.Include.NON_EMPTY)
+        List<UUID> soldOutEmissionIds // 在庫切れで除いて引き直した排出枠 (引き直していなければJSONに出ない。リプレイ用)
 ) {
+    public EmissionResult {
+        soldOutEmissionIds = soldOutEmissionIds == null ? List.of() : List.copyOf(soldOutEmissionIds);
+    }
+
+    public EmissionResult(UUID itemId, String itemName, String rarity, boolean isPickup, EmissionType emissionType, int pityCount) {
+        this(itemId, itemName, rarity, isPickup, emissionType, pityCount, List.of());
+    }
+
+    /**
+     * 在庫切れによる引き直しで排出されたか (本来の排出率では引かれていない)
+     */
+    public boolean stockFallback() {
+        return !soldOutEmissionIds.isEmpty();
+    }
+
     public enum EmissionType {
         NORMAL,     // 通常枠
+        SOFT_PITY,  // ソフト天井枠（最高レアリティの排出率が上がった通常枠）
         GUARANTEED, // 確定枠（SR以上確定など）
         PITY        // 天井枠
     }
@@ -30,13 +30,36 @@ public class GachaEmission implements WeightedItem {
     @Column(name = "is_pickup")
     private boolean isPickup;
 
+    // ボックスガチャの1箱あたりの個数 (通常ガチャでは null)
+    @Column(name = "box_count")
+    private Integer boxCount;
+
     // コンストラクタの作成
     public GachaEmission(UUID itemId, int weight, boolean isPickup) {
+        this(itemId, weight, isPickup, null);
+    }
+
+    public GachaEmission(UUID itemId, int weight, boolean isPickup, Integer boxCount) {
         if (weight <= 0) throw new IllegalArgumentException("Weight must be positive");
+        if (boxCount != null && boxCount <= 0) throw new IllegalArgumentException("Box count must be positive");
         this.id = UUID.randomUUID();
         this.itemId = itemId;
         this.weight = weight;
         this.isPickup = isPickup;
+        this.boxCount = boxCount;
+    }
+
+    /**
+     * 永続化済みの排出設定を復元する (マスタスナップショットからの読み込み用)
+     */
+    public static GachaEmission restore(UUID id, UUID itemId, int weight, boolean isPickup) {
+        return restore(id, itemId, weight, isPickup, null);
+    }
+
+    public static GachaEmission restore(UUID id, UUID itemId, int weight, boolean isPickup, Integer boxCount) {
+        GachaEmission emission = new GachaEmission(itemId, weight, isPickup, boxCount);
+        emission.id = id;
+        return emission;
     }
 
     // Poolとの紐付け（GachaPool側から呼ばれる）
@@ -11,7 +11,9 @@ import lombok.extern.slf4j.Slf4j;
 
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -43,22 +45,58 @@ public class GachaPool {
     @Column(name = "pity_ceiling_count", nullable = false)
     private int pityCeilingCount;
 
+    @Enumerated(EnumType.STRING)
+    @Column(name = "draw_mode", nullable = false, length = 10)
+    private DrawMode drawMode = DrawMode.NORMAL;
+
+    // この回数だけ連続で guaranteedMinRarity 未満だった次の1回を確定枠にする (0 は確定枠なし)
+    @Column(name = "guaranteed_trigger_count", nullable = false)
+    private int guaranteedTriggerCount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "guaranteed_min_rarity", nullable = false, length = 20)
+    private Rarity guaranteedMinRarity = Rarity.SR;
+
+    // 最高レアリティがこの回数だけ連続で出なかった後の抽選から排出率を上げ始める (0 はソフト天井なし)
+    @Column(name = "soft_pity_start_count", nullable = false)
+    private int softPityStartCount;
+
+    // ソフト天井で1回ごとに上げる最高レアリティの排出率 (1万分率)
+    @Column(name = "soft_pity_step_bp", nullable = false)
+    private int softPityStepBp;
+
+    // ユーザーごとの1日 (日本時間) の抽選回数の上限 (0 は上限なし)
+    @Column(name = "daily_draw_limit", nullable = false)
+    private int dailyDrawLimit;
+
+    // レアリティごとのピックアップ確率アップ (マスタキャッシュで参照専用に使うため即時ロード)
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "gacha_pool_rate_ups", joinColumns = @JoinColumn(name = "gacha_pool_id"))
+    private Set<RateUpRule> rateUps = new HashSet<>();
+
+    // 抽選の累積判定は並び順に依存するため、シードから結果を再現できるよう常にID順で読み込む
     @OneToMany(mappedBy = "gachaPool", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @OrderBy("id ASC")
     private List<GachaEmission> emissions = new ArrayList<>();
 
     @Version
     private long version;
 
-    private GachaPool(UUID id, String name, Instant startAt, Instant endAt, int costAmount, int pityCeilingCount) {
+    private GachaPool(UUID id, String name, Instant startAt, Instant endAt, int costAmount, int pityCeilingCount, DrawMode drawMode) {
         this.id = id;
         this.name = name;
         this.startAt = startAt;
         this.endAt = endAt;
         this.costAmount = costAmount;
         this.pityCeilingCount = pityCeilingCount;
+        this.drawMode = drawMode;
     }
 
     public static Result<GachaPool> create(String name, Instant startAt, Instant endAt, int costAmount, int pityCeilingCount) {
+        return create(name, startAt, endAt, costAmount, pityCeilingCount, DrawMode.NORMAL);
+    }
+
+    public static Result<GachaPool> create(String name, Instant startAt, Instant endAt, int costAmount, int pityCeilingCount, DrawMode drawMode) {
         if (costAmount <= 0) {
             // 修正: Result.failure ファクトリを使用
             return Result.failure(CommonErrorCode.INVALID_PARAMETER, "コストは1以上である必要があります");
@@ -73,10 +111,45 @@ public class GachaPool {
         }
 
         return Result.success(new GachaPool(
-                UUID.randomUUID(), name, startAt, endAt, costAmount, pityCeilingCount
+                UUID.randomUUID(), name, startAt, endAt, costAmount, pityCeilingCount, drawMode
         ));
     }
 
+    /**
+     * 永続化済みのプールを復元する (マスタスナップショットからの読み込み用。検証は行わない)
+     */
+    public static GachaPool restore(UUID id, String name, Instant startAt, Instant endAt, int costAmount, int pityCeilingCount) {
+        return restore(id, name, startAt, endAt, costAmount, pityCeilingCount, DrawMode.NORMAL);
+    }
+
+    public static GachaPool restore(UUID id, String name, Instant startAt, Instant endAt, int costAmount, int pityCeilingCount, DrawMode drawMode) {
+        return new GachaPool(id, name, startAt, endAt, costAmount, pityCeilingCount, drawMode);
+    }
+
+    /**
+     * 確定枠とピックアップの設定を復元する (マスタスナップショットからの読み込み用。検証は行わない)
+     */
+    public void restoreTierRules(int guaranteedTriggerCount, Rarity guaranteedMinRarity, Set<RateUpRule> rateUps) {
+        this.guaranteedTriggerCount = guaranteedTriggerCount;
+        this.guaranteedMinRarity = guaranteedMinRarity;
+        this.rateUps = new HashSet<>(rateUps);
+    }
+
+    /**
+     * ソフト天井の設定を復元する (マスタスナップショットからの読み込み用。検証は行わない)
+     */
+    public void restoreSoftPity(int softPityStartCount, int softPityStepBp) {
+        this.softPityStartCount = softPityStartCount;
+        this.softPityStepBp = softPityStepBp;
+    }
+
+    /**
+     * 1日の抽選回数の上限を復元する (マスタスナップショットからの読み込み用。検証は行わない)
+     */
+    public void restoreDailyDrawLimit(int dailyDrawLimit) {
+        this.dailyDrawLimit = dailyDrawLimit;
+    }
+
     public void addEmission(GachaEmission emission) {
         emission.assignToPool(this);
         this.emissions.add(emission);
@@ -87,6 +160,24 @@ public class GachaPool {
             // 修正: ガチャ固有のエラーなので GachaErrorCode を使用
             return Result.failure(GachaErrorCode.INVALID_WEIGHT_CONFIG, "排出設定が空です");
         }
+        if (dailyDrawLimit < 0) {
+            return Result.failure(GachaErrorCode.INVALID_WEIGHT_CONFIG, "1日の抽選回数の上限は0以上である必要があります");
+        }
+        if (isBox()) {
+            // ボックスガチャは箱の中身の個数で抽選するため、排出率の合計は問わない
+            boolean missingCount = emissions.stream()
+                    .anyMatch(emission -> emission.getBoxCount() == null || emission.getBoxCount() <= 0);
+            if (missingCount) {
+                return Result.failure(GachaErrorCode.INVALID_WEIGHT_CONFIG, "ボックスガチャの排出設定には1以上の個数が必要です");
+            }
+            return Result.success(this);
+        }
+        if (softPityStartCount < 0 || softPityStepBp < 0 || softPityStepBp > RateUpRule.BASIS_POINTS) {
+            return Result.failure(GachaErrorCode.INVALID_WEIGHT_CONFIG, "ソフト天井の設定が範囲外です");
+        }
+        if (softPityStartCount > 0 && (softPityStepBp == 0 || (pityCeilingCount > 0 && softPityStartCount >= pityCeilingCount))) {
+            return Result.failure(GachaErrorCode.INVALID_WEIGHT_CONFIG, "ソフト天井は天井より前から、0より大きい上昇幅で設定してください");
+        }
         long totalWeight = emissions.stream()
                 .mapToInt(GachaEmission::getWeight)
                 .sum();
@@ -100,6 +191,21 @@ public class GachaPool {
         return Result.success(this);
     }
 
+    /**
+     * 天井カウントが pityCount のときの次の1回がソフト天井の対象か
+     */
+    public boolean isSoftPityActive(int pityCount) {
+        return softPityStartCount > 0 && pityCount >= softPityStartCount;
+    }
+
+    public boolean hasDailyDrawLimit() {
+        return dailyDrawLimit > 0;
+    }
+
+    public boolean isBox() {
+        return drawMode == DrawMode.BOX;
+    }
+
     public boolean isOpen() {
         Instant now = Instant.now();
         return !now.isBefore(startAt) && now.isBefore(endAt);
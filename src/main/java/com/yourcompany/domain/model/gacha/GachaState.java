@@ -3,6 +3,7 @@ package com.yourcompany.domain.model.gacha;
 import com.sqlcanvas.sharedkernel.shared.error.CommonErrorCode;
 import com.sqlcanvas.sharedkernel.shared.result.Result;
 import com.yourcompany.domain.shared.exception.GachaErrorCode;
+import com.yourcompany.domain.shared.exception.PreallocatedFailure;
 import jakarta.persistence.*;
 import lombok.AccessLevel;
 import lombok.Getter;
@@ -18,15 +19,20 @@ import java.util.UUID;
  */
 @Entity
 @Table(name = "user_gacha_states")
+@IdClass(GachaStateId.class)
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @Slf4j
 public class GachaState {
 
+    private static final PreallocatedFailure NEGATIVE_CEILING =
+            PreallocatedFailure.of(CommonErrorCode.INVALID_PARAMETER, "コストは1以上である必要があります");
+
     @Id
     @Column(name = "user_id")
     private UUID userId;
 
+    @Id
     @Column(name = "gacha_pool_id")
     private UUID gachaPoolId;
 
@@ -39,18 +45,34 @@ public class GachaState {
     @Version
     private long version;
 
-    private GachaState(UUID userId, UUID gachaPoolId, int currentPityCount, int currentGuaranteedCount) {
+    // 成功時に返す Result (自分自身を包むだけなので使い回す)
+    @Getter(AccessLevel.NONE)
+    private transient Result<GachaState> success;
+
+    private GachaState(UUID userId, UUID gachaPoolId, int currentPityCount, int currentGuaranteedCount, long version) {
         this.userId = userId;
         this.gachaPoolId = gachaPoolId;
         this.currentPityCount = currentPityCount;
         this.currentGuaranteedCount = currentGuaranteedCount;
+        this.version = version;
     }
 
     /**
      * 新規状態の作成
      */
     public static GachaState create(UUID userId, UUID gachaPoolId) {
-        return new GachaState(userId, gachaPoolId, 0, 0);
+        return new GachaState(userId, gachaPoolId, 0, 0, 0L);
+    }
+
+    /**
+     * 永続化済みの状態を復元する (JDBC での読み込みやキャッシュからの復元用)
+     */
+    public static GachaState restore(UUID userId, UUID gachaPoolId, int currentPityCount, int currentGuaranteedCount, long version) {
+        return new GachaState(userId, gachaPoolId, currentPityCount, currentGuaranteedCount, version);
+    }
+
+    public GachaStateId getId() {
+        return new GachaStateId(userId, gachaPoolId);
     }
 
     /**
@@ -61,45 +83,96 @@ public class GachaState {
      * @return 更新されたGachaState (Resultで包む)
      */
     public Result<GachaState> updateState(boolean isSsrEmitted, GachaPool poolSetting) {
+        return transition(isSsrEmitted, isSsrEmitted, poolSetting);
+    }
+
+    /**
+     * 排出されたレアリティに基づいて状態を遷移させる
+     * 天井カウントは最高レアリティ (SSR以上) で、確定枠カウントはプールの確定枠の対象レアリティ以上でリセットする。
+     *
+     * @param emitted     排出されたアイテムのレアリティ
+     * @param poolSetting プールの設定値（天井回数・確定枠など）
+     */
+    public Result<GachaState> updateState(Rarity emitted, GachaPool poolSetting) {
+        Objects.requireNonNull(poolSetting, "Pool setting is required");
+        return transition(emitted.isTopTier(), emitted.isAtLeast(poolSetting.getGuaranteedMinRarity()), poolSetting);
+    }
+
+    private Result<GachaState> transition(boolean resetPity, boolean resetGuaranteed, GachaPool poolSetting) {
         Objects.requireNonNull(poolSetting, "Pool setting is required");
 
         int pityCeiling = poolSetting.getPityCeilingCount();
         if (pityCeiling < 0) {
             log.warn("Invalid pity ceiling detected. userId={}, poolId={}, ceiling={}",
                     userId, gachaPoolId, pityCeiling);
-            return Result.failure(CommonErrorCode.INVALID_PARAMETER, "コストは1以上である必要があります");
+            return NEGATIVE_CEILING.get();
         }
 
         int previousPity = Math.max(0, this.currentPityCount); // 不整合ガード
         int previousGuaranteed = Math.max(0, this.currentGuaranteedCount);
 
-        int nextPity;
-        int nextGuaranteed;
-
-        if (isSsrEmitted) {
-            nextPity = 0;
-            nextGuaranteed = 0;
-            log.info("SSR emitted. Resetting counters. userId={}, poolId={}", userId, gachaPoolId);
-        } else {
-            nextPity = previousPity + 1;
-            nextGuaranteed = previousGuaranteed + 1;
+        int nextPity = resetPity ? 0 : previousPity + 1;
+        int nextGuaranteed = resetGuaranteed ? 0 : previousGuaranteed + 1;
+        // 1抽選ごとに呼ばれるため、デバッグログは無効時に引数の配列・ボクシングが発生しないよう判定してから出す
+        boolean debug = log.isDebugEnabled();
+        if (resetPity && debug) {
+            log.debug("SSR emitted. Resetting pity counter. userId={}, poolId={}", userId, gachaPoolId);
         }
 
         // Safety Guard: 天井設定（> 0）がある場合のみキャップする。0の場合は青天井。
         if (pityCeiling > 0 && nextPity > pityCeiling) {
-            log.debug("Pity count reached ceiling and capped. userId={}, poolId={}, count={}",
-                    userId, gachaPoolId, nextPity);
+            if (debug) {
+                log.debug("Pity count reached ceiling and capped. userId={}, poolId={}, count={}",
+                        userId, gachaPoolId, nextPity);
+            }
             nextPity = pityCeiling;
         }
+        int guaranteedTrigger = poolSetting.getGuaranteedTriggerCount();
+        if (guaranteedTrigger > 0 && nextGuaranteed > guaranteedTrigger) {
+            nextGuaranteed = guaranteedTrigger;
+        }
 
         // 状態更新
         this.currentPityCount = nextPity;
         this.currentGuaranteedCount = nextGuaranteed;
 
-        log.debug("GachaState updated. userId={}, poolId={}, Pity: {}->{}, Guaranteed: {}->{}",
-                userId, gachaPoolId, previousPity, this.currentPityCount, previousGuaranteed, this.currentGuaranteedCount);
+        if (debug) {
+            log.debug("GachaState updated. userId={}, poolId={}, Pity: {}->{}, Guaranteed: {}->{}",
+                    userId, gachaPoolId, previousPity, this.currentPityCount, previousGuaranteed, this.currentGuaranteedCount);
+        }
 
-        return Result.success(this);
+        Result<GachaState> cached = success;
+        if (cached == null) {
+            cached = Result.success(this);
+            success = cached;
+        }
+        return cached;
+    }
+
+    /**
+     * 次の1回の枠の種類 (天井枠 → 確定枠 → ソフト天井枠の順に優先)
+     */
+    public EmissionResult.EmissionType nextSlot(GachaPool poolSetting) {
+        if (isPityReached(poolSetting.getPityCeilingCount())) {
+            return EmissionResult.EmissionType.PITY;
+        }
+        if (isGuaranteedReached(poolSetting.getGuaranteedTriggerCount())) {
+            return EmissionResult.EmissionType.GUARANTEED;
+        }
+        if (poolSetting.isSoftPityActive(this.currentPityCount)) {
+            return EmissionResult.EmissionType.SOFT_PITY;
+        }
+        return EmissionResult.EmissionType.NORMAL;
+    }
+
+    /**
+     * 次の1回が「確定枠」かどうかを判定する
+     */
+    public boolean isGuaranteedReached(int triggerCount) {
+        if (triggerCount <= 0) {
+            return false;
+        }
+        return (this.currentGuaranteedCount + 1) >= triggerCount;
     }
 
     /**
@@ -0,0 +1,24 @@
+package com.yourcompany.domain.model.gacha;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+/**
+ * GachaState の複合主キー (user_gacha_states の PRIMARY KEY (user_id, gacha_pool_id) に対応)
+ */
+@Getter
+@EqualsAndHashCode
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+public class GachaStateId implements Serializable {
+
+    private UUID userId;
+
+    private UUID gachaPoolId;
+}
@@ -0,0 +1,35 @@
+package com.yourcompany.domain.model.gacha;
+
+/**
+ * レアリティ (Value Object)
+ * DBの items.rarity の CHECK 制約と同じ並び（低い順）で定義する
+ */
+public enum Rarity {
+    COMMON,
+    RARE,
+    SR,
+    SSR,
+    UR,
+    LR;
+
+    /**
+     * items.rarity の文字列から変換する
+     */
+    public static Rarity from(String value) {
+        return Rarity.valueOf(value);
+    }
+
+    /**
+     * 指定したレアリティ以上かどうか
+     */
+    public boolean isAtLeast(Rarity other) {
+        return this.ordinal() >= other.ordinal();
+    }
+
+    /**
+     * 天井・リセット判定に使う「最高レアリティ」（SSR以上）かどうか
+     */
+    public boolean isTopTier() {
+        return isAtLeast(SSR);
+    }
+}
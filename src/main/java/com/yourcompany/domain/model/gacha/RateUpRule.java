@@ -0,0 +1,39 @@
+package com.yourcompany.domain.model.gacha;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * ピックアップの確率アップ設定 (Value Object)
+ * 指定したレアリティの中でピックアップ対象が占める割合。レアリティ自体の排出率は変えない。
+ */
+@Embeddable
+@Getter
+@EqualsAndHashCode
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class RateUpRule {
+
+    public static final int BASIS_POINTS = 10_000;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "rarity", nullable = false, length = 20)
+    private Rarity rarity;
+
+    // 1万分率 (5000 = レアリティ内の 50% がピックアップ)
+    @Column(name = "pickup_share_bp", nullable = false)
+    private int pickupShareBp;
+
+    public RateUpRule(Rarity rarity, int pickupShareBp) {
+        if (pickupShareBp < 0 || pickupShareBp > BASIS_POINTS) {
+            throw new IllegalArgumentException("Pickup share must be between 0 and " + BASIS_POINTS + ": " + pickupShareBp);
+        }
+        this.rarity = rarity;
+        this.pickupShareBp = pickupShareBp;
+    }
+}
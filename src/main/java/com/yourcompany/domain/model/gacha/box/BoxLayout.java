@@ -0,0 +1,76 @@
+package com.yourcompany.domain.model.gacha.box;
+
+import com.yourcompany.domain.model.gacha.GachaEmission;
+import com.yourcompany.domain.model.gacha.GachaPool;
+
+import java.util.List;
+
+/**
+ * ボックスガチャの箱の構成 (プールの排出設定から作る不変オブジェクト)
+ * スロットの並びはプールの排出設定の並び (ID 順) で、残数の配列はこの位置で対応づける。
+ * 排出設定が変わると fingerprint が変わり、保存済みの残数は使えなくなる (BoxState が新しい箱に入れ替える)。
+ */
+public final class BoxLayout {
+
+    private final List<GachaEmission> emissions;
+    private final int[] capacities;
+    private final long fingerprint;
+
+    private BoxLayout(List<GachaEmission> emissions) {
+        this.emissions = List.copyOf(emissions);
+        this.capacities = new int[emissions.size()];
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < emissions.size(); i++) {
+            GachaEmission emission = emissions.get(i);
+            capacities[i] = emission.getBoxCount();
+            hash = mix(hash, emission.getId().getMostSignificantBits());
+            hash = mix(hash, emission.getId().getLeastSignificantBits());
+            hash = mix(hash, capacities[i]);
+        }
+        this.fingerprint = hash;
+    }
+
+    public static BoxLayout of(GachaPool pool) {
+        if (!pool.isBox()) {
+            throw new IllegalArgumentException("Not a box gacha pool: " + pool.getId());
+        }
+        for (GachaEmission emission : pool.getEmissions()) {
+            if (emission.getBoxCount() == null) {
+                throw new IllegalArgumentException("Box count is not configured. emissionId=" + emission.getId());
+            }
+        }
+        return new BoxLayout(pool.getEmissions());
+    }
+
+    public int size() {
+        return capacities.length;
+    }
+
+    public GachaEmission emission(int slot) {
+        return emissions.get(slot);
+    }
+
+    public int capacity(int slot) {
+        return capacities[slot];
+    }
+
+    /**
+     * 満杯の箱の残数 (コピー)
+     */
+    public int[] capacities() {
+        return capacities.clone();
+    }
+
+    public long fingerprint() {
+        return fingerprint;
+    }
+
+    // FNV-1a を long 単位で回す (永続化した値と比較するため、実行ごとに変わる hashCode は使わない)
+    private static long mix(long hash, long value) {
+        for (int shift = 0; shift < 64; shift += 8) {
+            hash ^= (value >>> shift) & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,34 @@
+package com.yourcompany.domain.model.gacha.box;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * 抽選前の箱の状態 (監査リプレイ用に履歴へ保存する)
+ * ボックスガチャの結果はシードと抽選前の箱の残数で決まるため、同じ箱から同じシードで引き直せば再現できる。
+ *
+ * @param layoutFingerprint 箱の構成の指紋 (BoxLayout#fingerprint)
+ * @param encodedRemaining  残数の varint 列 (BoxState#encodeRemaining)
+ */
+public record BoxSnapshot(int boxNumber, long layoutFingerprint, byte[] encodedRemaining) {
+
+    /**
+     * 抽選前 (BoxState#draw の前) に呼ぶこと
+     */
+    public static BoxSnapshot of(BoxState state) {
+        return new BoxSnapshot(state.getBoxNumber(), state.getLayout().fingerprint(), state.encodeRemaining());
+    }
+
+    /**
+     * 記録時の箱を復元する
+     *
+     * @return 箱の構成が記録時と異なる・残数が構成と合わない場合は empty
+     * (BoxState#restore のように新しい箱には入れ替えない。入れ替えると記録時とは別の箱から引くことになる)
+     */
+    public Optional<BoxState> restore(UUID userId, UUID gachaPoolId, BoxLayout layout) {
+        if (layoutFingerprint != layout.fingerprint() || BoxState.decode(encodedRemaining, layout) == null) {
+            return Optional.empty();
+        }
+        return Optional.of(BoxState.restore(userId, gachaPoolId, layout, boxNumber, layoutFingerprint, encodedRemaining, 0L));
+    }
+}
@@ -0,0 +1,146 @@
+package com.yourcompany.domain.model.gacha.box;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.random.RandomGenerator;
+
+/**
+ * ユーザーごとのボックスガチャの箱の状態
+ * 責務：
+ * 1. 箱の残数から非復元抽選し、引いたものを取り除く (FenwickSampler で1回 O(log n))
+ * 2. 箱が空になったら次の箱に入れ替える (連続ガチャの途中でも入れ替えて引き続ける)
+ *
+ * 残数はスロットごとの可変長整数 (varint) で保存する。排出設定の変更で箱の構成が変わった場合は、
+ * 保存済みの残数を捨てて新しい箱から始める (fingerprint で判定)。
+ */
+@Getter
+public class BoxState {
+
+    private final UUID userId;
+    private final UUID gachaPoolId;
+    private final BoxLayout layout;
+    private final long version;
+    private int boxNumber;
+    @Getter(AccessLevel.NONE)
+    private int[] remaining;
+
+    private BoxState(UUID userId, UUID gachaPoolId, BoxLayout layout, int boxNumber, int[] remaining, long version) {
+        this.userId = userId;
+        this.gachaPoolId = gachaPoolId;
+        this.layout = layout;
+        this.boxNumber = boxNumber;
+        this.remaining = remaining;
+        this.version = version;
+    }
+
+    /**
+     * 初回の箱 (箱番号 1、満杯)
+     */
+    public static BoxState fresh(UUID userId, UUID gachaPoolId, BoxLayout layout, long version) {
+        return new BoxState(userId, gachaPoolId, layout, 1, layout.capacities(), version);
+    }
+
+    /**
+     * 保存済みの状態を復元する
+     * 箱の構成が保存時と異なる場合は、箱番号を進めて満杯の箱から始める。
+     */
+    public static BoxState restore(UUID userId, UUID gachaPoolId, BoxLayout layout,
+                                   int boxNumber, long fingerprint, byte[] encodedRemaining, long version) {
+        int[] remaining = fingerprint == layout.fingerprint() ? decode(encodedRemaining, layout) : null;
+        if (remaining == null) {
+            return new BoxState(userId, gachaPoolId, layout, boxNumber + 1, layout.capacities(), version);
+        }
+        return new BoxState(userId, gachaPoolId, layout, boxNumber, remaining, version);
+    }
+
+    /**
+     * count 回続けて引く (1回ごとに箱から取り除き、空になったら次の箱へ入れ替える)
+     * 木の構築は呼び出しごとに1回で、100連でも抽選1回あたり O(log n)。
+     *
+     * @return 引いたスロットの位置 (BoxLayout#emission で排出設定を得る)
+     */
+    public int[] draw(int count, RandomGenerator random) {
+        if (layout.size() == 0) {
+            throw new IllegalStateException("Box has no slots. poolId=" + gachaPoolId);
+        }
+        int[] drawn = new int[count];
+        FenwickSampler sampler = FenwickSampler.of(remaining);
+        for (int i = 0; i < count; i++) {
+            if (sampler.total() == 0) {
+                boxNumber++;
+                sampler = FenwickSampler.of(layout.capacities());
+            }
+            drawn[i] = sampler.sampleAndRemove(random);
+        }
+        remaining = sampler.counts();
+        return drawn;
+    }
+
+    /**
+     * 箱を入れ替える (残りを捨てて次の満杯の箱にする)
+     */
+    public void reset() {
+        boxNumber++;
+        remaining = layout.capacities();
+    }
+
+    public int remaining(int slot) {
+        return remaining[slot];
+    }
+
+    public int totalRemaining() {
+        return Arrays.stream(remaining).sum();
+    }
+
+    public byte[] encodeRemaining() {
+        return encode(remaining);
+    }
+
+    static byte[] encode(int[] counts) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(counts.length * 2);
+        for (int count : counts) {
+            int value = count;
+            while ((value & ~0x7F) != 0) {
+                out.write((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            out.write(value);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * @return 構成と合わない (スロット数が違う・容量を超える・壊れている) 場合は null
+     */
+    static int[] decode(byte[] bytes, BoxLayout layout) {
+        if (bytes == null) {
+            return null;
+        }
+        int[] counts = new int[layout.size()];
+        int position = 0;
+        for (int slot = 0; slot < counts.length; slot++) {
+            int value = 0;
+            int shift = 0;
+            while (true) {
+                if (position >= bytes.length || shift > 28) {
+                    return null;
+                }
+                byte b = bytes[position++];
+                value |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    break;
+                }
+                shift += 7;
+            }
+            if (value < 0 || value > layout.capacity(slot)) {
+                return null;
+            }
+            counts[slot] = value;
+        }
+        return position == bytes.length ? counts : null;
+    }
+}
@@ -0,0 +1,98 @@
+package com.yourcompany.domain.model.gacha.box;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * 残数に比例した非復元抽選 (Fenwick tree / Binary Indexed Tree)
+ * 構築 O(n)、1回の抽選と取り除きが O(log n)。連続して引いても木を作り直さない。
+ */
+public final class FenwickSampler {
+
+    private final int[] counts;
+    // 1-indexed。tree[i] は (i - lowbit(i), i] の残数の合計
+    private final long[] tree;
+    private final int highestBit;
+    private long total;
+
+    private FenwickSampler(int[] counts) {
+        this.counts = counts;
+        this.tree = new long[counts.length + 1];
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] < 0) {
+                throw new IllegalArgumentException("Count must not be negative. index=" + i);
+            }
+            total += counts[i];
+            tree[i + 1] += counts[i];
+            int parent = (i + 1) + ((i + 1) & -(i + 1));
+            if (parent <= counts.length) {
+                tree[parent] += tree[i + 1];
+            }
+        }
+        this.highestBit = counts.length == 0 ? 0 : Integer.highestOneBit(counts.length);
+    }
+
+    /**
+     * @param counts 各スロットの残数 (コピーして保持する)
+     */
+    public static FenwickSampler of(int[] counts) {
+        return new FenwickSampler(counts.clone());
+    }
+
+    public long total() {
+        return total;
+    }
+
+    public int size() {
+        return counts.length;
+    }
+
+    public int count(int index) {
+        return counts[index];
+    }
+
+    /**
+     * 残数に比例して1つ選び、その残数を1減らす
+     *
+     * @return 選ばれたスロットの位置
+     * @throws IllegalStateException 残数がない場合
+     */
+    public int sampleAndRemove(RandomGenerator random) {
+        if (total == 0) {
+            throw new IllegalStateException("Box is empty");
+        }
+        int index = find(random.nextLong(total));
+        remove(index);
+        return index;
+    }
+
+    /**
+     * 累積残数が target を超える最初のスロット (0 <= target < total)
+     */
+    int find(long target) {
+        int position = 0;
+        long remaining = target;
+        for (int step = highestBit; step > 0; step >>= 1) {
+            int next = position + step;
+            if (next <= counts.length && tree[next] <= remaining) {
+                position = next;
+                remaining -= tree[next];
+            }
+        }
+        return position;
+    }
+
+    private void remove(int index) {
+        counts[index]--;
+        total--;
+        for (int i = index + 1; i <= counts.length; i += i & -i) {
+            tree[i]--;
+        }
+    }
+
+    /**
+     * 現在の残数 (コピー)
+     */
+    public int[] counts() {
+        return counts.clone();
+    }
+}
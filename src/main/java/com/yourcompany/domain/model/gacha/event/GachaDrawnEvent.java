@@ -1,6 +1,7 @@
 package com.yourcompany.domain.model.gacha.event;
 
 import com.yourcompany.domain.shared.value.RequestId;
+import com.yourcompany.domain.model.gacha.DrawSeed;
 import com.yourcompany.domain.model.gacha.EmissionResult;
 
 import java.time.Instant;
@@ -11,6 +12,7 @@ import java.util.UUID;
  * ドメインイベント: ガチャ実行完了
  * 責務: ガチャの結果（誰が、何を、どれだけ消費して引いたか）を保持する。
  * これを受け取ったリスナーが、インベントリ付与や履歴保存を行う。
+ * seed は監査時に同じ排出結果を再現するために履歴へ保存される。
  */
 public record GachaDrawnEvent(
         RequestId requestId,
@@ -19,9 +21,10 @@ public record GachaDrawnEvent(
         int consumedPaid,
         int consumedFree,
         List<EmissionResult> results,
+        DrawSeed seed,
         Instant occurredAt
 ) {
-    public GachaDrawnEvent(RequestId requestId, UUID userId, UUID poolId, int consumedPaid, int consumedFree, List<EmissionResult> results) {
-        this(requestId, userId, poolId, consumedPaid, consumedFree, results, Instant.now());
+    public GachaDrawnEvent(RequestId requestId, UUID userId, UUID poolId, int consumedPaid, int consumedFree, List<EmissionResult> results, DrawSeed seed) {
+        this(requestId, userId, poolId, consumedPaid, consumedFree, results, seed, Instant.now());
     }
 }
\ No newline at end of file
@@ -0,0 +1,111 @@
+package com.yourcompany.domain.model.gacha.tier;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Walker の alias 法による重み付き抽選表 (不変オブジェクト)
+ * 構築 O(n)、1回の抽選 O(1)。確率は整数の重みの比と厳密に一致する (浮動小数点を使わない)。
+ *
+ * 各列は「自身の確率 threshold / total」と「残りを受け持つ alias」を持つ。
+ * 乱数1回 (0 <= r < n * total) から列 r / total と列内の位置 r % total を取り出して判定する。
+ */
+public final class AliasTable {
+
+    private final int size;
+    private final long total;
+    private final long[] thresholds;
+    private final int[] aliases;
+
+    private AliasTable(long[] weights, long total) {
+        this.size = weights.length;
+        this.total = total;
+        this.thresholds = new long[size];
+        this.aliases = new int[size];
+
+        // 重みを n 倍し、平均 (= total) 未満の列と以上の列に分ける (Vose の方法)
+        long[] scaled = new long[size];
+        int[] small = new int[size];
+        int[] large = new int[size];
+        int smallCount = 0;
+        int largeCount = 0;
+        for (int i = 0; i < size; i++) {
+            scaled[i] = weights[i] * size;
+            if (scaled[i] < total) {
+                small[smallCount++] = i;
+            } else {
+                large[largeCount++] = i;
+            }
+        }
+        while (smallCount > 0 && largeCount > 0) {
+            int less = small[--smallCount];
+            int more = large[--largeCount];
+            thresholds[less] = scaled[less];
+            aliases[less] = more;
+            scaled[more] -= total - scaled[less];
+            if (scaled[more] < total) {
+                small[smallCount++] = more;
+            } else {
+                large[largeCount++] = more;
+            }
+        }
+        // 残りはちょうど平均 (整数演算のため誤差は出ない)
+        while (largeCount > 0) {
+            int index = large[--largeCount];
+            thresholds[index] = total;
+            aliases[index] = index;
+        }
+        while (smallCount > 0) {
+            int index = small[--smallCount];
+            thresholds[index] = total;
+            aliases[index] = index;
+        }
+    }
+
+    /**
+     * @param weights 0 以上の重み (0 の列は選ばれない)。合計は正であること
+     */
+    public static AliasTable of(long[] weights) {
+        if (weights.length == 0) {
+            throw new IllegalArgumentException("At least one weight is required");
+        }
+        long total = 0;
+        for (long weight : weights) {
+            if (weight < 0) {
+                throw new IllegalArgumentException("Weight must not be negative: " + weight);
+            }
+            total = Math.addExact(total, weight);
+        }
+        if (total == 0) {
+            throw new IllegalArgumentException("Total weight must be positive");
+        }
+        // n * total が long に収まることを確認する (抽選時の乱数の範囲)
+        Math.multiplyExact(total, (long) weights.length);
+        return new AliasTable(weights, total);
+    }
+
+    public int sample(RandomGenerator random) {
+        if (size == 1) {
+            return 0;
+        }
+        long r = random.nextLong(size * total);
+        int column = (int) (r / total);
+        return r % total < thresholds[column] ? column : aliases[column];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 列 index が選ばれる確率の分子 (分母は size * total)。検証用
+     */
+    long numerator(int index) {
+        long numerator = thresholds[index];
+        for (int column = 0; column < size; column++) {
+            if (column != index && aliases[column] == index) {
+                numerator += total - thresholds[column];
+            }
+        }
+        return numerator;
+    }
+}
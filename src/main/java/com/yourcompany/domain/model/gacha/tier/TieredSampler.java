@@ -0,0 +1,361 @@
+package com.yourcompany.domain.model.gacha.tier;
+
+import com.sqlcanvas.sharedkernel.shared.result.Result;
+import com.yourcompany.domain.model.gacha.EmissionResult.EmissionType;
+import com.yourcompany.domain.model.gacha.GachaEmission;
+import com.yourcompany.domain.model.gacha.GachaPool;
+import com.yourcompany.domain.model.gacha.Rarity;
+import com.yourcompany.domain.model.gacha.RateUpRule;
+import com.yourcompany.domain.shared.exception.GachaErrorCode;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.random.RandomGenerator;
+
+/**
+ * プールごとにコンパイルする2段階の抽選表 (不変オブジェクト)
+ * 1段目でレアリティを、2段目でそのレアリティ内のアイテムを引く。2段目はピックアップ対象とそれ以外に分け、
+ * プールの確率アップ設定 (RateUpRule) があればその割合で、なければ weight の比でどちらかを選ぶ。
+ *
+ * 確定枠・天井枠は1段目の表だけを対象レアリティに絞って別に持つ (2段目の表は共有する)。
+ * ソフト天井は天井カウントごとに最高レアリティの排出率を上げた1段目の表をコンパイル時に作っておき、
+ * 抽選時は天井カウントで表を選ぶだけにする。どの枠でもリストの再集計は不要で、1回の抽選は O(1)。
+ * レアリティの排出率は weight の合計の比で、確率アップはレアリティ内の内訳だけを変える。
+ */
+public final class TieredSampler {
+
+    // 設定の指紋 (FNV-1a 64bit)
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final GachaPool pool;
+    private final long fingerprint;
+    private final List<Tier> tiers;
+    private final SlotTable normal;
+    private final SlotTable guaranteed;
+    private final SlotTable pity;
+    // ソフト天井の表 (添字 = 天井カウント - 開始回数。最後の表より先は最後の表を使う)
+    private final SlotTable[] softPityNormal;
+    private final SlotTable[] softPityGuaranteed;
+
+    private TieredSampler(GachaPool pool, long fingerprint, List<Tier> tiers) {
+        this.pool = pool;
+        this.fingerprint = fingerprint;
+        this.tiers = tiers;
+        this.normal = SlotTable.of(tiers, rarity -> true).orElseThrow();
+        // 対象レアリティの排出設定がない場合は通常枠として引く
+        this.guaranteed = SlotTable.of(tiers, rarity -> rarity.isAtLeast(pool.getGuaranteedMinRarity())).orElse(normal);
+        this.pity = SlotTable.of(tiers, Rarity::isTopTier).orElse(normal);
+
+        // 最高レアリティの排出率 = 通常時の排出率 + 上昇幅 × 回数 (分母 total × 10000 の分数。100% で打ち止め)
+        long total = tiers.stream().mapToLong(Tier::totalWeight).sum();
+        long topTotal = tiers.stream().filter(tier -> tier.rarity().isTopTier()).mapToLong(Tier::totalWeight).sum();
+        long denominator = Math.multiplyExact(total, RateUpRule.BASIS_POINTS);
+        int steps = softPitySteps(pool);
+        this.softPityNormal = new SlotTable[steps];
+        this.softPityGuaranteed = new SlotTable[steps];
+        for (int step = 0; step < steps; step++) {
+            long boost = Math.multiplyExact((long) (step + 1) * pool.getSoftPityStepBp(), total);
+            long numerator = Math.min(denominator, Math.addExact(topTotal * RateUpRule.BASIS_POINTS, boost));
+            softPityNormal[step] = normal.boosted(tiers, numerator, denominator);
+            softPityGuaranteed[step] = guaranteed.boosted(tiers, numerator, denominator);
+        }
+    }
+
+    /**
+     * ソフト天井の表の数 (排出率が 100% に達するか、天井に達するまで)
+     */
+    private static int softPitySteps(GachaPool pool) {
+        if (pool.getSoftPityStartCount() <= 0 || pool.getSoftPityStepBp() <= 0) {
+            return 0;
+        }
+        int steps = (RateUpRule.BASIS_POINTS + pool.getSoftPityStepBp() - 1) / pool.getSoftPityStepBp();
+        if (pool.getPityCeilingCount() > 0) {
+            steps = Math.min(steps, pool.getPityCeilingCount() - pool.getSoftPityStartCount());
+        }
+        return Math.max(0, steps);
+    }
+
+    /**
+     * @param rarityOf アイテムID → レアリティ (マスタにない場合は空)
+     */
+    public static Result<TieredSampler> compile(GachaPool pool, Function<UUID, Optional<Rarity>> rarityOf) {
+        if (pool.getEmissions().isEmpty()) {
+            return GachaErrorCode.INVALID_WEIGHT_CONFIG.toFailure("排出設定が空です");
+        }
+        Map<Rarity, List<GachaEmission>> byRarity = new EnumMap<>(Rarity.class);
+        List<Rarity> rarities = new ArrayList<>(pool.getEmissions().size());
+        for (GachaEmission emission : pool.getEmissions()) {
+            Optional<Rarity> rarity = rarityOf.apply(emission.getItemId());
+            if (rarity.isEmpty()) {
+                return GachaErrorCode.INVALID_WEIGHT_CONFIG.toFailure("アイテムマスタが見つかりません: " + emission.getItemId());
+            }
+            byRarity.computeIfAbsent(rarity.get(), key -> new ArrayList<>()).add(emission);
+            rarities.add(rarity.get());
+        }
+
+        Map<Rarity, Integer> pickupShares = new EnumMap<>(Rarity.class);
+        for (RateUpRule rule : pool.getRateUps()) {
+            pickupShares.put(rule.getRarity(), rule.getPickupShareBp());
+        }
+
+        List<Tier> tiers = new ArrayList<>(byRarity.size());
+        byRarity.forEach((rarity, emissions) -> tiers.add(Tier.of(rarity, emissions, pickupShares.get(rarity))));
+        try {
+            return Result.success(new TieredSampler(pool, fingerprint(pool, rarities), List.copyOf(tiers)));
+        } catch (ArithmeticException e) {
+            // 重みの合計が大きすぎてソフト天井の表を整数で表せない
+            return GachaErrorCode.INVALID_WEIGHT_CONFIG.toFailure("重みの合計が大きすぎます");
+        }
+    }
+
+    /**
+     * 抽選結果を左右する設定 (排出枠の並び・重み・ピックアップ・レアリティ、確率アップ、天井・確定・ソフト天井) の指紋
+     * 同じシードで同じ結果になる設定どうしは同じ値になる。排出枠は抽選表の並び順 (ID順) のまま畳み込む。
+     */
+    private static long fingerprint(GachaPool pool, List<Rarity> rarities) {
+        long hash = FNV_OFFSET;
+        hash = mix(hash, pool.getPityCeilingCount());
+        hash = mix(hash, pool.getGuaranteedTriggerCount());
+        hash = mix(hash, pool.getGuaranteedMinRarity().ordinal());
+        hash = mix(hash, pool.getSoftPityStartCount());
+        hash = mix(hash, pool.getSoftPityStepBp());
+        List<GachaEmission> emissions = pool.getEmissions();
+        for (int i = 0; i < emissions.size(); i++) {
+            GachaEmission emission = emissions.get(i);
+            hash = mix(hash, emission.getItemId().getMostSignificantBits());
+            hash = mix(hash, emission.getItemId().getLeastSignificantBits());
+            hash = mix(hash, emission.getWeight());
+            hash = mix(hash, emission.isPickup() ? 1 : 0);
+            hash = mix(hash, rarities.get(i).ordinal());
+        }
+        List<RateUpRule> rateUps = pool.getRateUps().stream()
+                .sorted(Comparator.comparing(RateUpRule::getRarity))
+                .toList();
+        for (RateUpRule rule : rateUps) {
+            hash = mix(hash, rule.getRarity().ordinal());
+            hash = mix(hash, rule.getPickupShareBp());
+        }
+        return hash;
+    }
+
+    // FNV-1a を 8 バイト単位で畳み込む
+    private static long mix(long hash, long value) {
+        for (int shift = 0; shift < Long.SIZE; shift += Byte.SIZE) {
+            hash ^= (value >>> shift) & 0xff;
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+
+    /**
+     * 枠の種類に応じて1つ引く (ソフト天井なし)
+     */
+    public GachaEmission sample(EmissionType slot, RandomGenerator random) {
+        return sample(slot, 0, random);
+    }
+
+    /**
+     * 枠の種類と天井カウントに応じて1つ引く
+     *
+     * @param pityCount 抽選前の天井カウント (ソフト天井枠・確定枠の表の選択に使う)
+     */
+    public GachaEmission sample(EmissionType slot, int pityCount, RandomGenerator random) {
+        SlotTable table = switch (slot) {
+            case NORMAL -> normal;
+            case SOFT_PITY -> softPity(softPityNormal, pityCount, normal);
+            case GUARANTEED -> softPity(softPityGuaranteed, pityCount, guaranteed);
+            case PITY -> pity;
+        };
+        return tiers.get(table.sampleTier(random)).sample(random);
+    }
+
+    private SlotTable softPity(SlotTable[] tables, int pityCount, SlotTable base) {
+        if (tables.length == 0 || !pool.isSoftPityActive(pityCount)) {
+            return base;
+        }
+        return tables[Math.min(pityCount - pool.getSoftPityStartCount(), tables.length - 1)];
+    }
+
+    /**
+     * 枠の種類ごとの排出対象 (在庫切れで引き直す場合など、一覧が必要なとき用)
+     */
+    public List<GachaEmission> candidates(EmissionType slot) {
+        List<GachaEmission> candidates = new ArrayList<>();
+        for (int tierIndex : table(slot).tierIndexes()) {
+            candidates.addAll(tiers.get(tierIndex).emissions());
+        }
+        return candidates;
+    }
+
+    /**
+     * 通常枠で指定の排出枠が選ばれる確率 (確率アップ込み。排出率の監視用)
+     */
+    public double normalRate(GachaEmission emission) {
+        long total = tiers.stream().mapToLong(Tier::totalWeight).sum();
+        for (Tier tier : tiers) {
+            if (tier.emissions().contains(emission)) {
+                return (double) tier.totalWeight() / total * tier.rateWithin(emission);
+            }
+        }
+        return 0.0;
+    }
+
+    /**
+     * 抽選結果を左右する設定の指紋 (履歴に保存し、リプレイ時に設定が変わっていないかの判定に使う)
+     */
+    public long fingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * コンパイル元のプール (マスタの再読み込みで別インスタンスになったら作り直す)
+     */
+    public GachaPool pool() {
+        return pool;
+    }
+
+    private SlotTable table(EmissionType slot) {
+        return switch (slot) {
+            case NORMAL, SOFT_PITY -> normal;
+            case GUARANTEED -> guaranteed;
+            case PITY -> pity;
+        };
+    }
+
+    /**
+     * 1段目: 枠の対象レアリティだけを列にした alias 表
+     */
+    private record SlotTable(int[] tierIndexes, AliasTable table) {
+
+        static Optional<SlotTable> of(List<Tier> tiers, Predicate<Rarity> eligible) {
+            List<Integer> indexes = new ArrayList<>();
+            for (int i = 0; i < tiers.size(); i++) {
+                if (eligible.test(tiers.get(i).rarity()) && tiers.get(i).totalWeight() > 0) {
+                    indexes.add(i);
+                }
+            }
+            if (indexes.isEmpty()) {
+                return Optional.empty();
+            }
+            long[] weights = new long[indexes.size()];
+            for (int i = 0; i < weights.length; i++) {
+                weights[i] = tiers.get(indexes.get(i)).totalWeight();
+            }
+            return Optional.of(new SlotTable(indexes.stream().mapToInt(Integer::intValue).toArray(), AliasTable.of(weights)));
+        }
+
+        /**
+         * 最高レアリティの合計が numerator / denominator になるよう重みを付け直した表
+         * (最高レアリティ内・それ以外の内訳は元の比のまま。元の排出率がすでに高い場合はそのまま)
+         */
+        SlotTable boosted(List<Tier> tiers, long numerator, long denominator) {
+            long topWeight = 0;
+            long restWeight = 0;
+            for (int tierIndex : tierIndexes) {
+                Tier tier = tiers.get(tierIndex);
+                if (tier.rarity().isTopTier()) {
+                    topWeight += tier.totalWeight();
+                } else {
+                    restWeight += tier.totalWeight();
+                }
+            }
+            if (topWeight == 0 || restWeight == 0
+                    || Math.multiplyExact(topWeight, denominator) >= Math.multiplyExact(numerator, topWeight + restWeight)) {
+                return this;
+            }
+            // 最高レアリティの列は restWeight × numerator 倍、それ以外は topWeight × (denominator - numerator) 倍
+            long topScale = Math.multiplyExact(restWeight, numerator);
+            long restScale = Math.multiplyExact(topWeight, denominator - numerator);
+            long divisor = gcd(topScale, restScale);
+            long[] weights = new long[tierIndexes.length];
+            for (int i = 0; i < weights.length; i++) {
+                Tier tier = tiers.get(tierIndexes[i]);
+                weights[i] = Math.multiplyExact(tier.totalWeight(), (tier.rarity().isTopTier() ? topScale : restScale) / divisor);
+            }
+            return new SlotTable(tierIndexes, AliasTable.of(weights));
+        }
+
+        int sampleTier(RandomGenerator random) {
+            return tierIndexes[table.sample(random)];
+        }
+    }
+
+    /**
+     * 2段目: 1つのレアリティ内の抽選表 (ピックアップ対象とそれ以外に分けて持つ)
+     */
+    private record Tier(Rarity rarity, long totalWeight, List<GachaEmission> emissions,
+                        Group pickups, Group others, long pickupNumerator, long pickupDenominator) {
+
+        static Tier of(Rarity rarity, List<GachaEmission> emissions, Integer pickupShareBp) {
+            List<GachaEmission> pickups = emissions.stream().filter(GachaEmission::isPickup).toList();
+            List<GachaEmission> others = emissions.stream().filter(emission -> !emission.isPickup()).toList();
+            Group pickupGroup = Group.of(pickups);
+            Group otherGroup = Group.of(others);
+            long total = weightOf(emissions);
+            // 確率アップはピックアップ対象とそれ以外の両方がある場合だけ効かせる
+            if (pickupShareBp != null && pickupGroup != null && otherGroup != null) {
+                return new Tier(rarity, total, List.copyOf(emissions), pickupGroup, otherGroup,
+                        pickupShareBp, RateUpRule.BASIS_POINTS);
+            }
+            return new Tier(rarity, total, List.copyOf(emissions), pickupGroup, otherGroup,
+                    weightOf(pickups), total);
+        }
+
+        GachaEmission sample(RandomGenerator random) {
+            if (others == null) {
+                return pickups.sample(random);
+            }
+            if (pickups == null) {
+                return others.sample(random);
+            }
+            return random.nextLong(pickupDenominator) < pickupNumerator ? pickups.sample(random) : others.sample(random);
+        }
+
+        double rateWithin(GachaEmission emission) {
+            List<GachaEmission> group = emissions.stream().filter(e -> e.isPickup() == emission.isPickup()).toList();
+            double groupShare = pickups == null || others == null ? 1.0
+                    : (double) (emission.isPickup() ? pickupNumerator : pickupDenominator - pickupNumerator) / pickupDenominator;
+            return groupShare * emission.getWeight() / weightOf(group);
+        }
+    }
+
+    /**
+     * 3段目: グループ内を weight の比で引く alias 表
+     */
+    private record Group(GachaEmission[] emissions, AliasTable table) {
+
+        // weight の合計が 0 のグループは存在しないものとして扱う
+        static Group of(List<GachaEmission> emissions) {
+            if (weightOf(emissions) == 0) {
+                return null;
+            }
+            long[] weights = emissions.stream().mapToLong(GachaEmission::getWeight).toArray();
+            return new Group(emissions.toArray(GachaEmission[]::new), AliasTable.of(weights));
+        }
+
+        GachaEmission sample(RandomGenerator random) {
+            return emissions[table.sample(random)];
+        }
+    }
+
+    private static long gcd(long a, long b) {
+        while (b != 0) {
+            long next = a % b;
+            a = b;
+            b = next;
+        }
+        return a;
+    }
+
+    private static long weightOf(List<GachaEmission> emissions) {
+        return emissions.stream().mapToLong(GachaEmission::getWeight).sum();
+    }
+}
@@ -1,5 +1,8 @@
 package com.yourcompany.domain.model.history;
 
+import com.yourcompany.domain.model.gacha.DrawSampler;
+import com.yourcompany.domain.model.gacha.DrawSeed;
+import com.yourcompany.domain.model.gacha.box.BoxSnapshot;
 import com.yourcompany.domain.shared.value.RequestId;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -10,6 +13,7 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 
 import java.time.Instant;
+import java.util.Optional;
 import java.util.UUID;
 
 @Entity
@@ -40,8 +44,33 @@ public class GachaTransaction {
     @Column(name = "created_at", nullable = false) // DB: created_at
     private Instant createdAt;
 
+    // 監査リプレイ用の抽選シード (導入前の履歴は null)
+    @Column(name = "rng_seed")
+    private Long rngSeed;
+
+    @Column(name = "rng_algorithm")
+    private String rngAlgorithm;
+
+    // 乱数から排出結果を決めた方式 (導入前の履歴は null = FLAT)
+    @Column(name = "rng_sampler")
+    private String rngSampler;
+
+    // 抽選時のマスタの版数と抽選表の設定の指紋 (リプレイ時に設定変更を判定する。導入前の履歴は null。ボックスガチャは箱の構成の指紋)
+    @Column(name = "master_data_version")
+    private Long masterDataVersion;
+
+    @Column(name = "pool_fingerprint")
+    private Long poolFingerprint;
+
+    // ボックスガチャの抽選前の箱番号と残数 (リプレイで同じ箱から引き直す。通常のプール・導入前の履歴は null)
+    @Column(name = "box_number")
+    private Integer boxNumber;
+
+    @Column(name = "box_remaining")
+    private byte[] boxRemaining;
+
     // コンストラクタ
-    private GachaTransaction(RequestId requestId, UUID userId, UUID poolId, int consumedPaid, int consumedFree, String resultJson) {
+    private GachaTransaction(RequestId requestId, UUID userId, UUID poolId, int consumedPaid, int consumedFree, String resultJson, DrawSeed seed) {
         this.requestId = requestId.toString(); // UUID -> String変換
         this.userId = userId;
         this.poolId = poolId;
@@ -49,12 +78,35 @@ public class GachaTransaction {
         this.consumedFree = consumedFree;
         this.resultJson = resultJson;
         this.createdAt = Instant.now();
+        this.rngSeed = seed.value();
+        this.rngAlgorithm = seed.algorithm();
+        this.rngSampler = seed.sampler().name();
+        this.masterDataVersion = seed.masterVersion();
+        this.poolFingerprint = seed.configFingerprint();
+        if (seed.box() != null) {
+            this.boxNumber = seed.box().boxNumber();
+            this.boxRemaining = seed.box().encodedRemaining();
+        }
     }
 
     /**
      * ファクトリメソッド
      */
-    public static GachaTransaction record(RequestId requestId, UUID userId, UUID poolId, int consumedPaid, int consumedFree, String resultJson) {
-        return new GachaTransaction(requestId, userId, poolId, consumedPaid, consumedFree, resultJson);
+    public static GachaTransaction record(RequestId requestId, UUID userId, UUID poolId, int consumedPaid, int consumedFree, String resultJson, DrawSeed seed) {
+        return new GachaTransaction(requestId, userId, poolId, consumedPaid, consumedFree, resultJson, seed);
+    }
+
+    /**
+     * 記録された抽選シード (シード導入前の履歴は empty)
+     */
+    public Optional<DrawSeed> getSeed() {
+        if (rngSeed == null || rngAlgorithm == null) {
+            return Optional.empty();
+        }
+        DrawSampler sampler = rngSampler == null ? DrawSampler.FLAT : DrawSampler.valueOf(rngSampler);
+        BoxSnapshot box = boxNumber != null && boxRemaining != null && poolFingerprint != null
+                ? new BoxSnapshot(boxNumber, poolFingerprint, boxRemaining)
+                : null;
+        return Optional.of(new DrawSeed(rngSeed, rngAlgorithm, sampler, masterDataVersion, poolFingerprint, box));
     }
 }
\ No newline at end of file
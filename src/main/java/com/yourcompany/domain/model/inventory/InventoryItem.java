@@ -3,6 +3,7 @@ package com.yourcompany.domain.model.inventory;
 import com.sqlcanvas.sharedkernel.shared.error.CommonErrorCode;
 import com.sqlcanvas.sharedkernel.shared.result.Result;
 import com.yourcompany.domain.shared.exception.GachaErrorCode;
+import com.yourcompany.domain.shared.exception.PreallocatedFailure;
 import jakarta.persistence.*;
 import lombok.AccessLevel;
 import lombok.Getter;
@@ -20,15 +21,20 @@ import java.util.UUID;
  */
 @Entity
 @Table(name = "user_items")
+@IdClass(InventoryItemId.class)
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @Slf4j
 public class InventoryItem {
 
+    private static final PreallocatedFailure NON_POSITIVE_AMOUNT =
+            PreallocatedFailure.of(CommonErrorCode.INVALID_PARAMETER, "追加量は1以上である必要があります");
+
     @Id
     @Column(name = "user_id")
     private UUID userId;
 
+    @Id
     @Column(name = "item_id")
     private UUID itemId;
 
@@ -38,17 +44,29 @@ public class InventoryItem {
     @Version
     private long version;
 
-    private InventoryItem(UUID userId, UUID itemId, int quantity) {
+    // 成功時に返す Result (自分自身を包むだけなので使い回す)
+    @Getter(AccessLevel.NONE)
+    private transient Result<InventoryItem> success;
+
+    private InventoryItem(UUID userId, UUID itemId, int quantity, long version) {
         this.userId = userId;
         this.itemId = itemId;
         this.quantity = quantity;
+        this.version = version;
     }
 
     /**
      * 新規アイテム所持レコードの作成 (所持数0)
      */
     public static InventoryItem create(UUID userId, UUID itemId) {
-        return new InventoryItem(userId, itemId, 0);
+        return new InventoryItem(userId, itemId, 0, 0L);
+    }
+
+    /**
+     * 永続化済みの所持レコードを復元する (JDBC での読み込み用)
+     */
+    public static InventoryItem restore(UUID userId, UUID itemId, int quantity, long version) {
+        return new InventoryItem(userId, itemId, quantity, version);
     }
 
     /**
@@ -62,8 +80,7 @@ public class InventoryItem {
         // 1. ガード: amount <= 0 なら INVALID_PARAMETER
         if (amount <= 0) {
             log.warn("Invalid addition amount. userId={}, itemId={}, amount={}", userId, itemId, amount);
-            // 修正: Result.failure を使用し、メッセージを適切なものに変更
-            return Result.failure(CommonErrorCode.INVALID_PARAMETER, "追加量は1以上である必要があります");
+            return NON_POSITIVE_AMOUNT.get();
         }
 
         // 2. ガード: オーバーフローチェック (longキャストで計算して比較)
@@ -80,14 +97,21 @@ public class InventoryItem {
             return Result.failure(GachaErrorCode.INVENTORY_OVERFLOW, message);
         }
 
-        // ログ: 正常更新前のデバッグ情報
-        log.debug("Adding inventory quantity. userId={}, itemId={}, before={}, add={}",
-                userId, itemId, this.quantity, amount);
+        // ログ: 正常更新前のデバッグ情報 (無効時に可変長引数の配列とボクシングが発生しないよう判定してから出す)
+        if (log.isDebugEnabled()) {
+            log.debug("Adding inventory quantity. userId={}, itemId={}, before={}, add={}",
+                    userId, itemId, this.quantity, amount);
+        }
 
         // 3. 加算実行
         this.quantity += amount;
 
-        // 4. Success(this) を返す
-        return Result.success(this);
+        // 4. Success(this) を返す (1抽選ごとに呼ばれるため、生成済みの Result を使い回す)
+        Result<InventoryItem> cached = success;
+        if (cached == null) {
+            cached = Result.success(this);
+            success = cached;
+        }
+        return cached;
     }
 }
\ No newline at end of file
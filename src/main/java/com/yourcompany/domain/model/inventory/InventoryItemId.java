@@ -0,0 +1,24 @@
+package com.yourcompany.domain.model.inventory;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+/**
+ * InventoryItem の複合主キー (user_items の PRIMARY KEY (user_id, item_id) に対応)
+ */
+@Getter
+@EqualsAndHashCode
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+public class InventoryItemId implements Serializable {
+
+    private UUID userId;
+
+    private UUID itemId;
+}
@@ -0,0 +1,177 @@
+package com.yourcompany.domain.model.limit;
+
+import com.sqlcanvas.sharedkernel.shared.result.Result;
+import com.yourcompany.domain.shared.exception.GachaErrorCode;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * ユーザーの抽選上限の判定に使う集計 (Value Object)
+ * 責務：
+ * 1. 月間の有償石の消費額 (未成年などに設定する月額上限の判定用)
+ * 2. プールごとの1日の抽選回数 (プールに設定した1日の上限の判定用)
+ *
+ * 期間は日本時間の暦日・暦月で区切り、1つの集計につき「期間の開始日と値」だけを持つ。
+ * 期間が変わった集計は読み出し時に 0 とみなし、次の加算で新しい期間から数え直す。
+ * 不変オブジェクトのため、キャッシュした値をそのまま複数の抽選で参照してよい。
+ */
+public final class DrawLimitCounters {
+
+    // 期間の区切り (運営の「1日」「1か月」に合わせる)
+    public static final ZoneId ZONE = ZoneId.of("Asia/Tokyo");
+
+    private final UUID userId;
+    private final Integer monthlyPaidCap; // null は上限なし
+    private final PeriodCount monthlyPaid;
+    private final Map<UUID, PeriodCount> dailyDraws;
+
+    // 判定が通った場合に返す Result (自分自身を包むだけなので使い回す)
+    private final Result<DrawLimitCounters> success;
+
+    private DrawLimitCounters(UUID userId, Integer monthlyPaidCap, PeriodCount monthlyPaid, Map<UUID, PeriodCount> dailyDraws) {
+        this.userId = userId;
+        this.monthlyPaidCap = monthlyPaidCap;
+        this.monthlyPaid = monthlyPaid;
+        this.dailyDraws = dailyDraws;
+        this.success = Result.success(this);
+    }
+
+    /**
+     * 永続化済みの値を復元する
+     *
+     * @param monthlyPaid 記録がない場合は null
+     */
+    public static DrawLimitCounters restore(UUID userId, Integer monthlyPaidCap, PeriodCount monthlyPaid,
+                                            Map<UUID, PeriodCount> dailyDraws) {
+        return new DrawLimitCounters(userId, monthlyPaidCap, monthlyPaid, Map.copyOf(dailyDraws));
+    }
+
+    public static DrawLimitCounters empty(UUID userId) {
+        return new DrawLimitCounters(userId, null, null, Map.of());
+    }
+
+    /**
+     * 1日の抽選回数の上限判定 (石の消費より前に行う)
+     *
+     * @param dailyLimit プールの1日の上限 (0 は上限なし)
+     */
+    public Result<DrawLimitCounters> checkDailyDraws(UUID poolId, int dailyLimit, int draws, Instant now) {
+        if (dailyLimit <= 0) {
+            return success;
+        }
+        long drawn = dailyDrawsOn(poolId, dayOf(now));
+        if (drawn + draws > dailyLimit) {
+            return GachaErrorCode.DAILY_DRAW_LIMIT_EXCEEDED.toFailure(
+                    "本日の抽選回数の上限を超えています (残り " + Math.max(0, dailyLimit - drawn) + " 回)");
+        }
+        return success;
+    }
+
+    /**
+     * 月間の有償石の上限判定 (消費額が決まった後に行う)
+     */
+    public Result<DrawLimitCounters> checkMonthlyPaid(int paid, Instant now) {
+        if (monthlyPaidCap == null || paid <= 0) {
+            return success;
+        }
+        if (monthlyPaidOn(monthOf(now)) + paid > monthlyPaidCap) {
+            return GachaErrorCode.SPENDING_LIMIT_EXCEEDED.toFailure();
+        }
+        return success;
+    }
+
+    /**
+     * 抽選結果を加算した新しい集計を返す
+     *
+     * @param countDaily プールに1日の上限がある場合のみ true (上限のないプールの回数は保持しない)
+     */
+    public DrawLimitCounters record(UUID poolId, boolean countDaily, int draws, int paid, Instant now) {
+        PeriodCount newMonthly = monthlyPaid;
+        if (paid > 0) {
+            LocalDate month = monthOf(now);
+            newMonthly = new PeriodCount(month, monthlyPaidOn(month) + paid);
+        }
+        Map<UUID, PeriodCount> newDaily = dailyDraws;
+        if (countDaily) {
+            LocalDate day = dayOf(now);
+            newDaily = new HashMap<>(dailyDraws);
+            // 前日以前の集計は判定に使わないため、ついでに捨てる
+            newDaily.values().removeIf(count -> !count.periodStart().equals(day));
+            newDaily.put(poolId, new PeriodCount(day, dailyDrawsOn(poolId, day) + draws));
+            newDaily = Map.copyOf(newDaily);
+        }
+        return new DrawLimitCounters(userId, monthlyPaidCap, newMonthly, newDaily);
+    }
+
+    /**
+     * 月額上限を変更した集計を返す (null で上限なし)
+     */
+    public DrawLimitCounters withMonthlyPaidCap(Integer cap) {
+        return new DrawLimitCounters(userId, cap, monthlyPaid, dailyDraws);
+    }
+
+    public UUID getUserId() {
+        return userId;
+    }
+
+    public Optional<Integer> getMonthlyPaidCap() {
+        return Optional.ofNullable(monthlyPaidCap);
+    }
+
+    /**
+     * 今月 (now を含む月) の有償石の消費額
+     */
+    public long monthlyPaid(Instant now) {
+        return monthlyPaidOn(monthOf(now));
+    }
+
+    /**
+     * 今日 (now を含む日) のプールの抽選回数
+     */
+    public long dailyDraws(UUID poolId, Instant now) {
+        return dailyDrawsOn(poolId, dayOf(now));
+    }
+
+    /**
+     * 永続化用の月間集計 (記録がない場合は空)
+     */
+    public Optional<PeriodCount> monthlyPaidCount() {
+        return Optional.ofNullable(monthlyPaid);
+    }
+
+    /**
+     * 永続化用のプールの1日の集計 (記録がない場合は空)
+     */
+    public Optional<PeriodCount> dailyDrawCount(UUID poolId) {
+        return Optional.ofNullable(dailyDraws.get(poolId));
+    }
+
+    private long monthlyPaidOn(LocalDate month) {
+        return monthlyPaid != null && monthlyPaid.periodStart().equals(month) ? monthlyPaid.amount() : 0;
+    }
+
+    private long dailyDrawsOn(UUID poolId, LocalDate day) {
+        PeriodCount count = dailyDraws.get(poolId);
+        return count != null && count.periodStart().equals(day) ? count.amount() : 0;
+    }
+
+    public static LocalDate dayOf(Instant instant) {
+        return LocalDate.ofInstant(instant, ZONE);
+    }
+
+    public static LocalDate monthOf(Instant instant) {
+        return dayOf(instant).withDayOfMonth(1);
+    }
+
+    /**
+     * 期間の開始日 (日本時間) とその期間の値
+     */
+    public record PeriodCount(LocalDate periodStart, long amount) {
+    }
+}
@@ -4,7 +4,9 @@ import com.sqlcanvas.sharedkernel.shared.error.CommonErrorCode; // ★CommonErro
 import com.sqlcanvas.sharedkernel.shared.result.Result;
 import com.sqlcanvas.sharedkernel.shared.vo.ValueObject;
 import com.yourcompany.domain.shared.exception.GachaErrorCode;
+import com.yourcompany.domain.shared.exception.PreallocatedFailure;
 import jakarta.persistence.Embeddable;
+import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -15,8 +17,24 @@ import lombok.NoArgsConstructor;
 @EqualsAndHashCode
 public class Gems implements ValueObject {
 
+    // 失敗はメッセージが固定のため事前に生成して使い回す
+    private static final PreallocatedFailure NEGATIVE_BALANCE =
+            PreallocatedFailure.of(CommonErrorCode.INVALID_PARAMETER, "残高は負の値にできません");
+    private static final PreallocatedFailure NEGATIVE_ADDITION =
+            PreallocatedFailure.of(CommonErrorCode.INVALID_PARAMETER, "追加量は正の値である必要があります");
+    private static final PreallocatedFailure NEGATIVE_SUBTRACTION =
+            PreallocatedFailure.of(CommonErrorCode.INVALID_PARAMETER, "消費量は正の値である必要があります");
+    private static final PreallocatedFailure OVERFLOW =
+            PreallocatedFailure.of(GachaErrorCode.INVENTORY_OVERFLOW, "残高が上限値を超えています");
+    private static final PreallocatedFailure INSUFFICIENT =
+            PreallocatedFailure.of(GachaErrorCode.INSUFFICIENT_BALANCE, "石が不足しています");
+
     private int amount;
 
+    // 自分自身を包んだ Result (増減が0の場合に新しい値を作らずに返す)
+    @Getter(AccessLevel.NONE)
+    private transient Result<Gems> self;
+
     private Gems(int amount) {
         this.amount = amount;
     }
@@ -24,31 +42,46 @@ public class Gems implements ValueObject {
     public static Result<Gems> of(int amount) {
         if (amount < 0) {
             // ★修正: Result.failure & CommonErrorCode
-            return Result.failure(CommonErrorCode.INVALID_PARAMETER, "残高は負の値にできません");
+            return NEGATIVE_BALANCE.get();
         }
         return Result.success(new Gems(amount));
     }
 
     public Result<Gems> add(int value) {
         if (value < 0) {
-            return Result.failure(CommonErrorCode.INVALID_PARAMETER, "追加量は正の値である必要があります");
+            return NEGATIVE_ADDITION.get();
+        }
+        if (value == 0) {
+            return self();
         }
         long newAmount = (long) this.amount + value;
         if (newAmount > Integer.MAX_VALUE) {
             // ★修正: Result.failure & GachaErrorCode
-            return Result.failure(GachaErrorCode.INVENTORY_OVERFLOW, "残高が上限値を超えています");
+            return OVERFLOW.get();
         }
         return Result.success(new Gems((int) newAmount));
     }
 
     public Result<Gems> subtract(int value) {
         if (value < 0) {
-            return Result.failure(CommonErrorCode.INVALID_PARAMETER, "消費量は正の値である必要があります");
+            return NEGATIVE_SUBTRACTION.get();
         }
         if (this.amount < value) {
             // ★修正: Result.failure & GachaErrorCode
-            return Result.failure(GachaErrorCode.INSUFFICIENT_BALANCE, "石が不足しています");
+            return INSUFFICIENT.get();
+        }
+        if (value == 0) {
+            return self();
         }
         return Result.success(new Gems(this.amount - value));
     }
+
+    private Result<Gems> self() {
+        Result<Gems> cached = self;
+        if (cached == null) {
+            cached = Result.success(this);
+            self = cached;
+        }
+        return cached;
+    }
 }
\ No newline at end of file
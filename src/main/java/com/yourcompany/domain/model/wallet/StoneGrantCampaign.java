@@ -0,0 +1,139 @@
+package com.yourcompany.domain.model.wallet;
+
+import com.sqlcanvas.sharedkernel.shared.error.CommonErrorCode;
+import com.sqlcanvas.sharedkernel.shared.result.Result;
+import com.yourcompany.domain.shared.exception.GachaErrorCode;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * 石の一括付与キャンペーン (Aggregate Root)
+ * 責務：
+ * 1. 付与量 (有償/無償) と対象の定義
+ * 2. 実行状態の遷移 (PENDING -> RUNNING -> COMPLETED / FAILED)
+ * 3. 再開用チェックポイントと進捗の保持
+ */
+@Entity
+@Table(name = "stone_grant_campaigns")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Slf4j
+public class StoneGrantCampaign {
+
+    public enum TargetMode {
+        ALL_WALLETS, // ウォレットを持つ全ユーザー
+        LISTED       // stone_grant_targets に登録したユーザー
+    }
+
+    public enum Status {
+        PENDING, RUNNING, COMPLETED, FAILED
+    }
+
+    @Id
+    private UUID id;
+
+    @Column(nullable = false)
+    private String name;
+
+    @Column(name = "paid_amount", nullable = false)
+    private int paidAmount;
+
+    @Column(name = "free_amount", nullable = false)
+    private int freeAmount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "target_mode", nullable = false)
+    private TargetMode targetMode;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Status status;
+
+    // このユーザーID以下の対象は処理済み (user_id 順に処理する)
+    @Column(name = "checkpoint_user_id")
+    private UUID checkpointUserId;
+
+    @Column(name = "granted_count", nullable = false)
+    private long grantedCount;
+
+    // 上限超過などで付与できなかった件数
+    @Column(name = "skipped_count", nullable = false)
+    private long skippedCount;
+
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+
+    @Version
+    private long version;
+
+    private StoneGrantCampaign(UUID id, String name, int paidAmount, int freeAmount, TargetMode targetMode) {
+        this.id = id;
+        this.name = name;
+        this.paidAmount = paidAmount;
+        this.freeAmount = freeAmount;
+        this.targetMode = targetMode;
+        this.status = Status.PENDING;
+        this.updatedAt = Instant.now();
+    }
+
+    public static Result<StoneGrantCampaign> create(String name, int paidAmount, int freeAmount, TargetMode targetMode) {
+        if (name == null || name.isBlank()) {
+            return Result.failure(CommonErrorCode.INVALID_PARAMETER, "キャンペーン名は必須です");
+        }
+        if (paidAmount < 0 || freeAmount < 0) {
+            return Result.failure(CommonErrorCode.INVALID_PARAMETER, "付与量は0以上である必要があります");
+        }
+        if (paidAmount == 0 && freeAmount == 0) {
+            return Result.failure(CommonErrorCode.INVALID_PARAMETER, "付与量が0です");
+        }
+        if (paidAmount > Wallet.MAX_STONES || freeAmount > Wallet.MAX_STONES) {
+            return Result.failure(CommonErrorCode.INVALID_PARAMETER, "付与量が残高上限を超えています");
+        }
+        return Result.success(new StoneGrantCampaign(UUID.randomUUID(), name, paidAmount, freeAmount, targetMode));
+    }
+
+    /**
+     * 実行開始 (失敗・中断からの再開を含む)
+     * RUNNING からの再開は、実行中のノードが落ちた場合を想定して許可する。
+     * 付与済み台帳により、多重実行されても二重付与にはならない。
+     */
+    public Result<StoneGrantCampaign> start() {
+        if (status == Status.COMPLETED) {
+            log.warn("Stone grant campaign already completed. campaignId={}", id);
+            return GachaErrorCode.STONE_GRANT_NOT_RUNNABLE.toFailure("完了済みのキャンペーンです");
+        }
+        this.status = Status.RUNNING;
+        this.updatedAt = Instant.now();
+        return Result.success(this);
+    }
+
+    /**
+     * 進捗の記録
+     *
+     * @param checkpointUserId 連続して処理が完了した位置 (進まない場合は null)
+     */
+    public void recordProgress(UUID checkpointUserId, long granted, long skipped) {
+        if (checkpointUserId != null) {
+            this.checkpointUserId = checkpointUserId;
+        }
+        this.grantedCount += granted;
+        this.skippedCount += skipped;
+        this.updatedAt = Instant.now();
+    }
+
+    public void complete() {
+        this.status = Status.COMPLETED;
+        this.updatedAt = Instant.now();
+    }
+
+    public void fail() {
+        this.status = Status.FAILED;
+        this.updatedAt = Instant.now();
+    }
+}
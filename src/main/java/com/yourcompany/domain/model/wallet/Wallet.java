@@ -3,6 +3,7 @@ package com.yourcompany.domain.model.wallet;
 import com.sqlcanvas.sharedkernel.shared.error.CommonErrorCode;
 import com.sqlcanvas.sharedkernel.shared.result.Result;
 import com.yourcompany.domain.shared.exception.GachaErrorCode;
+import com.yourcompany.domain.shared.exception.PreallocatedFailure;
 import jakarta.persistence.*;
 import lombok.AccessLevel;
 import lombok.Getter;
@@ -22,9 +23,17 @@ import java.util.UUID;
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class Wallet {
 
+    // 残高の上限 (DB: wallets.paid_stones / free_stones の CHECK 制約と同じ値)
+    public static final int MAX_STONES = 99_999_999;
+
     private static final String MDC_KEY_USER_ID = "userId";
     private static final String MDC_KEY_OPERATION = "operation";
 
+    private static final PreallocatedFailure NEGATIVE_AMOUNT =
+            PreallocatedFailure.of(CommonErrorCode.INVALID_PARAMETER, "消費量は正の数である必要があります");
+    private static final PreallocatedFailure INSUFFICIENT_BALANCE =
+            PreallocatedFailure.of(GachaErrorCode.INSUFFICIENT_BALANCE);
+
     @Id
     @Column(name = "user_id")
     private UUID userId;
@@ -38,12 +47,25 @@ public class Wallet {
     @Version
     private long version;
 
+    // 成功時に返す Result (自分自身を包むだけなので使い回す)
+    @Getter(AccessLevel.NONE)
+    private transient Result<Wallet> success;
+
     private Wallet(UUID userId, int paidStones, int freeStones) {
         this.userId = userId;
         this.paidStones = paidStones;
         this.freeStones = freeStones;
     }
 
+    /**
+     * 永続化済みのウォレットを復元します (JDBC での読み込み用)。
+     */
+    public static Wallet restore(UUID userId, int paidStones, int freeStones, long version) {
+        Wallet wallet = new Wallet(userId, paidStones, freeStones);
+        wallet.version = version;
+        return wallet;
+    }
+
     /**
      * 新規ウォレットを作成します。
      */
@@ -52,26 +74,51 @@ public class Wallet {
     }
 
     /**
-     * 石を消費します (Railway Oriented Style)。
+     * 石を消費します。
+     * 抽選リクエストごとに呼ばれるため、flatMap/map のラムダ・中間の Result・ボクシングを使わずに直線的に判定する
+     * (戻り値の契約は ADR-001 のまま。成功は使い回しの Result、失敗は事前生成の Result を返す)。
+     * 成功時は MDC を設定せず、ログも DEBUG だけにする (MDC はログを出す失敗時だけ設定する)。
      */
     public Result<Wallet> consume(int amount) {
-        setupMDC("consume");
+        // 1. 引数チェック
+        if (amount < 0) {
+            return consumeFailed(NEGATIVE_AMOUNT.get(), amount);
+        }
+        // 2. 残高チェック
+        if (getTotalStones() < amount) {
+            return consumeFailed(INSUFFICIENT_BALANCE.get(), amount);
+        }
+        // 3. 計算と状態更新
+        executeConsumeLogic(amount);
+        // 4. 完了ログ (MDC を設定しないため userId をメッセージに含める)
+        if (log.isDebugEnabled()) {
+            log.debug("Wallet updated. userId={}, consumed={}, newPaid={}, newFree={}", userId, amount, paidStones, freeStones);
+        }
+        return success();
+    }
 
+    private Result<Wallet> consumeFailed(Result<Wallet> failure, int amount) {
+        setupMDC("consume");
         try {
-            return validateAmountPositive(amount)                    // 1. 引数チェック
-                    .flatMap(this::validateBalanceSufficient)        // 2. 残高チェック
-                    .tap(amt -> log.debug("Consuming stones. amount={}", amt)) // 3. 実行前ログ
-                    .map(this::executeConsumeLogic)                  // 4. 計算と状態更新
-                    .tap(wallet -> log.info("Wallet updated. consumed={}, newPaid={}, newFree={}",
-                            amount, wallet.paidStones, wallet.freeStones)) // 5. 完了ログ
-                    // 失敗時のログ
-                    .tapFailure(failure -> log.warn("Consume failed. code={}, message={}",
-                            failure.errorCode(), failure.message()));
+            if (failure instanceof Result.Failure<Wallet> f) {
+                log.warn("Consume failed. code={}, message={}, required={}, total={}",
+                        f.errorCode(), f.message(), amount, getTotalStones());
+            }
+            return failure;
         } finally {
             clearMDC();
         }
     }
 
+    private Result<Wallet> success() {
+        Result<Wallet> cached = success;
+        if (cached == null) {
+            cached = Result.success(this);
+            success = cached;
+        }
+        return cached;
+    }
+
     // --- Private Helper Methods for ROP ---
 
     private Result<Integer> validateAmountPositive(int amount) {
@@ -83,16 +130,6 @@ public class Wallet {
         return Result.success(amount);
     }
 
-    private Result<Integer> validateBalanceSufficient(int amount) {
-        long total = getTotalStones();
-        if (total < (long) amount) {
-            log.warn("Validation failed: Insufficient balance. total={}, required={}", total, amount);
-            // 修正: GachaErrorCode を使用 (メッセージはデフォルトでOK)
-            return Result.failure(GachaErrorCode.INSUFFICIENT_BALANCE);
-        }
-        return Result.success(amount);
-    }
-
     private Wallet executeConsumeLogic(int amount) {
         int remaining = amount;
         int paidConsume = Math.min(this.paidStones, remaining);
@@ -131,8 +168,8 @@ public class Wallet {
     }
 
     private Result<Void> validateCapacity(int paidAdd, int freeAdd) {
-        if ((long)this.paidStones + paidAdd > Integer.MAX_VALUE ||
-                (long)this.freeStones + freeAdd > Integer.MAX_VALUE) {
+        if ((long)this.paidStones + paidAdd > MAX_STONES ||
+                (long)this.freeStones + freeAdd > MAX_STONES) {
             log.error("Validation failed: Capacity overflow. currentPaid={}, addPaid={}, currentFree={}, addFree={}",
                     paidStones, paidAdd, freeStones, freeAdd);
             // 修正: GachaErrorCode を使用
@@ -23,6 +23,15 @@ public enum GachaErrorCode implements ErrorCode {
     // 在庫切れ (排他制御などで負けたり、数に限りのあるガチャの場合)
     OUT_OF_STOCK("GACHA-G004", "在庫切れです", HttpStatus.CONFLICT),
 
+    // 一括付与キャンペーンが見つからない
+    STONE_GRANT_NOT_FOUND("GACHA-G005", "付与キャンペーンが見つかりません", HttpStatus.NOT_FOUND),
+
+    // 完了済みなど実行できない状態
+    STONE_GRANT_NOT_RUNNABLE("GACHA-G006", "付与キャンペーンを実行できない状態です", HttpStatus.CONFLICT),
+
+    // 月間の有償石の利用上限 (未成年の課金上限など) を超える
+    SPENDING_LIMIT_EXCEEDED("GACHA-G007", "今月の有償石の利用上限を超えています", HttpStatus.FORBIDDEN),
+
     // --- ガチャ仕様・期間関連 (P) ---
     // 期間外・存在しない
     GACHA_POOL_EXPIRED("GACHA-P001", "開催期間外、または存在しないガチャです", HttpStatus.GONE),
@@ -30,6 +39,22 @@ public enum GachaErrorCode implements ErrorCode {
     // 設定ミス (運営側のミスなので 500)
     INVALID_WEIGHT_CONFIG("GACHA-P002", "確率設定に誤りがあります", HttpStatus.INTERNAL_SERVER_ERROR),
 
+    // ボックスガチャ専用の操作を通常ガチャに対して行った
+    NOT_BOX_GACHA("GACHA-P003", "ボックスガチャではありません", HttpStatus.BAD_REQUEST),
+
+    // 払い出し済み (借り受け済み) の数を下回る全体在庫の設定
+    STOCK_BELOW_LEASED("GACHA-P004", "払い出し済みの数より少ない在庫は設定できません", HttpStatus.CONFLICT),
+
+    // プールの1日の抽選回数の上限を超える
+    DAILY_DRAW_LIMIT_EXCEEDED("GACHA-P005", "本日の抽選回数の上限を超えています", HttpStatus.FORBIDDEN),
+
+    // --- 履歴・監査関連 (H) ---
+    // 履歴が存在しない
+    TRANSACTION_NOT_FOUND("GACHA-H001", "ガチャ履歴が見つかりません", HttpStatus.NOT_FOUND),
+
+    // シード導入前の履歴などリプレイできない
+    SEED_NOT_RECORDED("GACHA-H002", "抽選シードが記録されていないため再現できません", HttpStatus.UNPROCESSABLE_ENTITY),
+
     // --- システム・整合性 (SYS) ---
     // 楽観ロック競合など
     CONCURRENT_UPDATE_FAILURE("GACHA-SYS-001", "他端末での操作と競合しました。再度お試しください", HttpStatus.CONFLICT),
@@ -37,6 +62,24 @@ public enum GachaErrorCode implements ErrorCode {
     // リクエスト重複 (冪等性チェック)
     DUPLICATE_REQUEST("GACHA-SYS-002", "リクエストが重複しています", HttpStatus.CONFLICT),
 
+    // レート制限超過
+    RATE_LIMITED("GACHA-SYS-003", "リクエストが多すぎます。しばらく待ってから再度お試しください", HttpStatus.TOO_MANY_REQUESTS),
+
+    // 過負荷による受付制限 (時間をおいて再試行すれば成功する見込みがある)
+    SERVER_OVERLOADED("GACHA-SYS-004", "混雑しています。しばらく待ってから再度お試しください", HttpStatus.SERVICE_UNAVAILABLE),
+
+    // シャーディング無効時のシャード操作
+    SHARDING_DISABLED("GACHA-SYS-005", "シャーディングが有効になっていません", HttpStatus.CONFLICT),
+
+    // 再配置中・同名登録済みなどシャード構成を変更できない状態
+    SHARD_CONFLICT("GACHA-SYS-006", "シャード構成を変更できない状態です", HttpStatus.CONFLICT),
+
+    // シミュレーションが制限時間内に終わらない (仮想ユーザー数を減らせば実行できる)
+    SIMULATION_TIMEOUT("GACHA-SYS-007", "シミュレーションが制限時間内に終わりませんでした", HttpStatus.SERVICE_UNAVAILABLE),
+
+    // 全体在庫の借り受けが間に合わない (在庫切れではないため、再試行すれば成功する見込みがある)
+    STOCK_UNAVAILABLE("GACHA-SYS-008", "混雑しています。しばらく待ってから再度お試しください", HttpStatus.SERVICE_UNAVAILABLE),
+
     // 予期せぬエラー
     UNEXPECTED_ERROR("GACHA-500", "予期しないエラーが発生しました", HttpStatus.INTERNAL_SERVER_ERROR);
 
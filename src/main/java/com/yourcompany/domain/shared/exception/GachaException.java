@@ -4,6 +4,11 @@ package com.yourcompany.domain.shared.exception;
 import com.sqlcanvas.sharedkernel.shared.error.ErrorCode;
 import lombok.Getter;
 
+/**
+ * 業務エラーの例外
+ * 想定内のエラー (4xx) はハンドラでスタックトレースを出さないため、生成時にも取得しない
+ * (スタックの走査とフレーム配列の確保を省く)。5xx は原因調査のために従来どおり取得する。
+ */
 @Getter
 public class GachaException extends RuntimeException {
 
@@ -11,13 +16,16 @@ public class GachaException extends RuntimeException {
 
     // ★引数を GachaErrorCode から ErrorCode (インターフェース) に変更
     public GachaException(ErrorCode errorCode) {
-        super(errorCode.getDefaultMessage());
-        this.errorCode = errorCode;
+        this(errorCode, errorCode.getDefaultMessage());
     }
 
     // 必要に応じてメッセージを上書きするコンストラクタも追加可能
     public GachaException(ErrorCode errorCode, String message) {
-        super(message);
+        super(message, null, true, !isExpected(errorCode));
         this.errorCode = errorCode;
     }
+
+    private static boolean isExpected(ErrorCode errorCode) {
+        return errorCode.getStatus() != null && errorCode.getStatus().is4xxClientError();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,31 @@
+package com.yourcompany.domain.shared.exception;
+
+import com.sqlcanvas.sharedkernel.shared.error.ErrorCode;
+import com.sqlcanvas.sharedkernel.shared.result.Result;
+
+/**
+ * 事前に生成しておく失敗 Result (メッセージが固定の業務エラー用)
+ * Result.Failure は不変で値を持たないため、1つのインスタンスを型引数だけ読み替えて使い回せる。
+ * 抽選ごとに呼ばれるドメインメソッドで、失敗のたびに Result を生成しないために使う。
+ */
+public final class PreallocatedFailure {
+
+    private final Result<Object> failure;
+
+    private PreallocatedFailure(Result<Object> failure) {
+        this.failure = failure;
+    }
+
+    public static PreallocatedFailure of(ErrorCode errorCode) {
+        return new PreallocatedFailure(Result.failure(errorCode));
+    }
+
+    public static PreallocatedFailure of(ErrorCode errorCode, String message) {
+        return new PreallocatedFailure(Result.failure(errorCode, message));
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> Result<T> get() {
+        return (Result<T>) (Result<?>) failure;
+    }
+}
@@ -6,6 +6,8 @@ import com.yourcompany.domain.shared.exception.GachaErrorCode;
 import lombok.extern.slf4j.Slf4j;
 
 import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -77,6 +79,17 @@ public record RequestId(UUID value) {
         }
     }
 
+    /**
+     * 生成時刻 (UUID v7 の先頭 48bit)。v7 以外の ID は空
+     * 時刻でパーティション分割した履歴を ID から引くときの範囲に使う。
+     */
+    public Optional<Instant> timestamp() {
+        if (value.version() != 7) {
+            return Optional.empty();
+        }
+        return Optional.of(Instant.ofEpochMilli(value.getMostSignificantBits() >>> 16));
+    }
+
     // 文字列表現を返す便宜メソッド
     @Override
     public String toString() {
@@ -5,6 +5,7 @@ import com.yourcompany.domain.model.user.User;
 import com.yourcompany.domain.model.user.UserRepository;
 import com.yourcompany.domain.model.wallet.Wallet;
 import com.yourcompany.schoolasset.infrastructure.persistence.repository.WalletRepository;
+import com.yourcompany.config.infrastructure.datasource.shard.UserShardScope;
 import com.yourcompany.security.JwtTokenProvider;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -25,6 +26,7 @@ public class AuthUseCase {
     private final JwtTokenProvider tokenProvider;
     private final UserRepository userRepository;
     private final WalletRepository walletRepository; // 登録時にウォレットも作る
+    private final UserShardScope userShardScope;
     private final PasswordEncoder passwordEncoder;
 
     // ログイン処理
@@ -64,9 +66,9 @@ public class AuthUseCase {
         user.setRole(User.Role.USER);
         userRepository.save(user);
 
-        // 2. Wallet作成 (初期残高0)
+        // 2. Wallet作成 (初期残高0)。シャーディング有効時はユーザーの配置先シャードに作る
         Wallet wallet = Wallet.create(user.getId());
-        walletRepository.save(wallet);
+        userShardScope.provision(user.getId(), () -> walletRepository.save(wallet));
 
         // 3. ログインしてトークン発行
         return login(request);
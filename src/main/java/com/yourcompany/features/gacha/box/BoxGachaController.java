@@ -0,0 +1,50 @@
+package com.yourcompany.features.gacha.box;
+
+import com.sqlcanvas.sharedkernel.shared.result.Result;
+import com.yourcompany.domain.shared.exception.GachaException;
+import com.yourcompany.security.CustomUserDetails;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+@Tag(name = "Gacha", description = "ガチャ関連API")
+@RestController
+@RequestMapping("/api/v1/gachas/{poolId}/box")
+@RequiredArgsConstructor
+public class BoxGachaController {
+
+    private final BoxGachaUseCase useCase;
+
+    @Operation(summary = "ボックスの中身", description = "ボックスガチャの現在の箱の残数を返します。")
+    @GetMapping
+    public ResponseEntity<BoxStatusResponse> status(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @PathVariable UUID poolId
+    ) {
+        return handle(useCase.status(userDetails.getUser().getId(), poolId));
+    }
+
+    @Operation(summary = "ボックスのリセット", description = "現在の箱の残りを破棄し、次の箱に入れ替えます。")
+    @PostMapping("/reset")
+    public ResponseEntity<BoxStatusResponse> reset(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @PathVariable UUID poolId
+    ) {
+        return handle(useCase.reset(userDetails.getUser().getId(), poolId));
+    }
+
+    private ResponseEntity<BoxStatusResponse> handle(Result<BoxStatusResponse> result) {
+        if (result instanceof Result.Success<BoxStatusResponse> success) {
+            return ResponseEntity.ok(success.value());
+        }
+        if (result instanceof Result.Failure<BoxStatusResponse> failure) {
+            throw new GachaException(failure.errorCode(), failure.message());
+        }
+        throw new IllegalStateException("Unknown result type");
+    }
+}
@@ -0,0 +1,99 @@
+package com.yourcompany.features.gacha.box;
+
+import com.sqlcanvas.sharedkernel.shared.result.Result;
+import com.yourcompany.domain.model.gacha.GachaEmission;
+import com.yourcompany.domain.model.gacha.GachaPool;
+import com.yourcompany.domain.model.gacha.box.BoxLayout;
+import com.yourcompany.domain.model.gacha.box.BoxState;
+import com.yourcompany.domain.shared.exception.GachaErrorCode;
+import com.yourcompany.schoolasset.application.service.master.ItemMaster;
+import com.yourcompany.schoolasset.application.service.master.MasterDataCache;
+import com.yourcompany.schoolasset.infrastructure.persistence.repository.BoxStateJdbcRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * ボックスガチャの箱の参照と入れ替え
+ * 抽選そのものは DrawGachaUseCase が通常ガチャと同じ経路で行う。
+ */
+@Service
+@RequiredArgsConstructor
+public class BoxGachaUseCase {
+
+    private final MasterDataCache masterDataCache;
+    private final BoxStateJdbcRepository boxStateRepository;
+
+    @Transactional(readOnly = true)
+    public Result<BoxStatusResponse> status(UUID userId, UUID poolId) {
+        GachaPool pool = masterDataCache.findPool(poolId).orElse(null);
+        if (pool == null) {
+            return GachaErrorCode.GACHA_POOL_EXPIRED.toFailure();
+        }
+        if (!pool.isBox()) {
+            return GachaErrorCode.NOT_BOX_GACHA.toFailure();
+        }
+        BoxState state = boxStateRepository.findOrFresh(userId, poolId, BoxLayout.of(pool));
+        return Result.success(toResponse(state));
+    }
+
+    /**
+     * 残りを捨てて次の箱にする (1回も引いていない箱はそのまま)
+     * 同時に抽選された場合は version の不一致で競合として失敗する。
+     */
+    @Transactional
+    public Result<BoxStatusResponse> reset(UUID userId, UUID poolId) {
+        GachaPool pool = masterDataCache.findPool(poolId).orElse(null);
+        if (pool == null || !pool.isOpen()) {
+            return GachaErrorCode.GACHA_POOL_EXPIRED.toFailure();
+        }
+        if (!pool.isBox()) {
+            return GachaErrorCode.NOT_BOX_GACHA.toFailure();
+        }
+        BoxLayout layout = BoxLayout.of(pool);
+        BoxState state = boxStateRepository.findOrFresh(userId, poolId, layout);
+        if (state.getVersion() == BoxStateJdbcRepository.NEW_BOX_VERSION || isFull(state, layout)) {
+            return Result.success(toResponse(state));
+        }
+
+        state.reset();
+        if (boxStateRepository.upsert(state).isEmpty()) {
+            return GachaErrorCode.CONCURRENT_UPDATE_FAILURE.toFailure();
+        }
+        return Result.success(toResponse(state));
+    }
+
+    private static boolean isFull(BoxState state, BoxLayout layout) {
+        for (int slot = 0; slot < layout.size(); slot++) {
+            if (state.remaining(slot) != layout.capacity(slot)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private BoxStatusResponse toResponse(BoxState state) {
+        BoxLayout layout = state.getLayout();
+        List<BoxStatusResponse.Slot> slots = new ArrayList<>(layout.size());
+        int totalCapacity = 0;
+        for (int slot = 0; slot < layout.size(); slot++) {
+            GachaEmission emission = layout.emission(slot);
+            ItemMaster item = masterDataCache.findItem(emission.getItemId()).orElse(null);
+            slots.add(new BoxStatusResponse.Slot(
+                    emission.getItemId(),
+                    item != null ? item.name() : null,
+                    item != null ? item.rarity().name() : null,
+                    emission.isPickup(),
+                    state.remaining(slot),
+                    layout.capacity(slot)
+            ));
+            totalCapacity += layout.capacity(slot);
+        }
+        return new BoxStatusResponse(
+                state.getGachaPoolId(), state.getBoxNumber(), state.totalRemaining(), totalCapacity, slots);
+    }
+}
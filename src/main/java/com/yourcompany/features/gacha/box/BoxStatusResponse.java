@@ -0,0 +1,21 @@
+package com.yourcompany.features.gacha.box;
+
+import java.util.List;
+import java.util.UUID;
+
+public record BoxStatusResponse(
+        UUID poolId,
+        int boxNumber,       // 何箱目か (1始まり)
+        int totalRemaining,
+        int totalCapacity,
+        List<Slot> slots     // 排出設定の並び順
+) {
+    public record Slot(
+            UUID itemId,
+            String itemName,
+            String rarity,
+            boolean isPickup,
+            int remaining,
+            int capacity
+    ) {}
+}
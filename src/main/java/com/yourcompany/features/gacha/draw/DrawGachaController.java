@@ -5,10 +5,10 @@ import com.sqlcanvas.sharedkernel.shared.result.Result;
 import com.yourcompany.security.CustomUserDetails;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
 @Tag(name = "Gacha", description = "ガチャ関連API")
@@ -22,7 +22,7 @@ public class DrawGachaController {
     @PostMapping("/draw")
     public ResponseEntity<DrawGachaResponse> handle(
             @AuthenticationPrincipal CustomUserDetails userDetails,
-            @RequestBody @Validated DrawGachaRequest request
+            @RequestBody @Valid DrawGachaRequest request
     ) {
         Result<DrawGachaResponse> result = useCase.execute(
                 userDetails.getUser().getId(),
@@ -1,8 +1,14 @@
 package com.yourcompany.features.gacha.draw;
 
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
 import java.util.UUID;
 
 public record DrawGachaRequest(
+        @NotNull
         UUID poolId,
-        int drawCount
+        @Min(1) @Max(10)
+        int drawCount // 単発は 1、10連は 10
 ) {}
\ No newline at end of file
@@ -1,13 +1,29 @@
 package com.yourcompany.features.gacha.draw;
 
 import com.yourcompany.domain.model.gacha.*;
+import com.yourcompany.domain.model.gacha.box.BoxLayout;
+import com.yourcompany.domain.model.gacha.box.BoxSnapshot;
+import com.yourcompany.domain.model.gacha.box.BoxState;
+import com.yourcompany.domain.model.gacha.tier.TieredSampler;
 import com.yourcompany.domain.model.gacha.event.GachaDrawnEvent;
+import com.yourcompany.domain.model.inventory.InventoryItem;
+import com.yourcompany.domain.model.limit.DrawLimitCounters;
 import com.yourcompany.domain.model.wallet.Wallet;
 import com.yourcompany.domain.shared.exception.GachaErrorCode;
 import com.yourcompany.domain.shared.exception.GachaException;
 import com.sqlcanvas.sharedkernel.shared.result.Result;
 import com.yourcompany.schoolasset.infrastructure.persistence.repository.*; // パッケージ移動後は修正が必要
-import com.yourcompany.schoolasset.application.service.LotteryService; // 共通サービスとして残すか、ここに移すか検討
+import com.yourcompany.schoolasset.application.service.limit.DrawLimitStore;
+import com.yourcompany.schoolasset.application.service.master.ItemMaster;
+import com.yourcompany.schoolasset.application.service.master.MasterDataCache;
+import com.yourcompany.schoolasset.application.service.random.DrawRandom;
+import com.yourcompany.schoolasset.application.service.random.DrawRandomStrategy;
+import com.yourcompany.schoolasset.application.service.sampler.TieredSamplerCache;
+import com.yourcompany.schoolasset.application.service.state.GachaStateStore;
+import com.yourcompany.schoolasset.application.service.state.LoadedGachaState;
+import com.yourcompany.schoolasset.application.service.stock.LimitedStockService;
+import com.yourcompany.schoolasset.application.service.stock.StockFallbackDraw;
+import com.yourcompany.schoolasset.infrastructure.event.DrawEventBus;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import com.yourcompany.domain.shared.value.RequestId;
@@ -16,8 +32,12 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.transaction.interceptor.TransactionAspectSupport;
 
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @Slf4j
@@ -25,25 +45,51 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class DrawGachaUseCase {
 
-    private final WalletRepository walletRepository;
-    private final GachaPoolRepository poolRepository;
-    private final GachaStateRepository stateRepository;
-    private final LotteryService lotteryService; // 抽選ロジックはドメインサービスとして共有
+    private final DrawContextRepository drawContextRepository;
+    private final BoxStateJdbcRepository boxStateRepository;
+    private final MasterDataCache masterDataCache;
+    private final GachaStateStore stateStore;
+    private final DrawLimitStore limitStore;
+    private final TieredSamplerCache samplerCache;
+    private final LimitedStockService limitedStockService; // 抽選ロジック (LotteryService) に全体在庫の払い出しを加えたもの
+    private final DrawRandomStrategy randomStrategy;
     private final ApplicationEventPublisher eventPublisher;
+    private final DrawEventBus drawEventBus;
 
     @Transactional
     public Result<DrawGachaResponse> execute(UUID userId, DrawGachaRequest request) {
-        // 1. プール情報取得
-        GachaPool pool = poolRepository.findByIdWithEmissions(request.poolId()).orElse(null);
+        // 1. プール情報取得 (マスタキャッシュから。参照専用)
+        GachaPool pool = masterDataCache.findPool(request.poolId()).orElse(null);
         if (pool == null || !pool.isOpen()) {
             return GachaErrorCode.GACHA_POOL_EXPIRED.toFailure();
         }
+        // ボックスガチャは箱の中身 (個数) の設定から箱を組み立てるため、設定が壊れていればロック前に弾く
+        if (pool.isBox() && pool.validateConfiguration() instanceof Result.Failure<GachaPool> f) {
+            return Result.failure(f.errorCode(), f.message());
+        }
 
-        // 2. ウォレット取得 (悲観ロック)
-        Wallet wallet = walletRepository.findByIdWithLock(userId)
+        // 2. 抽選コンテキスト取得 (ウォレットの悲観ロック + ガチャ状態 + 排出アイテムの所持数を1往復で読む)
+        List<UUID> itemIds = pool.getEmissions().stream()
+                .map(GachaEmission::getItemId)
+                .distinct()
+                .toList();
+        DrawContext context = drawContextRepository.lockAndLoad(userId, pool.getId(), itemIds)
                 .orElseThrow(() -> new GachaException(GachaErrorCode.WALLET_NOT_FOUND));
+        Wallet wallet = context.restoreWallet();
+        // ロック中の version。書き戻しの楽観チェックとガチャ状態キャッシュの有効性判定に使う
+        long walletVersion = context.wallet().version();
+
+        // 3. 抽選上限 (プールの1日の回数)。集計はキャッシュ (ウォレットの version で有効性を確認) から引く
+        Instant now = Instant.now();
+        DrawLimitCounters limits = limitStore.load(userId, walletVersion);
+        Result<DrawLimitCounters> dailyLimitResult = limits.checkDailyDraws(
+                pool.getId(), pool.getDailyDrawLimit(), request.drawCount(), now);
+        if (dailyLimitResult instanceof Result.Failure<DrawLimitCounters> f) {
+            markRollback();
+            return Result.failure(f.errorCode(), f.message());
+        }
 
-        // 3. コスト消費
+        // 4. コスト消費
         int totalCost = pool.getCostAmount() * request.drawCount();
         long snapshotPaid = wallet.getPaidStones();
         long snapshotFree = wallet.getFreeStones();
@@ -54,55 +100,135 @@ public class DrawGachaUseCase {
             return Result.failure(f.errorCode(), f.message());
         }
 
-        // 4. ガチャ状態取得
-        GachaState gachaState = stateRepository.findByUserAndPool(userId, pool.getId())
-                .orElseGet(() -> GachaState.create(userId, pool.getId()));
+        // 有償石の月間の利用上限 (有償石から先に消費するため、消費額が決まってから判定する)
+        int consumedPaid = (int) (snapshotPaid - wallet.getPaidStones());
+        Result<DrawLimitCounters> spendingLimitResult = limits.checkMonthlyPaid(consumedPaid, now);
+        if (spendingLimitResult instanceof Result.Failure<DrawLimitCounters> f) {
+            markRollback();
+            return Result.failure(f.errorCode(), f.message());
+        }
+
+        // 5. ガチャ状態 (コンテキストに含まれる。キャッシュにも登録される)
+        LoadedGachaState loadedState = stateStore.fromContext(context);
+        GachaState gachaState = loadedState.state();
+
+        // 6. 抽選ループ (リクエスト専用の乱数生成器。シードは履歴に保存され、リプレイで同じ結果を再現できる)
+        DrawRandom drawRandom = randomStrategy.newDrawRandom();
+
+        // ボックスガチャは箱の状態 (ウォレットのロック後に読む) から全回数分をまとめて引く
+        BoxState boxState = null;
+        BoxSnapshot boxSnapshot = null;
+        int[] boxSlots = null;
+        TieredSampler sampler = null;
+        if (pool.isBox()) {
+            BoxLayout layout = BoxLayout.of(pool);
+            boxState = boxStateRepository.findOrFresh(userId, pool.getId(), layout);
+            // リプレイで同じ箱から引き直せるよう、抽選前の箱の状態を履歴に残す
+            boxSnapshot = BoxSnapshot.of(boxState);
+            boxSlots = boxState.draw(request.drawCount(), drawRandom.generator());
+        } else {
+            // 通常のプールはレアリティ → アイテムの2段階抽選表 (プールごとにコンパイル済み) から引く
+            Result<TieredSampler> samplerResult = samplerCache.samplerFor(pool);
+            if (samplerResult instanceof Result.Failure<TieredSampler> f) {
+                markRollback();
+                return Result.failure(f.errorCode(), f.message());
+            }
+            sampler = ((Result.Success<TieredSampler>) samplerResult).value();
+        }
 
-        // 5. 抽選ループ
         List<DrawGachaResponse.EmissionItem> responseItems = new ArrayList<>();
         List<EmissionResult> eventDetails = new ArrayList<>();
+        // 付与先の所持レコード (同じアイテムが複数回出ても1行にまとめて書き戻す)
+        Map<UUID, InventoryItem> grantedItems = new LinkedHashMap<>();
 
         for (int i = 0; i < request.drawCount(); i++) {
             // A. 抽選
-            Result<GachaEmission> drawResult = lotteryService.draw(pool.getEmissions());
-            if (drawResult instanceof Result.Failure<GachaEmission> f) {
+            GachaEmission emission;
+            EmissionResult.EmissionType slot = EmissionResult.EmissionType.NORMAL;
+            int pityCount = gachaState.getCurrentPityCount();
+            List<UUID> soldOutEmissionIds = List.of();
+            if (boxState != null) {
+                emission = boxState.getLayout().emission(boxSlots[i]);
+            } else {
+                // 天井・確定枠は対象レアリティに絞った表、ソフト天井枠は天井カウントごとの表から引く
+                slot = gachaState.nextSlot(pool);
+                // 全体在庫のある排出枠は在庫から払い出す (在庫切れなら残りの排出率で引き直し、除いた枠を履歴に残す)
+                Result<StockFallbackDraw.Outcome> drawResult =
+                        limitedStockService.draw(sampler, slot, pityCount, drawRandom.generator());
+                if (drawResult instanceof Result.Failure<StockFallbackDraw.Outcome> f) {
+                    markRollback();
+                    return Result.failure(f.errorCode(), f.message());
+                }
+                StockFallbackDraw.Outcome outcome = ((Result.Success<StockFallbackDraw.Outcome>) drawResult).value();
+                emission = outcome.emission();
+                soldOutEmissionIds = outcome.soldOutEmissionIds();
+            }
+
+            ItemMaster item = masterDataCache.findItem(emission.getItemId()).orElse(null);
+            if (item == null) {
                 markRollback();
-                return Result.failure(f.errorCode(), f.message());
+                return GachaErrorCode.INVALID_WEIGHT_CONFIG.toFailure("アイテムマスタが見つかりません: " + emission.getItemId());
             }
-            GachaEmission emission = ((Result.Success<GachaEmission>) drawResult).value();
 
             // B. 状態更新
-            boolean isSsr = false; // TODO: Item情報を取得して判定
-            Result<GachaState> stateResult = gachaState.updateState(isSsr, pool);
+            Result<GachaState> stateResult = gachaState.updateState(item.rarity(), pool);
             if (stateResult instanceof Result.Failure<GachaState> f) {
                 markRollback();
                 return Result.failure(f.errorCode(), f.message());
             }
 
+            // C. 在庫付与 (メモリ上。最大所持数を超える場合は全体をロールバック)
+            InventoryItem inventory = grantedItems.computeIfAbsent(item.id(), context::restoreInventory);
+            Result<InventoryItem> grantResult = inventory.addQuantity(1, item.maxCapacity());
+            if (grantResult instanceof Result.Failure<InventoryItem> f) {
+                markRollback();
+                return Result.failure(f.errorCode(), f.message());
+            }
+
             // DTO詰め替え
             responseItems.add(new DrawGachaResponse.EmissionItem(
-                    emission.getItemId(), "ItemName", "R", false, 1
+                    emission.getItemId(), item.name(), item.rarity().name(), false, 1
             ));
             eventDetails.add(new EmissionResult(
-                    emission.getItemId(), "ItemName", "R", emission.isPickup(), EmissionResult.EmissionType.NORMAL
+                    emission.getItemId(), item.name(), item.rarity().name(), emission.isPickup(), slot, pityCount,
+                    soldOutEmissionIds
             ));
         }
 
-        // 6. 永続化
-        walletRepository.save(wallet);
-        stateRepository.save(gachaState);
+        // 7. 永続化 (いずれも version 条件付き。ロック中のため通常は失敗しない)
+        long newWalletVersion = drawContextRepository.updateWallet(wallet, walletVersion)
+                .orElseThrow(() -> new GachaException(GachaErrorCode.CONCURRENT_UPDATE_FAILURE));
+        stateStore.save(loadedState, walletVersion, newWalletVersion);
+        limitStore.record(limits, pool, request.drawCount(), consumedPaid, now, newWalletVersion);
+        if (boxState != null && boxStateRepository.upsert(boxState).isEmpty()) {
+            throw new GachaException(GachaErrorCode.CONCURRENT_UPDATE_FAILURE);
+        }
+
+        Map<UUID, Long> expectedVersions = new HashMap<>();
+        grantedItems.keySet().forEach(itemId -> expectedVersions.put(itemId, context.inventoryVersion(itemId)));
+        if (!drawContextRepository.upsertInventory(grantedItems.values(), expectedVersions)) {
+            throw new GachaException(GachaErrorCode.CONCURRENT_UPDATE_FAILURE);
+        }
 
-        // 7. イベント発行
+        // 8. イベント発行
         RequestId requestId = RequestId.generate();
+        // リプレイ時に設定が変わっていないか判定できるよう、抽選表 (ボックスガチャは箱の構成) の設定の指紋を記録する
+        DrawSeed seed = sampler != null
+                ? drawRandom.seed().withConfig(masterDataCache.loadedVersion(), sampler.fingerprint())
+                : drawRandom.seed().withBox(masterDataCache.loadedVersion(), boxSnapshot);
         GachaDrawnEvent event = new GachaDrawnEvent(
                 requestId,
                 userId,
                 pool.getId(),
-                (int) (snapshotPaid - wallet.getPaidStones()),
+                consumedPaid,
                 (int) (snapshotFree - wallet.getFreeStones()),
-                eventDetails
+                eventDetails,
+                seed
         );
+        // 履歴保存・Outbox 追記はこのトランザクション内 (BEFORE_COMMIT) で行う
         eventPublisher.publishEvent(event);
+        // 集計・監視などはコミット後に別スレッドで行う
+        drawEventBus.publishAfterCommit(event);
 
         return Result.success(new DrawGachaResponse(
                 requestId.toString(),
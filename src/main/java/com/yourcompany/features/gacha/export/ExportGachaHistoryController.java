@@ -0,0 +1,105 @@
+package com.yourcompany.features.gacha.export;
+
+import com.sqlcanvas.sharedkernel.shared.result.Result;
+import com.yourcompany.domain.shared.exception.GachaException;
+import com.yourcompany.security.CustomUserDetails;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+
+@Tag(name = "Gacha History Export", description = "ガチャ履歴の一括エクスポート")
+@RestController
+@RequiredArgsConstructor
+public class ExportGachaHistoryController {
+
+    private static final String TIMEOUT_INTERCEPTOR_KEY = ExportGachaHistoryController.class.getName() + ".timeout";
+
+    private final ExportGachaHistoryUseCase useCase;
+
+    // エクスポートは長時間になるため、このエンドポイントだけ非同期リクエストのタイムアウトを延ばす
+    @Value("${gacha.export.timeout-ms:1800000}")
+    private long timeoutMillis;
+
+    @Operation(summary = "自分の履歴のエクスポート", description = "ログインユーザーの全ガチャ履歴を NDJSON / CSV でストリーミング出力します。")
+    @GetMapping("/api/v1/gachas/history/export")
+    public ResponseEntity<StreamingResponseBody> exportOwn(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @RequestParam(defaultValue = "NDJSON") GachaHistoryExportFormat format,
+            HttpServletRequest request
+    ) {
+        return handle(GachaHistoryExportCriteria.of(userDetails.getUser().getId(), null, null), format, request);
+    }
+
+    @Operation(summary = "履歴のエクスポート (管理者)", description = "ユーザー単位、または期間 [from, to) の全履歴をストリーミング出力します。")
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/api/v1/admin/gachas/transactions/export")
+    public ResponseEntity<StreamingResponseBody> exportForAdmin(
+            @RequestParam(required = false) UUID userId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestParam(defaultValue = "NDJSON") GachaHistoryExportFormat format,
+            HttpServletRequest request
+    ) {
+        return handle(GachaHistoryExportCriteria.of(userId, from, to), format, request);
+    }
+
+    private ResponseEntity<StreamingResponseBody> handle(Result<GachaHistoryExportCriteria> result,
+                                                         GachaHistoryExportFormat format,
+                                                         HttpServletRequest request) {
+        if (result instanceof Result.Success<GachaHistoryExportCriteria> success) {
+            GachaHistoryExportCriteria criteria = success.value();
+            extendTimeout(request);
+            StreamingResponseBody body = out -> useCase.export(criteria, format, out);
+            return ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType(format.contentType()))
+                    .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                            .filename(criteria.fileName(format))
+                            .build()
+                            .toString())
+                    .body(body);
+        }
+
+        if (result instanceof Result.Failure<GachaHistoryExportCriteria> failure) {
+            throw new GachaException(failure.errorCode(), failure.message());
+        }
+
+        throw new IllegalStateException("Unknown result type");
+    }
+
+    /**
+     * StreamingResponseBody の非同期処理には既定のタイムアウト (spring.mvc.async.request-timeout) が使われるため、
+     * 非同期処理の開始直前 (タイムアウトを設定できる最後の時点) にこのリクエストの分だけ差し替える
+     */
+    private void extendTimeout(HttpServletRequest request) {
+        WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor(TIMEOUT_INTERCEPTOR_KEY,
+                new CallableProcessingInterceptor() {
+                    @Override
+                    public <T> void beforeConcurrentHandling(NativeWebRequest webRequest, Callable<T> task) {
+                        if (webRequest instanceof AsyncWebRequest asyncWebRequest) {
+                            asyncWebRequest.setTimeout(timeoutMillis);
+                        }
+                    }
+                });
+    }
+}
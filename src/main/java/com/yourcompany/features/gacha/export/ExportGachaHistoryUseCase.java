@@ -0,0 +1,117 @@
+package com.yourcompany.features.gacha.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yourcompany.config.infrastructure.datasource.shard.UserShardScope;
+import com.yourcompany.domain.model.history.GachaTransaction;
+import com.yourcompany.schoolasset.infrastructure.persistence.repository.GachaTransactionRepository;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * 履歴のストリーミングエクスポート
+ * ページングせず、カーソルで読みながら1件ずつ書き出して detach するため、
+ * 件数に関わらずメモリ使用量は一定。HTTP (StreamingResponseBody) と CLI の両方から使う。
+ *
+ * 履歴はユーザーの所属シャードにあるため、ユーザー指定は所属シャードで読み、
+ * 期間指定 (全ユーザー) はシャードを順に読む (出力はシャードごとに created_at 順)。
+ * カーソルはトランザクション中しか使えないため、シャードごとにトランザクションを開始する。
+ */
+@Slf4j
+@Service
+public class ExportGachaHistoryUseCase {
+
+    // 書き出しをまとめて flush する間隔 (行数)
+    private static final int FLUSH_INTERVAL = 10_000;
+
+    private final GachaTransactionRepository transactionRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final UserShardScope userShardScope;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public ExportGachaHistoryUseCase(GachaTransactionRepository transactionRepository,
+                                     EntityManager entityManager,
+                                     ObjectMapper objectMapper,
+                                     UserShardScope userShardScope,
+                                     PlatformTransactionManager transactionManager) {
+        this.transactionRepository = transactionRepository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.userShardScope = userShardScope;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * @return 書き出した件数
+     */
+    public long export(GachaHistoryExportCriteria criteria, GachaHistoryExportFormat format, OutputStream out) {
+        long startNanos = System.nanoTime();
+        long count = 0;
+
+        try (GachaHistoryExportWriter writer = GachaHistoryExportWriter.open(format, out, objectMapper.getFactory())) {
+            if (criteria.userId() != null) {
+                count = userShardScope.asUser(criteria.userId(), () -> exportRows(criteria, writer, 0));
+            } else {
+                for (String shard : userShardScope.shardNames()) {
+                    long written = count;
+                    count = userShardScope.onShard(shard, () -> exportRows(criteria, writer, written));
+                }
+            }
+        } catch (IOException e) {
+            // クライアント切断など。途中までの出力は破棄される前提
+            log.warn("History export aborted. criteria={}, written={}", criteria, count);
+            throw new UncheckedIOException(e);
+        } catch (UncheckedIOException e) {
+            log.warn("History export aborted. criteria={}, written={}", criteria, count);
+            throw e;
+        }
+
+        long elapsedMillis = Math.max(1, (System.nanoTime() - startNanos) / 1_000_000);
+        log.info("History export finished. criteria={}, format={}, rows={}, elapsedMs={}, rowsPerSec={}",
+                criteria, format, count, elapsedMillis, count * 1000 / elapsedMillis);
+        return count;
+    }
+
+    /**
+     * 現在のシャードの該当行を書き出す
+     *
+     * @param written これまでに書き出した件数 (flush 間隔の判定用)
+     * @return 書き出し後の累計件数
+     */
+    private long exportRows(GachaHistoryExportCriteria criteria, GachaHistoryExportWriter writer, long written) {
+        return readOnlyTransaction.execute(status -> {
+            long count = written;
+            try (Stream<GachaTransaction> rows = open(criteria)) {
+                Iterator<GachaTransaction> iterator = rows.iterator();
+                while (iterator.hasNext()) {
+                    GachaTransaction tx = iterator.next();
+                    writer.write(tx);
+                    entityManager.detach(tx);
+                    if (++count % FLUSH_INTERVAL == 0) {
+                        writer.flush();
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return count;
+        });
+    }
+
+    private Stream<GachaTransaction> open(GachaHistoryExportCriteria criteria) {
+        if (criteria.userId() != null) {
+            return transactionRepository.streamByUserId(criteria.userId(), criteria.from(), criteria.to());
+        }
+        return transactionRepository.streamByCreatedAt(criteria.from(), criteria.to());
+    }
+}
@@ -0,0 +1,75 @@
+package com.yourcompany.features.gacha.export;
+
+import com.sqlcanvas.sharedkernel.shared.result.Result;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * 履歴エクスポートの CLI 実行
+ * 例:
+ * java -jar gacha-system.jar --spring.main.web-application-type=none \
+ *   --gacha.export.cli.enabled=true --gacha.export.cli.output=/tmp/2026-01.ndjson \
+ *   --gacha.export.cli.from=2026-01-01T00:00:00Z --gacha.export.cli.to=2026-02-01T00:00:00Z
+ * 完了後にアプリケーションを終了する (失敗時の終了コードは 1)。
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "gacha.export.cli.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class GachaHistoryExportCommand implements ApplicationRunner {
+
+    private final ExportGachaHistoryUseCase useCase;
+    private final ConfigurableApplicationContext context;
+
+    @Value("${gacha.export.cli.output}")
+    private Path output;
+
+    @Value("${gacha.export.cli.user-id:#{null}}")
+    private UUID userId;
+
+    @Value("${gacha.export.cli.from:#{null}}")
+    private Instant from;
+
+    @Value("${gacha.export.cli.to:#{null}}")
+    private Instant to;
+
+    @Value("${gacha.export.cli.format:NDJSON}")
+    private GachaHistoryExportFormat format;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int exitCode = export();
+        System.exit(SpringApplication.exit(context, () -> exitCode));
+    }
+
+    private int export() {
+        Result<GachaHistoryExportCriteria> result = GachaHistoryExportCriteria.of(userId, from, to);
+        if (!(result instanceof Result.Success<GachaHistoryExportCriteria> success)) {
+            log.error("Invalid export criteria: {}", ((Result.Failure<GachaHistoryExportCriteria>) result).message());
+            return 1;
+        }
+
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(output), 1 << 16)) {
+            long rows = useCase.export(success.value(), format, out);
+            log.info("Exported {} rows to {}", rows, output);
+            return 0;
+        } catch (Exception e) {
+            log.error("History export failed. output={}", output, e);
+            return 1;
+        }
+    }
+}
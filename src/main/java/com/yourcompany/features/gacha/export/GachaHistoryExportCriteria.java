@@ -0,0 +1,35 @@
+package com.yourcompany.features.gacha.export;
+
+import com.sqlcanvas.sharedkernel.shared.error.CommonErrorCode;
+import com.sqlcanvas.sharedkernel.shared.result.Result;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * エクスポート対象 (created_at は [from, to) の半開区間)
+ *
+ * @param userId null の場合は期間内の全ユーザー
+ */
+public record GachaHistoryExportCriteria(UUID userId, Instant from, Instant to) {
+
+    /**
+     * 期間省略時はユーザーの全履歴。ユーザー指定がない場合は期間の指定が必須 (パーティションを絞るため)。
+     */
+    public static Result<GachaHistoryExportCriteria> of(UUID userId, Instant from, Instant to) {
+        if (userId == null && (from == null || to == null)) {
+            return Result.failure(CommonErrorCode.INVALID_PARAMETER, "ユーザー指定がない場合は from と to が必須です");
+        }
+        Instant start = from != null ? from : Instant.EPOCH;
+        Instant end = to != null ? to : Instant.now();
+        if (!start.isBefore(end)) {
+            return Result.failure(CommonErrorCode.INVALID_PARAMETER, "from は to より前である必要があります");
+        }
+        return Result.success(new GachaHistoryExportCriteria(userId, start, end));
+    }
+
+    public String fileName(GachaHistoryExportFormat format) {
+        String subject = userId != null ? "gacha-history-" + userId : "gacha-transactions";
+        return subject + "_" + from.getEpochSecond() + "-" + to.getEpochSecond() + "." + format.extension();
+    }
+}
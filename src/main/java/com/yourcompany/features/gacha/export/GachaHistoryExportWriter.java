@@ -0,0 +1,159 @@
+package com.yourcompany.features.gacha.export;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.yourcompany.domain.model.history.GachaTransaction;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 履歴1件ずつを出力ストリームへ書き出す
+ * 行ごとに中間オブジェクト (DTO・JsonNode) を作らず、バッファ越しに直接書き込む。
+ * result_json は保存済みの JSON 文字列をそのまま埋め込む。
+ */
+public abstract class GachaHistoryExportWriter implements Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    protected final Writer out;
+
+    private GachaHistoryExportWriter(OutputStream out) {
+        this.out = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    public static GachaHistoryExportWriter open(GachaHistoryExportFormat format, OutputStream out,
+                                                JsonFactory jsonFactory) throws IOException {
+        GachaHistoryExportWriter writer = switch (format) {
+            case NDJSON -> new NdjsonWriter(out, jsonFactory);
+            case CSV -> new CsvWriter(out);
+        };
+        writer.writeHeader();
+        return writer;
+    }
+
+    protected void writeHeader() throws IOException {
+    }
+
+    public abstract void write(GachaTransaction transaction) throws IOException;
+
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    /**
+     * バッファを書き出す。下位の出力ストリーム (HTTPレスポンス等) は閉じない。
+     */
+    @Override
+    public void close() throws IOException {
+        flush();
+    }
+
+    private static final class NdjsonWriter extends GachaHistoryExportWriter {
+        private final JsonGenerator generator;
+
+        private NdjsonWriter(OutputStream out, JsonFactory jsonFactory) throws IOException {
+            super(out);
+            this.generator = jsonFactory.createGenerator(this.out);
+            this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // ルート値の区切りはスペースが既定のため、改行のみにする
+            this.generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void write(GachaTransaction tx) throws IOException {
+            generator.writeStartObject();
+            generator.writeStringField("transactionId", tx.getRequestId());
+            generator.writeStringField("userId", tx.getUserId().toString());
+            generator.writeStringField("poolId", tx.getPoolId().toString());
+            generator.writeNumberField("consumedPaid", tx.getConsumedPaid());
+            generator.writeNumberField("consumedFree", tx.getConsumedFree());
+            generator.writeFieldName("results");
+            if (tx.getResultJson() != null) {
+                generator.writeRawValue(tx.getResultJson());
+            } else {
+                generator.writeNull();
+            }
+            if (tx.getRngSeed() != null) {
+                generator.writeNumberField("rngSeed", tx.getRngSeed());
+                generator.writeStringField("rngAlgorithm", tx.getRngAlgorithm());
+            }
+            generator.writeStringField("createdAt", tx.getCreatedAt().toString());
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            generator.flush();
+            super.flush();
+        }
+    }
+
+    private static final class CsvWriter extends GachaHistoryExportWriter {
+        private CsvWriter(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        protected void writeHeader() throws IOException {
+            out.write("transaction_id,user_id,pool_id,consumed_paid,consumed_free,result_json,rng_seed,rng_algorithm,created_at\n");
+        }
+
+        @Override
+        public void write(GachaTransaction tx) throws IOException {
+            writeText(tx.getRequestId());
+            out.write(',');
+            out.write(tx.getUserId().toString());
+            out.write(',');
+            out.write(tx.getPoolId().toString());
+            out.write(',');
+            out.write(Integer.toString(tx.getConsumedPaid()));
+            out.write(',');
+            out.write(Integer.toString(tx.getConsumedFree()));
+            out.write(',');
+            writeText(tx.getResultJson());
+            out.write(',');
+            if (tx.getRngSeed() != null) {
+                out.write(Long.toString(tx.getRngSeed()));
+            }
+            out.write(',');
+            writeText(tx.getRngAlgorithm());
+            out.write(',');
+            out.write(tx.getCreatedAt().toString());
+            out.write('\n');
+        }
+
+        // RFC 4180: 区切り文字・改行・ダブルクォートを含む値はクォートし、" は "" にする
+        private void writeText(String value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            boolean quote = false;
+            for (int i = 0; i < value.length() && !quote; i++) {
+                char c = value.charAt(i);
+                quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+            }
+            if (!quote) {
+                out.write(value);
+                return;
+            }
+            out.write('"');
+            int start = 0;
+            for (int i = 0; i < value.length(); i++) {
+                if (value.charAt(i) == '"') {
+                    out.write(value, start, i - start + 1);
+                    out.write('"');
+                    start = i + 1;
+                }
+            }
+            out.write(value, start, value.length() - start);
+            out.write('"');
+        }
+    }
+}
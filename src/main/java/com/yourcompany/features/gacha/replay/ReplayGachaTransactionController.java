@@ -0,0 +1,39 @@
+package com.yourcompany.features.gacha.replay;
+
+import com.sqlcanvas.sharedkernel.shared.result.Result;
+import com.yourcompany.domain.shared.exception.GachaException;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@Tag(name = "Gacha Admin", description = "ガチャ運用向けAPI (管理者専用)")
+@RestController
+@RequestMapping("/api/v1/admin/gachas")
+@RequiredArgsConstructor
+public class ReplayGachaTransactionController {
+
+    private final ReplayGachaTransactionUseCase useCase;
+
+    @Operation(summary = "ガチャ履歴のリプレイ", description = "記録された抽選シードから排出結果を再現し、履歴と一致するか検証します。")
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/transactions/{transactionId}/replay")
+    public ResponseEntity<ReplayGachaTransactionResponse> handle(@PathVariable String transactionId) {
+        Result<ReplayGachaTransactionResponse> result = useCase.execute(transactionId);
+
+        if (result instanceof Result.Success<ReplayGachaTransactionResponse> success) {
+            return ResponseEntity.ok(success.value());
+        }
+
+        if (result instanceof Result.Failure<ReplayGachaTransactionResponse> failure) {
+            throw new GachaException(failure.errorCode(), failure.message());
+        }
+
+        throw new IllegalStateException("Unknown result type");
+    }
+}
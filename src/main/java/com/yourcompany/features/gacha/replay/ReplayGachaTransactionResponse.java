@@ -0,0 +1,28 @@
+package com.yourcompany.features.gacha.replay;
+
+import java.util.List;
+import java.util.UUID;
+
+public record ReplayGachaTransactionResponse(
+        String transactionId,
+        UUID userId,
+        UUID poolId,
+        long seed,
+        String algorithm,
+        String sampler, // FLAT: 一様な累積抽選 / TIERED: レアリティ別の2段階抽選
+        Long recordedMasterVersion, // 抽選時のマスタの版数 (記録導入前の履歴は null)
+        Boolean configChanged,      // 抽選時から抽選表の設定が変わったか (記録がなく判定できない場合は null)
+        int stockFallbacks,         // 記録された在庫切れの排出枠を除いて引き直した回数
+        List<UUID> recordedItemIds,
+        List<UUID> replayedItemIds,
+        boolean matched, // 記録と再現結果が完全一致したか
+        Status status
+) {
+    public enum Status {
+        MATCHED,
+        // 設定が同じ (または記録がない) のに一致しない
+        MISMATCHED,
+        // 抽選後に設定が変わったため現在の設定では再現できない (不一致は異常を意味しない)
+        CONFIG_CHANGED
+    }
+}
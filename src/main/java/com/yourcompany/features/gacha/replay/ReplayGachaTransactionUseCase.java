@@ -0,0 +1,254 @@
+package com.yourcompany.features.gacha.replay;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sqlcanvas.sharedkernel.shared.result.Result;
+import com.yourcompany.config.infrastructure.datasource.shard.UserShardScope;
+import com.yourcompany.domain.model.gacha.DrawSampler;
+import com.yourcompany.domain.model.gacha.DrawSeed;
+import com.yourcompany.domain.model.gacha.EmissionResult.EmissionType;
+import com.yourcompany.domain.model.gacha.GachaEmission;
+import com.yourcompany.domain.model.gacha.GachaPool;
+import com.yourcompany.domain.model.gacha.box.BoxLayout;
+import com.yourcompany.domain.model.gacha.box.BoxState;
+import com.yourcompany.domain.model.gacha.tier.TieredSampler;
+import com.yourcompany.domain.model.history.GachaTransaction;
+import com.yourcompany.domain.shared.exception.GachaErrorCode;
+import com.yourcompany.domain.shared.value.RequestId;
+import com.yourcompany.schoolasset.application.service.LotteryService;
+import com.yourcompany.schoolasset.application.service.master.ItemMaster;
+import com.yourcompany.schoolasset.application.service.master.MasterDataCache;
+import com.yourcompany.schoolasset.application.service.random.DrawRandomStrategy;
+import com.yourcompany.schoolasset.application.service.stock.StockFallbackDraw;
+import com.yourcompany.schoolasset.application.service.stock.StockFallbackDraw.Take;
+import com.yourcompany.schoolasset.infrastructure.persistence.repository.GachaPoolRepository;
+import com.yourcompany.schoolasset.infrastructure.persistence.repository.GachaTransactionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.random.RandomGenerator;
+
+/**
+ * 監査リプレイ: 記録されたシードから排出結果を再計算し、履歴と突き合わせる
+ * 記録された抽選方式で再現する。
+ * - FLAT (導入前の履歴): プールの排出枠をID順に並べた累積抽選を1回ずつ
+ * - TIERED: 記録された枠の種類 (通常・ソフト天井・確定・天井) と天井カウントごとに2段階抽選表から1回ずつ
+ * - BOX: 記録された抽選前の箱 (箱番号と残数) を復元し、全回数分をまとめて非復元で引く
+ *   (箱の構成が抽選時と異なる場合は残数を当てはめられないため再抽選せず、CONFIG_CHANGED とする)
+ * 全体在庫による引き直しは、履歴に記録された在庫切れの排出枠を在庫切れとして扱い、抽選と同じ手順 (StockFallbackDraw) で再現する
+ * (除いた排出枠の記録導入前の履歴では、在庫切れで引き直した回は不一致になる)。
+ *
+ * 過去の設定は保存していないため、再抽選は現在のプール設定で行う。抽選時に記録した設定の指紋と現在の指紋が異なる場合は
+ * 不一致を CONFIG_CHANGED として報告し、設定が同じなのに一致しない MISMATCHED と区別する。
+ *
+ * 履歴はユーザーの所属シャードにあり、ID からはユーザーが分からないため、シャードを順に探す。
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReplayGachaTransactionUseCase {
+
+    // 履歴の created_at は ID の発番直後 (同じトランザクションのコミット前) に決まる。時計の揺れを見込んで幅を持たせる
+    private static final Duration LOOKUP_MARGIN_BEFORE = Duration.ofMinutes(1);
+    private static final Duration LOOKUP_MARGIN_AFTER = Duration.ofMinutes(10);
+
+    private final GachaTransactionRepository transactionRepository;
+    private final GachaPoolRepository poolRepository;
+    private final LotteryService lotteryService;
+    private final MasterDataCache masterDataCache;
+    private final DrawRandomStrategy randomStrategy;
+    private final ObjectMapper objectMapper;
+    private final UserShardScope userShardScope;
+    private final PlatformTransactionManager transactionManager;
+
+    public Result<ReplayGachaTransactionResponse> execute(String transactionId) {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        // 1. 履歴とシードの取得
+        GachaTransaction transaction = findOnShards(transactionId, readOnly).orElse(null);
+        if (transaction == null) {
+            return GachaErrorCode.TRANSACTION_NOT_FOUND.toFailure();
+        }
+        DrawSeed seed = transaction.getSeed().orElse(null);
+        if (seed == null) {
+            return GachaErrorCode.SEED_NOT_RECORDED.toFailure();
+        }
+
+        // マスタの正本はディレクトリシャード (管理者のリクエストはディレクトリシャードで処理される)
+        GachaPool pool = readOnly.execute(status -> poolRepository.findByIdWithEmissions(transaction.getPoolId()))
+                .orElse(null);
+        if (pool == null) {
+            return GachaErrorCode.GACHA_POOL_EXPIRED.toFailure();
+        }
+        if ((pool.isBox() || seed.sampler() == DrawSampler.BOX) && seed.box() == null) {
+            // 結果は抽選前の箱の残数にも依存する (箱の状態の記録導入前の履歴は再現できない)
+            return GachaErrorCode.SEED_NOT_RECORDED.toFailure("抽選前の箱の状態が記録されていないため再現できません");
+        }
+
+        // 2. 記録された排出結果
+        List<UUID> recorded = new ArrayList<>();
+        List<EmissionType> slots = new ArrayList<>();
+        List<Integer> pityCounts = new ArrayList<>();
+        List<Set<UUID>> soldOut = new ArrayList<>();
+        try {
+            for (JsonNode result : objectMapper.readTree(transaction.getResultJson())) {
+                recorded.add(UUID.fromString(result.get("itemId").asText()));
+                JsonNode emissionType = result.get("emissionType");
+                slots.add(emissionType == null || emissionType.isNull()
+                        ? EmissionType.NORMAL : EmissionType.valueOf(emissionType.asText()));
+                // ソフト天井導入前の履歴には天井カウントがない (ソフト天井の表は使われていない)
+                pityCounts.add(result.path("pityCount").asInt(0));
+                Set<UUID> soldOutIds = new HashSet<>();
+                for (JsonNode emissionId : result.path("soldOutEmissionIds")) {
+                    soldOutIds.add(UUID.fromString(emissionId.asText()));
+                }
+                soldOut.add(soldOutIds);
+            }
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            log.error("Failed to parse recorded results. transactionId={}", transactionId, e);
+            return GachaErrorCode.UNEXPECTED_ERROR.toFailure("履歴の排出結果を読み取れません");
+        }
+
+        // 3. 同じシードで再抽選
+        RandomGenerator generator = randomStrategy.replay(seed);
+        TieredSampler sampler = null;
+        BoxLayout boxLayout = null;
+        if (seed.sampler() == DrawSampler.TIERED) {
+            Result<TieredSampler> compiled = TieredSampler.compile(pool,
+                    itemId -> masterDataCache.findItem(itemId).map(ItemMaster::rarity));
+            if (compiled instanceof Result.Failure<TieredSampler> f) {
+                return Result.failure(f.errorCode(), f.message());
+            }
+            sampler = ((Result.Success<TieredSampler>) compiled).value();
+        } else if (seed.sampler() == DrawSampler.BOX) {
+            boxLayout = currentBoxLayout(pool).orElse(null);
+        }
+        List<UUID> replayed = new ArrayList<>();
+        int stockFallbacks = 0;
+        if (seed.sampler() == DrawSampler.BOX) {
+            // 記録された抽選前の箱から、抽選時と同じく全回数分をまとめて引く (箱の構成が変わっていれば引かない)
+            BoxState boxState = boxLayout == null ? null
+                    : seed.box().restore(transaction.getUserId(), pool.getId(), boxLayout).orElse(null);
+            if (boxState != null) {
+                for (int slot : boxState.draw(recorded.size(), generator)) {
+                    replayed.add(boxLayout.emission(slot).getItemId());
+                }
+            }
+        }
+        for (int i = 0; i < recorded.size() && seed.sampler() != DrawSampler.BOX; i++) {
+            if (sampler != null) {
+                // 抽選時に在庫切れだった排出枠だけを在庫切れとして、同じ順で乱数を消費して引き直す
+                Set<UUID> soldOutIds = soldOut.get(i);
+                Result<StockFallbackDraw.Outcome> drawResult = StockFallbackDraw.draw(
+                        sampler, slots.get(i), pityCounts.get(i), generator, lotteryService,
+                        emission -> soldOutIds.contains(emission.getId()) ? Take.OUT_OF_STOCK : Take.TAKEN);
+                if (drawResult instanceof Result.Failure<StockFallbackDraw.Outcome> f) {
+                    return Result.failure(f.errorCode(), f.message());
+                }
+                StockFallbackDraw.Outcome outcome = ((Result.Success<StockFallbackDraw.Outcome>) drawResult).value();
+                if (outcome.fellBack()) {
+                    stockFallbacks++;
+                }
+                replayed.add(outcome.emission().getItemId());
+                continue;
+            }
+            Result<GachaEmission> drawResult = lotteryService.draw(pool.getEmissions(), generator);
+            if (drawResult instanceof Result.Failure<GachaEmission> f) {
+                return Result.failure(f.errorCode(), f.message());
+            }
+            replayed.add(((Result.Success<GachaEmission>) drawResult).value().getItemId());
+        }
+
+        // 抽選時と現在の抽選表 (ボックスガチャは箱の構成) の設定が同じか (指紋の記録がない履歴は判定できない)
+        Boolean configChanged = null;
+        if (seed.configFingerprint() != null && sampler != null) {
+            configChanged = sampler.fingerprint() != seed.configFingerprint();
+        } else if (seed.configFingerprint() != null && seed.sampler() == DrawSampler.BOX) {
+            configChanged = boxLayout == null || boxLayout.fingerprint() != seed.configFingerprint();
+        }
+        boolean matched = recorded.equals(replayed);
+        ReplayGachaTransactionResponse.Status status;
+        if (matched) {
+            status = ReplayGachaTransactionResponse.Status.MATCHED;
+        } else if (Boolean.TRUE.equals(configChanged)) {
+            status = ReplayGachaTransactionResponse.Status.CONFIG_CHANGED;
+            log.info("Replay skipped comparison: pool config changed since draw. transactionId={}, poolId={}, recordedMasterVersion={}",
+                    transactionId, pool.getId(), seed.masterVersion());
+        } else {
+            status = ReplayGachaTransactionResponse.Status.MISMATCHED;
+            log.warn("Replay mismatch. transactionId={}, poolId={}, seed={}", transactionId, pool.getId(), seed.value());
+        }
+
+        return Result.success(new ReplayGachaTransactionResponse(
+                transaction.getRequestId(),
+                transaction.getUserId(),
+                transaction.getPoolId(),
+                seed.value(),
+                seed.algorithm(),
+                seed.sampler().name(),
+                seed.masterVersion(),
+                configChanged,
+                stockFallbacks,
+                recorded,
+                replayed,
+                matched,
+                status
+        ));
+    }
+
+    /**
+     * 現在のプール設定での箱の構成 (ボックスガチャでなくなった・個数の設定が欠けている場合は empty)
+     */
+    private static Optional<BoxLayout> currentBoxLayout(GachaPool pool) {
+        if (!pool.isBox()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(BoxLayout.of(pool));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * 履歴のあるシャードを探す (再配置中に移動元・移動先の両方にある場合は先に見つかった方を使う)
+     */
+    private Optional<GachaTransaction> findOnShards(String transactionId, TransactionTemplate readOnly) {
+        for (String shard : userShardScope.shardNames()) {
+            Optional<GachaTransaction> found = userShardScope.onShard(shard,
+                    () -> readOnly.execute(status -> findTransaction(transactionId)));
+            if (found.isPresent()) {
+                return found;
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * 履歴を ID の発番時刻 (UUID v7) の前後に絞って引く (パーティションの絞り込み)
+     * v7 以外の ID は時刻が分からないため、全パーティションを探す。
+     */
+    private Optional<GachaTransaction> findTransaction(String transactionId) {
+        Optional<Instant> issuedAt = RequestId.from(transactionId) instanceof Result.Success<RequestId> parsed
+                ? parsed.value().timestamp()
+                : Optional.empty();
+        if (issuedAt.isEmpty()) {
+            return transactionRepository.findById(transactionId);
+        }
+        return transactionRepository.findByRequestIdWithin(transactionId,
+                issuedAt.get().minus(LOOKUP_MARGIN_BEFORE), issuedAt.get().plus(LOOKUP_MARGIN_AFTER));
+    }
+}
@@ -0,0 +1,170 @@
+package com.yourcompany.features.gacha.simulation;
+
+import com.sqlcanvas.sharedkernel.shared.result.Result;
+import com.yourcompany.domain.model.gacha.EmissionResult.EmissionType;
+import com.yourcompany.domain.model.gacha.GachaEmission;
+import com.yourcompany.domain.model.gacha.GachaPool;
+import com.yourcompany.domain.model.gacha.GachaState;
+import com.yourcompany.domain.model.gacha.Rarity;
+import com.yourcompany.domain.model.gacha.tier.TieredSampler;
+import com.yourcompany.domain.shared.exception.GachaErrorCode;
+import com.yourcompany.domain.shared.exception.GachaException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGeneratorFactory;
+
+/**
+ * モンテカルロ法によるガチャプールのシミュレーター
+ * 責務：
+ * 1. 仮想ユーザーを本番と同じ抽選経路 (GachaState.nextSlot → TieredSampler.sample → GachaState.updateState) に通して
+ *    SSR到達まで引かせる (確定枠・ソフト天井・天井・ピックアップの確率アップもすべて本番どおりに効く)
+ * 2. ユーザー群をタスクに分割し、シミュレーション専用のスレッドプールで並列実行する
+ * 3. タスクごとに分割(split)した乱数生成器を使い、シード指定時は結果を再現可能にする
+ *
+ * CPU を使い続ける処理のため共通の ForkJoinPool (parallel stream) は使わず、スレッド数を絞った専用プールで動かす
+ * (他の parallel stream や CompletableFuture の既定プールを巻き込まない)。
+ * 制限時間を過ぎた場合は残りのタスクを中断し、タイムアウトとして返す。
+ */
+@Slf4j
+@Component
+public class GachaPoolSimulator {
+
+    // 分割可能(Splittable)かつ高速な乱数アルゴリズム
+    private static final String RNG_ALGORITHM = "L64X128MixRandom";
+
+    // 1タスクあたりの仮想ユーザー数 (並列実行の分割単位)
+    private static final int USERS_PER_TASK = 10_000;
+
+    // 仮想ユーザーは永続化しないため、固定のIDを使い回す
+    private static final UUID SIMULATION_USER_ID = new UUID(0L, 0L);
+
+    private final ExecutorService executor;
+    private final long timeoutMillis;
+
+    public GachaPoolSimulator(@Value("${gacha.simulation.threads:0}") int threads,
+                              @Value("${gacha.simulation.timeout-ms:30000}") long timeoutMillis) {
+        this.timeoutMillis = timeoutMillis;
+        // 0 の場合は CPU の半分 (API のリクエスト処理の分を残す)
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(poolSize, runnable -> {
+            Thread thread = new Thread(runnable, "gacha-simulation-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * @param sampler  シミュレーションするプールの2段階抽選表
+     * @param rarities アイテムID → レアリティ (プールの全排出枠のアイテムを含むこと)
+     * @return 制限時間内に終わらなかった場合は SIMULATION_TIMEOUT
+     */
+    public Result<SimulationHistogram> run(TieredSampler sampler, Map<UUID, Rarity> rarities,
+                                           int virtualUsers, int maxPullsPerUser, long seed) {
+        GachaPool pool = sampler.pool();
+        int tasks = (virtualUsers + USERS_PER_TASK - 1) / USERS_PER_TASK;
+
+        // 親の生成器からタスク数分の独立した系列を切り出す (並列実行前に確定させて再現性を保つ)
+        RandomGenerator.SplittableGenerator root = RandomGeneratorFactory
+                .<RandomGenerator.SplittableGenerator>of(RNG_ALGORITHM)
+                .create(seed);
+        List<RandomGenerator.SplittableGenerator> generators = root.splits(tasks).toList();
+
+        List<Future<SimulationHistogram>> futures = new ArrayList<>(tasks);
+        for (int task = 0; task < tasks; task++) {
+            int users = Math.min(USERS_PER_TASK, virtualUsers - task * USERS_PER_TASK);
+            RandomGenerator random = generators.get(task);
+            futures.add(executor.submit(
+                    () -> simulateUsers(sampler, rarities, users, maxPullsPerUser, random)));
+        }
+
+        // タスクの順に併合する (併合順を固定して再現性を保つ)
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        SimulationHistogram histogram = new SimulationHistogram(maxPullsPerUser);
+        try {
+            for (Future<SimulationHistogram> future : futures) {
+                histogram = histogram.merge(future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+            }
+        } catch (TimeoutException | CancellationException e) {
+            futures.forEach(future -> future.cancel(true));
+            log.warn("Gacha simulation timed out. poolId={}, users={}, timeoutMs={}", pool.getId(), virtualUsers, timeoutMillis);
+            return GachaErrorCode.SIMULATION_TIMEOUT.toFailure(
+                    "シミュレーションが " + timeoutMillis + "ms 以内に終わりませんでした。仮想ユーザー数を減らしてください");
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            return GachaErrorCode.SIMULATION_TIMEOUT.toFailure();
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+        return Result.success(histogram);
+    }
+
+    private SimulationHistogram simulateUsers(TieredSampler sampler,
+                                              Map<UUID, Rarity> rarities,
+                                              int users,
+                                              int maxPullsPerUser,
+                                              RandomGenerator random) {
+        SimulationHistogram histogram = new SimulationHistogram(maxPullsPerUser);
+        GachaPool pool = sampler.pool();
+
+        for (int user = 0; user < users; user++) {
+            // 制限時間を過ぎて中断された場合は打ち切る (結果は使われない)
+            if (Thread.currentThread().isInterrupted()) {
+                throw new CancellationException();
+            }
+            GachaState state = GachaState.create(SIMULATION_USER_ID, pool.getId());
+            boolean reached = false;
+
+            for (int pull = 1; pull <= maxPullsPerUser; pull++) {
+                // 本番の抽選 (DrawGachaUseCase) と同じく、枠の種類と天井カウントで表を選んで引く
+                EmissionType slot = state.nextSlot(pool);
+                GachaEmission emission = sampler.sample(slot, state.getCurrentPityCount(), random);
+                Rarity rarity = rarities.get(emission.getItemId());
+
+                unwrap(state.updateState(rarity, pool));
+
+                if (rarity.isTopTier()) {
+                    histogram.recordReached(pull, slot == EmissionType.PITY, emission.isPickup());
+                    reached = true;
+                    break;
+                }
+            }
+
+            if (!reached) {
+                histogram.recordNotReached();
+            }
+        }
+        return histogram;
+    }
+
+    private static <T> T unwrap(Result<T> result) {
+        // 設定はUseCase側で検証済みのため、ここでの失敗はシステム異常として扱う
+        return result.orElseThrow(failure -> new GachaException(failure.errorCode(), failure.message()));
+    }
+}
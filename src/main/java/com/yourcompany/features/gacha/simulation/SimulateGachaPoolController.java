@@ -0,0 +1,43 @@
+package com.yourcompany.features.gacha.simulation;
+
+import com.sqlcanvas.sharedkernel.shared.result.Result;
+import com.yourcompany.domain.shared.exception.GachaException;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+@Tag(name = "Gacha Admin", description = "ガチャ運用向けAPI (管理者専用)")
+@RestController
+@RequestMapping("/api/v1/admin/gachas")
+@RequiredArgsConstructor
+public class SimulateGachaPoolController {
+
+    private final SimulateGachaPoolUseCase useCase;
+
+    @Operation(summary = "プール設定のシミュレーション",
+            description = "仮想ユーザーにSSR到達まで引かせ、期待回数・天井到達率・ピックアップ率・消費石の分布を返します。")
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/{poolId}/simulations")
+    public ResponseEntity<SimulateGachaPoolResponse> handle(
+            @PathVariable UUID poolId,
+            @RequestBody @Validated SimulateGachaPoolRequest request
+    ) {
+        Result<SimulateGachaPoolResponse> result = useCase.execute(poolId, request);
+
+        if (result instanceof Result.Success<SimulateGachaPoolResponse> success) {
+            return ResponseEntity.ok(success.value());
+        }
+
+        if (result instanceof Result.Failure<SimulateGachaPoolResponse> failure) {
+            throw new GachaException(failure.errorCode(), failure.message());
+        }
+
+        throw new IllegalStateException("Unknown result type");
+    }
+}
@@ -0,0 +1,12 @@
+package com.yourcompany.features.gacha.simulation;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+
+public record SimulateGachaPoolRequest(
+        @Min(1) @Max(10_000_000)
+        int virtualUsers,
+        @Min(0) @Max(10_000)
+        int maxPullsPerUser, // 0 の場合は天井回数 (天井なしなら既定値) を上限にする
+        Long seed            // 指定すると同じ結果を再現できる
+) {}
@@ -0,0 +1,25 @@
+package com.yourcompany.features.gacha.simulation;
+
+import java.util.UUID;
+
+public record SimulateGachaPoolResponse(
+        UUID poolId,
+        long virtualUsers,
+        int maxPullsPerUser,
+        long seed,
+        long totalPulls,
+        double expectedPullsToSsr,
+        double ssrReachedRate,
+        double pityHitRate,
+        double pickupShare,
+        Percentiles pullsToSsr,  // SSR到達ユーザーの回数分布
+        Percentiles stoneSpend,  // 全ユーザーの消費石分布 (未到達は上限回数分)
+        long elapsedMillis
+) {
+    public record Percentiles(
+            long p50,
+            long p90,
+            long p99,
+            long max
+    ) {}
+}
@@ -0,0 +1,114 @@
+package com.yourcompany.features.gacha.simulation;
+
+import com.sqlcanvas.sharedkernel.shared.result.Result;
+import com.yourcompany.domain.model.gacha.GachaEmission;
+import com.yourcompany.domain.model.gacha.GachaPool;
+import com.yourcompany.domain.model.gacha.Rarity;
+import com.yourcompany.domain.model.gacha.tier.TieredSampler;
+import com.yourcompany.domain.model.history.Item;
+import com.yourcompany.domain.shared.exception.GachaErrorCode;
+import com.yourcompany.schoolasset.infrastructure.persistence.repository.GachaPoolRepository;
+import com.yourcompany.schoolasset.infrastructure.persistence.repository.ItemRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+/**
+ * バナー公開前のプール設定をシミュレーションする (管理者向け)
+ * ※ 計算に数秒かかるため、トランザクション(DB接続)は保持せずにマスタを読み込んでから実行する
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SimulateGachaPoolUseCase {
+
+    // 天井なしプールで上限回数が指定されなかった場合の既定値
+    private static final int DEFAULT_MAX_PULLS = 1000;
+
+    private final GachaPoolRepository poolRepository;
+    private final ItemRepository itemRepository;
+    private final GachaPoolSimulator simulator;
+
+    public Result<SimulateGachaPoolResponse> execute(UUID poolId, SimulateGachaPoolRequest request) {
+        // 1. プール情報取得 (公開前のプールも対象なので期間チェックはしない)
+        GachaPool pool = poolRepository.findByIdWithEmissions(poolId).orElse(null);
+        if (pool == null) {
+            return GachaErrorCode.GACHA_POOL_EXPIRED.toFailure();
+        }
+
+        Result<GachaPool> validation = pool.validateConfiguration();
+        if (validation instanceof Result.Failure<GachaPool> f) {
+            return Result.failure(f.errorCode(), f.message());
+        }
+
+        // 2. 本番と同じ2段階抽選表をコンパイルする (レアリティはアイテムマスタから取得)
+        List<UUID> itemIds = pool.getEmissions().stream().map(GachaEmission::getItemId).toList();
+        Map<UUID, Rarity> rarities = itemRepository.findAllById(itemIds).stream()
+                .collect(Collectors.toMap(Item::getId, item -> Rarity.from(item.getRarity())));
+
+        Result<TieredSampler> compiled = TieredSampler.compile(pool, itemId -> Optional.ofNullable(rarities.get(itemId)));
+        if (compiled instanceof Result.Failure<TieredSampler> f) {
+            return Result.failure(f.errorCode(), f.message());
+        }
+        TieredSampler sampler = compiled.unwrap();
+
+        if (rarities.values().stream().noneMatch(Rarity::isTopTier)) {
+            return GachaErrorCode.INVALID_WEIGHT_CONFIG.toFailure("SSR以上の排出設定がありません");
+        }
+
+        // 3. シミュレーション実行
+        int maxPulls = resolveMaxPulls(request.maxPullsPerUser(), pool.getPityCeilingCount());
+        long seed = request.seed() != null ? request.seed() : ThreadLocalRandom.current().nextLong();
+
+        long startedAt = System.nanoTime();
+        Result<SimulationHistogram> simulated = simulator.run(sampler, rarities, request.virtualUsers(), maxPulls, seed);
+        if (simulated instanceof Result.Failure<SimulationHistogram> f) {
+            return Result.failure(f.errorCode(), f.message());
+        }
+        SimulationHistogram histogram = simulated.unwrap();
+        long elapsedMillis = (System.nanoTime() - startedAt) / 1_000_000;
+
+        log.info("Gacha simulation finished. poolId={}, users={}, pulls={}, elapsedMs={}",
+                poolId, request.virtualUsers(), histogram.totalPulls(), elapsedMillis);
+
+        int cost = pool.getCostAmount();
+        return Result.success(new SimulateGachaPoolResponse(
+                poolId,
+                histogram.totalUsers(),
+                maxPulls,
+                seed,
+                histogram.totalPulls(),
+                histogram.meanPullsToTopTier(),
+                histogram.reachedRate(),
+                histogram.pityHitRate(),
+                histogram.pickupShare(),
+                new SimulateGachaPoolResponse.Percentiles(
+                        histogram.pullsPercentile(0.50),
+                        histogram.pullsPercentile(0.90),
+                        histogram.pullsPercentile(0.99),
+                        histogram.pullsPercentile(1.0)
+                ),
+                new SimulateGachaPoolResponse.Percentiles(
+                        (long) histogram.spentPullsPercentile(0.50) * cost,
+                        (long) histogram.spentPullsPercentile(0.90) * cost,
+                        (long) histogram.spentPullsPercentile(0.99) * cost,
+                        (long) histogram.spentPullsPercentile(1.0) * cost
+                ),
+                elapsedMillis
+        ));
+    }
+
+    private int resolveMaxPulls(int requested, int pityCeiling) {
+        if (requested > 0) {
+            return requested;
+        }
+        return pityCeiling > 0 ? pityCeiling : DEFAULT_MAX_PULLS;
+    }
+}
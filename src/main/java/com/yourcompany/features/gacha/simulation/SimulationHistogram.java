@@ -0,0 +1,127 @@
+package com.yourcompany.features.gacha.simulation;
+
+/**
+ * シミュレーション結果の集計 (スレッドごとに作成し、最後にマージする)
+ * 責務：SSR到達までの回数分布、天井到達数、ピックアップ排出数の記録
+ */
+public class SimulationHistogram {
+
+    private final int maxPullsPerUser;
+
+    // index = SSR到達までの回数 (1 〜 maxPullsPerUser)
+    private final long[] pullsToTopTier;
+
+    private long notReachedUsers;
+    private long pityHits;
+    private long pickupHits;
+
+    public SimulationHistogram(int maxPullsPerUser) {
+        this.maxPullsPerUser = maxPullsPerUser;
+        this.pullsToTopTier = new long[maxPullsPerUser + 1];
+    }
+
+    public void recordReached(int pulls, boolean byPity, boolean pickup) {
+        pullsToTopTier[pulls]++;
+        if (byPity) {
+            pityHits++;
+        }
+        if (pickup) {
+            pickupHits++;
+        }
+    }
+
+    public void recordNotReached() {
+        notReachedUsers++;
+    }
+
+    /**
+     * 他スレッドの集計結果を取り込む (自身を更新して返す)
+     */
+    public SimulationHistogram merge(SimulationHistogram other) {
+        for (int i = 0; i < pullsToTopTier.length; i++) {
+            pullsToTopTier[i] += other.pullsToTopTier[i];
+        }
+        notReachedUsers += other.notReachedUsers;
+        pityHits += other.pityHits;
+        pickupHits += other.pickupHits;
+        return this;
+    }
+
+    public long reachedUsers() {
+        long total = 0;
+        for (long count : pullsToTopTier) {
+            total += count;
+        }
+        return total;
+    }
+
+    public long totalUsers() {
+        return reachedUsers() + notReachedUsers;
+    }
+
+    public long totalPulls() {
+        long total = 0;
+        for (int pulls = 1; pulls < pullsToTopTier.length; pulls++) {
+            total += pulls * pullsToTopTier[pulls];
+        }
+        return total + notReachedUsers * maxPullsPerUser;
+    }
+
+    /**
+     * SSRに到達したユーザーの平均回数
+     */
+    public double meanPullsToTopTier() {
+        long reached = reachedUsers();
+        if (reached == 0) {
+            return 0.0;
+        }
+        return (double) (totalPulls() - notReachedUsers * maxPullsPerUser) / reached;
+    }
+
+    public double reachedRate() {
+        return ratio(reachedUsers(), totalUsers());
+    }
+
+    public double pityHitRate() {
+        return ratio(pityHits, reachedUsers());
+    }
+
+    public double pickupShare() {
+        return ratio(pickupHits, reachedUsers());
+    }
+
+    /**
+     * SSR到達回数のパーセンタイル (到達ユーザーのみ対象)
+     */
+    public int pullsPercentile(double quantile) {
+        return percentile(quantile, false);
+    }
+
+    /**
+     * 消費回数のパーセンタイル (未到達ユーザーは上限回数まで引いたものとして扱う)
+     */
+    public int spentPullsPercentile(double quantile) {
+        return percentile(quantile, true);
+    }
+
+    private int percentile(double quantile, boolean includeNotReached) {
+        long population = includeNotReached ? totalUsers() : reachedUsers();
+        if (population == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * population));
+        long cumulative = 0;
+        for (int pulls = 1; pulls < pullsToTopTier.length; pulls++) {
+            cumulative += pullsToTopTier[pulls];
+            if (cumulative >= rank) {
+                return pulls;
+            }
+        }
+        // 残りは未到達ユーザー (上限回数まで消費)
+        return maxPullsPerUser;
+    }
+
+    private static double ratio(long numerator, long denominator) {
+        return denominator == 0 ? 0.0 : (double) numerator / denominator;
+    }
+}
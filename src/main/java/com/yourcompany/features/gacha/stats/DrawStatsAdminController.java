@@ -0,0 +1,53 @@
+package com.yourcompany.features.gacha.stats;
+
+import com.sqlcanvas.sharedkernel.shared.result.Result;
+import com.yourcompany.domain.shared.exception.GachaException;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Tag(name = "Stats Admin", description = "抽選の集計の照会API (サポート・運営ダッシュボード用。管理者専用)")
+@RestController
+@RequestMapping("/api/v1/admin/stats")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class DrawStatsAdminController {
+
+    private final GetDrawStatsUseCase useCase;
+
+    @Operation(summary = "ユーザー×ガチャの集計", description = "指定ユーザーがこのガチャで引いた回数と消費した石の累計を返します。")
+    @GetMapping("/users/{userId}/pools/{poolId}")
+    public ResponseEntity<UserPoolStatsResponse> userPoolStats(@PathVariable UUID userId, @PathVariable UUID poolId) {
+        return handle(useCase.userPoolStats(userId, poolId));
+    }
+
+    @Operation(summary = "ガチャの日別排出数", description = "指定日 (日本時間。省略時は今日) のレアリティ別の排出数を返します。")
+    @GetMapping("/pools/{poolId}/daily")
+    public ResponseEntity<PoolDailyStatsResponse> poolDailyStats(
+            @PathVariable UUID poolId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date
+    ) {
+        return handle(useCase.poolDailyStats(poolId, date));
+    }
+
+    private <T> ResponseEntity<T> handle(Result<T> result) {
+        if (result instanceof Result.Success<T> success) {
+            return ResponseEntity.ok(success.value());
+        }
+        if (result instanceof Result.Failure<T> failure) {
+            throw new GachaException(failure.errorCode(), failure.message());
+        }
+        throw new IllegalStateException("Unknown result type");
+    }
+}
@@ -0,0 +1,44 @@
+package com.yourcompany.features.gacha.stats;
+
+import com.sqlcanvas.sharedkernel.shared.result.Result;
+import com.yourcompany.domain.shared.exception.GachaException;
+import com.yourcompany.security.CustomUserDetails;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.UUID;
+
+@Tag(name = "Gacha", description = "ガチャ関連API")
+@RestController
+@RequestMapping("/api/v1/gachas/{poolId}/stats")
+@RequiredArgsConstructor
+public class GetDrawStatsController {
+
+    private final GetDrawStatsUseCase useCase;
+
+    @Operation(summary = "自分の抽選集計", description = "このガチャで自分が引いた回数と消費した石の累計を返します。反映は数秒遅れます。")
+    @GetMapping("/me")
+    public ResponseEntity<UserPoolStatsResponse> myStats(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @PathVariable UUID poolId
+    ) {
+        return handle(useCase.userPoolStats(userDetails.getUser().getId(), poolId));
+    }
+
+    private ResponseEntity<UserPoolStatsResponse> handle(Result<UserPoolStatsResponse> result) {
+        if (result instanceof Result.Success<UserPoolStatsResponse> success) {
+            return ResponseEntity.ok(success.value());
+        }
+        if (result instanceof Result.Failure<UserPoolStatsResponse> failure) {
+            throw new GachaException(failure.errorCode(), failure.message());
+        }
+        throw new IllegalStateException("Unknown result type");
+    }
+}
@@ -0,0 +1,73 @@
+package com.yourcompany.features.gacha.stats;
+
+import com.sqlcanvas.sharedkernel.shared.result.Result;
+import com.yourcompany.config.infrastructure.datasource.shard.UserShardScope;
+import com.yourcompany.domain.model.gacha.Rarity;
+import com.yourcompany.schoolasset.application.service.stats.DrawStatsAccumulator;
+import com.yourcompany.schoolasset.infrastructure.persistence.repository.DrawStatsJdbcRepository;
+import com.yourcompany.schoolasset.infrastructure.persistence.repository.DrawStatsJdbcRepository.RarityCount;
+import com.yourcompany.schoolasset.infrastructure.persistence.repository.DrawStatsJdbcRepository.UserPoolStats;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 抽選の集計の参照
+ * 集計テーブルを主キーで引くだけで、履歴 (gacha_transactions) には触れない。
+ * 値は DrawStatsSubscriber の反映間隔だけ遅れる。
+ */
+@Service
+@RequiredArgsConstructor
+public class GetDrawStatsUseCase {
+
+    private final DrawStatsJdbcRepository statsRepository;
+    private final UserShardScope userShardScope;
+
+    /**
+     * ユーザー×プールの累計 (ユーザーの所属シャードから読む)
+     */
+    public Result<UserPoolStatsResponse> userPoolStats(UUID userId, UUID poolId) {
+        UserPoolStats stats = userShardScope.asUser(userId,
+                () -> statsRepository.findUserPoolStats(userId, poolId).orElse(null));
+        if (stats == null) {
+            return Result.success(new UserPoolStatsResponse(userId, poolId, 0, 0, 0, 0, 0, null));
+        }
+        return Result.success(new UserPoolStatsResponse(
+                userId, poolId,
+                stats.draws(),
+                stats.emissions(),
+                stats.consumedPaid(),
+                stats.consumedFree(),
+                stats.consumedPaid() + stats.consumedFree(),
+                stats.lastDrawnAt()
+        ));
+    }
+
+    /**
+     * プールの指定日 (日本時間) のレアリティ別排出数 (ディレクトリシャードから読む)
+     *
+     * @param date null の場合は今日
+     */
+    public Result<PoolDailyStatsResponse> poolDailyStats(UUID poolId, LocalDate date) {
+        LocalDate target = date != null ? date : LocalDate.now(DrawStatsAccumulator.STATS_ZONE);
+        List<RarityCount> rows = userShardScope.inDirectoryTransaction(
+                () -> statsRepository.findPoolDayStats(poolId, target));
+
+        Map<String, Long> counts = new HashMap<>();
+        rows.forEach(row -> counts.put(row.rarity(), row.count()));
+        List<PoolDailyStatsResponse.RarityCount> rarities = new ArrayList<>(Rarity.values().length);
+        long total = 0;
+        for (Rarity rarity : Rarity.values()) {
+            long count = counts.getOrDefault(rarity.name(), 0L);
+            rarities.add(new PoolDailyStatsResponse.RarityCount(rarity.name(), count));
+            total += count;
+        }
+        return Result.success(new PoolDailyStatsResponse(poolId, target, total, rarities));
+    }
+}
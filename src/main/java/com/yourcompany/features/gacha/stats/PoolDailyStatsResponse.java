@@ -0,0 +1,17 @@
+package com.yourcompany.features.gacha.stats;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+public record PoolDailyStatsResponse(
+        UUID poolId,
+        LocalDate date,      // 日本時間の日付
+        long totalEmissions,
+        List<RarityCount> rarities // レアリティの低い順 (排出のないレアリティは 0)
+) {
+    public record RarityCount(
+            String rarity,
+            long count
+    ) {}
+}
@@ -0,0 +1,15 @@
+package com.yourcompany.features.gacha.stats;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record UserPoolStatsResponse(
+        UUID userId,
+        UUID poolId,
+        long drawCount,      // 抽選リクエストの回数 (10連は1回)
+        long emissionCount,  // 排出されたアイテムの数
+        long consumedPaid,
+        long consumedFree,
+        long consumedTotal,
+        Instant lastDrawnAt  // 一度も引いていない場合は null
+) {}
@@ -0,0 +1,38 @@
+package com.yourcompany.features.home;
+
+import com.sqlcanvas.sharedkernel.shared.result.Result;
+import com.yourcompany.domain.shared.exception.GachaException;
+import com.yourcompany.security.CustomUserDetails;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@Tag(name = "Home", description = "ホーム画面向けAPI")
+@RestController
+@RequestMapping("/api/v1/home")
+@RequiredArgsConstructor
+public class GetHomeController {
+
+    private final GetHomeUseCase useCase;
+
+    @Operation(summary = "ホーム画面の情報", description = "石の残高・所持アイテム・天井の進捗・開催中のガチャをまとめて返します。時間内に取得できなかった項目は unavailable に入ります。")
+    @GetMapping
+    public ResponseEntity<HomeResponse> get(@AuthenticationPrincipal CustomUserDetails userDetails) {
+        Result<HomeResponse> result = useCase.execute(userDetails.getUser().getId());
+
+        if (result instanceof Result.Success<HomeResponse> success) {
+            return ResponseEntity.ok(success.value());
+        }
+
+        if (result instanceof Result.Failure<HomeResponse> failure) {
+            throw new GachaException(failure.errorCode(), failure.message());
+        }
+
+        throw new IllegalStateException("Unknown result type");
+    }
+}
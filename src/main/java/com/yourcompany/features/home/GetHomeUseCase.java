@@ -0,0 +1,213 @@
+package com.yourcompany.features.home;
+
+import com.sqlcanvas.sharedkernel.shared.result.Result;
+import com.yourcompany.config.infrastructure.datasource.shard.UserShardScope;
+import com.yourcompany.domain.model.gacha.GachaPool;
+import com.yourcompany.domain.model.gacha.GachaState;
+import com.yourcompany.domain.model.inventory.InventoryItem;
+import com.yourcompany.domain.model.wallet.Wallet;
+import com.yourcompany.domain.shared.exception.GachaErrorCode;
+import com.yourcompany.schoolasset.application.service.master.ItemMaster;
+import com.yourcompany.schoolasset.application.service.master.MasterDataCache;
+import com.yourcompany.schoolasset.application.service.state.GachaStateStore;
+import com.yourcompany.schoolasset.infrastructure.persistence.repository.InventoryItemRepository;
+import com.yourcompany.schoolasset.infrastructure.persistence.repository.WalletRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * ホーム画面の集約 (ウォレット・所持アイテム・天井の進捗・開催中プール)
+ * 責務：
+ * 1. DB を読む3パーツを仮想スレッドで並行に読み込み、1レスポンスにまとめる (リクエスト数と待ち時間の削減)
+ * 2. パーツごとの締め切りを過ぎたものは待たずに unavailable として返す (遅いパーツに全体を引きずられない)
+ *
+ * 開催中プールとアイテム名はメモリ上のマスタから引くため、並行化しない。
+ * 仮想スレッドにはリクエストのシャード指定が引き継がれないため、各パーツでユーザーのシャードを指定する。
+ * 各パーツは自分のトランザクションで文のタイムアウト (statement_timeout) を締め切りまでの残り時間に設定し、
+ * 締め切りは割り込みではなく DB 側で守る (割り込みはプールの接続を壊すため)。
+ * 接続の取得待ちは statement_timeout に含まれないため、同時に DB を読むパーツの数を max-concurrent-parts に絞り、
+ * 締め切りまでに順番が来ない・接続を得た時点で締め切りを過ぎているパーツは読まずに終える
+ * (ホーム画面で接続プールを使い切り、抽選の接続待ちや締め切り後の無駄な読み込みを起こさないため)。
+ * 応答は締め切りまでに揃ったパーツで返し、締め切りを過ぎたパーツの終了は待たない。
+ * 画面表示用のため、パーツ間で同じ時点のスナップショットであることは保証しない。
+ */
+@Slf4j
+@Service
+public class GetHomeUseCase {
+
+    static final String PART_WALLET = "wallet";
+    static final String PART_INVENTORY = "inventory";
+    static final String PART_PITY = "pity";
+
+    private final WalletRepository walletRepository;
+    private final InventoryItemRepository inventoryItemRepository;
+    private final GachaStateStore stateStore;
+    private final MasterDataCache masterDataCache;
+    private final UserShardScope userShardScope;
+    private final MeterRegistry meterRegistry;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration walletTimeout;
+    private final Duration inventoryTimeout;
+    private final Duration pityTimeout;
+    // パーツが DB の接続を使う (取得を待つ) 権利。接続プールの大きさより十分小さくする
+    private final Semaphore connectionPermits;
+
+    public GetHomeUseCase(WalletRepository walletRepository,
+                          InventoryItemRepository inventoryItemRepository,
+                          GachaStateStore stateStore,
+                          MasterDataCache masterDataCache,
+                          UserShardScope userShardScope,
+                          MeterRegistry meterRegistry,
+                          JdbcTemplate jdbcTemplate,
+                          PlatformTransactionManager transactionManager,
+                          @Value("${gacha.home.timeout.wallet-ms:300}") long walletTimeoutMs,
+                          @Value("${gacha.home.timeout.inventory-ms:500}") long inventoryTimeoutMs,
+                          @Value("${gacha.home.timeout.pity-ms:300}") long pityTimeoutMs,
+                          @Value("${gacha.home.max-concurrent-parts:4}") int maxConcurrentParts) {
+        this.walletRepository = walletRepository;
+        this.inventoryItemRepository = inventoryItemRepository;
+        this.stateStore = stateStore;
+        this.masterDataCache = masterDataCache;
+        this.userShardScope = userShardScope;
+        this.meterRegistry = meterRegistry;
+        this.jdbcTemplate = jdbcTemplate;
+        // 読み取りのみだが readOnly にはしない (仮想スレッドには認証情報がなく、レプリカ遅延対策の固定が効かないため)
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.walletTimeout = Duration.ofMillis(walletTimeoutMs);
+        this.inventoryTimeout = Duration.ofMillis(inventoryTimeoutMs);
+        this.pityTimeout = Duration.ofMillis(pityTimeoutMs);
+        this.connectionPermits = new Semaphore(maxConcurrentParts);
+    }
+
+    public Result<HomeResponse> execute(UUID userId) {
+        // close は締め切りを過ぎたパーツの終了を待たない (join の直後に応答を返せる)
+        try (HomePartLoader loader = new HomePartLoader()) {
+            HomePartLoader.Part<Wallet> wallet = loader.fork(PART_WALLET, walletTimeout,
+                    asUser(userId, loader, walletTimeout, () -> walletRepository.findById(userId).orElse(null)));
+            HomePartLoader.Part<List<InventoryItem>> inventory = loader.fork(PART_INVENTORY, inventoryTimeout,
+                    asUser(userId, loader, inventoryTimeout, () -> inventoryItemRepository.findAllByUser(userId)));
+            HomePartLoader.Part<List<GachaState>> pity = loader.fork(PART_PITY, pityTimeout,
+                    asUser(userId, loader, pityTimeout, () -> stateStore.findActive(userId)));
+
+            // DB を読むパーツを待つ間に、メモリ上のマスタから開催中プールを組み立てる
+            List<HomeResponse.ActivePool> activePools = activePools();
+            loader.join();
+
+            if (wallet.outcome() == HomePartLoader.Outcome.COMPLETED && wallet.value().isEmpty()) {
+                return GachaErrorCode.WALLET_NOT_FOUND.toFailure();
+            }
+            List<HomePartLoader.Part<?>> unavailable = loader.unavailable();
+            unavailable.forEach(part -> recordUnavailable(userId, part));
+
+            return Result.success(new HomeResponse(
+                    wallet.value().map(GetHomeUseCase::toWalletSummary).orElse(null),
+                    inventory.value().map(this::toInventoryEntries).orElse(List.of()),
+                    pity.value().map(GetHomeUseCase::toPityProgress).orElse(List.of()),
+                    activePools,
+                    unavailable.stream().map(HomePartLoader.Part::name).toList()
+            ));
+        }
+    }
+
+    /**
+     * ユーザーのシャードのトランザクションで、文のタイムアウトを締め切りまでの残り時間にして実行する
+     * (シャードは接続の取得時に決まるため、トランザクションより外側で指定する)
+     *
+     * @throws QueryTimeoutException 締め切りまでに接続を使う順番が来ない、または接続を得た時点で締め切りを過ぎている場合
+     */
+    private <T> Supplier<T> asUser(UUID userId, HomePartLoader loader, Duration timeout, Supplier<T> action) {
+        return () -> {
+            if (!acquirePermit(loader.remaining(timeout))) {
+                throw new QueryTimeoutException("No connection permit before the home part deadline");
+            }
+            try {
+                return userShardScope.asUser(userId, () -> transactionTemplate.execute(status -> {
+                    long remainingMillis = loader.remaining(timeout).toMillis();
+                    if (remainingMillis <= 0) {
+                        throw new QueryTimeoutException("Home part deadline passed while acquiring a connection");
+                    }
+                    jdbcTemplate.execute("SET LOCAL statement_timeout = " + remainingMillis);
+                    return action.get();
+                }));
+            } finally {
+                connectionPermits.release();
+            }
+        };
+    }
+
+    private boolean acquirePermit(Duration remaining) {
+        if (remaining.isNegative() || remaining.isZero()) {
+            return false;
+        }
+        try {
+            return connectionPermits.tryAcquire(remaining.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void recordUnavailable(UUID userId, HomePartLoader.Part<?> part) {
+        String outcome = part.outcome().name().toLowerCase();
+        meterRegistry.counter("gacha.home.part.unavailable", "part", part.name(), "outcome", outcome).increment();
+        part.failure().ifPresentOrElse(
+                e -> log.warn("Home part failed. userId={}, part={}", userId, part.name(), e),
+                () -> log.debug("Home part unavailable. userId={}, part={}, outcome={}", userId, part.name(), outcome));
+    }
+
+    private List<HomeResponse.ActivePool> activePools() {
+        Instant now = Instant.now();
+        return masterDataCache.allPools().stream()
+                .filter(pool -> pool.isOpenAt(now))
+                .sorted(Comparator.comparing(GachaPool::getEndAt).thenComparing(GachaPool::getId))
+                .map(pool -> new HomeResponse.ActivePool(
+                        pool.getId(),
+                        pool.getName(),
+                        pool.getDrawMode(),
+                        pool.getCostAmount(),
+                        pool.getPityCeilingCount(),
+                        pool.getDailyDrawLimit(),
+                        pool.getEndAt()))
+                .toList();
+    }
+
+    private static HomeResponse.WalletSummary toWalletSummary(Wallet wallet) {
+        return new HomeResponse.WalletSummary(wallet.getPaidStones(), wallet.getFreeStones(), wallet.getTotalStones());
+    }
+
+    private List<HomeResponse.InventoryEntry> toInventoryEntries(List<InventoryItem> items) {
+        return items.stream()
+                .map(item -> {
+                    ItemMaster master = masterDataCache.findItem(item.getItemId()).orElse(null);
+                    return new HomeResponse.InventoryEntry(
+                            item.getItemId(),
+                            master != null ? master.name() : null,
+                            master != null ? master.rarity() : null,
+                            item.getQuantity());
+                })
+                .toList();
+    }
+
+    private static List<HomeResponse.PityProgress> toPityProgress(List<GachaState> states) {
+        return states.stream()
+                .map(state -> new HomeResponse.PityProgress(
+                        state.getGachaPoolId(), state.getCurrentPityCount(), state.getCurrentGuaranteedCount()))
+                .toList();
+    }
+}
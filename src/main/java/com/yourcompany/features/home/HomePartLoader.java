@@ -0,0 +1,158 @@
+package com.yourcompany.features.home;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * ホーム画面の各パーツを仮想スレッドで並行に読み込む (1リクエストで1つ使い捨てる)
+ *
+ * 構造化並行性 (fork → join → close) と同じ形で使う。StructuredTaskScope は Java 21 ではプレビュー API のため、
+ * 仮想スレッドの Executor で同じ寿命の管理を行う。
+ * パーツごとに締め切り (読み込み開始からの時間) を持ち、締め切りを過ぎた・失敗したパーツは「取得できなかった」扱いにする。
+ * 1つのパーツの失敗で他のパーツを捨てることはしない。
+ *
+ * 締め切りを過ぎたパーツにも割り込みはしない (JDBC の処理中に割り込むとプールの接続が壊れる)。
+ * パーツ側で DB の文のタイムアウトなどにより締め切り付近で終わるようにする。close はその終了を待たず、
+ * 残ったパーツは仮想スレッドのまま終わって解放される (応答を遅いパーツの後始末に引きずらない)。
+ */
+final class HomePartLoader implements AutoCloseable {
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final long startedAt = System.nanoTime();
+    private final List<Part<?>> parts = new ArrayList<>();
+
+    /**
+     * パーツの読み込みを開始する
+     *
+     * @param timeout 読み込み開始 (このローダーの生成) からの待ち時間の上限
+     */
+    <T> Part<T> fork(String name, Duration timeout, Supplier<T> task) {
+        Part<T> part = new Part<>(name, startedAt + timeout.toNanos(), executor.submit(task::get));
+        parts.add(part);
+        return part;
+    }
+
+    /**
+     * 締め切りまでの残り時間 (過ぎていれば 0 以下)
+     * パーツの中で、接続の取得などに使った分を差し引いて DB の文のタイムアウトを決めるのに使う。
+     *
+     * @param timeout fork に渡した待ち時間の上限
+     */
+    Duration remaining(Duration timeout) {
+        return Duration.ofNanos(startedAt + timeout.toNanos() - System.nanoTime());
+    }
+
+    /**
+     * 全パーツの完了か締め切りまで待つ
+     * 待ち時間は最も長い締め切りまで (パーツは並行に動くため、合計ではない)。
+     */
+    void join() {
+        for (Part<?> part : parts) {
+            if (!part.await()) {
+                // 割り込まれた場合は残りを待たない
+                parts.forEach(Part::abandon);
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * 取得できなかったパーツ (join の後に呼ぶこと)
+     */
+    List<Part<?>> unavailable() {
+        return parts.stream().filter(part -> part.outcome() != Outcome.COMPLETED).toList();
+    }
+
+    /**
+     * 新しいパーツの受け付けを止める
+     * 動いているパーツは待たず、割り込みもしない (仮想スレッドのため、終われば自然に解放される)。
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    enum Outcome {
+        PENDING,
+        COMPLETED,
+        TIMED_OUT,
+        FAILED
+    }
+
+    static final class Part<T> {
+
+        private final String name;
+        private final long deadline;
+        private final Future<T> future;
+        private Outcome outcome = Outcome.PENDING;
+        private T value;
+        private Throwable failure;
+
+        private Part(String name, long deadline, Future<T> future) {
+            this.name = name;
+            this.deadline = deadline;
+            this.future = future;
+        }
+
+        /**
+         * @return 割り込まれた場合は false
+         */
+        private boolean await() {
+            if (outcome != Outcome.PENDING) {
+                return true;
+            }
+            try {
+                // 締め切りを過ぎていても、完了済みなら値を受け取る
+                value = future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                outcome = Outcome.COMPLETED;
+            } catch (TimeoutException e) {
+                outcome = Outcome.TIMED_OUT;
+            } catch (ExecutionException e) {
+                failure = e.getCause();
+                outcome = Outcome.FAILED;
+            } catch (InterruptedException e) {
+                abandon();
+                return false;
+            }
+            return true;
+        }
+
+        private void abandon() {
+            if (outcome == Outcome.PENDING) {
+                outcome = Outcome.FAILED;
+            }
+        }
+
+        String name() {
+            return name;
+        }
+
+        Outcome outcome() {
+            return outcome;
+        }
+
+        /**
+         * @return 取得できなかった場合は空
+         */
+        Optional<T> value() {
+            return outcome == Outcome.COMPLETED ? Optional.ofNullable(value) : Optional.empty();
+        }
+
+        /**
+         * 失敗 (FAILED) した場合の例外。呼び出し側が割り込まれて待つのをやめた場合は空
+         */
+        Optional<Throwable> failure() {
+            return Optional.ofNullable(failure);
+        }
+    }
+}
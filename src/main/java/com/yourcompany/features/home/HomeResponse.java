@@ -0,0 +1,36 @@
+package com.yourcompany.features.home;
+
+import com.yourcompany.domain.model.gacha.DrawMode;
+import com.yourcompany.domain.model.gacha.Rarity;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * ホーム画面の表示に必要な情報をまとめたレスポンス
+ * 時間内に取得できなかったパーツは null (一覧は空) とし、unavailable にパーツ名を入れる。
+ */
+public record HomeResponse(
+        WalletSummary wallet,
+        List<InventoryEntry> inventory,
+        List<PityProgress> pity,          // 開催中プールのうち状態があるもの (ないプールは 0 回)
+        List<ActivePool> activePools,
+        List<String> unavailable          // wallet / inventory / pity
+) {
+    public record WalletSummary(int paidStones, int freeStones, long totalStones) {}
+
+    public record InventoryEntry(UUID itemId, String name, Rarity rarity, int quantity) {}
+
+    public record PityProgress(UUID poolId, int currentPityCount, int currentGuaranteedCount) {}
+
+    public record ActivePool(
+            UUID poolId,
+            String name,
+            DrawMode drawMode,
+            int costAmount,
+            int pityCeilingCount,
+            int dailyDrawLimit, // 0 は上限なし
+            Instant endAt
+    ) {}
+}
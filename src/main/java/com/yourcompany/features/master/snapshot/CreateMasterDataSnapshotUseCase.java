@@ -0,0 +1,81 @@
+package com.yourcompany.features.master.snapshot;
+
+import com.sqlcanvas.sharedkernel.shared.result.Result;
+import com.yourcompany.domain.model.gacha.GachaPool;
+import com.yourcompany.domain.shared.exception.GachaErrorCode;
+import com.yourcompany.schoolasset.application.service.master.ItemMaster;
+import com.yourcompany.schoolasset.application.service.master.MasterDataCache;
+import com.yourcompany.schoolasset.application.service.master.MasterDataSnapshot;
+import com.yourcompany.schoolasset.application.service.master.MasterDataSnapshotStore;
+import com.yourcompany.schoolasset.application.service.sampler.TieredSamplerCache;
+import com.yourcompany.schoolasset.infrastructure.persistence.repository.GachaPoolRepository;
+import com.yourcompany.schoolasset.infrastructure.persistence.repository.ItemRepository;
+import com.yourcompany.schoolasset.infrastructure.persistence.repository.MasterDataVersionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * マスタスナップショットの作成
+ * 版数とマスタを同一スナップショット (REPEATABLE READ) で読み、ファイルに書き出す。
+ * readOnly にするとレプリカへ振り分けられ、遅延した版数を書き出してしまうため、プライマリで読む。
+ * 書き出したインスタンスは即座にそのファイルへ切り替え (抽選表もコンパイルし直す)、他のインスタンスは次回起動時に読み込む。
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CreateMasterDataSnapshotUseCase {
+
+    private final MasterDataVersionRepository versionRepository;
+    private final ItemRepository itemRepository;
+    private final GachaPoolRepository poolRepository;
+    private final MasterDataSnapshotStore snapshotStore;
+    private final MasterDataCache masterDataCache;
+    private final TieredSamplerCache samplerCache;
+    private final PlatformTransactionManager transactionManager;
+
+    public Result<MasterDataSnapshotResponse> execute() {
+        long startedAt = System.nanoTime();
+
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        MasterData data = tx.execute(status -> new MasterData(
+                versionRepository.currentVersion(),
+                itemRepository.findAll().stream().map(ItemMaster::from).toList(),
+                poolRepository.findAllWithEmissions()
+        ));
+
+        MasterDataSnapshot snapshot;
+        try {
+            snapshot = snapshotStore.write(data.version(), data.items(), data.pools());
+        } catch (IOException e) {
+            log.error("Failed to write master data snapshot. path={}", snapshotStore.path(), e);
+            return GachaErrorCode.UNEXPECTED_ERROR.toFailure("スナップショットの書き出しに失敗しました");
+        }
+        masterDataCache.adopt(snapshot, data.version());
+        samplerCache.precompile();
+
+        long elapsedMillis = (System.nanoTime() - startedAt) / 1_000_000;
+        log.info("Master data snapshot created. version={}, checksum={}, bytes={}, elapsedMs={}",
+                data.version(), snapshot.checksum(), snapshot.sizeBytes(), elapsedMillis);
+
+        return Result.success(new MasterDataSnapshotResponse(
+                snapshotStore.path().toString(),
+                snapshot.checksum(),
+                snapshot.sourceVersion(),
+                snapshot.itemCount(),
+                snapshot.poolCount(),
+                snapshot.sizeBytes(),
+                elapsedMillis
+        ));
+    }
+
+    private record MasterData(long version, List<ItemMaster> items, List<GachaPool> pools) {
+    }
+}
@@ -0,0 +1,39 @@
+package com.yourcompany.features.master.snapshot;
+
+import com.sqlcanvas.sharedkernel.shared.result.Result;
+import com.yourcompany.domain.shared.exception.GachaException;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@Tag(name = "Master Data Admin", description = "マスタデータ運用向けAPI (管理者専用)")
+@RestController
+@RequestMapping("/api/v1/admin/master-data")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class MasterDataSnapshotController {
+
+    private final CreateMasterDataSnapshotUseCase useCase;
+
+    @Operation(summary = "マスタスナップショットの作成",
+            description = "アイテム・プール・排出設定をバイナリファイルに書き出します。各インスタンスは起動時にこれをメモリマップして読み込みます。")
+    @PostMapping("/snapshot")
+    public ResponseEntity<MasterDataSnapshotResponse> create() {
+        Result<MasterDataSnapshotResponse> result = useCase.execute();
+
+        if (result instanceof Result.Success<MasterDataSnapshotResponse> success) {
+            return ResponseEntity.ok(success.value());
+        }
+
+        if (result instanceof Result.Failure<MasterDataSnapshotResponse> failure) {
+            throw new GachaException(failure.errorCode(), failure.message());
+        }
+
+        throw new IllegalStateException("Unknown result type");
+    }
+}
@@ -0,0 +1,12 @@
+package com.yourcompany.features.master.snapshot;
+
+public record MasterDataSnapshotResponse(
+        String path,
+        String checksum,
+        long sourceVersion,
+        int items,
+        int pools,
+        long sizeBytes,
+        long elapsedMillis
+) {
+}
@@ -0,0 +1,16 @@
+package com.yourcompany.features.shard;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+
+public record AddShardRequest(
+        @NotBlank @Size(max = 50) @Pattern(regexp = "[a-z0-9-]+")
+        String name,
+        @NotBlank
+        String url,
+        @NotBlank
+        String username,
+        String password,
+        boolean rebalance // true の場合は参加後すぐにユーザーの再配置を開始する
+) {}
@@ -0,0 +1,53 @@
+package com.yourcompany.features.shard;
+
+import com.sqlcanvas.sharedkernel.shared.result.Result;
+import com.yourcompany.domain.shared.exception.GachaException;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@Tag(name = "Shard Admin", description = "ユーザーシャード運用向けAPI (管理者専用)")
+@RestController
+@RequestMapping("/api/v1/admin/shards")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class ShardAdminController {
+
+    private final ShardAdminUseCase useCase;
+
+    @Operation(summary = "シャードの追加",
+            description = "スキーマ適用・マスタ複製の後、ディレクトリ DB に登録して全インスタンスのリングに参加させます。")
+    @PostMapping
+    public ResponseEntity<ShardStatusResponse> add(@RequestBody @Valid AddShardRequest request) {
+        return handle(useCase.add(request), HttpStatus.ACCEPTED);
+    }
+
+    @Operation(summary = "ユーザー再配置の開始", description = "全インスタンスが新しいリングを反映するのを待ってから、所属が変わるユーザーをバックグラウンドで移動します。")
+    @PostMapping("/rebalance")
+    public ResponseEntity<ShardStatusResponse> rebalance() {
+        return handle(useCase.rebalance(), HttpStatus.ACCEPTED);
+    }
+
+    @Operation(summary = "シャード構成と再配置の進捗")
+    @GetMapping
+    public ResponseEntity<ShardStatusResponse> status() {
+        return handle(useCase.status(), HttpStatus.OK);
+    }
+
+    private ResponseEntity<ShardStatusResponse> handle(Result<ShardStatusResponse> result, HttpStatus status) {
+        if (result instanceof Result.Success<ShardStatusResponse> success) {
+            return ResponseEntity.status(status).body(success.value());
+        }
+
+        if (result instanceof Result.Failure<ShardStatusResponse> failure) {
+            throw new GachaException(failure.errorCode(), failure.message());
+        }
+
+        throw new IllegalStateException("Unknown result type");
+    }
+}
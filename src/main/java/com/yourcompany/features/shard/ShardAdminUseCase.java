@@ -0,0 +1,76 @@
+package com.yourcompany.features.shard;
+
+import com.sqlcanvas.sharedkernel.shared.result.Result;
+import com.yourcompany.config.infrastructure.datasource.shard.ShardMembershipService;
+import com.yourcompany.config.infrastructure.datasource.shard.UserShardRebalancer;
+import com.yourcompany.domain.shared.exception.GachaErrorCode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Service;
+
+/**
+ * シャードの追加・再配置・状態照会
+ * 追加はディレクトリ DB に記録され、全インスタンスのルーティングに反映される (どのインスタンスに対して行ってもよい)。
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ShardAdminUseCase {
+
+    private final ObjectProvider<ShardMembershipService> membershipProvider;
+
+    public Result<ShardStatusResponse> add(AddShardRequest request) {
+        ShardMembershipService membership = membershipProvider.getIfAvailable();
+        if (membership == null) {
+            return GachaErrorCode.SHARDING_DISABLED.toFailure();
+        }
+        try {
+            membership.join(request.name(), request.url(), request.username(), request.password());
+        } catch (IllegalStateException | IllegalArgumentException e) {
+            return GachaErrorCode.SHARD_CONFLICT.toFailure(e.getMessage());
+        } catch (RuntimeException e) {
+            log.error("Failed to add shard. name={}", request.name(), e);
+            return GachaErrorCode.UNEXPECTED_ERROR.toFailure("シャードの追加に失敗しました: " + e.getMessage());
+        }
+        log.info("Shard added. name={}, rebalance={}", request.name(), request.rebalance());
+
+        if (request.rebalance()) {
+            membership.startRebalance();
+        }
+        return Result.success(toResponse(membership));
+    }
+
+    public Result<ShardStatusResponse> rebalance() {
+        ShardMembershipService membership = membershipProvider.getIfAvailable();
+        if (membership == null) {
+            return GachaErrorCode.SHARDING_DISABLED.toFailure();
+        }
+        if (!membership.startRebalance()) {
+            return GachaErrorCode.SHARD_CONFLICT.toFailure("再配置対象がないか、すでに実行中です");
+        }
+        return Result.success(toResponse(membership));
+    }
+
+    public Result<ShardStatusResponse> status() {
+        ShardMembershipService membership = membershipProvider.getIfAvailable();
+        if (membership == null) {
+            return GachaErrorCode.SHARDING_DISABLED.toFailure();
+        }
+        return Result.success(toResponse(membership));
+    }
+
+    private static ShardStatusResponse toResponse(ShardMembershipService membership) {
+        UserShardRebalancer.Status status = membership.rebalanceStatus();
+        return new ShardStatusResponse(
+                membership.shardNames(),
+                status.rebalancing(),
+                status.running(),
+                status.scannedUsers(),
+                status.movedUsers(),
+                status.lastError(),
+                membership.ringVersion(),
+                membership.unacknowledgedNodes()
+        );
+    }
+}
@@ -0,0 +1,15 @@
+package com.yourcompany.features.shard;
+
+import java.util.List;
+
+public record ShardStatusResponse(
+        List<String> shards,
+        boolean rebalancing,
+        boolean rebalancerRunning,
+        long scannedUsers,
+        long movedUsers,
+        String lastError,
+        long ringVersion, // このインスタンスが反映したリングの版数
+        List<String> pendingNodes // 最新のリングをまだ反映していないインスタンス (再配置はこれが空になるまで待つ)
+) {
+}
@@ -0,0 +1,9 @@
+package com.yourcompany.features.stock;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+
+public record SetStockRequest(
+        @Min(0) @Max(100_000_000)
+        int total // サーバー全体での排出上限
+) {}
@@ -0,0 +1,49 @@
+package com.yourcompany.features.stock;
+
+import com.sqlcanvas.sharedkernel.shared.result.Result;
+import com.yourcompany.domain.shared.exception.GachaException;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+@Tag(name = "Stock Admin", description = "排出枠の全体在庫 (サーバー全体でN個限定) の管理API (管理者専用)")
+@RestController
+@RequestMapping("/api/v1/admin/stocks")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class StockAdminController {
+
+    private final StockAdminUseCase useCase;
+
+    @Operation(summary = "全体在庫の設定",
+            description = "排出枠の全体在庫を設定します。在庫が尽きた排出枠は、残りの排出率で引き直されます。借り受け済みの数より少なくはできません。")
+    @PutMapping("/{emissionId}")
+    public ResponseEntity<StockStatusResponse> set(@PathVariable UUID emissionId,
+                                                   @RequestBody @Valid SetStockRequest request) {
+        return handle(useCase.set(emissionId, request));
+    }
+
+    @Operation(summary = "全体在庫の状況")
+    @GetMapping
+    public ResponseEntity<StockStatusResponse> status() {
+        return handle(useCase.status());
+    }
+
+    private ResponseEntity<StockStatusResponse> handle(Result<StockStatusResponse> result) {
+        if (result instanceof Result.Success<StockStatusResponse> success) {
+            return ResponseEntity.ok(success.value());
+        }
+
+        if (result instanceof Result.Failure<StockStatusResponse> failure) {
+            throw new GachaException(failure.errorCode(), failure.message());
+        }
+
+        throw new IllegalStateException("Unknown result type");
+    }
+}
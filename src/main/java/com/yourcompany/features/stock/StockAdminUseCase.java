@@ -0,0 +1,66 @@
+package com.yourcompany.features.stock;
+
+import com.sqlcanvas.sharedkernel.shared.error.CommonErrorCode;
+import com.sqlcanvas.sharedkernel.shared.result.Result;
+import com.yourcompany.config.infrastructure.datasource.shard.UserShardScope;
+import com.yourcompany.domain.model.gacha.GachaPool;
+import com.yourcompany.domain.shared.exception.GachaErrorCode;
+import com.yourcompany.schoolasset.application.service.master.MasterDataCache;
+import com.yourcompany.schoolasset.application.service.stock.LimitedStockService;
+import com.yourcompany.schoolasset.infrastructure.persistence.repository.EmissionStockJdbcRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 排出枠の全体在庫の設定と照会
+ * 設定は全体在庫 (ディレクトリシャード) に書き込み、各インスタンスは定期確認で取り込む。
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StockAdminUseCase {
+
+    private final EmissionStockJdbcRepository stockRepository;
+    private final LimitedStockService limitedStockService;
+    private final MasterDataCache masterDataCache;
+    private final UserShardScope userShardScope;
+
+    public Result<StockStatusResponse> set(UUID emissionId, SetStockRequest request) {
+        boolean exists = masterDataCache.allPools().stream()
+                .map(GachaPool::getEmissions)
+                .flatMap(List::stream)
+                .anyMatch(emission -> emission.getId().equals(emissionId));
+        if (!exists) {
+            return Result.failure(CommonErrorCode.INVALID_PARAMETER, "排出設定が見つかりません: " + emissionId);
+        }
+
+        boolean updated = userShardScope.inDirectoryTransaction(
+                () -> stockRepository.upsertTotal(emissionId, request.total()));
+        if (!updated) {
+            return GachaErrorCode.STOCK_BELOW_LEASED.toFailure();
+        }
+        log.info("Emission stock updated. emissionId={}, total={}", emissionId, request.total());
+
+        // このインスタンスには即時反映する (他のインスタンスは定期確認で取り込む)
+        limitedStockService.refreshStocks();
+        return status();
+    }
+
+    public Result<StockStatusResponse> status() {
+        List<StockStatusResponse.Stock> stocks = userShardScope.inDirectoryTransaction(stockRepository::findAll).stream()
+                .map(row -> new StockStatusResponse.Stock(
+                        row.emissionId(),
+                        row.total(),
+                        row.leased(),
+                        row.consumed(),
+                        limitedStockService.localAvailable(row.emissionId())))
+                .sorted(Comparator.comparing(StockStatusResponse.Stock::emissionId))
+                .toList();
+        return Result.success(new StockStatusResponse(limitedStockService.nodeId(), stocks));
+    }
+}
@@ -0,0 +1,17 @@
+package com.yourcompany.features.stock;
+
+import java.util.List;
+import java.util.UUID;
+
+public record StockStatusResponse(
+        String nodeId,
+        List<Stock> stocks
+) {
+    public record Stock(
+            UUID emissionId,
+            int total,
+            int leased,          // 各ノードへ借り受け済みの数 (total を超えない)
+            long reportedConsumed, // 各ノードから報告済みの払い出し数
+            int localAvailable   // このノードの手元の残り
+    ) {}
+}
@@ -0,0 +1,54 @@
+package com.yourcompany.features.wallet.grant;
+
+import com.sqlcanvas.sharedkernel.shared.result.Result;
+import com.yourcompany.domain.shared.exception.GachaException;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+@Tag(name = "Wallet Admin", description = "ウォレット運用向けAPI (管理者専用)")
+@RestController
+@RequestMapping("/api/v1/admin/stone-grants")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class StoneGrantController {
+
+    private final StoneGrantUseCase useCase;
+
+    @Operation(summary = "石の一括付与", description = "補填・キャンペーン用に石を一括付与します。処理はバックグラウンドで行われます。")
+    @PostMapping
+    public ResponseEntity<StoneGrantResponse> create(@RequestBody @Valid StoneGrantRequest request) {
+        return handle(useCase.create(request), HttpStatus.ACCEPTED);
+    }
+
+    @Operation(summary = "一括付与の再開", description = "失敗・中断した一括付与をチェックポイントから再開します。")
+    @PostMapping("/{campaignId}/resume")
+    public ResponseEntity<StoneGrantResponse> resume(@PathVariable UUID campaignId) {
+        return handle(useCase.resume(campaignId), HttpStatus.ACCEPTED);
+    }
+
+    @Operation(summary = "一括付与の進捗", description = "付与済み件数とチェックポイントを返します。")
+    @GetMapping("/{campaignId}")
+    public ResponseEntity<StoneGrantResponse> get(@PathVariable UUID campaignId) {
+        return handle(useCase.get(campaignId), HttpStatus.OK);
+    }
+
+    private ResponseEntity<StoneGrantResponse> handle(Result<StoneGrantResponse> result, HttpStatus status) {
+        if (result instanceof Result.Success<StoneGrantResponse> success) {
+            return ResponseEntity.status(status).body(success.value());
+        }
+
+        if (result instanceof Result.Failure<StoneGrantResponse> failure) {
+            throw new GachaException(failure.errorCode(), failure.message());
+        }
+
+        throw new IllegalStateException("Unknown result type");
+    }
+}
@@ -0,0 +1,19 @@
+package com.yourcompany.features.wallet.grant;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+import java.util.UUID;
+
+public record StoneGrantRequest(
+        @NotBlank @Size(max = 100)
+        String name,
+        @Min(0) @Max(99_999_999)
+        int paidAmount,
+        @Min(0) @Max(99_999_999)
+        int freeAmount,
+        List<UUID> targetUserIds // 未指定の場合はウォレットを持つ全ユーザーが対象
+) {}
@@ -0,0 +1,34 @@
+package com.yourcompany.features.wallet.grant;
+
+import com.yourcompany.domain.model.wallet.StoneGrantCampaign;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record StoneGrantResponse(
+        UUID campaignId,
+        String name,
+        int paidAmount,
+        int freeAmount,
+        StoneGrantCampaign.TargetMode targetMode,
+        StoneGrantCampaign.Status status,
+        UUID checkpointUserId,
+        long grantedCount,
+        long skippedCount,
+        Instant updatedAt
+) {
+    public static StoneGrantResponse from(StoneGrantCampaign campaign) {
+        return new StoneGrantResponse(
+                campaign.getId(),
+                campaign.getName(),
+                campaign.getPaidAmount(),
+                campaign.getFreeAmount(),
+                campaign.getTargetMode(),
+                campaign.getStatus(),
+                campaign.getCheckpointUserId(),
+                campaign.getGrantedCount(),
+                campaign.getSkippedCount(),
+                campaign.getUpdatedAt()
+        );
+    }
+}
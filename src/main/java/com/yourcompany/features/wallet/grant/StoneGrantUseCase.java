@@ -0,0 +1,89 @@
+package com.yourcompany.features.wallet.grant;
+
+import com.sqlcanvas.sharedkernel.shared.result.Result;
+import com.yourcompany.domain.model.wallet.StoneGrantCampaign;
+import com.yourcompany.domain.shared.exception.GachaErrorCode;
+import com.yourcompany.schoolasset.application.service.grant.BulkStoneGrantJob;
+import com.yourcompany.schoolasset.infrastructure.persistence.repository.StoneGrantCampaignRepository;
+import com.yourcompany.schoolasset.infrastructure.persistence.repository.StoneGrantJdbcRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.TreeSet;
+import java.util.UUID;
+
+/**
+ * 石の一括付与キャンペーンの登録・再開・進捗照会
+ * 付与そのものは BulkStoneGrantJob がコミット後にバックグラウンドで行う。
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StoneGrantUseCase {
+
+    private final StoneGrantCampaignRepository campaignRepository;
+    private final StoneGrantJdbcRepository grantRepository;
+    private final BulkStoneGrantJob job;
+
+    @Transactional
+    public Result<StoneGrantResponse> create(StoneGrantRequest request) {
+        boolean listed = request.targetUserIds() != null;
+        StoneGrantCampaign.TargetMode mode = listed
+                ? StoneGrantCampaign.TargetMode.LISTED
+                : StoneGrantCampaign.TargetMode.ALL_WALLETS;
+
+        return StoneGrantCampaign.create(request.name(), request.paidAmount(), request.freeAmount(), mode)
+                .flatMap(StoneGrantCampaign::start)
+                .map(campaign -> {
+                    campaignRepository.saveAndFlush(campaign);
+                    if (listed) {
+                        // user_id 順に登録しておくと keyset 走査時のインデックス局所性が良い
+                        grantRepository.insertTargets(campaign.getId(), new TreeSet<>(request.targetUserIds()));
+                    }
+                    launchAfterCommit(campaign.getId());
+                    log.info("Stone grant campaign created. campaignId={}, mode={}", campaign.getId(), mode);
+                    return StoneGrantResponse.from(campaign);
+                });
+    }
+
+    /**
+     * 失敗・中断したキャンペーンをチェックポイントから再開する
+     */
+    @Transactional
+    public Result<StoneGrantResponse> resume(UUID campaignId) {
+        StoneGrantCampaign campaign = campaignRepository.findById(campaignId).orElse(null);
+        if (campaign == null) {
+            return GachaErrorCode.STONE_GRANT_NOT_FOUND.toFailure();
+        }
+        return campaign.start()
+                .map(started -> {
+                    launchAfterCommit(started.getId());
+                    log.info("Stone grant campaign resumed. campaignId={}, checkpoint={}",
+                            started.getId(), started.getCheckpointUserId());
+                    return StoneGrantResponse.from(started);
+                });
+    }
+
+    @Transactional(readOnly = true)
+    public Result<StoneGrantResponse> get(UUID campaignId) {
+        StoneGrantCampaign campaign = campaignRepository.findById(campaignId).orElse(null);
+        if (campaign == null) {
+            return GachaErrorCode.STONE_GRANT_NOT_FOUND.toFailure();
+        }
+        return Result.success(StoneGrantResponse.from(campaign));
+    }
+
+    // RUNNING への遷移がコミットされてからジョブを起動する
+    private void launchAfterCommit(UUID campaignId) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                job.launch(campaignId);
+            }
+        });
+    }
+}
@@ -0,0 +1,9 @@
+package com.yourcompany.features.wallet.limit;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+
+public record SetSpendingCapRequest(
+        @Min(0) @Max(99_999_999)
+        Integer monthlyPaidCap // null の場合は上限を解除する
+) {}
@@ -0,0 +1,48 @@
+package com.yourcompany.features.wallet.limit;
+
+import com.sqlcanvas.sharedkernel.shared.result.Result;
+import com.yourcompany.domain.shared.exception.GachaException;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+@Tag(name = "Wallet Admin", description = "ウォレット運用向けAPI (管理者専用)")
+@RestController
+@RequestMapping("/api/v1/admin/users/{userId}/spending-cap")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class SpendingCapAdminController {
+
+    private final SpendingCapUseCase useCase;
+
+    @Operation(summary = "有償石の月額上限の設定", description = "ユーザーの月間 (日本時間) の有償石の利用上限を設定します。null を指定すると解除します。")
+    @PutMapping
+    public ResponseEntity<SpendingCapResponse> set(@PathVariable UUID userId,
+                                                   @RequestBody @Valid SetSpendingCapRequest request) {
+        return handle(useCase.set(userId, request));
+    }
+
+    @Operation(summary = "有償石の月額上限の照会", description = "上限と今月の有償石の利用額を返します。")
+    @GetMapping
+    public ResponseEntity<SpendingCapResponse> get(@PathVariable UUID userId) {
+        return handle(useCase.get(userId));
+    }
+
+    private ResponseEntity<SpendingCapResponse> handle(Result<SpendingCapResponse> result) {
+        if (result instanceof Result.Success<SpendingCapResponse> success) {
+            return ResponseEntity.ok(success.value());
+        }
+
+        if (result instanceof Result.Failure<SpendingCapResponse> failure) {
+            throw new GachaException(failure.errorCode(), failure.message());
+        }
+
+        throw new IllegalStateException("Unknown result type");
+    }
+}
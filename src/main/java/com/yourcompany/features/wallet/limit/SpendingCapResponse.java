@@ -0,0 +1,12 @@
+package com.yourcompany.features.wallet.limit;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+public record SpendingCapResponse(
+        UUID userId,
+        Integer monthlyPaidCap, // null は上限なし
+        LocalDate month,        // 集計対象の月 (日本時間の月初日)
+        long paidThisMonth,
+        Long remaining          // 上限なしの場合は null
+) {}
@@ -0,0 +1,64 @@
+package com.yourcompany.features.wallet.limit;
+
+import com.sqlcanvas.sharedkernel.shared.result.Result;
+import com.yourcompany.config.infrastructure.datasource.shard.UserShardScope;
+import com.yourcompany.domain.model.limit.DrawLimitCounters;
+import com.yourcompany.domain.shared.exception.GachaErrorCode;
+import com.yourcompany.schoolasset.application.service.limit.DrawLimitStore;
+import com.yourcompany.schoolasset.infrastructure.persistence.repository.DrawLimitJdbcRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * 月間の有償石の利用上限の設定・照会 (未成年の課金上限など)
+ * 上限と集計はユーザーの所属シャードにあるため、ユーザーのシャードに切り替えてから読み書きする。
+ */
+@Slf4j
+@Service
+public class SpendingCapUseCase {
+
+    private final DrawLimitStore limitStore;
+    private final DrawLimitJdbcRepository limitRepository;
+    private final UserShardScope userShardScope;
+    private final TransactionTemplate transactionTemplate;
+
+    public SpendingCapUseCase(DrawLimitStore limitStore,
+                              DrawLimitJdbcRepository limitRepository,
+                              UserShardScope userShardScope,
+                              PlatformTransactionManager transactionManager) {
+        this.limitStore = limitStore;
+        this.limitRepository = limitRepository;
+        this.userShardScope = userShardScope;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public Result<SpendingCapResponse> set(UUID userId, SetSpendingCapRequest request) {
+        Integer cap = request.monthlyPaidCap();
+        Boolean saved = userShardScope.asUser(userId,
+                () -> transactionTemplate.execute(status -> limitStore.saveMonthlyPaidCap(userId, cap)));
+        if (!Boolean.TRUE.equals(saved)) {
+            return GachaErrorCode.WALLET_NOT_FOUND.toFailure();
+        }
+        log.info("Monthly paid cap updated. userId={}, cap={}", userId, cap);
+        return get(userId);
+    }
+
+    public Result<SpendingCapResponse> get(UUID userId) {
+        DrawLimitCounters counters = userShardScope.asUser(userId, () -> limitRepository.load(userId));
+        Instant now = Instant.now();
+        long paid = counters.monthlyPaid(now);
+        Integer cap = counters.getMonthlyPaidCap().orElse(null);
+        return Result.success(new SpendingCapResponse(
+                userId,
+                cap,
+                DrawLimitCounters.monthOf(now),
+                paid,
+                cap == null ? null : Math.max(0, cap - paid)
+        ));
+    }
+}
@@ -18,6 +18,14 @@ public class LotteryService {
      * 重みに基づいてアイテムを1つ抽選する
      */
     public <T extends WeightedItem> Result<T> draw(List<T> items) {
+        return draw(items, random);
+    }
+
+    /**
+     * 呼び出し元が用意した乱数生成器で抽選する
+     * シミュレーションなど、スレッドごとに独立した乱数系列を使いたい場合に利用する
+     */
+    public <T extends WeightedItem> Result<T> draw(List<T> items, RandomGenerator random) {
         if (items == null || items.isEmpty()) {
             // 修正: INTERNAL_ERROR (廃止) -> INVALID_WEIGHT_CONFIG (設定ミス) に変更
             // かつ Result.failure ファクトリメソッドを使用
@@ -0,0 +1,237 @@
+package com.yourcompany.schoolasset.application.service.grant;
+
+import com.yourcompany.config.infrastructure.datasource.shard.UserShardScope;
+import com.yourcompany.domain.model.wallet.StoneGrantCampaign;
+import com.yourcompany.schoolasset.infrastructure.persistence.repository.StoneGrantCampaignRepository;
+import com.yourcompany.schoolasset.infrastructure.persistence.repository.StoneGrantJdbcRepository;
+import com.yourcompany.schoolasset.infrastructure.persistence.repository.StoneGrantJdbcRepository.ChunkResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+/**
+ * 石の一括付与ジョブ
+ * 対象ユーザーIDを user_id 順に keyset で読み出し、チャンク単位のトランザクションで
+ * 並列に付与する。並列数は Semaphore で制限した仮想スレッドで制御する。
+ * チェックポイントは「そこまでの全チャンクが完了した位置」までしか進めないため、
+ * 途中で落ちてもチェックポイントから再開すれば取りこぼしはない
+ * (再処理される分は台帳により二重付与されない)。
+ *
+ * キャンペーン・対象リストはディレクトリシャード、ウォレットと台帳はユーザーの所属シャードにある。
+ * 全ウォレット対象の場合は各シャードの走査結果を user_id 順にマージしてチャンクを作り、
+ * チャンクを所属シャードごとに分けてシャードごとのトランザクションで付与する。
+ */
+@Slf4j
+@Component
+public class BulkStoneGrantJob {
+
+    private final StoneGrantCampaignRepository campaignRepository;
+    private final StoneGrantJdbcRepository grantRepository;
+    private final UserShardScope shardScope;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter grantedCounter;
+    private final Counter skippedCounter;
+    private final Counter chunkCounter;
+
+    // このノードで実行中のキャンペーン
+    private final Set<UUID> running = ConcurrentHashMap.newKeySet();
+
+    @Value("${gacha.stone-grant.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${gacha.stone-grant.parallelism:4}")
+    private int parallelism;
+
+    public BulkStoneGrantJob(StoneGrantCampaignRepository campaignRepository,
+                             StoneGrantJdbcRepository grantRepository,
+                             UserShardScope shardScope,
+                             PlatformTransactionManager transactionManager,
+                             MeterRegistry meterRegistry) {
+        this.campaignRepository = campaignRepository;
+        this.grantRepository = grantRepository;
+        this.shardScope = shardScope;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.grantedCounter = meterRegistry.counter("gacha.stone_grant.wallets", "result", "granted");
+        this.skippedCounter = meterRegistry.counter("gacha.stone_grant.wallets", "result", "skipped");
+        this.chunkCounter = meterRegistry.counter("gacha.stone_grant.chunks");
+    }
+
+    /**
+     * バックグラウンドで実行を開始する (キャンペーンは RUNNING に遷移済みであること)
+     *
+     * @return 既にこのノードで実行中の場合 false
+     */
+    public boolean launch(UUID campaignId) {
+        if (!running.add(campaignId)) {
+            log.info("Stone grant already running on this node. campaignId={}", campaignId);
+            return false;
+        }
+        Thread.ofVirtual().name("stone-grant-" + campaignId).start(() -> {
+            try {
+                run(campaignId);
+            } finally {
+                running.remove(campaignId);
+            }
+        });
+        return true;
+    }
+
+    void run(UUID campaignId) {
+        StoneGrantCampaign campaign = campaignRepository.findById(campaignId).orElse(null);
+        if (campaign == null || campaign.getStatus() != StoneGrantCampaign.Status.RUNNING) {
+            log.warn("Stone grant campaign is not runnable. campaignId={}", campaignId);
+            return;
+        }
+
+        log.info("Stone grant started. campaignId={}, mode={}, paid={}, free={}, resumeFrom={}",
+                campaignId, campaign.getTargetMode(), campaign.getPaidAmount(), campaign.getFreeAmount(),
+                campaign.getCheckpointUserId());
+
+        Progress progress = new Progress(campaignId);
+        Semaphore permits = new Semaphore(parallelism);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        UUID cursor = campaign.getCheckpointUserId();
+        long chunkIndex = 0;
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            while (failure.get() == null) {
+                List<UUID> userIds = findTargetChunk(campaign, cursor);
+                if (userIds.isEmpty()) {
+                    break;
+                }
+                cursor = userIds.getLast();
+
+                permits.acquire();
+                long index = chunkIndex++;
+                UUID lastUserId = cursor;
+                executor.submit(() -> {
+                    try {
+                        ChunkResult result = applyOnShards(campaign, userIds);
+                        grantedCounter.increment(result.granted());
+                        skippedCounter.increment(result.skipped());
+                        chunkCounter.increment();
+                        progress.complete(index, lastUserId, result);
+                    } catch (Throwable e) {
+                        failure.compareAndSet(null, e);
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failure.compareAndSet(null, e);
+        } catch (RuntimeException e) {
+            failure.compareAndSet(null, e);
+        }
+        // executor の close で投入済みチャンクの完了を待ってから終了処理を行う
+
+        Throwable error = failure.get();
+        transactionTemplate.executeWithoutResult(status -> campaignRepository.findById(campaignId).ifPresent(c -> {
+            if (error == null) {
+                c.complete();
+            } else {
+                c.fail();
+            }
+        }));
+
+        if (error == null) {
+            log.info("Stone grant completed. campaignId={}", campaignId);
+        } else {
+            log.error("Stone grant failed. Resume from checkpoint. campaignId={}", campaignId, error);
+        }
+    }
+
+    /**
+     * cursor の次から user_id 順に最大 chunkSize 件の対象ユーザー
+     * 全ウォレット対象の場合は各シャードから chunkSize 件ずつ読み、マージした先頭 chunkSize 件を使う
+     * (再配置中に移動元・移動先の両方にあるユーザーは1件にまとめる)。
+     */
+    private List<UUID> findTargetChunk(StoneGrantCampaign campaign, UUID cursor) {
+        if (campaign.getTargetMode() == StoneGrantCampaign.TargetMode.LISTED) {
+            return grantRepository.findTargetChunk(campaign.getId(), campaign.getTargetMode(), cursor, chunkSize);
+        }
+        TreeSet<UUID> merged = new TreeSet<>(StoneGrantJdbcRepository.USER_ID_ORDER);
+        for (String shard : shardScope.shardNames()) {
+            merged.addAll(shardScope.onShard(shard, () -> grantRepository.findTargetChunk(
+                    campaign.getId(), campaign.getTargetMode(), cursor, chunkSize)));
+        }
+        return merged.stream().limit(chunkSize).toList();
+    }
+
+    /**
+     * チャンクを所属シャードごとに分けて付与する
+     * 振り分けた後に再配置で移動したユーザーは、振り分け先にウォレットがなくロックできないため、
+     * 所属シャードを引き直して1度だけやり直す。
+     */
+    private ChunkResult applyOnShards(StoneGrantCampaign campaign, List<UUID> userIds) {
+        int granted = 0;
+        int skipped = 0;
+        List<UUID> pending = userIds;
+        for (int attempt = 0; attempt < 2 && !pending.isEmpty(); attempt++) {
+            List<UUID> moved = new ArrayList<>();
+            Map<String, List<UUID>> byShard = pending.stream()
+                    .collect(Collectors.groupingBy(shardScope::shardOf, LinkedHashMap::new, Collectors.toList()));
+            for (Map.Entry<String, List<UUID>> entry : byShard.entrySet()) {
+                String shard = entry.getKey();
+                ChunkResult result = shardScope.onShard(shard, () -> transactionTemplate.execute(status ->
+                        grantRepository.applyChunk(campaign.getId(), entry.getValue(),
+                                campaign.getPaidAmount(), campaign.getFreeAmount())));
+                granted += result.granted();
+                skipped += result.skipped();
+                result.unlocked().stream()
+                        .filter(userId -> !shardScope.shardOf(userId).equals(shard))
+                        .forEach(moved::add);
+            }
+            pending = moved;
+        }
+        return new ChunkResult(granted, skipped, pending);
+    }
+
+    /**
+     * チャンクの完了順は前後するため、チェックポイントは連続して完了した位置までしか進めない。
+     * 件数は失敗時にも失われないよう、チャンク完了ごとに加算する。
+     */
+    private final class Progress {
+        private final UUID campaignId;
+        private final TreeMap<Long, UUID> completed = new TreeMap<>();
+        private long nextIndex = 0;
+
+        private Progress(UUID campaignId) {
+            this.campaignId = campaignId;
+        }
+
+        synchronized void complete(long index, UUID lastUserId, ChunkResult result) {
+            completed.put(index, lastUserId);
+
+            UUID checkpoint = null;
+            while (!completed.isEmpty() && completed.firstKey() == nextIndex) {
+                checkpoint = completed.pollFirstEntry().getValue();
+                nextIndex++;
+            }
+
+            UUID newCheckpoint = checkpoint;
+            transactionTemplate.executeWithoutResult(status -> campaignRepository.findById(campaignId)
+                    .ifPresent(c -> c.recordProgress(newCheckpoint, result.granted(), result.skipped())));
+        }
+    }
+}
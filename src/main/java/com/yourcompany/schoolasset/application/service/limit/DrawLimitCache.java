@@ -0,0 +1,102 @@
+package com.yourcompany.schoolasset.application.service.limit;
+
+import com.yourcompany.domain.model.limit.DrawLimitCounters;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * ユーザーごとの抽選上限と集計のキャッシュ (上限付き LRU)
+ *
+ * GachaStateCache と同じく、エントリはウォレットの version と紐付けて保持する。
+ * 集計は抽選 (ウォレットを行ロックして version を進める) の中でしか更新されず、上限の変更もウォレットの version を進めるため、
+ * version が一致していれば他インスタンスでの更新はない。値は不変オブジェクトなのでそのまま共有する。
+ */
+@Component
+public class DrawLimitCache {
+
+    private static final int SEGMENTS = 16;
+
+    private final Segment[] segments;
+
+    public DrawLimitCache(@Value("${gacha.limit-cache.max-users:100000}") int maxUsers) {
+        int perSegment = Math.max(1, maxUsers / SEGMENTS);
+        this.segments = new Segment[SEGMENTS];
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment(perSegment);
+        }
+    }
+
+    /**
+     * @param walletVersion ウォレットをロックした時点の version
+     * @return キャッシュにない、または古い場合は空
+     */
+    public Optional<DrawLimitCounters> get(UUID userId, long walletVersion) {
+        Segment segment = segmentFor(userId);
+        synchronized (segment) {
+            Entry entry = segment.get(userId);
+            if (entry == null) {
+                return Optional.empty();
+            }
+            if (entry.walletVersion != walletVersion) {
+                segment.remove(userId);
+                return Optional.empty();
+            }
+            return Optional.of(entry.counters);
+        }
+    }
+
+    public void put(UUID userId, long walletVersion, DrawLimitCounters counters) {
+        Segment segment = segmentFor(userId);
+        synchronized (segment) {
+            segment.put(userId, new Entry(walletVersion, counters));
+        }
+    }
+
+    public void invalidate(UUID userId) {
+        Segment segment = segmentFor(userId);
+        synchronized (segment) {
+            segment.remove(userId);
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    private Segment segmentFor(UUID userId) {
+        int hash = userId.hashCode();
+        return segments[(hash ^ (hash >>> 16)) & (SEGMENTS - 1)];
+    }
+
+    private record Entry(long walletVersion, DrawLimitCounters counters) {
+    }
+
+    /**
+     * アクセス順の LRU (同期は呼び出し側で行う)
+     */
+    private static final class Segment extends LinkedHashMap<UUID, Entry> {
+
+        private final int capacity;
+
+        Segment(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<UUID, Entry> eldest) {
+            return size() > capacity;
+        }
+    }
+}
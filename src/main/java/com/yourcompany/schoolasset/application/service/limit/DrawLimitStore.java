@@ -0,0 +1,95 @@
+package com.yourcompany.schoolasset.application.service.limit;
+
+import com.yourcompany.domain.model.gacha.GachaPool;
+import com.yourcompany.domain.model.limit.DrawLimitCounters;
+import com.yourcompany.schoolasset.infrastructure.persistence.repository.DrawLimitJdbcRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * 抽選上限の判定に使う集計の読み込み・書き戻し
+ * 責務：
+ * 1. 抽選時 (ウォレットのロック後) にキャッシュ、なければ DB から1往復で読み込む
+ * 2. 抽選結果を加算した集計を同じトランザクションで書き戻し、コミット時にキャッシュへ書き込む (ロールバック時は破棄する)
+ *
+ * キャッシュにあれば上限判定は DB に触れない (履歴を集計しない)。
+ */
+@Service
+public class DrawLimitStore {
+
+    private final DrawLimitJdbcRepository limitRepository;
+    private final DrawLimitCache cache;
+    private final Counter hits;
+    private final Counter misses;
+
+    public DrawLimitStore(DrawLimitJdbcRepository limitRepository, DrawLimitCache cache, MeterRegistry meterRegistry) {
+        this.limitRepository = limitRepository;
+        this.cache = cache;
+        this.hits = meterRegistry.counter("gacha.limit.cache", "result", "hit");
+        this.misses = meterRegistry.counter("gacha.limit.cache", "result", "miss");
+        Gauge.builder("gacha.limit.cache.users", cache, DrawLimitCache::size).register(meterRegistry);
+    }
+
+    /**
+     * @param walletVersion ウォレットをロックした時点の version
+     */
+    public DrawLimitCounters load(UUID userId, long walletVersion) {
+        DrawLimitCounters cached = cache.get(userId, walletVersion).orElse(null);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+        DrawLimitCounters loaded = limitRepository.load(userId);
+        cache.put(userId, walletVersion, loaded);
+        return loaded;
+    }
+
+    /**
+     * 抽選結果を集計に加算して書き戻す (抽選と同じトランザクション内で呼ぶこと)
+     * 書き込むのは有償石を消費した場合の月間集計と、1日の上限があるプールの集計だけ。
+     *
+     * @param walletVersionAfter 同じトランザクションで更新した後のウォレットの version
+     */
+    public DrawLimitCounters record(DrawLimitCounters counters, GachaPool pool, int draws, int paid,
+                                    Instant now, long walletVersionAfter) {
+        UUID userId = counters.getUserId();
+        boolean countDaily = pool.hasDailyDrawLimit();
+        DrawLimitCounters updated = counters.record(pool.getId(), countDaily, draws, paid, now);
+        limitRepository.saveCounters(updated, paid > 0, countDaily ? pool.getId() : null);
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                cache.put(userId, walletVersionAfter, updated);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    cache.invalidate(userId);
+                }
+            }
+        });
+        return updated;
+    }
+
+    /**
+     * 月間の有償石の利用上限の変更 (ユーザーの所属シャードのトランザクション内で呼ぶこと)
+     * 他のノードのキャッシュはウォレットの version の不一致で無効になる。
+     *
+     * @return ウォレットがない場合は false
+     */
+    public boolean saveMonthlyPaidCap(UUID userId, Integer cap) {
+        boolean saved = limitRepository.saveMonthlyPaidCap(userId, cap);
+        cache.invalidate(userId);
+        return saved;
+    }
+}
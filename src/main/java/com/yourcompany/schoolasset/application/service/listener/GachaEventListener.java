@@ -3,14 +3,13 @@ package com.yourcompany.schoolasset.application.service.listener;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
-import com.yourcompany.domain.model.gacha.EmissionResult;
 import com.yourcompany.domain.model.gacha.event.GachaDrawnEvent;
 import com.yourcompany.domain.model.history.GachaTransaction;
-import com.yourcompany.domain.model.inventory.InventoryItem;
 import com.yourcompany.domain.shared.exception.GachaErrorCode;
 import com.yourcompany.domain.shared.exception.GachaException;
+import com.yourcompany.schoolasset.infrastructure.outbox.DrawEventPayload;
+import com.yourcompany.schoolasset.infrastructure.persistence.repository.DrawEventOutboxRepository;
 import com.yourcompany.schoolasset.infrastructure.persistence.repository.GachaTransactionRepository;
-import com.yourcompany.schoolasset.infrastructure.persistence.repository.InventoryItemRepository;
 import lombok.RequiredArgsConstructor;
 import com.yourcompany.domain.shared.value.RequestId;
 import lombok.extern.slf4j.Slf4j;
@@ -18,43 +17,19 @@ import org.springframework.stereotype.Component;
 import org.springframework.transaction.event.TransactionPhase;
 import org.springframework.transaction.event.TransactionalEventListener;
 
+/**
+ * 抽選イベントの同一トランザクション内処理 (履歴・Outbox)
+ * 在庫付与は DrawGachaUseCase がウォレットと同じ往復でまとめて行う。
+ */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class GachaEventListener {
 
-    private final InventoryItemRepository inventoryRepository;
     private final GachaTransactionRepository transactionRepository;
+    private final DrawEventOutboxRepository outboxRepository;
     private final ObjectMapper objectMapper;
 
-    /**
-     * インベントリへのアイテム付与
-     * トランザクションコミット直前 (BEFORE_COMMIT) に実行
-     */
-    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
-    public void onGachaDrawn_GrantItems(GachaDrawnEvent event) {
-        log.debug("Event received: Granting items for request={}", event.requestId());
-
-        // TODO: マスタから最大所持数を取得するロジックが必要
-        int maxCapacity = 9999;
-
-        for (EmissionResult result : event.results()) {
-            InventoryItem item = inventoryRepository.findByUserAndItem(event.userId(), result.itemId())
-                    .orElseGet(() -> InventoryItem.create(event.userId(), result.itemId()));
-
-            // 修正: Result.orElseThrow を使用してシンプルに記述
-            // 失敗時は GachaException を投げてトランザクションをロールバックさせる
-            item.addQuantity(1, maxCapacity)
-                    .orElseThrow(failure -> {
-                        log.error("Failed to grant item. userId={}, itemId={}, error={}",
-                                event.userId(), result.itemId(), failure.message());
-                        return new GachaException((GachaErrorCode) failure.errorCode());
-                    });
-
-            inventoryRepository.save(item);
-        }
-    }
-
     /**
      * ガチャ履歴の保存
      * トランザクションコミット直前 (BEFORE_COMMIT) に実行
@@ -75,7 +50,8 @@ public class GachaEventListener {
                     event.poolId(),
                     event.consumedPaid(),
                     event.consumedFree(),
-                    jsonResult
+                    jsonResult,
+                    event.seed()
             );
 
             transactionRepository.save(transaction);
@@ -86,4 +62,19 @@ public class GachaEventListener {
             throw new GachaException(GachaErrorCode.UNEXPECTED_ERROR);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * 外部連携 (CRM・分析・プッシュ通知) 用の Outbox への追記
+     * トランザクションコミット直前 (BEFORE_COMMIT) に実行し、配信は OutboxRelay が非同期に行う
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onGachaDrawn_AppendOutbox(GachaDrawnEvent event) {
+        try {
+            String payload = objectMapper.writeValueAsString(DrawEventPayload.from(event));
+            outboxRepository.append(event.requestId().toString(), event.userId(), DrawEventPayload.EVENT_TYPE, payload);
+        } catch (JsonProcessingException e) {
+            log.error("Failed to serialize outbox payload. requestId={}", event.requestId(), e);
+            throw new GachaException(GachaErrorCode.UNEXPECTED_ERROR);
+        }
+    }
+}
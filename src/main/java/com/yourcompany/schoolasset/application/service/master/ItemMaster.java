@@ -0,0 +1,28 @@
+package com.yourcompany.schoolasset.application.service.master;
+
+import com.yourcompany.domain.model.gacha.Rarity;
+import com.yourcompany.domain.model.history.Item;
+
+import java.util.UUID;
+
+/**
+ * 抽選・付与で参照するアイテムマスタの読み取り専用ビュー
+ * エンティティをキャッシュに載せるとセッション外での遅延ロードや誤更新の余地が残るため、値だけを持つ
+ */
+public record ItemMaster(
+        UUID id,
+        String name,
+        Rarity rarity,
+        int maxCapacity
+) {
+    public static ItemMaster from(Item item) {
+        return new ItemMaster(item.getId(), item.getName(), Rarity.from(item.getRarity()), item.getMaxCapacity());
+    }
+
+    /**
+     * 天井・リセット判定に使う「最高レアリティ」（SSR以上）かどうか
+     */
+    public boolean isTopTier() {
+        return rarity.isTopTier();
+    }
+}
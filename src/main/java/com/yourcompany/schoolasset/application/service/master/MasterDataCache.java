@@ -0,0 +1,237 @@
+package com.yourcompany.schoolasset.application.service.master;
+
+import com.yourcompany.domain.model.gacha.GachaPool;
+import com.yourcompany.domain.model.history.Item;
+import com.yourcompany.schoolasset.infrastructure.persistence.repository.GachaPoolRepository;
+import com.yourcompany.schoolasset.infrastructure.persistence.repository.ItemRepository;
+import com.yourcompany.schoolasset.infrastructure.persistence.repository.MasterDataVersionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * ガチャプール・アイテムマスタのインメモリキャッシュ
+ * 責務：
+ * 1. 起動時 (ウォームアップ) にマスタを一括ロードする
+ *    DB の版数と一致するスナップショットファイルがあればメモリマップして使い、なければ DB から並列に読み込む
+ * 2. 抽選のホットパスからマスタ参照の DB アクセスを取り除く
+ * 3. 変更通知 (MasterDataChangeListener) を受けて、変更されたプール・アイテムだけを読み直す
+ *    通知を取りこぼした場合・定期確認で版数の変化を見つけた場合は丸ごと読み直して差し替える (読み込み中も旧データで応答し続ける)
+ *
+ * プールは排出設定を含む detached エンティティとして保持する。
+ * 参照専用であり、キャッシュから取り出したプールを更新・保存してはならない。
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MasterDataCache {
+
+    private final GachaPoolRepository poolRepository;
+    private final ItemRepository itemRepository;
+    private final MasterDataVersionRepository versionRepository;
+    private final MasterDataSnapshotStore snapshotStore;
+
+    private volatile Map<UUID, GachaPool> pools = new ConcurrentHashMap<>();
+    private volatile Map<UUID, ItemMaster> items = new ConcurrentHashMap<>();
+    // スナップショットから読み込んだ場合のみ非 null (アイテムはここから直接引く)
+    private volatile MasterDataSnapshot snapshot;
+    // スナップショット作成後に変更されたアイテム (スナップショットを引かずヒープ → DB で探す)
+    private volatile Set<UUID> changedSinceSnapshot = ConcurrentHashMap.newKeySet();
+    private volatile long loadedVersion = -1;
+    // アイテムマスタを差し替える・読み直すたびに進める (コンパイル済み抽選表の無効化に使う)
+    private volatile long itemGeneration;
+
+    /**
+     * マスタを読み込み、キャッシュを差し替える
+     */
+    public synchronized void preload() {
+        long startedAt = System.nanoTime();
+        // データより先に版数を読む (読み込み中に更新されても、次回の refresh で必ず読み直される)
+        long version = versionRepository.currentVersion();
+
+        Optional<MasterDataSnapshot> mapped = snapshotStore.openCurrent(version);
+        if (mapped.isPresent()) {
+            adopt(mapped.get(), version);
+            log.info("Master data mapped from snapshot. version={}, checksum={}, pools={}, items={}, elapsedMs={}",
+                    version, mapped.get().checksum(), mapped.get().poolCount(), mapped.get().itemCount(),
+                    (System.nanoTime() - startedAt) / 1_000_000);
+            return;
+        }
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            CompletableFuture<Map<UUID, GachaPool>> poolFuture =
+                    CompletableFuture.supplyAsync(this::loadPools, executor);
+            CompletableFuture<Map<UUID, ItemMaster>> itemFuture =
+                    CompletableFuture.supplyAsync(this::loadItems, executor);
+
+            Map<UUID, GachaPool> loadedPools = poolFuture.join();
+            Map<UUID, ItemMaster> loadedItems = itemFuture.join();
+            this.pools = loadedPools;
+            this.items = loadedItems;
+            this.snapshot = null;
+            this.changedSinceSnapshot = ConcurrentHashMap.newKeySet();
+            this.loadedVersion = version;
+            this.itemGeneration++;
+
+            log.info("Master data loaded from database. version={}, pools={}, items={}, elapsedMs={}",
+                    version, loadedPools.size(), loadedItems.size(), (System.nanoTime() - startedAt) / 1_000_000);
+        }
+    }
+
+    /**
+     * 書き出したばかりのスナップショットに切り替える
+     */
+    public synchronized void adopt(MasterDataSnapshot mapped, long version) {
+        Map<UUID, GachaPool> loadedPools = new ConcurrentHashMap<>();
+        for (GachaPool pool : mapped.pools()) {
+            loadedPools.put(pool.getId(), pool);
+        }
+        this.pools = loadedPools;
+        this.items = new ConcurrentHashMap<>();
+        this.snapshot = mapped;
+        this.changedSinceSnapshot = ConcurrentHashMap.newKeySet();
+        this.loadedVersion = version;
+        this.itemGeneration++;
+    }
+
+    /**
+     * 変更されたプール (排出設定を含む) を読み直す。削除されていればキャッシュから外す
+     */
+    public synchronized void reloadPool(UUID poolId) {
+        Optional<GachaPool> loaded = poolRepository.findByIdWithEmissions(poolId);
+        if (loaded.isPresent()) {
+            pools.put(poolId, loaded.get());
+        } else {
+            pools.remove(poolId);
+        }
+    }
+
+    /**
+     * 変更されたアイテムを読み直す。削除されていればキャッシュから外す
+     */
+    public synchronized void reloadItem(UUID itemId) {
+        changedSinceSnapshot.add(itemId);
+        Optional<ItemMaster> loaded = itemRepository.findById(itemId).map(ItemMaster::from);
+        if (loaded.isPresent()) {
+            items.put(itemId, loaded.get());
+        } else {
+            items.remove(itemId);
+        }
+        itemGeneration++;
+    }
+
+    /**
+     * 変更通知で受け取った版数を反映する
+     * 直前の版数の次であれば (= 途中の通知をすべて適用済み) そのまま進め、飛んでいれば全件を読み直す。
+     *
+     * @param fullReload TRUNCATE など行単位の通知がない変更の場合 true
+     * @return 全件を読み直した場合 true
+     */
+    public synchronized boolean advanceVersion(long version, boolean fullReload) {
+        if (version <= loadedVersion) {
+            return false;
+        }
+        if (!fullReload && version == loadedVersion + 1) {
+            loadedVersion = version;
+            return false;
+        }
+        log.info("Master data version gap detected. loaded={}, notified={}, reloading all", loadedVersion, version);
+        preload();
+        return true;
+    }
+
+    /**
+     * 管理画面や DB 直接更新の反映用に定期的に版数を確認する
+     */
+    @Scheduled(initialDelayString = "${gacha.master.refresh-interval-ms:30000}",
+            fixedDelayString = "${gacha.master.refresh-interval-ms:30000}")
+    public synchronized void refresh() {
+        try {
+            if (versionRepository.currentVersion() == loadedVersion) {
+                return;
+            }
+            preload();
+        } catch (RuntimeException e) {
+            // 読み直しに失敗しても旧データで応答を続ける
+            log.warn("Failed to refresh master data. Keeping previous snapshot.", e);
+        }
+    }
+
+    /**
+     * 排出設定込みのプールを取得する (未ロードの場合は DB から読み込んでキャッシュする)
+     */
+    public Optional<GachaPool> findPool(UUID poolId) {
+        Map<UUID, GachaPool> current = this.pools;
+        GachaPool cached = current.get(poolId);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        Optional<GachaPool> loaded = poolRepository.findByIdWithEmissions(poolId);
+        loaded.ifPresent(pool -> current.putIfAbsent(poolId, pool));
+        return loaded;
+    }
+
+    /**
+     * アイテムマスタを取得する
+     * スナップショット → ヒープ → DB の順に探し、DB から読んだものはヒープにキャッシュする。
+     */
+    public Optional<ItemMaster> findItem(UUID itemId) {
+        MasterDataSnapshot mapped = this.snapshot;
+        if (mapped != null && !changedSinceSnapshot.contains(itemId)) {
+            Optional<ItemMaster> hit = mapped.findItem(itemId);
+            if (hit.isPresent()) {
+                return hit;
+            }
+        }
+        Map<UUID, ItemMaster> current = this.items;
+        ItemMaster cached = current.get(itemId);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        Optional<ItemMaster> loaded = itemRepository.findById(itemId).map(ItemMaster::from);
+        loaded.ifPresent(item -> current.putIfAbsent(itemId, item));
+        return loaded;
+    }
+
+    public List<GachaPool> allPools() {
+        return List.copyOf(pools.values());
+    }
+
+    public long loadedVersion() {
+        return loadedVersion;
+    }
+
+    /**
+     * アイテムマスタの世代 (レアリティなどが変わり得る操作のたびに増える)
+     */
+    public long itemGeneration() {
+        return itemGeneration;
+    }
+
+    private Map<UUID, GachaPool> loadPools() {
+        Map<UUID, GachaPool> loaded = new ConcurrentHashMap<>();
+        for (GachaPool pool : poolRepository.findAllWithEmissions()) {
+            loaded.put(pool.getId(), pool);
+        }
+        return loaded;
+    }
+
+    private Map<UUID, ItemMaster> loadItems() {
+        Map<UUID, ItemMaster> loaded = new ConcurrentHashMap<>();
+        for (Item item : itemRepository.findAll()) {
+            loaded.put(item.getId(), ItemMaster.from(item));
+        }
+        return loaded;
+    }
+}
@@ -0,0 +1,259 @@
+package com.yourcompany.schoolasset.application.service.master;
+
+import com.yourcompany.domain.model.gacha.DrawMode;
+import com.yourcompany.domain.model.gacha.GachaEmission;
+import com.yourcompany.domain.model.gacha.GachaPool;
+import com.yourcompany.domain.model.gacha.Rarity;
+import com.yourcompany.domain.model.gacha.RateUpRule;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * マスタデータのバイナリスナップショット (メモリマップして読み取り専用で参照する)
+ *
+ * <pre>
+ * ヘッダ (52 bytes)
+ *   magic "GMDS" | format version (int) | source version (long) | payload length (int) | SHA-256 of payload (32 bytes)
+ * ペイロード
+ *   item count (int)  | item index: (uuid msb, uuid lsb, data offset) × n  ※ UUID 順
+ *   pool count (int)  | pool index: (uuid msb, uuid lsb, data offset) × n  ※ UUID 順
+ *   data
+ *     item: name | rarity (byte, Rarity の序数) | max capacity (int)
+ *     pool: name | start (epoch sec, nanos) | end (epoch sec, nanos) | cost | pity ceiling | draw mode (byte, DrawMode の序数)
+ *           | guaranteed trigger | guaranteed min rarity (byte) | rate-up count | (rarity (byte), pickup share bp (int)) × n ※ レアリティ順
+ *           | soft pity start | soft pity step bp | daily draw limit
+ *           | emission count
+ *           emission: (id msb, id lsb, item msb, item lsb, weight, pickup (byte), box count (int, 未設定は 0)) × n  ※ DB の読み込み順
+ *     文字列は長さ (int) + UTF-8
+ * </pre>
+ *
+ * source version は作成時点の master_data_version.version で、DB と一致しない場合は古いスナップショットとして扱う。
+ * アイテムはヒープに展開せず、インデックスの二分探索でバッファから直接読む。
+ */
+public final class MasterDataSnapshot {
+
+    static final int MAGIC = 0x474D4453; // "GMDS"
+    static final int FORMAT_VERSION = 5;
+    static final int HEADER_SIZE = 4 + 4 + 8 + 4 + 32;
+    static final int INDEX_ENTRY_SIZE = 8 + 8 + 4;
+
+    private static final Rarity[] RARITIES = Rarity.values();
+    private static final DrawMode[] DRAW_MODES = DrawMode.values();
+
+    private final ByteBuffer buffer;
+    private final long sourceVersion;
+    private final String checksum;
+    private final int itemCount;
+    private final int itemIndexStart;
+    private final int poolCount;
+    private final int poolIndexStart;
+    private final int dataStart;
+
+    private MasterDataSnapshot(ByteBuffer buffer, long sourceVersion, String checksum) {
+        this.buffer = buffer;
+        this.sourceVersion = sourceVersion;
+        this.checksum = checksum;
+
+        int position = HEADER_SIZE;
+        this.itemCount = buffer.getInt(position);
+        this.itemIndexStart = position + 4;
+        position = itemIndexStart + itemCount * INDEX_ENTRY_SIZE;
+        this.poolCount = buffer.getInt(position);
+        this.poolIndexStart = position + 4;
+        this.dataStart = poolIndexStart + poolCount * INDEX_ENTRY_SIZE;
+    }
+
+    /**
+     * ファイルをメモリマップし、形式とチェックサムを検証する
+     * マップはチャネルを閉じた後も有効で、ファイルが置き換えられても (rename) 旧内容を参照し続ける。
+     */
+    public static MasterDataSnapshot open(Path path) throws IOException {
+        MappedByteBuffer mapped;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE || size > Integer.MAX_VALUE) {
+                throw new IOException("Invalid snapshot size: " + size);
+            }
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+        return verify(mapped.order(ByteOrder.BIG_ENDIAN));
+    }
+
+    static MasterDataSnapshot verify(ByteBuffer buffer) throws IOException {
+        if (buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a master data snapshot");
+        }
+        int formatVersion = buffer.getInt(4);
+        if (formatVersion != FORMAT_VERSION) {
+            throw new IOException("Unsupported snapshot format: " + formatVersion);
+        }
+        long sourceVersion = buffer.getLong(8);
+        int payloadLength = buffer.getInt(16);
+        if (payloadLength != buffer.capacity() - HEADER_SIZE) {
+            throw new IOException("Truncated snapshot. expected=" + payloadLength + ", actual=" + (buffer.capacity() - HEADER_SIZE));
+        }
+
+        byte[] expected = new byte[32];
+        buffer.get(20, expected);
+        byte[] actual = sha256(buffer.slice(HEADER_SIZE, payloadLength));
+        if (!MessageDigest.isEqual(expected, actual)) {
+            throw new IOException("Snapshot checksum mismatch");
+        }
+        return new MasterDataSnapshot(buffer, sourceVersion, HexFormat.of().formatHex(actual));
+    }
+
+    static byte[] sha256(ByteBuffer payload) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(payload);
+            return digest.digest();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    public long sourceVersion() {
+        return sourceVersion;
+    }
+
+    public String checksum() {
+        return checksum;
+    }
+
+    public int itemCount() {
+        return itemCount;
+    }
+
+    public int poolCount() {
+        return poolCount;
+    }
+
+    public long sizeBytes() {
+        return buffer.capacity();
+    }
+
+    public Optional<ItemMaster> findItem(UUID itemId) {
+        int offset = search(itemIndexStart, itemCount, itemId);
+        if (offset < 0) {
+            return Optional.empty();
+        }
+        int position = dataStart + offset;
+        int nameLength = buffer.getInt(position);
+        String name = readString(position);
+        position += 4 + nameLength;
+        Rarity rarity = RARITIES[buffer.get(position)];
+        int maxCapacity = buffer.getInt(position + 1);
+        return Optional.of(new ItemMaster(itemId, name, rarity, maxCapacity));
+    }
+
+    public Optional<GachaPool> findPool(UUID poolId) {
+        int offset = search(poolIndexStart, poolCount, poolId);
+        return offset < 0 ? Optional.empty() : Optional.of(readPool(poolId, dataStart + offset));
+    }
+
+    /**
+     * 全プールを復元する (プール数は少ないため、起動時にまとめてヒープへ展開する)
+     */
+    public List<GachaPool> pools() {
+        List<GachaPool> pools = new ArrayList<>(poolCount);
+        for (int i = 0; i < poolCount; i++) {
+            int entry = poolIndexStart + i * INDEX_ENTRY_SIZE;
+            UUID id = new UUID(buffer.getLong(entry), buffer.getLong(entry + 8));
+            pools.add(readPool(id, dataStart + buffer.getInt(entry + 16)));
+        }
+        return pools;
+    }
+
+    private GachaPool readPool(UUID poolId, int position) {
+        String name = readString(position);
+        position += 4 + buffer.getInt(position);
+        Instant startAt = Instant.ofEpochSecond(buffer.getLong(position), buffer.getInt(position + 8));
+        position += 12;
+        Instant endAt = Instant.ofEpochSecond(buffer.getLong(position), buffer.getInt(position + 8));
+        position += 12;
+        int costAmount = buffer.getInt(position);
+        int pityCeilingCount = buffer.getInt(position + 4);
+        DrawMode drawMode = DRAW_MODES[buffer.get(position + 8)];
+        int guaranteedTriggerCount = buffer.getInt(position + 9);
+        Rarity guaranteedMinRarity = RARITIES[buffer.get(position + 13)];
+        int rateUpCount = buffer.getInt(position + 14);
+        position += 18;
+        Set<RateUpRule> rateUps = new HashSet<>();
+        for (int i = 0; i < rateUpCount; i++) {
+            rateUps.add(new RateUpRule(RARITIES[buffer.get(position)], buffer.getInt(position + 1)));
+            position += 5;
+        }
+        int softPityStartCount = buffer.getInt(position);
+        int softPityStepBp = buffer.getInt(position + 4);
+        int dailyDrawLimit = buffer.getInt(position + 8);
+        int emissionCount = buffer.getInt(position + 12);
+        position += 16;
+
+        GachaPool pool = GachaPool.restore(poolId, name, startAt, endAt, costAmount, pityCeilingCount, drawMode);
+        pool.restoreTierRules(guaranteedTriggerCount, guaranteedMinRarity, rateUps);
+        pool.restoreSoftPity(softPityStartCount, softPityStepBp);
+        pool.restoreDailyDrawLimit(dailyDrawLimit);
+        for (int i = 0; i < emissionCount; i++) {
+            UUID emissionId = new UUID(buffer.getLong(position), buffer.getLong(position + 8));
+            UUID itemId = new UUID(buffer.getLong(position + 16), buffer.getLong(position + 24));
+            int weight = buffer.getInt(position + 32);
+            boolean pickup = buffer.get(position + 36) != 0;
+            int boxCount = buffer.getInt(position + 37);
+            pool.addEmission(GachaEmission.restore(emissionId, itemId, weight, pickup, boxCount > 0 ? boxCount : null));
+            position += 41;
+        }
+        return pool;
+    }
+
+    private String readString(int position) {
+        int length = buffer.getInt(position);
+        byte[] bytes = new byte[length];
+        buffer.get(position + 4, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * UUID 順のインデックスを二分探索し、データ部のオフセットを返す (見つからなければ -1)
+     */
+    private int search(int indexStart, int count, UUID id) {
+        long msb = id.getMostSignificantBits();
+        long lsb = id.getLeastSignificantBits();
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int entry = indexStart + mid * INDEX_ENTRY_SIZE;
+            int cmp = compare(buffer.getLong(entry), buffer.getLong(entry + 8), msb, lsb);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return buffer.getInt(entry + 16);
+            }
+        }
+        return -1;
+    }
+
+    static int compare(long msb1, long lsb1, long msb2, long lsb2) {
+        int cmp = Long.compare(msb1, msb2);
+        return cmp != 0 ? cmp : Long.compare(lsb1, lsb2);
+    }
+}
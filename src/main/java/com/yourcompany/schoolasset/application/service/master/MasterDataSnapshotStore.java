@@ -0,0 +1,64 @@
+package com.yourcompany.schoolasset.application.service.master;
+
+import com.yourcompany.domain.model.gacha.GachaPool;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * マスタスナップショットファイルの置き場所
+ * 複数インスタンスで共有するボリュームやコンテナイメージ内のパスを指定する。
+ */
+@Slf4j
+@Component
+public class MasterDataSnapshotStore {
+
+    @Value("${gacha.master.snapshot.enabled:true}")
+    private boolean enabled;
+
+    @Value("${gacha.master.snapshot.path:./snapshot/master-data.bin}")
+    private String path;
+
+    /**
+     * DB の版数と一致するスナップショットを開く
+     * ファイルがない・壊れている・古い場合は空を返し、呼び出し側は DB から読み込む。
+     */
+    public Optional<MasterDataSnapshot> openCurrent(long expectedVersion) {
+        Path file = Path.of(path);
+        if (!enabled || !Files.exists(file)) {
+            return Optional.empty();
+        }
+        try {
+            MasterDataSnapshot snapshot = MasterDataSnapshot.open(file);
+            if (snapshot.sourceVersion() != expectedVersion) {
+                log.info("Master data snapshot is stale. snapshotVersion={}, dbVersion={}",
+                        snapshot.sourceVersion(), expectedVersion);
+                return Optional.empty();
+            }
+            return Optional.of(snapshot);
+        } catch (IOException e) {
+            log.warn("Failed to open master data snapshot. path={}", file, e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * スナップショットを書き出し、読み直して検証したものを返す
+     */
+    public MasterDataSnapshot write(long sourceVersion, Collection<ItemMaster> items, Collection<GachaPool> pools)
+            throws IOException {
+        Path file = Path.of(path);
+        MasterDataSnapshotWriter.write(file, sourceVersion, items, pools);
+        return MasterDataSnapshot.open(file);
+    }
+
+    public Path path() {
+        return Path.of(path);
+    }
+}
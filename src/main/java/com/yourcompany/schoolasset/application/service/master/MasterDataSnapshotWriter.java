@@ -0,0 +1,162 @@
+package com.yourcompany.schoolasset.application.service.master;
+
+import com.yourcompany.domain.model.gacha.GachaEmission;
+import com.yourcompany.domain.model.gacha.GachaPool;
+import com.yourcompany.domain.model.gacha.RateUpRule;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * マスタデータのバイナリスナップショットを書き出す (形式は MasterDataSnapshot を参照)
+ */
+public final class MasterDataSnapshotWriter {
+
+    private static final Comparator<UUID> UUID_ORDER = (a, b) -> MasterDataSnapshot.compare(
+            a.getMostSignificantBits(), a.getLeastSignificantBits(),
+            b.getMostSignificantBits(), b.getLeastSignificantBits());
+
+    private MasterDataSnapshotWriter() {
+    }
+
+    /**
+     * 同じディレクトリの一時ファイルに書いてから rename で置き換える
+     * 読み込み中 (メモリマップ中) のインスタンスは旧ファイルを参照し続けるため、途中の状態が見えることはない。
+     */
+    public static void write(Path path, long sourceVersion, Collection<ItemMaster> items, Collection<GachaPool> pools)
+            throws IOException {
+        byte[] payload = encodePayload(items, pools);
+
+        Path directory = path.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                writeTo(out, sourceVersion, payload);
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    static void writeTo(OutputStream target, long sourceVersion, byte[] payload) throws IOException {
+        DataOutputStream out = new DataOutputStream(target);
+        out.writeInt(MasterDataSnapshot.MAGIC);
+        out.writeInt(MasterDataSnapshot.FORMAT_VERSION);
+        out.writeLong(sourceVersion);
+        out.writeInt(payload.length);
+        out.write(MasterDataSnapshot.sha256(ByteBuffer.wrap(payload)));
+        out.write(payload);
+        out.flush();
+    }
+
+    static byte[] encodePayload(Collection<ItemMaster> items, Collection<GachaPool> pools) throws IOException {
+        List<ItemMaster> sortedItems = items.stream()
+                .sorted(Comparator.comparing(ItemMaster::id, UUID_ORDER))
+                .toList();
+        List<GachaPool> sortedPools = pools.stream()
+                .sorted(Comparator.comparing(GachaPool::getId, UUID_ORDER))
+                .toList();
+
+        // データ部を先に書き、各レコードの開始位置をインデックスに載せる
+        ByteArrayOutputStream dataBytes = new ByteArrayOutputStream();
+        DataOutputStream data = new DataOutputStream(dataBytes);
+        int[] itemOffsets = new int[sortedItems.size()];
+        for (int i = 0; i < sortedItems.size(); i++) {
+            itemOffsets[i] = data.size();
+            writeItem(data, sortedItems.get(i));
+        }
+        int[] poolOffsets = new int[sortedPools.size()];
+        for (int i = 0; i < sortedPools.size(); i++) {
+            poolOffsets[i] = data.size();
+            writePool(data, sortedPools.get(i));
+        }
+        data.flush();
+
+        ByteArrayOutputStream payloadBytes = new ByteArrayOutputStream();
+        DataOutputStream payload = new DataOutputStream(payloadBytes);
+        payload.writeInt(sortedItems.size());
+        for (int i = 0; i < sortedItems.size(); i++) {
+            writeIndexEntry(payload, sortedItems.get(i).id(), itemOffsets[i]);
+        }
+        payload.writeInt(sortedPools.size());
+        for (int i = 0; i < sortedPools.size(); i++) {
+            writeIndexEntry(payload, sortedPools.get(i).getId(), poolOffsets[i]);
+        }
+        dataBytes.writeTo(payload);
+        payload.flush();
+        return payloadBytes.toByteArray();
+    }
+
+    private static void writeIndexEntry(DataOutputStream out, UUID id, int offset) throws IOException {
+        out.writeLong(id.getMostSignificantBits());
+        out.writeLong(id.getLeastSignificantBits());
+        out.writeInt(offset);
+    }
+
+    private static void writeItem(DataOutputStream out, ItemMaster item) throws IOException {
+        writeString(out, item.name());
+        out.writeByte(item.rarity().ordinal());
+        out.writeInt(item.maxCapacity());
+    }
+
+    private static void writePool(DataOutputStream out, GachaPool pool) throws IOException {
+        writeString(out, pool.getName());
+        writeInstant(out, pool.getStartAt());
+        writeInstant(out, pool.getEndAt());
+        out.writeInt(pool.getCostAmount());
+        out.writeInt(pool.getPityCeilingCount());
+        out.writeByte(pool.getDrawMode().ordinal());
+        out.writeInt(pool.getGuaranteedTriggerCount());
+        out.writeByte(pool.getGuaranteedMinRarity().ordinal());
+        // Set の反復順に依存しないよう、チェックサムが安定するレアリティ順で書く
+        List<RateUpRule> rateUps = pool.getRateUps().stream()
+                .sorted(Comparator.comparing(RateUpRule::getRarity))
+                .toList();
+        out.writeInt(rateUps.size());
+        for (RateUpRule rateUp : rateUps) {
+            out.writeByte(rateUp.getRarity().ordinal());
+            out.writeInt(rateUp.getPickupShareBp());
+        }
+        out.writeInt(pool.getSoftPityStartCount());
+        out.writeInt(pool.getSoftPityStepBp());
+        out.writeInt(pool.getDailyDrawLimit());
+
+        // 抽選の累積判定は並び順に依存するため、DB から読み込んだ順 (@OrderBy の ID 順) をそのまま保存する
+        List<GachaEmission> emissions = pool.getEmissions();
+        out.writeInt(emissions.size());
+        for (GachaEmission emission : emissions) {
+            out.writeLong(emission.getId().getMostSignificantBits());
+            out.writeLong(emission.getId().getLeastSignificantBits());
+            out.writeLong(emission.getItemId().getMostSignificantBits());
+            out.writeLong(emission.getItemId().getLeastSignificantBits());
+            out.writeInt(emission.getWeight());
+            out.writeByte(emission.isPickup() ? 1 : 0);
+            out.writeInt(emission.getBoxCount() != null ? emission.getBoxCount() : 0);
+        }
+    }
+
+    private static void writeInstant(DataOutputStream out, Instant instant) throws IOException {
+        out.writeLong(instant.getEpochSecond());
+        out.writeInt(instant.getNano());
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+}
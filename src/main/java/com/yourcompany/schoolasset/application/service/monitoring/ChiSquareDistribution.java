@@ -0,0 +1,95 @@
+package com.yourcompany.schoolasset.application.service.monitoring;
+
+/**
+ * カイ二乗分布の上側確率 (p値) を計算するユーティリティ
+ * 正則化不完全ガンマ関数 Q(k/2, x/2) を級数展開 / 連分数展開で求める
+ */
+public final class ChiSquareDistribution {
+
+    private static final int MAX_ITERATIONS = 500;
+    private static final double EPSILON = 1e-14;
+    private static final double TINY = 1e-300;
+
+    private static final double[] LANCZOS = {
+            76.18009172947146, -86.50532032941677, 24.01409824083091,
+            -1.231739572450155, 0.1208650973866179e-2, -0.5395239384953e-5
+    };
+
+    private ChiSquareDistribution() {
+    }
+
+    /**
+     * P(X >= chiSquare) を返す (X は自由度 degreesOfFreedom のカイ二乗分布)
+     */
+    public static double survival(double chiSquare, int degreesOfFreedom) {
+        if (degreesOfFreedom <= 0) {
+            throw new IllegalArgumentException("degreesOfFreedom must be positive");
+        }
+        if (chiSquare <= 0) {
+            return 1.0;
+        }
+        return regularizedGammaQ(degreesOfFreedom / 2.0, chiSquare / 2.0);
+    }
+
+    static double regularizedGammaQ(double a, double x) {
+        if (x < a + 1.0) {
+            return 1.0 - gammaSeries(a, x);
+        }
+        return gammaContinuedFraction(a, x);
+    }
+
+    // P(a, x) の級数展開 (x < a + 1 で速く収束する)
+    private static double gammaSeries(double a, double x) {
+        double ap = a;
+        double sum = 1.0 / a;
+        double delta = sum;
+        for (int n = 0; n < MAX_ITERATIONS; n++) {
+            ap += 1.0;
+            delta *= x / ap;
+            sum += delta;
+            if (Math.abs(delta) < Math.abs(sum) * EPSILON) {
+                break;
+            }
+        }
+        return sum * Math.exp(-x + a * Math.log(x) - logGamma(a));
+    }
+
+    // Q(a, x) の連分数展開 (修正Lentz法, x >= a + 1 で速く収束する)
+    private static double gammaContinuedFraction(double a, double x) {
+        double b = x + 1.0 - a;
+        double c = 1.0 / TINY;
+        double d = 1.0 / b;
+        double h = d;
+        for (int i = 1; i <= MAX_ITERATIONS; i++) {
+            double an = -i * (i - a);
+            b += 2.0;
+            d = an * d + b;
+            if (Math.abs(d) < TINY) {
+                d = TINY;
+            }
+            c = b + an / c;
+            if (Math.abs(c) < TINY) {
+                c = TINY;
+            }
+            d = 1.0 / d;
+            double delta = d * c;
+            h *= delta;
+            if (Math.abs(delta - 1.0) < EPSILON) {
+                break;
+            }
+        }
+        return Math.exp(-x + a * Math.log(x) - logGamma(a)) * h;
+    }
+
+    // Lanczos近似による ln Γ(x)
+    static double logGamma(double x) {
+        double y = x;
+        double tmp = x + 5.5;
+        tmp -= (x + 0.5) * Math.log(tmp);
+        double series = 1.000000000190015;
+        for (double coefficient : LANCZOS) {
+            series += coefficient / ++y;
+        }
+        return -tmp + Math.log(2.5066282746310005 * series / x);
+    }
+}
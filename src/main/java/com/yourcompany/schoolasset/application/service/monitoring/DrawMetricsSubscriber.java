@@ -0,0 +1,66 @@
+package com.yourcompany.schoolasset.application.service.monitoring;
+
+import com.yourcompany.domain.model.gacha.EmissionResult;
+import com.yourcompany.domain.model.gacha.event.GachaDrawnEvent;
+import com.yourcompany.schoolasset.infrastructure.event.DrawEventSubscriber;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 抽選の集計メトリクス (プール×レアリティ別の排出数、消費した石)
+ * DrawEventBus の消費スレッド1本からのみ呼ばれるため、バッチ中は通常の HashMap で数え、
+ * バッチの終わりにまとめて Micrometer のカウンターへ反映する。
+ */
+@Component
+@RequiredArgsConstructor
+public class DrawMetricsSubscriber implements DrawEventSubscriber {
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<EmissionKey, Counter> emissionCounters = new HashMap<>();
+    private final Map<EmissionKey, Long> pendingEmissions = new HashMap<>();
+    private final Map<UUID, Counter> stoneCounters = new HashMap<>();
+    private final Map<UUID, Long> pendingStones = new HashMap<>();
+
+    @Override
+    public String name() {
+        return "draw-metrics";
+    }
+
+    @Override
+    public void onEvent(GachaDrawnEvent event, long sequence, boolean endOfBatch) {
+        for (EmissionResult result : event.results()) {
+            pendingEmissions.merge(new EmissionKey(event.poolId(), result.rarity()), 1L, Long::sum);
+        }
+        pendingStones.merge(event.poolId(), (long) event.consumedPaid() + event.consumedFree(), Long::sum);
+
+        if (endOfBatch) {
+            flush();
+        }
+    }
+
+    private void flush() {
+        pendingEmissions.forEach((key, count) -> emissionCounters
+                .computeIfAbsent(key, k -> Counter.builder("gacha.draw.emissions")
+                        .tag("pool", k.poolId().toString())
+                        .tag("rarity", k.rarity())
+                        .register(meterRegistry))
+                .increment(count));
+        pendingStones.forEach((poolId, stones) -> stoneCounters
+                .computeIfAbsent(poolId, id -> Counter.builder("gacha.draw.stones.consumed")
+                        .tag("pool", id.toString())
+                        .register(meterRegistry))
+                .increment(stones));
+        pendingEmissions.clear();
+        pendingStones.clear();
+    }
+
+    private record EmissionKey(UUID poolId, String rarity) {
+    }
+}
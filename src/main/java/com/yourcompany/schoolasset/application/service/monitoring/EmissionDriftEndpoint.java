@@ -0,0 +1,38 @@
+package com.yourcompany.schoolasset.application.service.monitoring;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 排出率ドリフトの検定結果を公開する Actuator エンドポイント (/actuator/emissiondrift)
+ */
+@Component
+@Endpoint(id = "emissiondrift")
+@RequiredArgsConstructor
+public class EmissionDriftEndpoint {
+
+    private final EmissionRateMonitor monitor;
+
+    @ReadOperation
+    public Map<String, Object> drift() {
+        Collection<EmissionDriftReport> reports = monitor.reports();
+        long alerts = reports.stream().filter(EmissionDriftReport::alert).count();
+        return Map.of(
+                "alerts", alerts,
+                "pools", reports
+        );
+    }
+
+    @ReadOperation
+    public EmissionDriftReport pool(@Selector String poolId) {
+        // 未評価のプールは null を返す (Actuator が 404 に変換する)
+        return monitor.report(UUID.fromString(poolId)).orElse(null);
+    }
+}
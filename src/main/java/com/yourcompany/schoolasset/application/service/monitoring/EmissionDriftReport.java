@@ -0,0 +1,30 @@
+package com.yourcompany.schoolasset.application.service.monitoring;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 排出率の乖離検定結果
+ * 公表確率 (GachaEmission.weight) に対する観測値のカイ二乗検定と、排出枠ごとの二項検定(zスコア)を保持する
+ */
+public record EmissionDriftReport(
+        UUID poolId,
+        long sampleSize,
+        double chiSquare,
+        int degreesOfFreedom,
+        double pValue,
+        List<EmissionDeviation> emissions,
+        boolean alert,
+        String alertReason,
+        Instant evaluatedAt
+) {
+    public record EmissionDeviation(
+            UUID itemId,
+            long observed,
+            double expected,
+            double publishedRate,
+            double observedRate,
+            double zScore
+    ) {}
+}
@@ -0,0 +1,251 @@
+package com.yourcompany.schoolasset.application.service.monitoring;
+
+import com.sqlcanvas.sharedkernel.shared.result.Result;
+import com.yourcompany.domain.model.gacha.EmissionResult;
+import com.yourcompany.domain.model.gacha.GachaEmission;
+import com.yourcompany.domain.model.gacha.GachaPool;
+import com.yourcompany.domain.model.gacha.event.GachaDrawnEvent;
+import com.yourcompany.domain.model.gacha.tier.TieredSampler;
+import com.yourcompany.schoolasset.application.service.master.MasterDataCache;
+import com.yourcompany.schoolasset.application.service.sampler.TieredSamplerCache;
+import com.yourcompany.schoolasset.infrastructure.event.DrawEventSubscriber;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 排出率ドリフトモニター
+ * 責務：
+ * 1. GachaDrawnEvent から排出数をプール×アイテム単位の LongAdder で集計する (DrawEventBus の消費スレッドで加算)
+ * 2. 定期的に公表確率との乖離をカイ二乗検定 / 二項検定で評価し、結果とアラートを保持する
+ *
+ * 集計はプールの排出設定 (重み・レアリティ・確率アップから決まる通常枠の確率) ごとに持つ。
+ * マスタの変更で確率が変わったら集計をやり直し、変更前の排出を新しい確率と比べることはしない
+ * (検定も集計時の確率で行う)。変更の直前に引かれたイベントが数件、新しい集計に入ることはある。
+ * ボックスガチャと、在庫切れで引き直した排出 (EmissionResult#stockFallback) は集計しない。
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EmissionRateMonitor implements DrawEventSubscriber {
+
+    private final MasterDataCache masterDataCache;
+    private final TieredSamplerCache samplerCache;
+
+    // 有意水準 (カイ二乗検定のp値がこれを下回るとアラート)
+    @Value("${gacha.monitor.drift.alpha:0.001}")
+    private double alpha;
+
+    // 排出枠ごとのzスコアの許容範囲
+    @Value("${gacha.monitor.drift.z-threshold:4.0}")
+    private double zThreshold;
+
+    // 検定に必要な最小サンプル数 (少ないうちは誤検知を避けるため判定しない)
+    @Value("${gacha.monitor.drift.min-samples:1000}")
+    private long minSamples;
+
+    private final ConcurrentHashMap<UUID, PoolCounters> counters = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<UUID, EmissionDriftReport> latestReports = new ConcurrentHashMap<>();
+
+    @Override
+    public String name() {
+        return "emission-drift";
+    }
+
+    /**
+     * 抽選確定後 (コミット後) に排出数を加算する
+     */
+    @Override
+    public void onEvent(GachaDrawnEvent event, long sequence, boolean endOfBatch) {
+        record(event);
+    }
+
+    public void record(GachaDrawnEvent event) {
+        PoolCounters pool = countersFor(event.poolId());
+        if (pool == null) {
+            return;
+        }
+        for (EmissionResult result : event.results()) {
+            // 確定枠・天井枠・ソフト天井枠、在庫切れで引き直した排出は公表確率どおりに排出されないため検定対象外
+            if (result.emissionType() == EmissionResult.EmissionType.NORMAL && !result.stockFallback()) {
+                pool.increment(result.itemId());
+            }
+        }
+    }
+
+    /**
+     * 現在の排出設定で集計しているカウンタ (プールが削除されている・ボックスガチャの場合は null)
+     * 抽選表が作り直されていなければ参照の比較だけで済む。作り直されていても確率が同じなら集計を引き継ぐ。
+     */
+    private PoolCounters countersFor(UUID poolId) {
+        GachaPool pool = masterDataCache.findPool(poolId).orElse(null);
+        if (pool == null || pool.isBox()) {
+            // ボックスガチャの排出は箱の残数で決まり、排出枠の weight の比にはならない (枠の種類はすべて NORMAL で記録される)
+            return null;
+        }
+        Result<TieredSampler> compiled = samplerCache.samplerFor(pool);
+        Object config = compiled instanceof Result.Success<TieredSampler> success ? success.value() : pool;
+        PoolCounters current = counters.get(poolId);
+        if (current != null && current.config == config) {
+            return current;
+        }
+
+        Map<UUID, Double> rates = expectedRates(pool, compiled);
+        return counters.compute(poolId, (id, existing) -> {
+            if (existing != null && existing.rates.equals(rates)) {
+                existing.config = config;
+                return existing;
+            }
+            if (existing != null) {
+                log.info("Emission rates changed. Restarting drift counters. poolId={}, discardedSamples={}",
+                        poolId, existing.total());
+            }
+            latestReports.remove(poolId);
+            return new PoolCounters(config, rates);
+        });
+    }
+
+    /**
+     * 通常枠の排出枠ごとの確率 (2段階抽選の確率アップ込み。表を作れない場合は weight の比)
+     */
+    private static Map<UUID, Double> expectedRates(GachaPool pool, Result<TieredSampler> compiled) {
+        TieredSampler sampler = compiled instanceof Result.Success<TieredSampler> success ? success.value() : null;
+        long totalWeight = pool.getEmissions().stream().mapToLong(GachaEmission::getWeight).sum();
+        Map<UUID, Double> rates = new LinkedHashMap<>();
+        for (GachaEmission emission : pool.getEmissions()) {
+            double rate = sampler != null
+                    ? sampler.normalRate(emission)
+                    : totalWeight == 0 ? 0.0 : (double) emission.getWeight() / totalWeight;
+            rates.merge(emission.getItemId(), rate, Double::sum);
+        }
+        return rates;
+    }
+
+    @Scheduled(fixedDelayString = "${gacha.monitor.drift.interval-ms:60000}",
+            initialDelayString = "${gacha.monitor.drift.interval-ms:60000}")
+    public void evaluateAll() {
+        counters.forEach((poolId, pool) -> {
+            EmissionDriftReport report = evaluate(poolId, pool.rates, pool.snapshot());
+            latestReports.put(poolId, report);
+            if (report.alert()) {
+                log.warn("Emission drift detected. poolId={}, samples={}, chiSquare={}, pValue={}, reason={}",
+                        poolId, report.sampleSize(), report.chiSquare(), report.pValue(), report.alertReason());
+            }
+        });
+    }
+
+    public Collection<EmissionDriftReport> reports() {
+        return List.copyOf(latestReports.values());
+    }
+
+    public Optional<EmissionDriftReport> report(UUID poolId) {
+        return Optional.ofNullable(latestReports.get(poolId));
+    }
+
+    /**
+     * @param rates 集計時の排出設定での通常枠の確率 (アイテムID → 確率)
+     */
+    EmissionDriftReport evaluate(UUID poolId, Map<UUID, Double> rates, Map<UUID, Long> observed) {
+        long sampleSize = observed.values().stream().mapToLong(Long::longValue).sum();
+
+        List<EmissionDriftReport.EmissionDeviation> deviations = new ArrayList<>();
+        double chiSquare = 0.0;
+        double maxAbsZ = 0.0;
+        long unpublished = sampleSize;
+
+        for (Map.Entry<UUID, Double> entry : rates.entrySet()) {
+            long count = observed.getOrDefault(entry.getKey(), 0L);
+            unpublished -= count;
+
+            double rate = entry.getValue();
+            double expected = sampleSize * rate;
+            double variance = sampleSize * rate * (1.0 - rate);
+            double zScore = variance > 0 ? (count - expected) / Math.sqrt(variance) : 0.0;
+
+            if (expected > 0) {
+                chiSquare += (count - expected) * (count - expected) / expected;
+            }
+            maxAbsZ = Math.max(maxAbsZ, Math.abs(zScore));
+
+            deviations.add(new EmissionDriftReport.EmissionDeviation(
+                    entry.getKey(),
+                    count,
+                    expected,
+                    rate,
+                    sampleSize == 0 ? 0.0 : (double) count / sampleSize,
+                    zScore
+            ));
+        }
+
+        int degreesOfFreedom = Math.max(1, deviations.size() - 1);
+        double pValue = deviations.size() > 1 ? ChiSquareDistribution.survival(chiSquare, degreesOfFreedom) : 1.0;
+
+        String alertReason = null;
+        if (unpublished > 0) {
+            alertReason = String.format("公表されていないアイテムが %d 件排出されています", unpublished);
+        } else if (sampleSize >= minSamples && pValue < alpha) {
+            alertReason = String.format("カイ二乗検定で有意な乖離があります (p=%.2e)", pValue);
+        } else if (sampleSize >= minSamples && maxAbsZ > zThreshold) {
+            alertReason = String.format("排出枠の乖離が許容範囲を超えています (|z|=%.2f)", maxAbsZ);
+        }
+
+        return new EmissionDriftReport(
+                poolId,
+                sampleSize,
+                chiSquare,
+                degreesOfFreedom,
+                pValue,
+                deviations,
+                alertReason != null,
+                alertReason,
+                Instant.now()
+        );
+    }
+
+    /**
+     * プールごとのストライプ化カウンタ (LongAdder によりスレッド間の競合を避ける)
+     */
+    private static final class PoolCounters {
+        // 集計開始時の抽選表 (作れない場合はプール)。参照が変わったら確率を比べ直す
+        private volatile Object config;
+        private final Map<UUID, Double> rates;
+        private final ConcurrentHashMap<UUID, LongAdder> byItem = new ConcurrentHashMap<>();
+
+        PoolCounters(Object config, Map<UUID, Double> rates) {
+            this.config = config;
+            this.rates = rates;
+        }
+
+        long total() {
+            return byItem.values().stream().mapToLong(LongAdder::sum).sum();
+        }
+
+        void increment(UUID itemId) {
+            LongAdder adder = byItem.get(itemId);
+            if (adder == null) {
+                adder = byItem.computeIfAbsent(itemId, id -> new LongAdder());
+            }
+            adder.increment();
+        }
+
+        Map<UUID, Long> snapshot() {
+            Map<UUID, Long> snapshot = new HashMap<>();
+            byItem.forEach((itemId, adder) -> snapshot.put(itemId, adder.sum()));
+            return snapshot;
+        }
+    }
+}
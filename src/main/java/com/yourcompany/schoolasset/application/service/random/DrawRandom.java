@@ -0,0 +1,15 @@
+package com.yourcompany.schoolasset.application.service.random;
+
+import com.yourcompany.domain.model.gacha.DrawSeed;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * 1リクエスト専用の乱数生成器とそのシード
+ * スレッド間で共有しないこと (RandomGenerator 自体はスレッドセーフではない)
+ */
+public record DrawRandom(
+        DrawSeed seed,
+        RandomGenerator generator
+) {
+}
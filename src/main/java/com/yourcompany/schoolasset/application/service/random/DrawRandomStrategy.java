@@ -0,0 +1,18 @@
+package com.yourcompany.schoolasset.application.service.random;
+
+import com.yourcompany.domain.model.gacha.DrawSeed;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * 抽選用乱数の生成戦略
+ * 責務：
+ * 1. ガチャ実行ごとにシードを採番し、そのリクエスト専用の乱数生成器を作る
+ * 2. 記録済みのシードから同じ乱数系列を復元する (監査リプレイ用)
+ */
+public interface DrawRandomStrategy {
+
+    DrawRandom newDrawRandom();
+
+    RandomGenerator replay(DrawSeed seed);
+}
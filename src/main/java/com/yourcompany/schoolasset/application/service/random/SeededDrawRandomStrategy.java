@@ -0,0 +1,41 @@
+package com.yourcompany.schoolasset.application.service.random;
+
+import com.yourcompany.domain.model.gacha.DrawSampler;
+import com.yourcompany.domain.model.gacha.DrawSeed;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.security.SecureRandom;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGeneratorFactory;
+
+/**
+ * シード付き乱数戦略 (デフォルト)
+ * シードだけを暗号論的乱数 (SecureRandom) で採番し、抽選本体はリクエストごとの高速な生成器で展開する。
+ * SecureRandom へのアクセスは1リクエスト1回になるため、複数回抽選でもスレッド間の競合が増えない。
+ */
+@Component
+public class SeededDrawRandomStrategy implements DrawRandomStrategy {
+
+    private final SecureRandom seedSource = new SecureRandom();
+    private final String algorithm;
+    private final RandomGeneratorFactory<RandomGenerator> factory;
+
+    public SeededDrawRandomStrategy(@Value("${gacha.lottery.rng-algorithm:L64X128MixRandom}") String algorithm) {
+        this.algorithm = algorithm;
+        this.factory = RandomGeneratorFactory.of(algorithm);
+    }
+
+    @Override
+    public DrawRandom newDrawRandom() {
+        long seed = seedSource.nextLong();
+        // 以降の抽選はレアリティ別の2段階抽選 (ボックスガチャは抽選前の箱を記録して BOX に置き換える。リプレイ時は記録された方式で再現する)
+        return new DrawRandom(new DrawSeed(seed, algorithm, DrawSampler.TIERED), factory.create(seed));
+    }
+
+    @Override
+    public RandomGenerator replay(DrawSeed seed) {
+        // 記録時と現在でアルゴリズム設定が異なる場合も、記録されたアルゴリズムで復元する
+        return RandomGeneratorFactory.of(seed.algorithm()).create(seed.value());
+    }
+}
@@ -0,0 +1,63 @@
+package com.yourcompany.schoolasset.application.service.sampler;
+
+import com.sqlcanvas.sharedkernel.shared.result.Result;
+import com.yourcompany.domain.model.gacha.GachaPool;
+import com.yourcompany.domain.model.gacha.tier.TieredSampler;
+import com.yourcompany.schoolasset.application.service.master.ItemMaster;
+import com.yourcompany.schoolasset.application.service.master.MasterDataCache;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * プールごとにコンパイル済みの2段階抽選表
+ * マスタキャッシュがプールを読み直すと別インスタンスになるため、参照が変わったら作り直す
+ * (通知・版数確認による無効化をそのまま引き継ぐ)。
+ * アイテムのレアリティはプールと別に変更されるため、アイテムマスタの世代が進んだ場合も作り直す。
+ */
+@Component
+public class TieredSamplerCache {
+
+    private final MasterDataCache masterDataCache;
+    private final Map<UUID, Entry> samplers = new ConcurrentHashMap<>();
+
+    public TieredSamplerCache(MasterDataCache masterDataCache) {
+        this.masterDataCache = masterDataCache;
+    }
+
+    public Result<TieredSampler> samplerFor(GachaPool pool) {
+        // コンパイル前に世代を読む (コンパイル中に変更されても、次の呼び出しで作り直される)
+        long itemGeneration = masterDataCache.itemGeneration();
+        Entry cached = samplers.get(pool.getId());
+        if (cached != null && cached.sampler().pool() == pool && cached.itemGeneration() == itemGeneration) {
+            return Result.success(cached.sampler());
+        }
+        Result<TieredSampler> compiled = TieredSampler.compile(pool,
+                itemId -> masterDataCache.findItem(itemId).map(ItemMaster::rarity));
+        if (compiled instanceof Result.Success<TieredSampler> success) {
+            samplers.put(pool.getId(), new Entry(success.value(), itemGeneration));
+        }
+        return compiled;
+    }
+
+    /**
+     * マスタキャッシュにある全プールの抽選表を先にコンパイルしておく (起動時・スナップショット切り替え後)
+     * 設定が不正なプールは抽選時と同じく都度失敗させるため、ここでは数えるだけ。
+     *
+     * @return コンパイルできたプール数
+     */
+    public int precompile() {
+        int compiled = 0;
+        for (GachaPool pool : masterDataCache.allPools()) {
+            if (samplerFor(pool) instanceof Result.Success<TieredSampler>) {
+                compiled++;
+            }
+        }
+        return compiled;
+    }
+
+    private record Entry(TieredSampler sampler, long itemGeneration) {
+    }
+}
@@ -0,0 +1,176 @@
+package com.yourcompany.schoolasset.application.service.state;
+
+import com.yourcompany.domain.model.gacha.GachaState;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * ユーザーごと・プールごとのガチャ状態キャッシュ (上限付き LRU)
+ *
+ * エントリはウォレットの version と紐付けて保持する。抽選は必ずウォレットを行ロックして消費するため、
+ * ウォレットの version が変わっていなければ、その間に (他インスタンスを含め) 誰もガチャ状態を更新していない。
+ * 同じ version で読み込んだ結果は1つのエントリに合流させ、version が進んだ場合は古いプールの情報を捨てる。
+ *
+ * 読み込み対象にしたプール (行がなかったプールを含む) を記録し、すべて読み込み済みの場合だけキャッシュから応答する。
+ */
+@Component
+public class GachaStateCache {
+
+    private static final int SEGMENTS = 16;
+
+    private final Segment[] segments;
+
+    public GachaStateCache(@Value("${gacha.state-cache.max-users:100000}") int maxUsers) {
+        int perSegment = Math.max(1, maxUsers / SEGMENTS);
+        this.segments = new Segment[SEGMENTS];
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment(perSegment);
+        }
+    }
+
+    /**
+     * 一括読み込みの結果を登録する
+     *
+     * @param coveredPools 読み込み対象にしたプール (行がなかったプールも含む)
+     */
+    public void putAll(UUID userId, long walletVersion, Collection<UUID> coveredPools, Collection<GachaState> states) {
+        Entry entry = new Entry(walletVersion, new HashSet<>(coveredPools), new HashMap<>());
+        for (GachaState state : states) {
+            entry.coveredPools.add(state.getGachaPoolId());
+            entry.states.put(state.getGachaPoolId(), StateValue.of(state));
+        }
+        Segment segment = segmentFor(userId);
+        synchronized (segment) {
+            Entry existing = segment.get(userId);
+            // 同じ version の既存エントリがあれば、読み込んでいないプールの情報は引き継ぐ
+            if (existing != null && existing.walletVersion == walletVersion) {
+                existing.states.forEach(entry.states::putIfAbsent);
+                entry.coveredPools.addAll(existing.coveredPools);
+            }
+            segment.put(userId, entry);
+        }
+    }
+
+    /**
+     * コミット後の書き込み (write-through)
+     * 抽選前の version で有効だったエントリは、抽選後の version に進めて他プールの状態も引き継ぐ。
+     */
+    public void commit(UUID userId, long walletVersionBefore, long walletVersionAfter, GachaState saved) {
+        Segment segment = segmentFor(userId);
+        synchronized (segment) {
+            Entry existing = segment.get(userId);
+            Entry entry;
+            if (existing != null && existing.walletVersion == walletVersionBefore) {
+                entry = new Entry(walletVersionAfter, new HashSet<>(existing.coveredPools), new HashMap<>(existing.states));
+            } else {
+                entry = new Entry(walletVersionAfter, new HashSet<>(), new HashMap<>());
+            }
+            entry.coveredPools.add(saved.getGachaPoolId());
+            entry.states.put(saved.getGachaPoolId(), StateValue.of(saved));
+            segment.put(userId, entry);
+        }
+    }
+
+    public void invalidate(UUID userId) {
+        Segment segment = segmentFor(userId);
+        synchronized (segment) {
+            segment.remove(userId);
+        }
+    }
+
+    /**
+     * 指定したプールの状態一覧 (表示用。ウォレットの version は確認しないため、他インスタンスでの抽選直後は古い場合がある)
+     * 行がなかったプールは含めない。読み込んでいないプールが1つでもあれば空 (一部だけを返さない)。
+     */
+    public Optional<List<GachaState>> peek(UUID userId, Collection<UUID> poolIds) {
+        Segment segment = segmentFor(userId);
+        synchronized (segment) {
+            Entry entry = segment.get(userId);
+            if (entry == null || !entry.coveredPools.containsAll(poolIds)) {
+                return Optional.empty();
+            }
+            List<GachaState> states = new ArrayList<>(poolIds.size());
+            for (UUID poolId : poolIds) {
+                StateValue value = entry.states.get(poolId);
+                if (value != null) {
+                    states.add(value.restore(userId, poolId));
+                }
+            }
+            return Optional.of(states);
+        }
+    }
+
+    /**
+     * 指定したプールのうち、キャッシュに読み込んでいないもの
+     */
+    public Set<UUID> uncovered(UUID userId, Collection<UUID> poolIds) {
+        Segment segment = segmentFor(userId);
+        synchronized (segment) {
+            Entry entry = segment.get(userId);
+            Set<UUID> missing = new LinkedHashSet<>(poolIds);
+            if (entry != null) {
+                missing.removeAll(entry.coveredPools);
+            }
+            return missing;
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    private Segment segmentFor(UUID userId) {
+        int hash = userId.hashCode();
+        return segments[(hash ^ (hash >>> 16)) & (SEGMENTS - 1)];
+    }
+
+    private record Entry(long walletVersion, Set<UUID> coveredPools, Map<UUID, StateValue> states) {
+    }
+
+    private record StateValue(int pityCount, int guaranteedCount, long version) {
+
+        static StateValue of(GachaState state) {
+            return new StateValue(state.getCurrentPityCount(), state.getCurrentGuaranteedCount(), state.getVersion());
+        }
+
+        GachaState restore(UUID userId, UUID poolId) {
+            return GachaState.restore(userId, poolId, pityCount, guaranteedCount, version);
+        }
+    }
+
+    /**
+     * アクセス順の LRU (同期は呼び出し側で行う)
+     */
+    private static final class Segment extends LinkedHashMap<UUID, Entry> {
+
+        private final int capacity;
+
+        Segment(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<UUID, Entry> eldest) {
+            return size() > capacity;
+        }
+    }
+}
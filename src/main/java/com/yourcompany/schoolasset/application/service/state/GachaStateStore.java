@@ -0,0 +1,147 @@
+package com.yourcompany.schoolasset.application.service.state;
+
+import com.yourcompany.domain.model.gacha.GachaPool;
+import com.yourcompany.domain.model.gacha.GachaState;
+import com.yourcompany.domain.shared.exception.GachaErrorCode;
+import com.yourcompany.domain.shared.exception.GachaException;
+import com.yourcompany.schoolasset.application.service.master.MasterDataCache;
+import com.yourcompany.schoolasset.infrastructure.persistence.repository.DrawContext;
+import com.yourcompany.schoolasset.infrastructure.persistence.repository.GachaStateJdbcRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * ガチャ状態の読み込み・書き戻し
+ * 責務：
+ * 1. 抽選時は DrawContextRepository がウォレットのロックと同じ文で読み込んだ状態を使い、キャッシュにも登録する
+ * 2. 「参加中のガチャ」画面向けに、開催中の全プール分の状態をキャッシュまたは1クエリで返す
+ * 3. 書き戻しは楽観ロック付き upsert (1往復)。コミット時にキャッシュへ書き込み、ロールバック時は破棄する
+ */
+@Slf4j
+@Service
+public class GachaStateStore {
+
+    private final GachaStateJdbcRepository stateRepository;
+    private final GachaStateCache cache;
+    private final MasterDataCache masterDataCache;
+    private final Counter hits;
+    private final Counter misses;
+
+    public GachaStateStore(GachaStateJdbcRepository stateRepository, GachaStateCache cache,
+                           MasterDataCache masterDataCache, MeterRegistry meterRegistry) {
+        this.stateRepository = stateRepository;
+        this.cache = cache;
+        this.masterDataCache = masterDataCache;
+        this.hits = meterRegistry.counter("gacha.state.cache", "result", "hit");
+        this.misses = meterRegistry.counter("gacha.state.cache", "result", "miss");
+        Gauge.builder("gacha.state.cache.users", cache, GachaStateCache::size).register(meterRegistry);
+    }
+
+    /**
+     * 抽選コンテキスト (ウォレットのロックと同じ文で読み込んだ値) から抽選用の状態を作る
+     * 読み込んだ値はキャッシュにも登録する (同じウォレット version の他プールの情報は残る)。
+     */
+    public LoadedGachaState fromContext(DrawContext context) {
+        GachaState state = context.restoreState();
+        cache.putAll(context.userId(), context.wallet().version(), Set.of(context.poolId()),
+                context.state() != null ? List.of(state) : List.of());
+        return new LoadedGachaState(state, context.stateVersion());
+    }
+
+    /**
+     * 開催中プールの状態一覧 (「参加中のガチャ」画面用)
+     * 開催中の全プールを読み込み済みの場合だけキャッシュから返す。抽選で一部のプールだけが載っている場合などは、
+     * 足りないプールだけを1クエリで読み込んで同じエントリに合流させる。
+     * 表示用途のため、他インスタンスでの抽選直後は古い値を返す場合がある。
+     */
+    public List<GachaState> findActive(UUID userId) {
+        Set<UUID> active = activePoolIds();
+        Optional<List<GachaState>> cached = cache.peek(userId, active);
+        if (cached.isPresent()) {
+            hits.increment();
+            return cached.get();
+        }
+        misses.increment();
+        Set<UUID> missing = cache.uncovered(userId, active);
+        if (missing.size() < active.size() && load(userId, missing).isPresent()) {
+            cached = cache.peek(userId, active);
+            if (cached.isPresent()) {
+                return cached.get();
+            }
+            // 読み込みの間にウォレットの version が進み、合流できなかった
+        }
+        return load(userId, active).orElse(List.of());
+    }
+
+    /**
+     * 指定したプールの状態を読み込んでキャッシュする (ウォレットがない場合は空)
+     */
+    private Optional<List<GachaState>> load(UUID userId, Set<UUID> poolIds) {
+        return stateRepository.findByUserAndPools(userId, poolIds)
+                .map(loaded -> {
+                    cache.putAll(userId, loaded.walletVersion(), poolIds, loaded.states());
+                    return loaded.states();
+                });
+    }
+
+    /**
+     * 状態を書き戻す (抽選と同じトランザクション内で呼ぶこと)
+     * 他で更新されていた場合は GachaException (CONCURRENT_UPDATE_FAILURE) でトランザクションごとロールバックさせる。
+     *
+     * @param walletVersionBefore 抽選開始時 (ロック取得時) のウォレットの version
+     * @param walletVersionAfter  同じトランザクションで更新した後のウォレットの version
+     */
+    public void save(LoadedGachaState loaded, long walletVersionBefore, long walletVersionAfter) {
+        GachaState state = loaded.state();
+        UUID userId = state.getUserId();
+
+        OptionalLong newVersion = stateRepository.upsert(state, loaded.expectedVersion());
+        if (newVersion.isEmpty()) {
+            log.warn("GachaState was updated concurrently. userId={}, poolId={}, expectedVersion={}",
+                    userId, state.getGachaPoolId(), loaded.expectedVersion());
+            cache.invalidate(userId);
+            throw new GachaException(GachaErrorCode.CONCURRENT_UPDATE_FAILURE);
+        }
+
+        GachaState saved = GachaState.restore(userId, state.getGachaPoolId(),
+                state.getCurrentPityCount(), state.getCurrentGuaranteedCount(), newVersion.getAsLong());
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                cache.commit(userId, walletVersionBefore, walletVersionAfter, saved);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    cache.invalidate(userId);
+                }
+            }
+        });
+    }
+
+    private Set<UUID> activePoolIds() {
+        Instant now = Instant.now();
+        Set<UUID> ids = new LinkedHashSet<>();
+        for (GachaPool pool : masterDataCache.allPools()) {
+            if (pool.isOpenAt(now)) {
+                ids.add(pool.getId());
+            }
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,14 @@
+package com.yourcompany.schoolasset.application.service.state;
+
+import com.yourcompany.domain.model.gacha.GachaState;
+
+/**
+ * 抽選用に読み込んだガチャ状態と、書き戻し時の楽観ロックに使う version
+ *
+ * @param expectedVersion 読み込み時点の version。まだ行がない場合は GachaStateJdbcRepository.NEW_STATE_VERSION
+ */
+public record LoadedGachaState(
+        GachaState state,
+        long expectedVersion
+) {
+}
@@ -0,0 +1,109 @@
+package com.yourcompany.schoolasset.application.service.stats;
+
+import com.yourcompany.domain.model.gacha.EmissionResult;
+import com.yourcompany.domain.model.gacha.event.GachaDrawnEvent;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 集計テーブルへ反映する前の加算分
+ * 同じキー (ユーザー×プール、プール×日×レアリティ) への加算を1行にまとめ、反映時の UPSERT の行数を抽選回数ではなくキー数にする。
+ * スレッドセーフではない (DrawStatsSubscriber がロックの中で使う)。
+ */
+public final class DrawStatsAccumulator {
+
+    // 日別集計の日付の区切り (運営の「1日」に合わせる)
+    public static final ZoneId STATS_ZONE = ZoneId.of("Asia/Tokyo");
+
+    // 複数ノードから同じ行を更新してもデッドロックしないよう、反映はキー順に行う
+    private static final Comparator<UserPoolDelta> USER_POOL_ORDER =
+            Comparator.comparing(UserPoolDelta::userId).thenComparing(UserPoolDelta::poolId);
+    private static final Comparator<PoolDayDelta> POOL_DAY_ORDER =
+            Comparator.comparing(PoolDayDelta::poolId)
+                    .thenComparing(PoolDayDelta::date)
+                    .thenComparing(PoolDayDelta::rarity);
+
+    private final Map<UserPoolKey, UserPoolDelta> userPools = new HashMap<>();
+    private final Map<PoolDayKey, Long> poolDays = new HashMap<>();
+
+    public void add(GachaDrawnEvent event) {
+        LocalDate date = LocalDate.ofInstant(event.occurredAt(), STATS_ZONE);
+        for (EmissionResult result : event.results()) {
+            if (result.rarity() != null) {
+                poolDays.merge(new PoolDayKey(event.poolId(), date, result.rarity()), 1L, Long::sum);
+            }
+        }
+        merge(new UserPoolDelta(event.userId(), event.poolId(), 1, event.results().size(),
+                event.consumedPaid(), event.consumedFree(), event.occurredAt()));
+    }
+
+    private void merge(UserPoolDelta delta) {
+        userPools.merge(new UserPoolKey(delta.userId(), delta.poolId()), delta, UserPoolDelta::plus);
+    }
+
+    /**
+     * 保持しているキーの数 (反映する行数)
+     */
+    public int size() {
+        return userPools.size() + poolDays.size();
+    }
+
+    public boolean isEmpty() {
+        return userPools.isEmpty() && poolDays.isEmpty();
+    }
+
+    /**
+     * ユーザー×プールの加算分 (キー順)
+     */
+    public List<UserPoolDelta> userPoolDeltas() {
+        List<UserPoolDelta> deltas = new ArrayList<>(userPools.values());
+        deltas.sort(USER_POOL_ORDER);
+        return deltas;
+    }
+
+    /**
+     * プール×日×レアリティの加算分 (キー順)
+     */
+    public List<PoolDayDelta> poolDayDeltas() {
+        List<PoolDayDelta> deltas = new ArrayList<>(poolDays.size());
+        poolDays.forEach((key, count) -> deltas.add(new PoolDayDelta(key.poolId(), key.date(), key.rarity(), count)));
+        deltas.sort(POOL_DAY_ORDER);
+        return deltas;
+    }
+
+    public record UserPoolDelta(
+            UUID userId,
+            UUID poolId,
+            long draws,
+            long emissions,
+            long consumedPaid,
+            long consumedFree,
+            Instant lastDrawnAt
+    ) {
+        UserPoolDelta plus(UserPoolDelta other) {
+            return new UserPoolDelta(userId, poolId,
+                    draws + other.draws,
+                    emissions + other.emissions,
+                    consumedPaid + other.consumedPaid,
+                    consumedFree + other.consumedFree,
+                    lastDrawnAt.isAfter(other.lastDrawnAt) ? lastDrawnAt : other.lastDrawnAt);
+        }
+    }
+
+    public record PoolDayDelta(UUID poolId, LocalDate date, String rarity, long count) {
+    }
+
+    private record UserPoolKey(UUID userId, UUID poolId) {
+    }
+
+    private record PoolDayKey(UUID poolId, LocalDate date, String rarity) {
+    }
+}
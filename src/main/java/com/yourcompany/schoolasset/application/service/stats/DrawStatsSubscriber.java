@@ -0,0 +1,288 @@
+package com.yourcompany.schoolasset.application.service.stats;
+
+import com.yourcompany.config.infrastructure.datasource.shard.UserShardScope;
+import com.yourcompany.domain.model.gacha.event.GachaDrawnEvent;
+import com.yourcompany.schoolasset.application.service.stats.DrawStatsAccumulator.PoolDayDelta;
+import com.yourcompany.schoolasset.application.service.stats.DrawStatsAccumulator.UserPoolDelta;
+import com.yourcompany.schoolasset.infrastructure.event.DrawEventSubscriber;
+import com.yourcompany.schoolasset.infrastructure.persistence.repository.DrawStatsJdbcRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * 抽選の集計テーブルの更新 (ユーザー×プールの累計、プール×日×レアリティ別の排出数)
+ * 責務：
+ * 1. GachaDrawnEvent の加算分をノード内でキーごとにまとめる
+ * 2. まとまった数・一定時間ごとに一括 UPSERT で反映する (ユーザー×プールは所属シャードごと、プール×日はディレクトリシャード)
+ * 3. 反映に失敗したバッチは同じ flush_id のまま次回に再送する (溜まりすぎた場合は古いものから捨てる)
+ *
+ * 反映ごとに flush_id を発番して加算と同じトランザクションで記録するため、コミットの成否が分からずに
+ * (コミット後に接続が切れた場合など) 再送しても二重に加算しない。記録は保持期間を過ぎたら削除する。
+ *
+ * 集計は抽選のトランザクションとは別のため、反映は最大で flush-interval 分遅れ、
+ * イベントバスで破棄されたイベント・異常終了時に未反映だった分は数えられない。
+ */
+@Slf4j
+@Component
+public class DrawStatsSubscriber implements DrawEventSubscriber, SmartLifecycle {
+
+    private final DrawStatsJdbcRepository statsRepository;
+    private final UserShardScope userShardScope;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter flushedRows;
+    private final Counter failedFlushes;
+    private final Counter droppedRows;
+    private final Counter duplicateFlushes;
+    private final Timer flushTimer;
+
+    // 保持しているキー数がこれを超えたら、バッチの終わりを待たずに反映する
+    @Value("${gacha.stats.flush-threshold:2000}")
+    private int flushThreshold;
+
+    @Value("${gacha.stats.flush-interval-ms:1000}")
+    private long flushIntervalMillis;
+
+    // 反映できない状態が続いた場合に保持するキー数の上限 (超えた分は捨てる)
+    @Value("${gacha.stats.max-pending:200000}")
+    private int maxPending;
+
+    @Value("${gacha.stats.flush-retention:P1D}")
+    private Duration flushRetention;
+
+    // 消費スレッドの加算と定期反映の入れ替えを排他する (反映中の DB アクセスはロックの外で行う)
+    private final Object pendingLock = new Object();
+    private DrawStatsAccumulator pending = new DrawStatsAccumulator();
+    private long lastFlushNanos = System.nanoTime();
+
+    // 反映は同時に1つだけ
+    private final ReentrantLock flushLock = new ReentrantLock();
+    // 反映に失敗したバッチ (flushLock の中でのみ触る)
+    private final Deque<FlushBatch> retries = new ArrayDeque<>();
+    private volatile boolean running;
+
+    public DrawStatsSubscriber(DrawStatsJdbcRepository statsRepository,
+                               UserShardScope userShardScope,
+                               PlatformTransactionManager transactionManager,
+                               MeterRegistry meterRegistry) {
+        this.statsRepository = statsRepository;
+        this.userShardScope = userShardScope;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.flushedRows = meterRegistry.counter("gacha.stats.rows", "result", "flushed");
+        this.droppedRows = meterRegistry.counter("gacha.stats.rows", "result", "dropped");
+        this.failedFlushes = meterRegistry.counter("gacha.stats.flush.failures");
+        this.duplicateFlushes = meterRegistry.counter("gacha.stats.flush.duplicates");
+        this.flushTimer = meterRegistry.timer("gacha.stats.flush");
+    }
+
+    @Override
+    public String name() {
+        return "draw-stats";
+    }
+
+    @Override
+    public void onEvent(GachaDrawnEvent event, long sequence, boolean endOfBatch) {
+        boolean due;
+        synchronized (pendingLock) {
+            pending.add(event);
+            due = pending.size() >= flushThreshold
+                    || (endOfBatch && System.nanoTime() - lastFlushNanos >= flushIntervalMillis * 1_000_000);
+        }
+        if (due) {
+            flush(false);
+        }
+    }
+
+    /**
+     * イベントが途切れた場合に残りを反映する
+     */
+    @Scheduled(fixedDelayString = "${gacha.stats.flush-interval-ms:1000}")
+    public void flushPending() {
+        flush(false);
+    }
+
+    /**
+     * @param wait 他の反映が実行中の場合に終わるのを待つか (false ならその反映に任せて何もしない)
+     */
+    void flush(boolean wait) {
+        if (wait) {
+            flushLock.lock();
+        } else if (!flushLock.tryLock()) {
+            return;
+        }
+        try {
+            DrawStatsAccumulator batch;
+            synchronized (pendingLock) {
+                lastFlushNanos = System.nanoTime();
+                if (pending.isEmpty() && retries.isEmpty()) {
+                    return;
+                }
+                batch = pending;
+                pending = new DrawStatsAccumulator();
+            }
+            write(batch);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * 前回までに失敗したバッチを先に再送し、続けて今回の分を反映する
+     */
+    private void write(DrawStatsAccumulator batch) {
+        Timer.Sample sample = Timer.start();
+        List<FlushBatch> batches = new ArrayList<>(retries);
+        retries.clear();
+
+        // ユーザー×プールは所属シャードごとに1トランザクションでまとめて反映する (キー順は保たれる)
+        Map<String, List<UserPoolDelta>> byShard = new LinkedHashMap<>();
+        for (UserPoolDelta delta : batch.userPoolDeltas()) {
+            byShard.computeIfAbsent(userShardScope.shardOf(delta.userId()), shard -> new ArrayList<>()).add(delta);
+        }
+        byShard.forEach((shard, deltas) -> batches.add(new FlushBatch(UUID.randomUUID(), shard, deltas, List.of())));
+        List<PoolDayDelta> poolDayDeltas = batch.poolDayDeltas();
+        if (!poolDayDeltas.isEmpty()) {
+            batches.add(new FlushBatch(UUID.randomUUID(), null, List.of(), poolDayDeltas));
+        }
+
+        boolean failed = false;
+        for (FlushBatch flushBatch : batches) {
+            try {
+                if (apply(flushBatch)) {
+                    flushedRows.increment(flushBatch.rows());
+                } else {
+                    duplicateFlushes.increment();
+                    log.info("Skipped already committed draw stats flush. flushId={}, shard={}, rows={}",
+                            flushBatch.flushId(), flushBatch.shardName(), flushBatch.rows());
+                }
+            } catch (RuntimeException e) {
+                failed = true;
+                retries.add(flushBatch);
+                log.warn("Failed to flush draw stats. flushId={}, shard={}, rows={}",
+                        flushBatch.flushId(), flushBatch.shardName(), flushBatch.rows(), e);
+            }
+        }
+        sample.stop(flushTimer);
+
+        if (failed) {
+            failedFlushes.increment();
+            trimRetries();
+        }
+    }
+
+    /**
+     * 1バッチの反映 (flush_id の記録と加算を同じトランザクションで行う)
+     * 再送は前回と同じシャードに行う (再配置で移動したユーザーの分は移動元に残るが、二重には数えない)。
+     *
+     * @return 前回の反映がコミット済みで加算しなかった場合 false
+     */
+    private boolean apply(FlushBatch batch) {
+        Supplier<Boolean> body = () -> {
+            if (!statsRepository.markFlushed(batch.flushId())) {
+                return false;
+            }
+            statsRepository.addUserPoolStats(batch.userPools());
+            statsRepository.addPoolDayStats(batch.poolDays());
+            return true;
+        };
+        Boolean applied = batch.shard() == null
+                ? userShardScope.inDirectoryTransaction(body)
+                : userShardScope.onShard(batch.shard(), () -> transactionTemplate.execute(status -> body.get()));
+        return Boolean.TRUE.equals(applied);
+    }
+
+    /**
+     * 再送待ちが上限を超えた分を古いものから捨てる
+     */
+    private void trimRetries() {
+        int rows = retries.stream().mapToInt(FlushBatch::rows).sum();
+        while (rows > maxPending && !retries.isEmpty()) {
+            FlushBatch dropped = retries.pollFirst();
+            rows -= dropped.rows();
+            droppedRows.increment(dropped.rows());
+            log.error("Dropped draw stats after repeated flush failures. flushId={}, rows={}",
+                    dropped.flushId(), dropped.rows());
+        }
+    }
+
+    /**
+     * 保持期間を過ぎた反映済みバッチの記録を削除する (再送はこれより十分短い間に終わる前提)
+     */
+    @Scheduled(fixedDelayString = "${gacha.stats.flush-cleanup-interval-ms:3600000}")
+    public void purgeFlushes() {
+        Instant threshold = Instant.now().minus(flushRetention);
+        for (String shard : userShardScope.shardNames()) {
+            try {
+                int deleted = userShardScope.onShard(shard,
+                        () -> transactionTemplate.execute(status -> statsRepository.deleteFlushesBefore(threshold)));
+                if (deleted > 0) {
+                    log.info("Purged draw stats flush records. shard={}, count={}, before={}", shard, deleted, threshold);
+                }
+            } catch (RuntimeException e) {
+                log.warn("Failed to purge draw stats flush records. shard={}", shard, e);
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    /**
+     * 停止時に残りを反映する (イベントバスが発行済みのイベントを処理し終えた後)
+     */
+    @Override
+    public void stop() {
+        running = false;
+        flush(true);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * DrawEventBus より後に止める
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 8192;
+    }
+
+    /**
+     * 1トランザクションで反映する単位
+     *
+     * @param shard null の場合はディレクトリシャード (プール×日)
+     */
+    private record FlushBatch(UUID flushId, String shard, List<UserPoolDelta> userPools, List<PoolDayDelta> poolDays) {
+
+        int rows() {
+            return userPools.size() + poolDays.size();
+        }
+
+        String shardName() {
+            return shard != null ? shard : "directory";
+        }
+    }
+}
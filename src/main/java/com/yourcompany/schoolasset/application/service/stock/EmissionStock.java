@@ -0,0 +1,202 @@
+package com.yourcompany.schoolasset.application.service.stock;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 1つの排出枠について、このノードが借り受けている在庫
+ * 払い出し (tryTake) はロックを取らず、残数のカウンタを CAS で減らすだけにする。
+ * 借り受け・報告・精算は頻度が低いため、ロックで台帳 (leases) を守る。
+ * 手元が空になったスレッドは補充の完了を同じロックの条件変数で待つ
+ * (仮想スレッドが待つ間もキャリアスレッドを固定しないよう、synchronized ではなく ReentrantLock を使う)。
+ *
+ * 払い出しは借り受けた順に消費したものとみなし、報告・精算ではノード全体の使用数を古い借り受けから割り当てる。
+ */
+final class EmissionStock {
+
+    private final UUID emissionId;
+    private final AtomicInteger available = new AtomicInteger();
+    private final AtomicBoolean refilling = new AtomicBoolean();
+    private final ReentrantLock lock = new ReentrantLock();
+    // 補充の終了 (成否を問わない) の通知
+    private final Condition refillEnded = lock.newCondition();
+    // 借り受けの台帳 (古い順)。lock で守る
+    private final List<LocalLease> leases = new ArrayList<>();
+    private long leasedQuantity;
+
+    // 全体在庫を借り切った (これ以上借りられない)。定期的な在庫確認で解除される
+    private volatile boolean exhausted;
+    // 精算済み (停止時)。以降は払い出さない
+    private volatile boolean closed;
+
+    EmissionStock(UUID emissionId) {
+        this.emissionId = emissionId;
+    }
+
+    UUID emissionId() {
+        return emissionId;
+    }
+
+    /**
+     * 1個払い出す
+     *
+     * @return 手元に残りがない場合は false (借り受けを補充してから再試行する)
+     */
+    boolean tryTake() {
+        while (!closed) {
+            int current = available.get();
+            if (current <= 0) {
+                return false;
+            }
+            if (available.compareAndSet(current, current - 1)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 払い出しの取り消し (抽選がロールバックされた場合)
+     * 精算後の取り消しは戻さない (精算で払い出し済みとして報告済みのため、売り残しになるだけ)。
+     */
+    void release() {
+        if (!closed) {
+            available.incrementAndGet();
+        }
+    }
+
+    void addLease(long leaseId, int quantity) {
+        lock.lock();
+        try {
+            leases.add(new LocalLease(leaseId, quantity));
+            leasedQuantity += quantity;
+            available.addAndGet(quantity);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int available() {
+        return Math.max(available.get(), 0);
+    }
+
+    boolean isExhausted() {
+        return exhausted;
+    }
+
+    void markExhausted(boolean exhausted) {
+        this.exhausted = exhausted;
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * 補充を1スレッドに限る
+     */
+    boolean beginRefill() {
+        return refilling.compareAndSet(false, true);
+    }
+
+    void endRefill() {
+        lock.lock();
+        try {
+            refilling.set(false);
+            refillEnded.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 手元が空の間、実行中の補充が終わるのを待つ
+     *
+     * @return 手元に残りがある場合 true。補充が失敗した・待ち時間を過ぎた場合は false
+     */
+    boolean awaitRefill(long timeout, TimeUnit unit) throws InterruptedException {
+        long remaining = unit.toNanos(timeout);
+        lock.lock();
+        try {
+            while (available.get() <= 0 && refilling.get() && !closed) {
+                if (remaining <= 0) {
+                    return false;
+                }
+                remaining = refillEnded.awaitNanos(remaining);
+            }
+            return available.get() > 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 報告用の借り受けごとの使用数 (払い出し中でまだコミットされていない分も使用済みとして数える)
+     * 使い切った借り受けは台帳から外し、呼び出し側で精算する (settled = true)。
+     */
+    List<LeaseUsage> usage() {
+        lock.lock();
+        try {
+            List<LeaseUsage> usages = allocate(leasedQuantity - available());
+            Iterator<LocalLease> iterator = leases.iterator();
+            for (LeaseUsage usage : usages) {
+                LocalLease lease = iterator.next();
+                if (usage.settled()) {
+                    iterator.remove();
+                    leasedQuantity -= lease.quantity();
+                }
+            }
+            return usages;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 停止時の精算用。手元の残りをすべて回収し、以降の払い出しを止める
+     */
+    List<LeaseUsage> close() {
+        lock.lock();
+        try {
+            closed = true;
+            int returned = Math.max(available.getAndSet(0), 0);
+            List<LeaseUsage> usages = allocate(leasedQuantity - returned).stream()
+                    .map(usage -> new LeaseUsage(usage.leaseId(), usage.quantity(), usage.consumed(), true))
+                    .toList();
+            leases.clear();
+            leasedQuantity = 0;
+            refillEnded.signalAll();
+            return usages;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 使用数を古い借り受けから順に割り当てる
+    private List<LeaseUsage> allocate(long used) {
+        List<LeaseUsage> usages = new ArrayList<>(leases.size());
+        long rest = used;
+        for (LocalLease lease : leases) {
+            int consumed = (int) Math.min(lease.quantity(), Math.max(rest, 0));
+            rest -= consumed;
+            usages.add(new LeaseUsage(lease.leaseId(), lease.quantity(), consumed, consumed == lease.quantity()));
+        }
+        return usages;
+    }
+
+    private record LocalLease(long leaseId, int quantity) {
+    }
+
+    /**
+     * @param settled 使い切った (または停止時の) 借り受けで、精算して台帳を閉じてよい
+     */
+    record LeaseUsage(long leaseId, int quantity, int consumed, boolean settled) {
+    }
+}
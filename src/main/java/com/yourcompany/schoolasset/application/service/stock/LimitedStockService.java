@@ -0,0 +1,301 @@
+package com.yourcompany.schoolasset.application.service.stock;
+
+import com.sqlcanvas.sharedkernel.shared.result.Result;
+import com.yourcompany.config.infrastructure.datasource.shard.UserShardScope;
+import com.yourcompany.domain.model.gacha.EmissionResult.EmissionType;
+import com.yourcompany.domain.model.gacha.GachaEmission;
+import com.yourcompany.domain.model.gacha.tier.TieredSampler;
+import com.yourcompany.schoolasset.application.service.LotteryService;
+import com.yourcompany.schoolasset.application.service.stock.StockFallbackDraw.Outcome;
+import com.yourcompany.schoolasset.application.service.stock.StockFallbackDraw.Take;
+import com.yourcompany.schoolasset.infrastructure.persistence.repository.EmissionStockJdbcRepository;
+import com.yourcompany.schoolasset.infrastructure.persistence.repository.EmissionStockJdbcRepository.Lease;
+import com.yourcompany.schoolasset.infrastructure.persistence.repository.EmissionStockJdbcRepository.StockRow;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.random.RandomGenerator;
+
+/**
+ * 全体在庫のある排出枠の払い出し
+ * 責務：
+ * 1. 全体在庫 (emission_stocks) からブロック単位で借り受け、ノード内のカウンタからロックなしで払い出す
+ * 2. 在庫のない排出枠を除いた残りの排出率で引き直す
+ * 3. 払い出し数を台帳へ非同期に報告し、使い切った借り受けと停止時の残りを精算する
+ *
+ * 借り受けは抽選のトランザクションから切り離し、専用の Executor で手元の残りが refill-threshold を下回った時点で先回りして行う
+ * (抽選中に別トランザクションで借り受けると、1抽選で DB 接続を2本使うことになるため)。
+ * それでも手元が空になった抽選は補充を refill-wait-ms まで待ち、間に合わなければ在庫切れとはせず STOCK_UNAVAILABLE で失敗させる
+ * (借り受けの遅延で引き直すと、在庫の残っている枠の排出率が下がるため)。
+ *
+ * 売り越さないことの保証：
+ * - 払い出せるのは借り受けた数までで、借り受けの合計は DB の制約 (leased <= total) で total を超えない
+ * - 抽選がロールバックされた払い出しはカウンタへ戻す。コミット前にノードが落ちた分は戻らない (売り残し)
+ * - 異常終了したノードの借り受けは精算されず、未使用分も払い出し済みのまま残る (最大でブロック数 × 排出枠数の売り残し)
+ */
+@Slf4j
+@Service
+public class LimitedStockService implements SmartLifecycle {
+
+    private final EmissionStockJdbcRepository stockRepository;
+    private final UserShardScope userShardScope;
+    private final LotteryService lotteryService;
+    private final Counter leaseGranted;
+    private final Counter leaseExhausted;
+    private final Counter fallbacks;
+
+    // 1回に借り受ける数
+    @Value("${gacha.stock.block-size:50}")
+    private int blockSize;
+
+    // 手元の残りがこれを下回ったら裏で次のブロックを借り受ける
+    @Value("${gacha.stock.refill-threshold:10}")
+    private int refillThreshold;
+
+    // 手元が空の抽選が補充を待つ時間の上限
+    @Value("${gacha.stock.refill-wait-ms:200}")
+    private long refillWaitMillis;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<UUID, EmissionStock> stocks = new ConcurrentHashMap<>();
+    // 借り受け専用 (同時に使う DB 接続を1本に抑える。排出枠ごとの補充は beginRefill で1つに限る)
+    private final ExecutorService refillExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "stock-refill");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile boolean running;
+
+    public LimitedStockService(EmissionStockJdbcRepository stockRepository,
+                               UserShardScope userShardScope,
+                               LotteryService lotteryService,
+                               MeterRegistry meterRegistry) {
+        this.stockRepository = stockRepository;
+        this.userShardScope = userShardScope;
+        this.lotteryService = lotteryService;
+        this.leaseGranted = meterRegistry.counter("gacha.stock.lease", "result", "granted");
+        this.leaseExhausted = meterRegistry.counter("gacha.stock.lease", "result", "exhausted");
+        this.fallbacks = meterRegistry.counter("gacha.stock.fallback");
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        refreshStocks();
+        log.info("Limited stock service started. nodeId={}, limitedEmissions={}", nodeId, stocks.size());
+    }
+
+    /**
+     * 停止時に手元の残りを全体在庫へ戻す
+     */
+    @Override
+    public void stop() {
+        running = false;
+        refillExecutor.shutdown();
+        try {
+            refillExecutor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (EmissionStock stock : stocks.values()) {
+            List<EmissionStock.LeaseUsage> usages = stock.close();
+            try {
+                userShardScope.inDirectoryTransaction(() -> {
+                    usages.forEach(usage -> stockRepository.settle(usage.leaseId(), usage.consumed()));
+                    return null;
+                });
+            } catch (RuntimeException e) {
+                // 精算できなかった借り受けは払い出し済みとして残る (売り残し)
+                log.warn("Failed to settle stock leases. emissionId={}", stock.emissionId(), e);
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * 2段階抽選表から枠の種類と天井カウントに応じて1つ引く
+     * 在庫切れの排出枠を引いた場合は、枠の対象からその枠を除いて引き直す (StockFallbackDraw)。
+     * 払い出しは呼び出し側のトランザクションがロールバックされると取り消される。
+     *
+     * @return 排出した枠と在庫切れで除いた排出枠 (リプレイで引き直しを再現するため履歴に記録する)
+     */
+    public Result<Outcome> draw(TieredSampler sampler, EmissionType slot, int pityCount, RandomGenerator random) {
+        Result<Outcome> result = StockFallbackDraw.draw(sampler, slot, pityCount, random, lotteryService, this::take);
+        if (result instanceof Result.Success<Outcome> success && success.value().fellBack()) {
+            fallbacks.increment(success.value().soldOutEmissionIds().size());
+        }
+        return result;
+    }
+
+    private Take take(GachaEmission emission) {
+        EmissionStock stock = stocks.get(emission.getId());
+        if (stock == null) {
+            return Take.TAKEN;
+        }
+        boolean taken = stock.tryTake();
+        if (!taken && !stock.isExhausted() && !stock.isClosed()) {
+            // 手元が空: 補充を依頼して待つ (このスレッドでは借り受けない)
+            requestRefill(stock);
+            taken = awaitRefill(stock) && stock.tryTake();
+            if (!taken && !stock.isExhausted() && !stock.isClosed()) {
+                return Take.UNAVAILABLE;
+            }
+        }
+        if (!taken) {
+            return Take.OUT_OF_STOCK;
+        }
+        registerRollback(stock);
+        if (stock.available() < refillThreshold && !stock.isExhausted()) {
+            requestRefill(stock);
+        }
+        return Take.TAKEN;
+    }
+
+    private boolean awaitRefill(EmissionStock stock) {
+        try {
+            return stock.awaitRefill(refillWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * 借り受けを専用の Executor に依頼する (同じ排出枠の補充が実行中なら何もしない)
+     */
+    private void requestRefill(EmissionStock stock) {
+        if (!stock.beginRefill()) {
+            return;
+        }
+        try {
+            refillExecutor.execute(() -> {
+                try {
+                    refill(stock);
+                } finally {
+                    stock.endRefill();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // 停止中
+            stock.endRefill();
+        }
+    }
+
+    private static void registerRollback(EmissionStock stock) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    stock.release();
+                }
+            }
+        });
+    }
+
+    /**
+     * 全体在庫から1ブロック借り受ける
+     *
+     * @return 借り受けられた場合は true。在庫が尽きていれば以降は定期確認まで借り受けない
+     */
+    private boolean refill(EmissionStock stock) {
+        try {
+            Optional<Lease> lease = userShardScope.inDirectoryTransaction(
+                    () -> stockRepository.lease(stock.emissionId(), nodeId, blockSize));
+            if (lease.isEmpty()) {
+                stock.markExhausted(true);
+                leaseExhausted.increment();
+                return false;
+            }
+            stock.addLease(lease.get().id(), lease.get().quantity());
+            leaseGranted.increment();
+            return true;
+        } catch (RuntimeException e) {
+            // 借り受けられない間、手元が空の抽選は STOCK_UNAVAILABLE で失敗する (売り越すよりは排出しない)
+            log.warn("Failed to lease stock. emissionId={}", stock.emissionId(), e);
+            return false;
+        }
+    }
+
+    /**
+     * 在庫設定の取り込み (新規・削除・在庫の追加による在庫切れの解除)
+     */
+    @Scheduled(initialDelayString = "${gacha.stock.refresh-interval-ms:5000}",
+            fixedDelayString = "${gacha.stock.refresh-interval-ms:5000}")
+    public void refreshStocks() {
+        if (!running) {
+            return;
+        }
+        List<StockRow> rows = userShardScope.inDirectoryTransaction(stockRepository::findAll);
+        Set<UUID> configured = new HashSet<>();
+        for (StockRow row : rows) {
+            configured.add(row.emissionId());
+            EmissionStock stock = stocks.computeIfAbsent(row.emissionId(), EmissionStock::new);
+            stock.markExhausted(row.leased() >= row.total());
+        }
+        // 在庫設定が削除された排出枠は無制限に戻る (台帳ごと削除済みのため精算は不要)
+        stocks.keySet().retainAll(configured);
+    }
+
+    /**
+     * 払い出し数の報告と、使い切った借り受けの精算
+     */
+    @Scheduled(fixedDelayString = "${gacha.stock.report-interval-ms:10000}")
+    public void reportUsage() {
+        if (!running || stocks.isEmpty()) {
+            return;
+        }
+        List<EmissionStock.LeaseUsage> usages = new ArrayList<>();
+        stocks.values().forEach(stock -> usages.addAll(stock.usage()));
+        if (usages.isEmpty()) {
+            return;
+        }
+        userShardScope.inDirectoryTransaction(() -> {
+            for (EmissionStock.LeaseUsage usage : usages) {
+                if (usage.settled()) {
+                    stockRepository.settle(usage.leaseId(), usage.consumed());
+                } else {
+                    stockRepository.report(usage.leaseId(), usage.consumed());
+                }
+            }
+            return null;
+        });
+    }
+
+    /**
+     * このノードの手元の残数 (管理画面用)
+     */
+    public int localAvailable(UUID emissionId) {
+        EmissionStock stock = stocks.get(emissionId);
+        return stock == null ? 0 : stock.available();
+    }
+
+    public String nodeId() {
+        return nodeId;
+    }
+}
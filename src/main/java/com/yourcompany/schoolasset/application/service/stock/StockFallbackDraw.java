@@ -0,0 +1,86 @@
+package com.yourcompany.schoolasset.application.service.stock;
+
+import com.sqlcanvas.sharedkernel.shared.result.Result;
+import com.yourcompany.domain.model.gacha.EmissionResult.EmissionType;
+import com.yourcompany.domain.model.gacha.GachaEmission;
+import com.yourcompany.domain.model.gacha.tier.TieredSampler;
+import com.yourcompany.domain.shared.exception.GachaErrorCode;
+import com.yourcompany.schoolasset.application.service.LotteryService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.random.RandomGenerator;
+
+/**
+ * 在庫切れの排出枠を除いて引き直す抽選
+ * 抽選 (LimitedStockService) とリプレイで同じ手順を使う。リプレイは記録された在庫切れの排出枠を
+ * 在庫切れとして扱うことで、同じ乱数の消費順で引き直しを再現する。
+ *
+ * 2段階抽選表から引いた排出枠が在庫切れなら、枠の対象からその枠を除いて weight の比で引き直し、
+ * 引き直した排出枠も在庫切れなら除いて繰り返す
+ * (引き直しではピックアップの確率アップ・ソフト天井は適用しない。在庫切れ時だけの経路のため単純さを優先する)。
+ */
+public final class StockFallbackDraw {
+
+    private StockFallbackDraw() {
+    }
+
+    /**
+     * @param take 排出枠の払い出し (在庫のない排出枠は TAKEN を返す)
+     * @return 排出した枠と、途中で在庫切れとして除いた排出枠の ID (引いた順)
+     */
+    public static Result<Outcome> draw(TieredSampler sampler,
+                                       EmissionType slot,
+                                       int pityCount,
+                                       RandomGenerator random,
+                                       LotteryService lotteryService,
+                                       Function<GachaEmission, Take> take) {
+        GachaEmission emission = sampler.sample(slot, pityCount, random);
+        List<GachaEmission> candidates = null;
+        List<UUID> soldOut = List.of();
+        while (true) {
+            Take taken = take.apply(emission);
+            if (taken == Take.TAKEN) {
+                return Result.success(new Outcome(emission, soldOut));
+            }
+            if (taken == Take.UNAVAILABLE) {
+                return GachaErrorCode.STOCK_UNAVAILABLE.toFailure();
+            }
+
+            if (candidates == null) {
+                candidates = new ArrayList<>(sampler.candidates(slot));
+                soldOut = new ArrayList<>();
+            }
+            candidates.remove(emission);
+            soldOut.add(emission.getId());
+            if (candidates.isEmpty()) {
+                return GachaErrorCode.OUT_OF_STOCK.toFailure("排出できるアイテムがありません");
+            }
+            Result<GachaEmission> drawResult = lotteryService.draw(candidates, random);
+            if (drawResult instanceof Result.Failure<GachaEmission> f) {
+                return Result.failure(f.errorCode(), f.message());
+            }
+            emission = ((Result.Success<GachaEmission>) drawResult).value();
+        }
+    }
+
+    public enum Take {
+        TAKEN,
+        // 全体在庫を借り切った (残りの排出枠で引き直す)
+        OUT_OF_STOCK,
+        // 借り受けが間に合わない・失敗した (引き直さずに抽選を失敗させる)
+        UNAVAILABLE
+    }
+
+    /**
+     * @param soldOutEmissionIds 在庫切れで除いた排出枠の ID (引き直していなければ空)
+     */
+    public record Outcome(GachaEmission emission, List<UUID> soldOutEmissionIds) {
+
+        public boolean fellBack() {
+            return !soldOutEmissionIds.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.yourcompany.schoolasset.infrastructure.event;
+
+import com.yourcompany.domain.model.gacha.event.GachaDrawnEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 抽選イベントのインプロセス・イベントバス
+ * ApplicationEventPublisher と違い、購読者は抽選スレッドではなく専用の消費スレッドで動くため、
+ * 購読者を増やしても抽選レスポンスの遅延は増えない。
+ * バッファが満杯の場合は抽選を待たせずにイベントを破棄する (メトリクスで検知する)。
+ * 発行はコミット後のみ (ロールバックした抽選は購読者に届かない)。
+ */
+@Slf4j
+@Component
+public class DrawEventBus implements SmartLifecycle {
+
+    private final ObjectProvider<DrawEventSubscriber> subscriberProvider;
+    private final MeterRegistry meterRegistry;
+    private final Counter publishedCounter;
+    private final Counter droppedCounter;
+
+    @Value("${gacha.eventbus.buffer-size:16384}")
+    private int bufferSize;
+
+    @Value("${gacha.eventbus.wait-strategy:SLEEPING}")
+    private WaitStrategy.Kind defaultWaitStrategy;
+
+    @Value("${gacha.eventbus.max-batch-size:256}")
+    private int maxBatchSize;
+
+    private volatile DrawEventRingBuffer ringBuffer;
+    // 発行スレッドからロックなしで読むため、start / stop で丸ごと差し替える (不変リスト)
+    private volatile List<DrawEventProcessor> processors = List.of();
+    private final List<Thread> threads = new ArrayList<>();
+    // 停止時に外すメトリクス (再起動時に古い購読者を参照し続けないように)
+    private final List<Meter> meters = new ArrayList<>();
+    private volatile boolean running;
+
+    public DrawEventBus(ObjectProvider<DrawEventSubscriber> subscriberProvider, MeterRegistry meterRegistry) {
+        this.subscriberProvider = subscriberProvider;
+        this.meterRegistry = meterRegistry;
+        this.publishedCounter = meterRegistry.counter("gacha.eventbus.events", "result", "published");
+        this.droppedCounter = meterRegistry.counter("gacha.eventbus.events", "result", "dropped");
+    }
+
+    /**
+     * 現在のトランザクションのコミット後に発行する (トランザクション外なら即時)
+     */
+    public void publishAfterCommit(GachaDrawnEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publish(event);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                publish(event);
+            }
+        });
+    }
+
+    public void publish(GachaDrawnEvent event) {
+        DrawEventRingBuffer buffer = ringBuffer;
+        if (!running || buffer == null || !buffer.tryPublish(event)) {
+            droppedCounter.increment();
+            log.debug("Draw event dropped. requestId={}", event.requestId());
+            return;
+        }
+        publishedCounter.increment();
+        for (DrawEventProcessor processor : processors) {
+            processor.waitStrategy().signalAllWhenBlocking();
+        }
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        DrawEventRingBuffer buffer = new DrawEventRingBuffer(bufferSize);
+        List<DrawEventProcessor> started = new ArrayList<>();
+        subscriberProvider.orderedStream().forEach(subscriber -> {
+            WaitStrategy.Kind kind = subscriber.waitStrategy() != null ? subscriber.waitStrategy() : defaultWaitStrategy;
+            DrawEventProcessor processor = new DrawEventProcessor(buffer, subscriber, WaitStrategy.of(kind), maxBatchSize);
+            started.add(processor);
+
+            meters.add(Gauge.builder("gacha.eventbus.lag", processor, DrawEventProcessor::lag)
+                    .tag("subscriber", subscriber.name())
+                    .register(meterRegistry));
+            meters.add(FunctionCounter.builder("gacha.eventbus.subscriber.errors", processor, DrawEventProcessor::errorCount)
+                    .tag("subscriber", subscriber.name())
+                    .register(meterRegistry));
+            log.info("Draw event subscriber registered. subscriber={}, waitStrategy={}", subscriber.name(), kind);
+        });
+        meters.add(Gauge.builder("gacha.eventbus.backlog", buffer, DrawEventRingBuffer::backlog).register(meterRegistry));
+
+        // BUSY_SPIN などで CPU を占有するため、仮想スレッドではなくプラットフォームスレッドで動かす
+        for (DrawEventProcessor processor : started) {
+            threads.add(Thread.ofPlatform()
+                    .daemon()
+                    .name("draw-event-" + processor.subscriber().name())
+                    .start(processor));
+        }
+        this.processors = List.copyOf(started);
+        this.ringBuffer = buffer;
+        this.running = true;
+    }
+
+    /**
+     * 発行を止め、各購読者が発行済みのイベントを処理し終えるまで待つ
+     */
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        processors.forEach(DrawEventProcessor::halt);
+        for (Thread thread : threads) {
+            try {
+                thread.join(5_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        threads.clear();
+        processors = List.of();
+        ringBuffer = null;
+        meters.forEach(meterRegistry::remove);
+        meters.clear();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Webサーバーより先に起動し、Webサーバーの停止 (処理中リクエストの完了) 後に止める
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+}
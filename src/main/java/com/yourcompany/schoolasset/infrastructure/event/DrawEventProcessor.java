@@ -0,0 +1,94 @@
+package com.yourcompany.schoolasset.infrastructure.event;
+
+import com.yourcompany.domain.model.gacha.event.GachaDrawnEvent;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 購読者1つ分の消費ループ (専用スレッドで実行する)
+ * 発行済みのイベントを最大 maxBatchSize 件ずつまとめて渡し、処理後に自分の通番を進める。
+ * 購読者の例外はイベント単位で握りつぶし、ループは止めない。
+ */
+@Slf4j
+public final class DrawEventProcessor implements Runnable {
+
+    private final DrawEventRingBuffer ringBuffer;
+    private final DrawEventSubscriber subscriber;
+    private final WaitStrategy waitStrategy;
+    private final int maxBatchSize;
+
+    // 処理済みの最大通番 (発行側の追い越し防止に使われる)
+    private final AtomicLong sequence = new AtomicLong(-1);
+    private final LongAdder errors = new LongAdder();
+    private volatile boolean running = true;
+
+    public DrawEventProcessor(DrawEventRingBuffer ringBuffer, DrawEventSubscriber subscriber,
+                              WaitStrategy waitStrategy, int maxBatchSize) {
+        this.ringBuffer = ringBuffer;
+        this.subscriber = subscriber;
+        this.waitStrategy = waitStrategy;
+        this.maxBatchSize = maxBatchSize;
+        ringBuffer.addGatingSequence(sequence);
+    }
+
+    @Override
+    public void run() {
+        long next = sequence.get() + 1;
+        while (true) {
+            long available = waitStrategy.waitFor(next, ringBuffer, this::isRunning);
+            long highest = available < next
+                    ? next - 1
+                    : ringBuffer.highestPublished(next, Math.min(available, next + maxBatchSize - 1));
+
+            if (highest < next) {
+                // 停止要求後は発行済みのものを処理し切ってから終わる
+                if (!running) {
+                    break;
+                }
+                Thread.onSpinWait();
+                continue;
+            }
+
+            for (long seq = next; seq <= highest; seq++) {
+                GachaDrawnEvent event = ringBuffer.get(seq);
+                try {
+                    subscriber.onEvent(event, seq, seq == highest);
+                } catch (RuntimeException e) {
+                    errors.increment();
+                    log.error("Draw event subscriber failed. subscriber={}, requestId={}",
+                            subscriber.name(), event.requestId(), e);
+                }
+            }
+            sequence.set(highest);
+            next = highest + 1;
+        }
+        log.info("Draw event processor stopped. subscriber={}, lastSequence={}", subscriber.name(), sequence.get());
+    }
+
+    public void halt() {
+        running = false;
+        waitStrategy.signalAllWhenBlocking();
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    public DrawEventSubscriber subscriber() {
+        return subscriber;
+    }
+
+    public WaitStrategy waitStrategy() {
+        return waitStrategy;
+    }
+
+    public long lag() {
+        return ringBuffer.cursor() - sequence.get();
+    }
+
+    public long errorCount() {
+        return errors.sum();
+    }
+}
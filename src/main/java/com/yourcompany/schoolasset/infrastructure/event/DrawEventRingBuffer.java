@@ -0,0 +1,122 @@
+package com.yourcompany.schoolasset.infrastructure.event;
+
+import com.yourcompany.domain.model.gacha.event.GachaDrawnEvent;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 抽選イベント用のリングバッファ (複数発行者・複数購読者)
+ * 責務：
+ * 1. 事前確保したスロット配列への書き込み (発行のたびにキューのノードを確保しない)
+ * 2. 発行者は CAS で通番を確保し、スロットごとの周回番号で発行完了を通知する
+ * 3. 最も遅い購読者を追い越さない (満杯なら発行しない)
+ * 購読者はそれぞれ自分の通番を持ち、同じイベントを独立に読む。
+ */
+public final class DrawEventRingBuffer {
+
+    private static final VarHandle AVAILABLE = MethodHandles.arrayElementVarHandle(int[].class);
+    private static final VarHandle ENTRIES = MethodHandles.arrayElementVarHandle(GachaDrawnEvent[].class);
+
+    private final int bufferSize;
+    private final int mask;
+    private final int indexShift;
+    private final GachaDrawnEvent[] entries;
+    // スロットごとに発行済みの周回番号 (sequence >>> indexShift)
+    private final int[] availableRounds;
+    // 確保済みの最大通番
+    private final AtomicLong cursor = new AtomicLong(-1);
+    private volatile AtomicLong[] gatingSequences = new AtomicLong[0];
+
+    public DrawEventRingBuffer(int bufferSize) {
+        if (bufferSize < 2 || Integer.bitCount(bufferSize) != 1) {
+            throw new IllegalArgumentException("bufferSize must be a power of 2: " + bufferSize);
+        }
+        this.bufferSize = bufferSize;
+        this.mask = bufferSize - 1;
+        this.indexShift = Integer.numberOfTrailingZeros(bufferSize);
+        this.entries = new GachaDrawnEvent[bufferSize];
+        this.availableRounds = new int[bufferSize];
+        Arrays.fill(availableRounds, -1);
+    }
+
+    /**
+     * 購読者の処理済み通番を登録する (発行開始前に呼ぶこと)
+     */
+    public synchronized void addGatingSequence(AtomicLong sequence) {
+        AtomicLong[] current = gatingSequences;
+        AtomicLong[] updated = Arrays.copyOf(current, current.length + 1);
+        updated[current.length] = sequence;
+        gatingSequences = updated;
+    }
+
+    /**
+     * 発行する。最も遅い購読者が1周遅れの位置にいる (満杯) 場合は待たずに false を返す。
+     */
+    public boolean tryPublish(GachaDrawnEvent event) {
+        long current;
+        long next;
+        do {
+            current = cursor.get();
+            next = current + 1;
+            if (next - bufferSize > minimumGatingSequence(current)) {
+                return false;
+            }
+        } while (!cursor.compareAndSet(current, next));
+
+        int index = (int) (next & mask);
+        ENTRIES.setRelease(entries, index, event);
+        AVAILABLE.setRelease(availableRounds, index, (int) (next >>> indexShift));
+        return true;
+    }
+
+    /**
+     * 確保済みの最大通番 (発行完了しているとは限らない。highestPublished で確認する)
+     */
+    public long cursor() {
+        return cursor.get();
+    }
+
+    /**
+     * lowerBound から availableSequence までのうち、連続して発行完了している最大の通番
+     */
+    public long highestPublished(long lowerBound, long availableSequence) {
+        for (long sequence = lowerBound; sequence <= availableSequence; sequence++) {
+            if (!isPublished(sequence)) {
+                return sequence - 1;
+            }
+        }
+        return availableSequence;
+    }
+
+    public GachaDrawnEvent get(long sequence) {
+        return (GachaDrawnEvent) ENTRIES.getAcquire(entries, (int) (sequence & mask));
+    }
+
+    public int bufferSize() {
+        return bufferSize;
+    }
+
+    /**
+     * 最も遅い購読者との差 (未処理のイベント数)
+     */
+    public long backlog() {
+        long current = cursor.get();
+        return current - minimumGatingSequence(current);
+    }
+
+    private boolean isPublished(long sequence) {
+        int index = (int) (sequence & mask);
+        return (int) AVAILABLE.getAcquire(availableRounds, index) == (int) (sequence >>> indexShift);
+    }
+
+    private long minimumGatingSequence(long defaultValue) {
+        long minimum = defaultValue;
+        for (AtomicLong sequence : gatingSequences) {
+            minimum = Math.min(minimum, sequence.get());
+        }
+        return minimum;
+    }
+}
@@ -0,0 +1,31 @@
+package com.yourcompany.schoolasset.infrastructure.event;
+
+import com.yourcompany.domain.model.gacha.event.GachaDrawnEvent;
+
+/**
+ * DrawEventBus の購読者 (抽選確定後の非クリティカルな処理)
+ * 購読者ごとに専用の消費スレッドで呼び出されるため、抽選レスポンスの遅延にはならない。
+ * 在庫付与・履歴保存のようにトランザクションに含めるべき処理は対象外
+ * (GachaEventListener の BEFORE_COMMIT で行う)。
+ * Bean として登録すると DrawEventBus が自動で購読させる。
+ */
+public interface DrawEventSubscriber {
+
+    /**
+     * スレッド名・メトリクスのタグに使う名前
+     */
+    String name();
+
+    /**
+     * @param sequence   リングバッファ上の通番
+     * @param endOfBatch 今回まとめて受け取ったイベントの最後か (集計をまとめて反映するタイミング)
+     */
+    void onEvent(GachaDrawnEvent event, long sequence, boolean endOfBatch);
+
+    /**
+     * 待機戦略 (null の場合は gacha.eventbus.wait-strategy)
+     */
+    default WaitStrategy.Kind waitStrategy() {
+        return null;
+    }
+}
@@ -0,0 +1,132 @@
+package com.yourcompany.schoolasset.infrastructure.event;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+
+/**
+ * 消費スレッドが新しいイベントを待つ方法
+ * レイテンシと CPU 使用率のトレードオフを購読者ごとに選べる。
+ */
+public interface WaitStrategy {
+
+    enum Kind {
+        BUSY_SPIN, // 最小レイテンシ。コアを1つ占有する
+        YIELDING,  // スピン後に yield。コアに余裕がある場合
+        SLEEPING,  // スピン・yield 後に短く park。既定
+        BLOCKING   // ロックで待機。CPU を使わないが発行側にシグナルのコストがかかる
+    }
+
+    /**
+     * sequence が発行されるか running が false になるまで待つ
+     *
+     * @return 発行済みの最大通番 (sequence 未満の場合は停止による復帰)
+     */
+    long waitFor(long sequence, DrawEventRingBuffer ringBuffer, BooleanSupplier running);
+
+    /**
+     * 発行側から呼ばれる。ブロッキング待機中の消費スレッドを起こす
+     */
+    default void signalAllWhenBlocking() {
+    }
+
+    static WaitStrategy of(Kind kind) {
+        return switch (kind) {
+            case BUSY_SPIN -> new BusySpin();
+            case YIELDING -> new Yielding();
+            case SLEEPING -> new Sleeping();
+            case BLOCKING -> new Blocking();
+        };
+    }
+
+    final class BusySpin implements WaitStrategy {
+        @Override
+        public long waitFor(long sequence, DrawEventRingBuffer ringBuffer, BooleanSupplier running) {
+            long available;
+            while ((available = ringBuffer.cursor()) < sequence && running.getAsBoolean()) {
+                Thread.onSpinWait();
+            }
+            return available;
+        }
+    }
+
+    final class Yielding implements WaitStrategy {
+        private static final int SPIN_TRIES = 100;
+
+        @Override
+        public long waitFor(long sequence, DrawEventRingBuffer ringBuffer, BooleanSupplier running) {
+            int counter = SPIN_TRIES;
+            long available;
+            while ((available = ringBuffer.cursor()) < sequence && running.getAsBoolean()) {
+                if (counter > 0) {
+                    counter--;
+                    Thread.onSpinWait();
+                } else {
+                    Thread.yield();
+                }
+            }
+            return available;
+        }
+    }
+
+    final class Sleeping implements WaitStrategy {
+        private static final int SPIN_TRIES = 100;
+        private static final int YIELD_TRIES = 100;
+        private static final long SLEEP_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+        @Override
+        public long waitFor(long sequence, DrawEventRingBuffer ringBuffer, BooleanSupplier running) {
+            int counter = SPIN_TRIES + YIELD_TRIES;
+            long available;
+            while ((available = ringBuffer.cursor()) < sequence && running.getAsBoolean()) {
+                if (counter > YIELD_TRIES) {
+                    counter--;
+                    Thread.onSpinWait();
+                } else if (counter > 0) {
+                    counter--;
+                    Thread.yield();
+                } else {
+                    LockSupport.parkNanos(SLEEP_NANOS);
+                }
+            }
+            return available;
+        }
+    }
+
+    final class Blocking implements WaitStrategy {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition published = lock.newCondition();
+
+        @Override
+        public long waitFor(long sequence, DrawEventRingBuffer ringBuffer, BooleanSupplier running) {
+            long available = ringBuffer.cursor();
+            if (available >= sequence) {
+                return available;
+            }
+            lock.lock();
+            try {
+                while ((available = ringBuffer.cursor()) < sequence && running.getAsBoolean()) {
+                    // シグナルの取りこぼしに備えて一定時間で再確認する
+                    published.await(10, TimeUnit.MILLISECONDS);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                lock.unlock();
+            }
+            return available;
+        }
+
+        @Override
+        public void signalAllWhenBlocking() {
+            lock.lock();
+            try {
+                published.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.yourcompany.schoolasset.infrastructure.invalidation;
+
+import com.yourcompany.schoolasset.application.service.master.MasterDataCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * マスタ変更通知の受信 (PostgreSQL LISTEN/NOTIFY)
+ * 責務：
+ * 1. 接続プールとは別の専用接続で master_data_changed を LISTEN し、変更されたプール・アイテムだけを読み直す
+ * 2. 版数の連番が飛んだ場合・TRUNCATE の場合は全件を読み直す
+ * 3. 接続が切れたら指数バックオフで再接続し、切断中の通知は受け取れないため再接続直後に版数を確認して読み直す
+ *
+ * 通知はトリガー (V7) が送るため、管理画面・DB 直接更新のどちらでも全インスタンスに届く。
+ * 定期的な版数確認 (MasterDataCache#refresh) は取りこぼしの最終的な保険として残す。
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "gacha.master.invalidation.enabled", havingValue = "true", matchIfMissing = true)
+public class MasterDataChangeListener implements SmartLifecycle {
+
+    static final String CHANNEL = "master_data_changed";
+
+    private static final Duration INITIAL_BACKOFF = Duration.ofMillis(500);
+
+    private final MasterDataCache masterDataCache;
+    private final DataSourceProperties dataSourceProperties;
+    private final Counter rowReloads;
+    private final Counter fullReloads;
+    private final Counter reconnects;
+
+    @Value("${gacha.master.invalidation.poll-timeout-ms:500}")
+    private int pollTimeoutMillis;
+
+    @Value("${gacha.master.invalidation.max-backoff:30s}")
+    private Duration maxBackoff;
+
+    private volatile boolean running;
+    private volatile Thread worker;
+
+    public MasterDataChangeListener(MasterDataCache masterDataCache,
+                                    DataSourceProperties dataSourceProperties,
+                                    MeterRegistry meterRegistry) {
+        this.masterDataCache = masterDataCache;
+        this.dataSourceProperties = dataSourceProperties;
+        this.rowReloads = meterRegistry.counter("gacha.master.invalidation", "type", "row");
+        this.fullReloads = meterRegistry.counter("gacha.master.invalidation", "type", "full");
+        this.reconnects = meterRegistry.counter("gacha.master.invalidation", "type", "reconnect");
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        worker = Thread.ofPlatform().daemon().name("master-data-listener").start(this::listenLoop);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Thread current = worker;
+        if (current != null) {
+            current.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void listenLoop() {
+        Duration backoff = INITIAL_BACKOFF;
+        boolean firstConnect = true;
+        while (running) {
+            try (Connection connection = connect()) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                if (!firstConnect) {
+                    reconnects.increment();
+                    // 切断中の通知は失われているため、LISTEN 開始後に版数を確認して差分があれば読み直す
+                    masterDataCache.refresh();
+                }
+                log.info("Listening for master data changes. channel={}", CHANNEL);
+                firstConnect = false;
+                backoff = INITIAL_BACKOFF;
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(pollTimeoutMillis);
+                    if (notifications == null) {
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        apply(notification.getParameter());
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Master data listener disconnected. Reconnecting in {} ms", backoff.toMillis(), e);
+                if (!sleep(backoff)) {
+                    return;
+                }
+                backoff = backoff.multipliedBy(2).compareTo(maxBackoff) > 0 ? maxBackoff : backoff.multipliedBy(2);
+            }
+        }
+    }
+
+    /**
+     * 通知の反映 ('row:<table>:<id>' または 'version:<version>:<操作>')
+     */
+    void apply(String payload) {
+        MasterDataChange change = MasterDataChange.parse(payload);
+        switch (change) {
+            case MasterDataChange.PoolChanged pool -> {
+                masterDataCache.reloadPool(pool.poolId());
+                rowReloads.increment();
+            }
+            case MasterDataChange.ItemChanged item -> {
+                masterDataCache.reloadItem(item.itemId());
+                rowReloads.increment();
+            }
+            case MasterDataChange.VersionAdvanced version -> {
+                if (masterDataCache.advanceVersion(version.version(), version.requiresFullReload())) {
+                    fullReloads.increment();
+                }
+            }
+            case MasterDataChange.Unknown unknown ->
+                    log.warn("Ignoring unknown master data notification. payload={}", unknown.payload());
+        }
+    }
+
+    private Connection connect() throws SQLException {
+        // 接続プールの接続を占有しないよう、専用の接続を張る
+        return DriverManager.getConnection(
+                dataSourceProperties.determineUrl(),
+                dataSourceProperties.determineUsername(),
+                dataSourceProperties.determinePassword());
+    }
+
+    private static boolean sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * 通知のペイロード
+     */
+    sealed interface MasterDataChange {
+
+        record PoolChanged(UUID poolId) implements MasterDataChange {
+        }
+
+        record ItemChanged(UUID itemId) implements MasterDataChange {
+        }
+
+        record VersionAdvanced(long version, boolean requiresFullReload) implements MasterDataChange {
+        }
+
+        record Unknown(String payload) implements MasterDataChange {
+        }
+
+        static MasterDataChange parse(String payload) {
+            String[] parts = payload == null ? new String[0] : payload.split(":", 3);
+            try {
+                if (parts.length == 3 && parts[0].equals("row")) {
+                    UUID id = UUID.fromString(parts[2]);
+                    return switch (parts[1]) {
+                        case "gacha_pools" -> new PoolChanged(id);
+                        case "items" -> new ItemChanged(id);
+                        default -> new Unknown(payload);
+                    };
+                }
+                if (parts.length == 3 && parts[0].equals("version")) {
+                    return new VersionAdvanced(Long.parseLong(parts[1]), parts[2].equals("TRUNCATE"));
+                }
+            } catch (IllegalArgumentException e) {
+                return new Unknown(payload);
+            }
+            return new Unknown(payload);
+        }
+    }
+}
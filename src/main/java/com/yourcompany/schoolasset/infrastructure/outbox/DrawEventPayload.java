@@ -0,0 +1,37 @@
+package com.yourcompany.schoolasset.infrastructure.outbox;
+
+import com.yourcompany.domain.model.gacha.EmissionResult;
+import com.yourcompany.domain.model.gacha.event.GachaDrawnEvent;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 外部へ配信する抽選イベントの形式
+ * ドメインイベントをそのままシリアライズせず、外部との契約として固定する
+ * (抽選シードなど内部向けの情報は含めない)。
+ */
+public record DrawEventPayload(
+        String requestId,
+        UUID userId,
+        UUID poolId,
+        int consumedPaid,
+        int consumedFree,
+        List<EmissionResult> results,
+        Instant occurredAt
+) {
+    public static final String EVENT_TYPE = "GachaDrawn";
+
+    public static DrawEventPayload from(GachaDrawnEvent event) {
+        return new DrawEventPayload(
+                event.requestId().toString(),
+                event.userId(),
+                event.poolId(),
+                event.consumedPaid(),
+                event.consumedFree(),
+                event.results(),
+                event.occurredAt()
+        );
+    }
+}
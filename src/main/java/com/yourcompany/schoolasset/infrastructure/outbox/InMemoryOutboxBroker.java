@@ -0,0 +1,70 @@
+package com.yourcompany.schoolasset.infrastructure.outbox;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 組み込みのインメモリ・ブローカー (テスト・ローカル検証用)
+ * 外部ブローカーと同様に userId のハッシュでパーティションに振り分けるため、
+ * 同一ユーザーのメッセージは同じパーティション内で順序が保たれる。
+ */
+@Component
+@ConditionalOnProperty(name = "gacha.outbox.sink", havingValue = "memory")
+public class InMemoryOutboxBroker implements OutboxSink {
+
+    private final List<LinkedBlockingQueue<OutboxMessage>> partitions;
+
+    public InMemoryOutboxBroker(@Value("${gacha.outbox.memory.partitions:8}") int partitionCount) {
+        this.partitions = new ArrayList<>(partitionCount);
+        for (int i = 0; i < partitionCount; i++) {
+            partitions.add(new LinkedBlockingQueue<>());
+        }
+    }
+
+    @Override
+    public String name() {
+        return "memory";
+    }
+
+    @Override
+    public void publish(List<OutboxMessage> messages) {
+        for (OutboxMessage message : messages) {
+            partitions.get(partitionOf(message.userId())).add(message);
+        }
+    }
+
+    public int partitionCount() {
+        return partitions.size();
+    }
+
+    public int partitionOf(UUID userId) {
+        return Math.floorMod(userId.hashCode(), partitions.size());
+    }
+
+    /**
+     * パーティションから最大 maxMessages 件を取り出す (空なら timeout まで待つ)
+     */
+    public List<OutboxMessage> poll(int partition, int maxMessages, long timeout, TimeUnit unit)
+            throws InterruptedException {
+        LinkedBlockingQueue<OutboxMessage> queue = partitions.get(partition);
+        List<OutboxMessage> messages = new ArrayList<>(Math.min(maxMessages, 64));
+        OutboxMessage first = queue.poll(timeout, unit);
+        if (first == null) {
+            return messages;
+        }
+        messages.add(first);
+        queue.drainTo(messages, maxMessages - 1);
+        return messages;
+    }
+
+    public long size() {
+        return partitions.stream().mapToLong(LinkedBlockingQueue::size).sum();
+    }
+}
@@ -0,0 +1,74 @@
+package com.yourcompany.schoolasset.infrastructure.outbox;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * NDJSON ファイルへの配信 (既定)
+ * 1メッセージ1行で追記し、バッチごとに fsync してから配信済みにする。
+ * 外部ブローカー導入までの受け渡し・監査用。
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "gacha.outbox.sink", havingValue = "file", matchIfMissing = true)
+public class NdjsonFileOutboxSink implements OutboxSink {
+
+    private final ObjectMapper objectMapper;
+    private final Path path;
+
+    public NdjsonFileOutboxSink(ObjectMapper objectMapper,
+                                @Value("${gacha.outbox.file.path:./outbox/draw-events.ndjson}") Path path) {
+        this.objectMapper = objectMapper;
+        this.path = path;
+    }
+
+    @Override
+    public String name() {
+        return "file";
+    }
+
+    @Override
+    public synchronized void publish(List<OutboxMessage> messages) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(messages.size() * 512);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(buffer)) {
+            generator.setRootValueSeparator(null);
+            for (OutboxMessage message : messages) {
+                generator.writeStartObject();
+                generator.writeNumberField("outboxId", message.id());
+                generator.writeStringField("type", message.eventType());
+                generator.writeStringField("requestId", message.requestId());
+                generator.writeStringField("userId", message.userId().toString());
+                generator.writeFieldName("payload");
+                generator.writeRawValue(message.payload());
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+            }
+        }
+
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer bytes = ByteBuffer.wrap(buffer.toByteArray());
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+            channel.force(false);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.yourcompany.schoolasset.infrastructure.outbox;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Outbox の1行 (配信単位)
+ *
+ * @param id      配信順序 (同一ユーザー内ではコミット順と一致する)
+ * @param payload JSON 文字列
+ */
+public record OutboxMessage(
+        long id,
+        String requestId,
+        UUID userId,
+        String eventType,
+        String payload,
+        int attempts,
+        Instant createdAt
+) {}
@@ -0,0 +1,193 @@
+package com.yourcompany.schoolasset.infrastructure.outbox;
+
+import com.yourcompany.config.infrastructure.datasource.shard.UserShardScope;
+import com.yourcompany.schoolasset.infrastructure.persistence.repository.DrawEventOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Outbox リレー
+ * 未配信メッセージをバッチで取り出し (FOR UPDATE SKIP LOCKED)、配信先へ送ってから配信済みにする。
+ * 配信とマークは同じトランザクションのため、配信後・コミット前に落ちた場合は再送される (at-least-once)。
+ * 配信に失敗したバッチはロールバックし、指数バックオフで待ってから同じ順序のまま再送する。
+ * 試行回数の上限に達したメッセージはデッドレターにして配信対象から外す。
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "gacha.outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay {
+
+    private final DrawEventOutboxRepository outboxRepository;
+    private final OutboxSink sink;
+    private final TransactionTemplate transactionTemplate;
+    private final UserShardScope shardScope;
+    private final OutboxRetryPolicy retryPolicy;
+
+    private final Counter publishedCounter;
+    private final Counter failedCounter;
+    private final Counter deadLetteredCounter;
+    private final Timer publishTimer;
+    // 直近に配信したメッセージの滞留時間 (作成から配信まで)
+    private final AtomicLong lagMillis = new AtomicLong();
+
+    @Value("${gacha.outbox.relay.batch-size:500}")
+    private int batchSize;
+
+    // 1回のポーリングで連続して処理する最大バッチ数 (滞留時に一気に追いつくため)
+    @Value("${gacha.outbox.relay.max-batches-per-poll:20}")
+    private int maxBatchesPerPoll;
+
+    @Value("${gacha.outbox.retention:P7D}")
+    private Duration retention;
+
+    public OutboxRelay(DrawEventOutboxRepository outboxRepository,
+                       OutboxSink sink,
+                       PlatformTransactionManager transactionManager,
+                       UserShardScope shardScope,
+                       MeterRegistry meterRegistry,
+                       @Value("${gacha.outbox.retry.base-delay:PT1S}") Duration retryBaseDelay,
+                       @Value("${gacha.outbox.retry.max-delay:PT5M}") Duration retryMaxDelay,
+                       @Value("${gacha.outbox.retry.max-attempts:20}") int maxAttempts) {
+        this.outboxRepository = outboxRepository;
+        this.sink = sink;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.shardScope = shardScope;
+        this.retryPolicy = new OutboxRetryPolicy(retryBaseDelay, retryMaxDelay, maxAttempts);
+        this.publishedCounter = meterRegistry.counter("gacha.outbox.messages", "sink", sink.name(), "result", "published");
+        this.failedCounter = meterRegistry.counter("gacha.outbox.messages", "sink", sink.name(), "result", "failed");
+        this.deadLetteredCounter = meterRegistry.counter("gacha.outbox.messages", "sink", sink.name(), "result", "dead_lettered");
+        this.publishTimer = meterRegistry.timer("gacha.outbox.publish", "sink", sink.name());
+        Gauge.builder("gacha.outbox.lag", lagMillis, AtomicLong::get)
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Outbox は抽選と同じトランザクション (= ユーザーの所属シャード) に書かれるため、全シャードを順に巡回する
+     */
+    @Scheduled(fixedDelayString = "${gacha.outbox.relay.poll-interval-ms:200}")
+    public void poll() {
+        for (String shard : shardScope.shardNames()) {
+            shardScope.onShard(shard, this::drain);
+        }
+    }
+
+    private Void drain() {
+        for (int i = 0; i < maxBatchesPerPoll; i++) {
+            if (relayBatch() < batchSize) {
+                break;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return 配信した件数
+     */
+    int relayBatch() {
+        Batch batch = transactionTemplate.execute(status -> {
+            List<OutboxMessage> messages = outboxRepository.lockPending(batchSize);
+            if (messages.isEmpty()) {
+                return new Batch(messages, null);
+            }
+            Timer.Sample sample = Timer.start();
+            try {
+                sink.publish(messages);
+            } catch (Exception e) {
+                status.setRollbackOnly();
+                return new Batch(messages, e);
+            } finally {
+                sample.stop(publishTimer);
+            }
+            outboxRepository.markPublished(messages.stream().map(OutboxMessage::id).toList(), Instant.now());
+            return new Batch(messages, null);
+        });
+
+        if (batch == null || batch.messages().isEmpty()) {
+            lagMillis.set(0);
+            return 0;
+        }
+
+        if (batch.error() != null) {
+            failedCounter.increment(batch.messages().size());
+            log.warn("Outbox publish failed. sink={}, size={}, firstId={}",
+                    sink.name(), batch.messages().size(), batch.messages().getFirst().id(), batch.error());
+            recordFailure(batch.messages());
+            return 0;
+        }
+
+        publishedCounter.increment(batch.messages().size());
+        lagMillis.set(Duration.between(batch.messages().getFirst().createdAt(), Instant.now()).toMillis());
+        return batch.messages().size();
+    }
+
+    /**
+     * 失敗したメッセージを試行回数に応じて再送待ちかデッドレターにする
+     */
+    private void recordFailure(List<OutboxMessage> messages) {
+        Instant now = Instant.now();
+        Map<Long, Instant> retries = new HashMap<>();
+        List<Long> deadLetters = new ArrayList<>();
+        for (OutboxMessage message : messages) {
+            if (retryPolicy.exhausted(message.attempts())) {
+                deadLetters.add(message.id());
+            } else {
+                retries.put(message.id(), retryPolicy.nextAttemptAt(message.attempts(), now));
+            }
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!retries.isEmpty()) {
+                outboxRepository.scheduleRetry(retries);
+            }
+            if (!deadLetters.isEmpty()) {
+                outboxRepository.deadLetter(deadLetters, now);
+            }
+        });
+        if (!deadLetters.isEmpty()) {
+            deadLetteredCounter.increment(deadLetters.size());
+            log.error("Outbox messages dead-lettered after {} attempts. sink={}, ids={}",
+                    retryPolicy.maxAttempts(), sink.name(), deadLetters);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${gacha.outbox.cleanup-interval-ms:3600000}")
+    public void purgePublished() {
+        Instant threshold = Instant.now().minus(retention);
+        for (String shard : shardScope.shardNames()) {
+            long total = shardScope.onShard(shard, () -> purgeBefore(threshold));
+            if (total > 0) {
+                log.info("Purged published outbox messages. shard={}, count={}, before={}", shard, total, threshold);
+            }
+        }
+    }
+
+    private long purgeBefore(Instant threshold) {
+        int deleted;
+        long total = 0;
+        do {
+            deleted = transactionTemplate.execute(status -> outboxRepository.deletePublishedBefore(threshold, 10_000));
+            total += deleted;
+        } while (deleted > 0);
+        return total;
+    }
+
+    private record Batch(List<OutboxMessage> messages, Exception error) {
+    }
+}
@@ -0,0 +1,54 @@
+package com.yourcompany.schoolasset.infrastructure.outbox;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Outbox の再送方針 (状態を持たない)
+ * 失敗するたびに待ち時間を倍にし (上限あり)、試行回数が上限に達したメッセージはデッドレターにする。
+ * 配信はバッチ単位のため、配信先の障害中はバッチ内の全メッセージが同じように試行回数を消費する
+ * (上限は配信先の想定停止時間より長くなるよう設定すること)。
+ *
+ * @param baseDelay   1回目の失敗後の待ち時間
+ * @param maxDelay    待ち時間の上限
+ * @param maxAttempts デッドレターにするまでの試行回数
+ */
+public record OutboxRetryPolicy(Duration baseDelay, Duration maxDelay, int maxAttempts) {
+
+    public OutboxRetryPolicy {
+        if (baseDelay.isNegative() || maxDelay.compareTo(baseDelay) < 0) {
+            throw new IllegalArgumentException("Invalid backoff. base=" + baseDelay + ", max=" + maxDelay);
+        }
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("maxAttempts must be positive: " + maxAttempts);
+        }
+    }
+
+    /**
+     * 今回の失敗で試行回数の上限に達したか
+     *
+     * @param attempts 今回の失敗を含まない、これまでの試行回数
+     */
+    public boolean exhausted(int attempts) {
+        return attempts + 1 >= maxAttempts;
+    }
+
+    /**
+     * 今回の失敗後の待ち時間 (base * 2^attempts、上限 maxDelay)
+     *
+     * @param attempts 今回の失敗を含まない、これまでの試行回数
+     */
+    public Duration delayFor(int attempts) {
+        int shift = Math.min(Math.max(attempts, 0), 62);
+        long baseMillis = baseDelay.toMillis();
+        long maxMillis = maxDelay.toMillis();
+        if (baseMillis == 0 || baseMillis > maxMillis >> shift) {
+            return baseMillis == 0 ? Duration.ZERO : maxDelay;
+        }
+        return Duration.ofMillis(Math.min(baseMillis << shift, maxMillis));
+    }
+
+    public Instant nextAttemptAt(int attempts, Instant failedAt) {
+        return failedAt.plus(delayFor(attempts));
+    }
+}
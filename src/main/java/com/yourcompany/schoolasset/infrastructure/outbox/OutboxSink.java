@@ -0,0 +1,18 @@
+package com.yourcompany.schoolasset.infrastructure.outbox;
+
+import java.util.List;
+
+/**
+ * Outbox の配信先
+ * publish が正常終了した時点で配信済みとして記録される。
+ * 失敗 (例外) の場合はバッチ全体が再送されるため、受信側は requestId で重複排除すること (at-least-once)。
+ */
+public interface OutboxSink {
+
+    String name();
+
+    /**
+     * @param messages id 順 (同一ユーザーのメッセージは順序どおり)
+     */
+    void publish(List<OutboxMessage> messages) throws Exception;
+}
@@ -0,0 +1,67 @@
+package com.yourcompany.schoolasset.infrastructure.persistence.repository;
+
+import com.yourcompany.domain.model.gacha.box.BoxLayout;
+import com.yourcompany.domain.model.gacha.box.BoxState;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * user_box_states の読み書き (ボックスガチャの抽選用)
+ * 抽選ではウォレットのロック後に読むため、同じユーザーの抽選・箱の入れ替えとは直列化される。
+ * 書き込みは GachaStateJdbcRepository と同じく version による楽観ロック付きの upsert。
+ */
+@Repository
+@RequiredArgsConstructor
+public class BoxStateJdbcRepository {
+
+    // 新規作成のつもりで upsert したときの期待 version (既存行とは決して一致しない)
+    public static final long NEW_BOX_VERSION = -1L;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 箱の状態を読み込む (保存されていなければ初回の箱)
+     */
+    public BoxState findOrFresh(UUID userId, UUID poolId, BoxLayout layout) {
+        List<BoxState> found = jdbcTemplate.query(
+                "SELECT box_number, layout_fingerprint, remaining, version" +
+                        " FROM user_box_states WHERE user_id = ? AND gacha_pool_id = ?",
+                (rs, rowNum) -> BoxState.restore(userId, poolId, layout,
+                        rs.getInt("box_number"),
+                        rs.getLong("layout_fingerprint"),
+                        rs.getBytes("remaining"),
+                        rs.getLong("version")),
+                userId, poolId);
+        return found.isEmpty() ? BoxState.fresh(userId, poolId, layout, NEW_BOX_VERSION) : found.get(0);
+    }
+
+    /**
+     * 楽観ロック付き upsert
+     *
+     * @return 書き込み後の version。他で更新されていた (競合) 場合は空
+     */
+    public OptionalLong upsert(BoxState state) {
+        List<Long> versions = jdbcTemplate.queryForList(
+                "INSERT INTO user_box_states" +
+                        " (user_id, gacha_pool_id, box_number, layout_fingerprint, remaining, version, updated_at)" +
+                        " VALUES (?, ?, ?, ?, ?, 0, CURRENT_TIMESTAMP)" +
+                        " ON CONFLICT (user_id, gacha_pool_id) DO UPDATE SET" +
+                        "   box_number = EXCLUDED.box_number," +
+                        "   layout_fingerprint = EXCLUDED.layout_fingerprint," +
+                        "   remaining = EXCLUDED.remaining," +
+                        "   version = user_box_states.version + 1," +
+                        "   updated_at = CURRENT_TIMESTAMP" +
+                        " WHERE user_box_states.version = ?" +
+                        " RETURNING version",
+                Long.class,
+                state.getUserId(), state.getGachaPoolId(), state.getBoxNumber(),
+                state.getLayout().fingerprint(), state.encodeRemaining(),
+                state.getVersion());
+        return versions.isEmpty() ? OptionalLong.empty() : OptionalLong.of(versions.get(0));
+    }
+}
@@ -0,0 +1,65 @@
+package com.yourcompany.schoolasset.infrastructure.persistence.repository;
+
+import com.yourcompany.domain.model.gacha.GachaState;
+import com.yourcompany.domain.model.inventory.InventoryItem;
+import com.yourcompany.domain.model.wallet.Wallet;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 抽選の開始時点の状態 (ウォレットをロックした時点のスナップショット)
+ * DrawContextRepository が1文で読み込む。値のみを持ち、ドメインオブジェクトは必要な時点で復元する。
+ *
+ * @param state     このプールのガチャ状態。行がなければ null
+ * @param inventory プールの排出アイテムのうち、ユーザーが所持レコードを持つもの
+ */
+public record DrawContext(
+        UUID userId,
+        UUID poolId,
+        WalletRow wallet,
+        StateRow state,
+        Map<UUID, InventoryRow> inventory
+) {
+    // 行がない所持レコードを upsert するときの期待 version (既存行とは決して一致しない)
+    public static final long NEW_ROW_VERSION = -1L;
+
+    public DrawContext {
+        inventory = Map.copyOf(inventory);
+    }
+
+    public Wallet restoreWallet() {
+        return Wallet.restore(userId, wallet.paidStones(), wallet.freeStones(), wallet.version());
+    }
+
+    public GachaState restoreState() {
+        return state == null
+                ? GachaState.create(userId, poolId)
+                : GachaState.restore(userId, poolId, state.pityCount(), state.guaranteedCount(), state.version());
+    }
+
+    public long stateVersion() {
+        return state == null ? GachaStateJdbcRepository.NEW_STATE_VERSION : state.version();
+    }
+
+    public InventoryItem restoreInventory(UUID itemId) {
+        InventoryRow row = inventory.get(itemId);
+        return row == null
+                ? InventoryItem.create(userId, itemId)
+                : InventoryItem.restore(userId, itemId, row.quantity(), row.version());
+    }
+
+    public long inventoryVersion(UUID itemId) {
+        InventoryRow row = inventory.get(itemId);
+        return row == null ? NEW_ROW_VERSION : row.version();
+    }
+
+    public record WalletRow(int paidStones, int freeStones, long version) {
+    }
+
+    public record StateRow(int pityCount, int guaranteedCount, long version) {
+    }
+
+    public record InventoryRow(int quantity, long version) {
+    }
+}
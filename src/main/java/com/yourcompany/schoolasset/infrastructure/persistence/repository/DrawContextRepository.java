@@ -0,0 +1,178 @@
+package com.yourcompany.schoolasset.infrastructure.persistence.repository;
+
+import com.yourcompany.domain.model.inventory.InventoryItem;
+import com.yourcompany.domain.model.wallet.Wallet;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * 抽選に必要なユーザー側の状態の読み込みと書き戻し (抽選のホットパス用)
+ *
+ * ウォレット (FOR UPDATE)・ガチャ状態・排出アイテムの所持レコードを1文で取得し、往復回数を1回にする。
+ * 書き戻しはそれぞれ version による楽観ロック付きの UPDATE / upsert で行う。
+ * 読み込んだ行を永続化コンテキストに載せないため JPA は使わない。
+ */
+@Repository
+@RequiredArgsConstructor
+public class DrawContextRepository {
+
+    private static final ResultSetExtractor<LoadedRows> ROWS_EXTRACTOR = DrawContextRepository::readRows;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * ウォレットをロックして抽選コンテキストを読み込む (呼び出し側のトランザクション内で実行すること)
+     *
+     * READ COMMITTED では、ロック待ちの間に他のトランザクションがコミットした場合、
+     * ロックした行 (ウォレット) だけが最新版で読み直され、JOIN した行は文の開始時点のままになる。
+     * 同じ文のスナップショットで読んだウォレットの version と比べてこれを検出し、
+     * その場合のみロック取得後にガチャ状態と所持レコードを読み直す (ユーザー単位の競合時だけ2往復)。
+     *
+     * @param itemIds プールの排出アイテム
+     * @return ウォレットがない場合は空
+     */
+    public Optional<DrawContext> lockAndLoad(UUID userId, UUID poolId, Collection<UUID> itemIds) {
+        List<Object> args = new ArrayList<>(itemIds.size() + 3);
+        args.add(poolId);
+        args.addAll(itemIds);
+        args.add(userId);
+
+        String itemFilter = itemIds.isEmpty() ? "FALSE" : "ui.item_id IN (" + placeholders(itemIds.size()) + ")";
+        LoadedRows rows = jdbcTemplate.query(
+                "SELECT w.paid_stones, w.free_stones, w.version AS wallet_version," +
+                        " (SELECT w2.version FROM wallets w2 WHERE w2.user_id = w.user_id) AS snapshot_wallet_version," +
+                        " s.current_pity_count, s.current_guaranteed_count, s.version AS state_version," +
+                        " ui.item_id, ui.quantity, ui.version AS item_version" +
+                        " FROM wallets w" +
+                        " LEFT JOIN user_gacha_states s ON s.user_id = w.user_id AND s.gacha_pool_id = ?" +
+                        " LEFT JOIN user_items ui ON ui.user_id = w.user_id AND " + itemFilter +
+                        " WHERE w.user_id = ?" +
+                        " FOR UPDATE OF w",
+                ROWS_EXTRACTOR,
+                args.toArray());
+
+        if (rows == null) {
+            return Optional.empty();
+        }
+        if (rows.snapshotWalletVersion != rows.wallet.version()) {
+            rows = reloadAfterLock(rows.wallet, userId, poolId, itemIds);
+        }
+        return Optional.of(new DrawContext(userId, poolId, rows.wallet, rows.state, rows.inventory));
+    }
+
+    /**
+     * 楽観ロック付きの残高更新
+     *
+     * @return 更新後の version。他で更新されていた場合は空
+     */
+    public OptionalLong updateWallet(Wallet wallet, long expectedVersion) {
+        List<Long> versions = jdbcTemplate.queryForList(
+                "UPDATE wallets SET paid_stones = ?, free_stones = ?, version = version + 1, updated_at = CURRENT_TIMESTAMP" +
+                        " WHERE user_id = ? AND version = ?" +
+                        " RETURNING version",
+                Long.class, wallet.getPaidStones(), wallet.getFreeStones(), wallet.getUserId(), expectedVersion);
+        return versions.isEmpty() ? OptionalLong.empty() : OptionalLong.of(versions.get(0));
+    }
+
+    /**
+     * 楽観ロック付きの所持数 upsert (1文でまとめて書き込む)
+     *
+     * @param expectedVersions item_id ごとの読み込み時の version。行がなかった場合は DrawContext.NEW_ROW_VERSION
+     * @return すべての行を書き込めた場合 true
+     */
+    public boolean upsertInventory(Collection<InventoryItem> items, Map<UUID, Long> expectedVersions) {
+        if (items.isEmpty()) {
+            return true;
+        }
+        List<Object> args = new ArrayList<>(items.size() * 4);
+        for (InventoryItem item : items) {
+            args.add(item.getUserId());
+            args.add(item.getItemId());
+            args.add(item.getQuantity());
+            args.add(expectedVersions.getOrDefault(item.getItemId(), DrawContext.NEW_ROW_VERSION));
+        }
+        List<UUID> written = jdbcTemplate.queryForList(
+                "WITH t (user_id, item_id, quantity, expected_version) AS (VALUES " +
+                        String.join(",", Collections.nCopies(items.size(), "(?::uuid, ?::uuid, ?::int, ?::bigint)")) + ")" +
+                        " INSERT INTO user_items AS ui (user_id, item_id, quantity, version, updated_at)" +
+                        " SELECT t.user_id, t.item_id, t.quantity, 0, CURRENT_TIMESTAMP FROM t" +
+                        " ON CONFLICT (user_id, item_id) DO UPDATE SET" +
+                        "   quantity = EXCLUDED.quantity," +
+                        "   version = ui.version + 1," +
+                        "   updated_at = CURRENT_TIMESTAMP" +
+                        " WHERE ui.version = (SELECT t.expected_version FROM t WHERE t.item_id = ui.item_id)" +
+                        " RETURNING ui.item_id",
+                UUID.class, args.toArray());
+        return written.size() == items.size();
+    }
+
+    private LoadedRows reloadAfterLock(DrawContext.WalletRow wallet, UUID userId, UUID poolId, Collection<UUID> itemIds) {
+        List<Object> args = new ArrayList<>(itemIds.size() + 2);
+        args.add(poolId);
+        args.addAll(itemIds);
+        args.add(userId);
+
+        String itemFilter = itemIds.isEmpty() ? "FALSE" : "ui.item_id IN (" + placeholders(itemIds.size()) + ")";
+        LoadedRows rows = jdbcTemplate.query(
+                "SELECT w.paid_stones, w.free_stones, w.version AS wallet_version, w.version AS snapshot_wallet_version," +
+                        " s.current_pity_count, s.current_guaranteed_count, s.version AS state_version," +
+                        " ui.item_id, ui.quantity, ui.version AS item_version" +
+                        " FROM wallets w" +
+                        " LEFT JOIN user_gacha_states s ON s.user_id = w.user_id AND s.gacha_pool_id = ?" +
+                        " LEFT JOIN user_items ui ON ui.user_id = w.user_id AND " + itemFilter +
+                        " WHERE w.user_id = ?",
+                ROWS_EXTRACTOR,
+                args.toArray());
+        // ロックは保持しているため、ウォレットは1回目の読み込み結果と同じ
+        return rows != null ? rows : new LoadedRows(wallet, wallet.version(), null, Map.of());
+    }
+
+    private static LoadedRows readRows(ResultSet rs) throws SQLException {
+        if (!rs.next()) {
+            return null;
+        }
+        DrawContext.WalletRow wallet = new DrawContext.WalletRow(
+                rs.getInt("paid_stones"), rs.getInt("free_stones"), rs.getLong("wallet_version"));
+        long snapshotWalletVersion = rs.getLong("snapshot_wallet_version");
+
+        // ガチャ状態は全行で同じ値 (所持レコードの行数分繰り返される)
+        DrawContext.StateRow state = null;
+        long stateVersion = rs.getLong("state_version");
+        if (!rs.wasNull()) {
+            state = new DrawContext.StateRow(
+                    rs.getInt("current_pity_count"), rs.getInt("current_guaranteed_count"), stateVersion);
+        }
+
+        Map<UUID, DrawContext.InventoryRow> inventory = new HashMap<>();
+        do {
+            UUID itemId = rs.getObject("item_id", UUID.class);
+            if (itemId != null) {
+                inventory.put(itemId, new DrawContext.InventoryRow(rs.getInt("quantity"), rs.getLong("item_version")));
+            }
+        } while (rs.next());
+
+        return new LoadedRows(wallet, snapshotWalletVersion, state, inventory);
+    }
+
+    private static String placeholders(int count) {
+        return String.join(",", Collections.nCopies(count, "?"));
+    }
+
+    private record LoadedRows(DrawContext.WalletRow wallet, long snapshotWalletVersion,
+                              DrawContext.StateRow state, Map<UUID, DrawContext.InventoryRow> inventory) {
+    }
+}
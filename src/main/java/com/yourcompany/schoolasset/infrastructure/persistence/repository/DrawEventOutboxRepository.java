@@ -0,0 +1,109 @@
+package com.yourcompany.schoolasset.infrastructure.persistence.repository;
+
+import com.yourcompany.schoolasset.infrastructure.outbox.OutboxMessage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * draw_event_outbox へのアクセス
+ * 取り出しは FOR UPDATE SKIP LOCKED で行い、複数ノードのリレーが同じ行を掴まないようにする。
+ */
+@Repository
+@RequiredArgsConstructor
+public class DrawEventOutboxRepository {
+
+    private static final RowMapper<OutboxMessage> ROW_MAPPER = (rs, rowNum) -> new OutboxMessage(
+            rs.getLong("id"),
+            rs.getString("request_id"),
+            rs.getObject("user_id", UUID.class),
+            rs.getString("event_type"),
+            rs.getString("payload"),
+            rs.getInt("attempts"),
+            rs.getTimestamp("created_at").toInstant()
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 抽選と同じトランザクションで追記する
+     */
+    public void append(String requestId, UUID userId, String eventType, String payload) {
+        jdbcTemplate.update(
+                "INSERT INTO draw_event_outbox (request_id, user_id, event_type, payload) VALUES (?, ?, ?, ?)",
+                requestId, userId, eventType, payload);
+    }
+
+    /**
+     * 未配信メッセージをロックして取り出す (呼び出し側のトランザクション内で実行すること)
+     * ユーザーごとに「未配信のうち最も古い1件」だけを対象にする。
+     * 先頭の行を他のリレーがロック中なら、そのユーザーの後続も取り出されないため、
+     * 複数ノードで並行に配信しても同一ユーザー内の順序は崩れない。
+     * 再送待ち (next_attempt_at が未来) の先頭がある間は、そのユーザーの後続も待たせる。
+     * デッドレターは先頭判定からも除くため、後続の配信が再開される (そのユーザーの順序はそこで途切れる)。
+     */
+    public List<OutboxMessage> lockPending(int limit) {
+        return jdbcTemplate.query(
+                "SELECT o.id, o.request_id, o.user_id, o.event_type, o.payload, o.attempts, o.created_at" +
+                        " FROM draw_event_outbox o" +
+                        " WHERE o.published_at IS NULL AND o.dead_lettered_at IS NULL" +
+                        " AND (o.next_attempt_at IS NULL OR o.next_attempt_at <= CURRENT_TIMESTAMP)" +
+                        " AND NOT EXISTS (SELECT 1 FROM draw_event_outbox p" +
+                        "   WHERE p.user_id = o.user_id AND p.published_at IS NULL AND p.dead_lettered_at IS NULL" +
+                        "   AND p.id < o.id)" +
+                        " ORDER BY o.id" +
+                        " LIMIT ?" +
+                        " FOR UPDATE SKIP LOCKED",
+                ROW_MAPPER, limit);
+    }
+
+    public void markPublished(List<Long> ids, Instant publishedAt) {
+        jdbcTemplate.update(
+                "UPDATE draw_event_outbox SET published_at = ?, attempts = attempts + 1 WHERE id = ANY (?)",
+                Timestamp.from(publishedAt), ids.toArray(Long[]::new));
+    }
+
+    /**
+     * 配信失敗の記録 (取り出しとは別トランザクションで実行する)
+     * 試行回数を増やし、次の試行時刻まで取り出し対象から外す。
+     *
+     * @param nextAttemptAt id -> 次の試行時刻
+     */
+    public void scheduleRetry(Map<Long, Instant> nextAttemptAt) {
+        jdbcTemplate.batchUpdate(
+                "UPDATE draw_event_outbox SET attempts = attempts + 1, next_attempt_at = ? WHERE id = ?",
+                nextAttemptAt.entrySet().stream()
+                        .map(entry -> new Object[]{Timestamp.from(entry.getValue()), entry.getKey()})
+                        .toList());
+    }
+
+    /**
+     * 試行回数の上限に達したメッセージをデッドレターにする (取り出しとは別トランザクションで実行する)
+     * 行は削除せず、保持期間による掃除の対象にもならない。
+     */
+    public void deadLetter(List<Long> ids, Instant deadLetteredAt) {
+        jdbcTemplate.update(
+                "UPDATE draw_event_outbox SET attempts = attempts + 1, next_attempt_at = NULL, dead_lettered_at = ?" +
+                        " WHERE id = ANY (?)",
+                Timestamp.from(deadLetteredAt), ids.toArray(Long[]::new));
+    }
+
+    /**
+     * 保持期間を過ぎた配信済みメッセージの削除
+     *
+     * @return 削除件数
+     */
+    public int deletePublishedBefore(Instant threshold, int limit) {
+        return jdbcTemplate.update(
+                "DELETE FROM draw_event_outbox WHERE id IN (" +
+                        " SELECT id FROM draw_event_outbox WHERE published_at < ? ORDER BY published_at LIMIT ?)",
+                Timestamp.from(threshold), limit);
+    }
+}
@@ -0,0 +1,125 @@
+package com.yourcompany.schoolasset.infrastructure.persistence.repository;
+
+import com.yourcompany.domain.model.limit.DrawLimitCounters;
+import com.yourcompany.domain.model.limit.DrawLimitCounters.PeriodCount;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 抽選の上限 (user_spending_caps) と上限判定用の集計 (user_draw_counters) の読み書き
+ * いずれもユーザーの所属シャードにあり、抽選と同じトランザクション (ウォレットのロック中) で使う。
+ * 集計はロック中に読んだ値に加算した結果をそのまま書くため、加算ではなく値の上書きで upsert する。
+ */
+@Repository
+@RequiredArgsConstructor
+public class DrawLimitJdbcRepository {
+
+    // 月間の集計の scope_id (ユーザーに1行)
+    private static final UUID NO_SCOPE = new UUID(0L, 0L);
+
+    private static final String CAP_ROW = "CAP";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 上限と集計をまとめて読み込む (1往復)
+     */
+    public DrawLimitCounters load(UUID userId) {
+        return jdbcTemplate.query(
+                "SELECT '" + CAP_ROW + "' AS counter_type, NULL::uuid AS scope_id, NULL::date AS period_start," +
+                        " monthly_paid_cap::bigint AS amount" +
+                        " FROM user_spending_caps WHERE user_id = ?" +
+                        " UNION ALL" +
+                        " SELECT counter_type, scope_id, period_start, amount FROM user_draw_counters WHERE user_id = ?",
+                countersExtractor(userId), userId, userId);
+    }
+
+    private static ResultSetExtractor<DrawLimitCounters> countersExtractor(UUID userId) {
+        return rs -> {
+            Integer cap = null;
+            PeriodCount monthly = null;
+            Map<UUID, PeriodCount> daily = new HashMap<>();
+            while (rs.next()) {
+                String type = rs.getString("counter_type");
+                if (CAP_ROW.equals(type)) {
+                    cap = (int) rs.getLong("amount");
+                    continue;
+                }
+                PeriodCount count = new PeriodCount(rs.getDate("period_start").toLocalDate(), rs.getLong("amount"));
+                switch (CounterType.valueOf(type)) {
+                    case MONTHLY_PAID -> monthly = count;
+                    case DAILY_POOL_DRAWS -> daily.put(rs.getObject("scope_id", UUID.class), count);
+                }
+            }
+            return DrawLimitCounters.restore(userId, cap, monthly, daily);
+        };
+    }
+
+    /**
+     * 抽選で変わった集計を書き込む (1往復)
+     *
+     * @param poolId 1日の集計を書き込むプール (上限のないプールの場合は null)
+     */
+    public void saveCounters(DrawLimitCounters counters, boolean monthlyChanged, UUID poolId) {
+        List<Object[]> rows = new ArrayList<>(2);
+        if (monthlyChanged) {
+            counters.monthlyPaidCount().ifPresent(count ->
+                    rows.add(row(counters.getUserId(), CounterType.MONTHLY_PAID, NO_SCOPE, count)));
+        }
+        if (poolId != null) {
+            counters.dailyDrawCount(poolId).ifPresent(count ->
+                    rows.add(row(counters.getUserId(), CounterType.DAILY_POOL_DRAWS, poolId, count)));
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO user_draw_counters (user_id, counter_type, scope_id, period_start, amount)" +
+                        " VALUES (?, ?, ?, ?, ?)" +
+                        " ON CONFLICT (user_id, counter_type, scope_id) DO UPDATE SET" +
+                        " period_start = EXCLUDED.period_start, amount = EXCLUDED.amount, updated_at = CURRENT_TIMESTAMP",
+                rows);
+    }
+
+    private static Object[] row(UUID userId, CounterType type, UUID scopeId, PeriodCount count) {
+        return new Object[]{userId, type.name(), scopeId, Date.valueOf(count.periodStart()), count.amount()};
+    }
+
+    /**
+     * 月間の有償石の利用上限を設定する (null で解除)
+     * ウォレットの version を進め、各ノードにキャッシュされた上限を無効にする。
+     *
+     * @return ウォレットがない場合は false
+     */
+    public boolean saveMonthlyPaidCap(UUID userId, Integer cap) {
+        int updated = jdbcTemplate.update(
+                "UPDATE wallets SET version = version + 1, updated_at = CURRENT_TIMESTAMP WHERE user_id = ?", userId);
+        if (updated == 0) {
+            return false;
+        }
+        if (cap == null) {
+            jdbcTemplate.update("DELETE FROM user_spending_caps WHERE user_id = ?", userId);
+        } else {
+            jdbcTemplate.update(
+                    "INSERT INTO user_spending_caps (user_id, monthly_paid_cap) VALUES (?, ?)" +
+                            " ON CONFLICT (user_id) DO UPDATE SET monthly_paid_cap = EXCLUDED.monthly_paid_cap," +
+                            " updated_at = CURRENT_TIMESTAMP",
+                    userId, cap);
+        }
+        return true;
+    }
+
+    private enum CounterType {
+        MONTHLY_PAID,
+        DAILY_POOL_DRAWS
+    }
+}
@@ -0,0 +1,138 @@
+package com.yourcompany.schoolasset.infrastructure.persistence.repository;
+
+import com.yourcompany.schoolasset.application.service.stats.DrawStatsAccumulator.PoolDayDelta;
+import com.yourcompany.schoolasset.application.service.stats.DrawStatsAccumulator.UserPoolDelta;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * 抽選の集計テーブル (user_pool_draw_stats / pool_daily_rarity_stats) の読み書き
+ * 書き込みは加算分の一括 UPSERT のみ。参照は主キーで引くため、履歴の量によらず一定時間で返る。
+ * 接続先シャードは呼び出し側で決めること (ユーザー×プールはユーザーの所属シャード、プール×日はディレクトリシャード)。
+ */
+@Repository
+@RequiredArgsConstructor
+public class DrawStatsJdbcRepository {
+
+    private static final String UPSERT_USER_POOL =
+            "INSERT INTO user_pool_draw_stats" +
+                    " (user_id, pool_id, draw_count, emission_count, consumed_paid, consumed_free, last_drawn_at)" +
+                    " VALUES (?, ?, ?, ?, ?, ?, ?)" +
+                    " ON CONFLICT (user_id, pool_id) DO UPDATE SET" +
+                    " draw_count = user_pool_draw_stats.draw_count + EXCLUDED.draw_count," +
+                    " emission_count = user_pool_draw_stats.emission_count + EXCLUDED.emission_count," +
+                    " consumed_paid = user_pool_draw_stats.consumed_paid + EXCLUDED.consumed_paid," +
+                    " consumed_free = user_pool_draw_stats.consumed_free + EXCLUDED.consumed_free," +
+                    " last_drawn_at = GREATEST(user_pool_draw_stats.last_drawn_at, EXCLUDED.last_drawn_at)," +
+                    " updated_at = CURRENT_TIMESTAMP";
+
+    private static final String UPSERT_POOL_DAY =
+            "INSERT INTO pool_daily_rarity_stats (pool_id, stat_date, rarity, emission_count)" +
+                    " VALUES (?, ?, ?, ?)" +
+                    " ON CONFLICT (pool_id, stat_date, rarity) DO UPDATE SET" +
+                    " emission_count = pool_daily_rarity_stats.emission_count + EXCLUDED.emission_count," +
+                    " updated_at = CURRENT_TIMESTAMP";
+
+    private static final RowMapper<UserPoolStats> USER_POOL_ROW_MAPPER = (rs, rowNum) -> new UserPoolStats(
+            rs.getObject("user_id", UUID.class),
+            rs.getObject("pool_id", UUID.class),
+            rs.getLong("draw_count"),
+            rs.getLong("emission_count"),
+            rs.getLong("consumed_paid"),
+            rs.getLong("consumed_free"),
+            rs.getTimestamp("last_drawn_at").toInstant()
+    );
+
+    private static final RowMapper<RarityCount> RARITY_COUNT_ROW_MAPPER = (rs, rowNum) -> new RarityCount(
+            rs.getString("rarity"),
+            rs.getLong("emission_count")
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void addUserPoolStats(List<UserPoolDelta> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(UPSERT_USER_POOL, deltas, deltas.size(), (ps, delta) -> {
+            ps.setObject(1, delta.userId());
+            ps.setObject(2, delta.poolId());
+            ps.setLong(3, delta.draws());
+            ps.setLong(4, delta.emissions());
+            ps.setLong(5, delta.consumedPaid());
+            ps.setLong(6, delta.consumedFree());
+            ps.setTimestamp(7, Timestamp.from(delta.lastDrawnAt()));
+        });
+    }
+
+    public void addPoolDayStats(List<PoolDayDelta> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(UPSERT_POOL_DAY, deltas, deltas.size(), (ps, delta) -> {
+            ps.setObject(1, delta.poolId());
+            ps.setDate(2, Date.valueOf(delta.date()));
+            ps.setString(3, delta.rarity());
+            ps.setLong(4, delta.count());
+        });
+    }
+
+    /**
+     * 反映するバッチの記録 (加算と同じトランザクションで実行すること)
+     *
+     * @return 記録済み (前回の反映がコミットされていた) の場合 false
+     */
+    public boolean markFlushed(UUID flushId) {
+        return jdbcTemplate.update(
+                "INSERT INTO draw_stats_flushes (flush_id) VALUES (?) ON CONFLICT DO NOTHING", flushId) > 0;
+    }
+
+    /**
+     * 保持期間を過ぎた反映済みバッチの記録の削除
+     *
+     * @return 削除件数
+     */
+    public int deleteFlushesBefore(Instant threshold) {
+        return jdbcTemplate.update("DELETE FROM draw_stats_flushes WHERE flushed_at < ?", Timestamp.from(threshold));
+    }
+
+    public Optional<UserPoolStats> findUserPoolStats(UUID userId, UUID poolId) {
+        return jdbcTemplate.query(
+                "SELECT user_id, pool_id, draw_count, emission_count, consumed_paid, consumed_free, last_drawn_at" +
+                        " FROM user_pool_draw_stats WHERE user_id = ? AND pool_id = ?",
+                USER_POOL_ROW_MAPPER, userId, poolId).stream().findFirst();
+    }
+
+    /**
+     * 指定日のレアリティ別の排出数 (排出のなかったレアリティは含まない)
+     */
+    public List<RarityCount> findPoolDayStats(UUID poolId, LocalDate date) {
+        return jdbcTemplate.query(
+                "SELECT rarity, emission_count FROM pool_daily_rarity_stats WHERE pool_id = ? AND stat_date = ?",
+                RARITY_COUNT_ROW_MAPPER, poolId, Date.valueOf(date));
+    }
+
+    public record UserPoolStats(
+            UUID userId,
+            UUID poolId,
+            long draws,
+            long emissions,
+            long consumedPaid,
+            long consumedFree,
+            Instant lastDrawnAt
+    ) {
+    }
+
+    public record RarityCount(String rarity, long count) {
+    }
+}
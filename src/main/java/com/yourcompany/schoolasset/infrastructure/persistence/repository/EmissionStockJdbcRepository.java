@@ -0,0 +1,117 @@
+package com.yourcompany.schoolasset.infrastructure.persistence.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * 全体在庫 (emission_stocks) と借り受けの台帳 (emission_stock_leases) の読み書き
+ * いずれも呼び出し側のトランザクション (UserShardScope#inDirectoryTransaction) 内で実行すること。
+ * 抽選1回ごとには呼ばれず、ブロック単位の借り受け・定期報告・精算でのみ使う。
+ */
+@Repository
+@RequiredArgsConstructor
+public class EmissionStockJdbcRepository {
+
+    private static final RowMapper<StockRow> STOCK_ROW_MAPPER = (rs, rowNum) -> new StockRow(
+            rs.getObject("emission_id", UUID.class),
+            rs.getInt("total"),
+            rs.getInt("leased"),
+            rs.getLong("consumed")
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 全体在庫の一覧 (consumed は各ノードの報告済みの払い出し数の合計)
+     */
+    public List<StockRow> findAll() {
+        return jdbcTemplate.query(
+                "SELECT s.emission_id, s.total, s.leased, COALESCE(SUM(l.consumed), 0) AS consumed" +
+                        " FROM emission_stocks s" +
+                        " LEFT JOIN emission_stock_leases l ON l.emission_id = s.emission_id" +
+                        " GROUP BY s.emission_id, s.total, s.leased",
+                STOCK_ROW_MAPPER);
+    }
+
+    /**
+     * 全体在庫から最大 requested 個を借り受ける
+     * 在庫行をロックして残り (total - leased) の範囲でだけ加算するため、同時に借り受けても total を超えない。
+     *
+     * @return 在庫が残っていない (または在庫設定がない) 場合は空
+     */
+    public Optional<Lease> lease(UUID emissionId, String nodeId, int requested) {
+        List<Integer> remaining = jdbcTemplate.queryForList(
+                "SELECT total - leased FROM emission_stocks WHERE emission_id = ? FOR UPDATE",
+                Integer.class, emissionId);
+        if (remaining.isEmpty() || remaining.get(0) <= 0) {
+            return Optional.empty();
+        }
+        int granted = Math.min(requested, remaining.get(0));
+        jdbcTemplate.update(
+                "UPDATE emission_stocks SET leased = leased + ?, updated_at = CURRENT_TIMESTAMP WHERE emission_id = ?",
+                granted, emissionId);
+        Long leaseId = jdbcTemplate.queryForObject(
+                "INSERT INTO emission_stock_leases (emission_id, node_id, quantity) VALUES (?, ?, ?) RETURNING id",
+                Long.class, emissionId, nodeId, granted);
+        return Optional.of(new Lease(leaseId, granted));
+    }
+
+    /**
+     * 払い出し済みの数の報告 (減ることはない)
+     */
+    public void report(long leaseId, int consumed) {
+        jdbcTemplate.update(
+                "UPDATE emission_stock_leases SET consumed = GREATEST(consumed, ?), reported_at = CURRENT_TIMESTAMP" +
+                        " WHERE id = ? AND settled_at IS NULL",
+                consumed, leaseId);
+    }
+
+    /**
+     * 借り受けを精算し、未使用分を全体在庫へ戻す (精算済みなら何もしない)
+     */
+    public void settle(long leaseId, int consumed) {
+        List<Integer> quantities = jdbcTemplate.queryForList(
+                "UPDATE emission_stock_leases SET consumed = ?, reported_at = CURRENT_TIMESTAMP, settled_at = CURRENT_TIMESTAMP" +
+                        " WHERE id = ? AND settled_at IS NULL" +
+                        " RETURNING quantity",
+                Integer.class, consumed, leaseId);
+        if (quantities.isEmpty()) {
+            return;
+        }
+        int unused = quantities.get(0) - consumed;
+        if (unused > 0) {
+            jdbcTemplate.update(
+                    "UPDATE emission_stocks SET leased = leased - ?, updated_at = CURRENT_TIMESTAMP" +
+                            " WHERE emission_id = (SELECT emission_id FROM emission_stock_leases WHERE id = ?)",
+                    unused, leaseId);
+        }
+    }
+
+    /**
+     * 全体在庫の設定 (新規作成または変更)
+     * すでに借り受けられた数より小さくはできない。
+     *
+     * @return 借り受け済みの数を下回るため変更できなかった場合は false
+     */
+    public boolean upsertTotal(UUID emissionId, int total) {
+        List<UUID> updated = jdbcTemplate.queryForList(
+                "INSERT INTO emission_stocks (emission_id, total) VALUES (?, ?)" +
+                        " ON CONFLICT (emission_id) DO UPDATE SET total = EXCLUDED.total, updated_at = CURRENT_TIMESTAMP" +
+                        " WHERE emission_stocks.leased <= EXCLUDED.total" +
+                        " RETURNING emission_id",
+                UUID.class, emissionId, total);
+        return !updated.isEmpty();
+    }
+
+    public record StockRow(UUID emissionId, int total, int leased, long consumed) {
+    }
+
+    public record Lease(long id, int quantity) {
+    }
+}
@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -14,4 +15,8 @@ public interface GachaPoolRepository extends JpaRepository<GachaPool, UUID> {
 
     @Query("SELECT p FROM GachaPool p LEFT JOIN FETCH p.emissions WHERE p.id = :id")
     Optional<GachaPool> findByIdWithEmissions(@Param("id") UUID id);
+
+    // マスタキャッシュの一括ロード用
+    @Query("SELECT DISTINCT p FROM GachaPool p LEFT JOIN FETCH p.emissions")
+    List<GachaPool> findAllWithEmissions();
 }
\ No newline at end of file
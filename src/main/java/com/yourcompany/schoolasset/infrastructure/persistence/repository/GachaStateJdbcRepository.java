@@ -0,0 +1,107 @@
+package com.yourcompany.schoolasset.infrastructure.persistence.repository;
+
+import com.yourcompany.domain.model.gacha.GachaState;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * user_gacha_states の読み書き (抽選のホットパス用)
+ * 読み込んだ状態を永続化コンテキストに載せないため JPA を使わない。
+ * 書き込みは version による楽観ロック付きの upsert で、SELECT を挟まずに1往復で行う。
+ */
+@Repository
+@RequiredArgsConstructor
+public class GachaStateJdbcRepository {
+
+    // 新規作成のつもりで upsert したときの期待 version (既存行とは決して一致しない)
+    public static final long NEW_STATE_VERSION = -1L;
+
+    private static final RowMapper<GachaState> ROW_MAPPER = (rs, rowNum) -> GachaState.restore(
+            rs.getObject("user_id", UUID.class),
+            rs.getObject("gacha_pool_id", UUID.class),
+            rs.getInt("current_pity_count"),
+            rs.getInt("current_guaranteed_count"),
+            rs.getLong("version")
+    );
+
+    private static final ResultSetExtractor<UserStates> USER_STATES_EXTRACTOR = rs -> {
+        if (!rs.next()) {
+            return null;
+        }
+        long walletVersion = rs.getLong("wallet_version");
+        List<GachaState> states = new ArrayList<>();
+        do {
+            if (rs.getObject("gacha_pool_id") != null) {
+                states.add(ROW_MAPPER.mapRow(rs, rs.getRow()));
+            }
+        } while (rs.next());
+        return new UserStates(walletVersion, states);
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 指定したプールの状態と、同じスナップショットで読んだウォレットの version をまとめて取得する
+     * 抽選はウォレットと状態を同じトランザクションで更新するため、この組は常に整合している。
+     *
+     * @return ウォレットがない場合は空
+     */
+    public Optional<UserStates> findByUserAndPools(UUID userId, Collection<UUID> poolIds) {
+        List<Object> args = new ArrayList<>(poolIds.size() + 1);
+        args.addAll(poolIds);
+        args.add(userId);
+        String poolFilter = poolIds.isEmpty()
+                ? "FALSE"
+                : "s.gacha_pool_id IN (" + String.join(",", Collections.nCopies(poolIds.size(), "?")) + ")";
+        return Optional.ofNullable(jdbcTemplate.query(
+                "SELECT w.user_id, w.version AS wallet_version," +
+                        " s.gacha_pool_id, s.current_pity_count, s.current_guaranteed_count, s.version" +
+                        " FROM wallets w" +
+                        " LEFT JOIN user_gacha_states s ON s.user_id = w.user_id AND " + poolFilter +
+                        " WHERE w.user_id = ?",
+                USER_STATES_EXTRACTOR, args.toArray()));
+    }
+
+    /**
+     * 楽観ロック付き upsert
+     * 新規なら version 0 で INSERT、既存なら expectedVersion と一致する場合のみ UPDATE して version を進める。
+     *
+     * @param expectedVersion 読み込み時の version。新規の場合は NEW_STATE_VERSION
+     * @return 書き込み後の version。他で更新されていた (競合) 場合は空
+     */
+    public OptionalLong upsert(GachaState state, long expectedVersion) {
+        List<Long> versions = jdbcTemplate.queryForList(
+                "INSERT INTO user_gacha_states" +
+                        " (user_id, gacha_pool_id, current_pity_count, current_guaranteed_count, version, updated_at)" +
+                        " VALUES (?, ?, ?, ?, 0, CURRENT_TIMESTAMP)" +
+                        " ON CONFLICT (user_id, gacha_pool_id) DO UPDATE SET" +
+                        "   current_pity_count = EXCLUDED.current_pity_count," +
+                        "   current_guaranteed_count = EXCLUDED.current_guaranteed_count," +
+                        "   version = user_gacha_states.version + 1," +
+                        "   updated_at = CURRENT_TIMESTAMP" +
+                        " WHERE user_gacha_states.version = ?" +
+                        " RETURNING version",
+                Long.class,
+                state.getUserId(), state.getGachaPoolId(),
+                state.getCurrentPityCount(), state.getCurrentGuaranteedCount(),
+                expectedVersion);
+        return versions.isEmpty() ? OptionalLong.empty() : OptionalLong.of(versions.get(0));
+    }
+
+    /**
+     * @param walletVersion 状態と同じスナップショットで読んだウォレットの version
+     */
+    public record UserStates(long walletVersion, List<GachaState> states) {
+    }
+}
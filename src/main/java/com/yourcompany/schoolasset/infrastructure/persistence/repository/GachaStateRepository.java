@@ -1,6 +1,7 @@
 package com.yourcompany.schoolasset.infrastructure.persistence.repository;
 
 import com.yourcompany.domain.model.gacha.GachaState;
+import com.yourcompany.domain.model.gacha.GachaStateId;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -10,7 +11,7 @@ import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface GachaStateRepository extends JpaRepository<GachaState, UUID> { // IDは複合キーだが簡易的にUUID指定
+public interface GachaStateRepository extends JpaRepository<GachaState, GachaStateId> {
     @Query("SELECT s FROM GachaState s WHERE s.userId = :userId AND s.gachaPoolId = :poolId")
     Optional<GachaState> findByUserAndPool(@Param("userId") UUID userId, @Param("poolId") UUID poolId);
 }
\ No newline at end of file
@@ -1,11 +1,48 @@
 package com.yourcompany.schoolasset.infrastructure.persistence.repository;
 
 import com.yourcompany.domain.model.history.GachaTransaction;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
-public interface GachaTransactionRepository extends JpaRepository<GachaTransaction, UUID> {
+public interface GachaTransactionRepository extends JpaRepository<GachaTransaction, String> { // ID は request_id
+
+    // created_at の範囲を付けて引く (パーティションを絞り込む。ID だけで引くと全パーティションを走査する)
+    @Query("SELECT t FROM GachaTransaction t WHERE t.requestId = :requestId" +
+            " AND t.createdAt >= :from AND t.createdAt < :to")
+    Optional<GachaTransaction> findByRequestIdWithin(@Param("requestId") String requestId,
+                                                     @Param("from") Instant from,
+                                                     @Param("to") Instant to);
+
+    // --- エクスポート用ストリーム ---
+    // サーバーサイドカーソルで fetchSize 件ずつ読み出す (PostgreSQL はトランザクション内でのみ有効)
+    // 呼び出し側で 1件ずつ detach し、永続化コンテキストを膨らませないこと
+
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "5000"),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t FROM GachaTransaction t WHERE t.userId = :userId" +
+            " AND t.createdAt >= :from AND t.createdAt < :to ORDER BY t.createdAt")
+    Stream<GachaTransaction> streamByUserId(@Param("userId") UUID userId,
+                                            @Param("from") Instant from,
+                                            @Param("to") Instant to);
+
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "5000"),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t FROM GachaTransaction t WHERE t.createdAt >= :from AND t.createdAt < :to ORDER BY t.createdAt")
+    Stream<GachaTransaction> streamByCreatedAt(@Param("from") Instant from,
+                                               @Param("to") Instant to);
 }
@@ -0,0 +1,22 @@
+package com.yourcompany.schoolasset.infrastructure.persistence.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * master_data_version へのアクセス
+ * items / gacha_pools / gacha_emissions の変更時にトリガーで加算される版数を読む。
+ */
+@Repository
+@RequiredArgsConstructor
+public class MasterDataVersionRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public long currentVersion() {
+        Long version = jdbcTemplate.queryForObject(
+                "SELECT version FROM master_data_version WHERE id = 1", Long.class);
+        return version != null ? version : 0L;
+    }
+}
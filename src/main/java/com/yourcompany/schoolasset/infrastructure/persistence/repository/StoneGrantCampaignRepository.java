@@ -0,0 +1,11 @@
+package com.yourcompany.schoolasset.infrastructure.persistence.repository;
+
+import com.yourcompany.domain.model.wallet.StoneGrantCampaign;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface StoneGrantCampaignRepository extends JpaRepository<StoneGrantCampaign, UUID> {
+}
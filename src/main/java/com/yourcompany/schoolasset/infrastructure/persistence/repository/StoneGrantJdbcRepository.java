@@ -0,0 +1,151 @@
+package com.yourcompany.schoolasset.infrastructure.persistence.repository;
+
+import com.yourcompany.domain.model.wallet.StoneGrantCampaign;
+import com.yourcompany.domain.model.wallet.Wallet;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * 石の一括付与用のセットベース SQL
+ * JPA でエンティティを1件ずつ更新すると件数分の往復とランダムな行ロックが発生するため、
+ * チャンク単位で user_id 順にロックし、1文の UPDATE ... FROM (VALUES ...) で加算する。
+ */
+@Repository
+@RequiredArgsConstructor
+public class StoneGrantJdbcRepository {
+
+    // user_id の keyset 走査の起点 (UUID の最小値)
+    private static final UUID MIN_USER_ID = new UUID(0L, 0L);
+
+    /**
+     * PostgreSQL の uuid の並び順 (バイト列の符号なし比較)
+     * UUID#compareTo は上位・下位を符号付きで比べるため、シャードごとの走査結果をマージする場合はこちらを使う。
+     */
+    public static final Comparator<UUID> USER_ID_ORDER = (a, b) -> {
+        int high = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return high != 0 ? high : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 対象ユーザーIDを user_id 順に afterUserId の次から最大 limit 件取得する (keyset)
+     */
+    public List<UUID> findTargetChunk(UUID campaignId, StoneGrantCampaign.TargetMode targetMode,
+                                      UUID afterUserId, int limit) {
+        UUID after = afterUserId != null ? afterUserId : MIN_USER_ID;
+        return switch (targetMode) {
+            case ALL_WALLETS -> jdbcTemplate.queryForList(
+                    "SELECT user_id FROM wallets WHERE user_id > ? ORDER BY user_id LIMIT ?",
+                    UUID.class, after, limit);
+            case LISTED -> jdbcTemplate.queryForList(
+                    "SELECT user_id FROM stone_grant_targets WHERE campaign_id = ? AND user_id > ? ORDER BY user_id LIMIT ?",
+                    UUID.class, campaignId, after, limit);
+        };
+    }
+
+    /**
+     * 対象ユーザーの登録 (target_mode = LISTED)
+     */
+    public void insertTargets(UUID campaignId, Collection<UUID> userIds) {
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO stone_grant_targets (campaign_id, user_id) VALUES (?, ?) ON CONFLICT DO NOTHING",
+                userIds, 1000,
+                (ps, userId) -> {
+                    ps.setObject(1, campaignId);
+                    ps.setObject(2, userId);
+                });
+    }
+
+    /**
+     * 1チャンク分の付与 (呼び出し側のトランザクション内で実行すること)
+     * 1. 未付与のウォレットを user_id 順にロック (ロック順を固定してデッドロックを防ぐ)
+     * 2. CHECK 制約の上限を超えない行だけを加算
+     * 3. 加算した行を台帳に記録 (再実行時の二重付与防止)
+     * シャーディング有効時は、チャンクのうち接続先シャードに所属するユーザーだけを渡すこと。
+     *
+     * @param userIds user_id 昇順のチャンク
+     */
+    public ChunkResult applyChunk(UUID campaignId, List<UUID> userIds, int paidAmount, int freeAmount) {
+        if (userIds.isEmpty()) {
+            return new ChunkResult(0, 0, List.of());
+        }
+
+        // 1. ロック (台帳に記録済みのユーザーは除外)
+        List<Object> lockArgs = new ArrayList<>(userIds.size() + 1);
+        lockArgs.addAll(userIds);
+        lockArgs.add(campaignId);
+        List<UUID> locked = jdbcTemplate.queryForList(
+                "SELECT w.user_id FROM wallets w" +
+                        " WHERE w.user_id IN (" + placeholders(userIds.size(), "?") + ")" +
+                        " AND NOT EXISTS (SELECT 1 FROM stone_grant_ledger l WHERE l.campaign_id = ? AND l.user_id = w.user_id)" +
+                        " ORDER BY w.user_id FOR UPDATE OF w",
+                UUID.class, lockArgs.toArray());
+        Set<UUID> lockedSet = new HashSet<>(locked);
+        List<UUID> unlocked = userIds.stream().filter(userId -> !lockedSet.contains(userId)).toList();
+        if (locked.isEmpty()) {
+            return new ChunkResult(0, 0, unlocked);
+        }
+
+        // 2. 加算 (上限を超える行は更新せずスキップ扱い)
+        List<Object> updateArgs = new ArrayList<>(locked.size() + 6);
+        updateArgs.add(paidAmount);
+        updateArgs.add(freeAmount);
+        updateArgs.addAll(locked);
+        updateArgs.add(paidAmount);
+        updateArgs.add(Wallet.MAX_STONES);
+        updateArgs.add(freeAmount);
+        updateArgs.add(Wallet.MAX_STONES);
+        List<UUID> granted = jdbcTemplate.queryForList(
+                "UPDATE wallets w SET" +
+                        " paid_stones = w.paid_stones + ?," +
+                        " free_stones = w.free_stones + ?," +
+                        " version = w.version + 1," +
+                        " updated_at = CURRENT_TIMESTAMP" +
+                        " FROM (VALUES " + placeholders(locked.size(), "(?::uuid)") + ") AS t(user_id)" +
+                        " WHERE w.user_id = t.user_id" +
+                        " AND w.paid_stones + ? <= ?" +
+                        " AND w.free_stones + ? <= ?" +
+                        " RETURNING w.user_id",
+                UUID.class, updateArgs.toArray());
+
+        // 3. 台帳
+        if (!granted.isEmpty()) {
+            List<Object> ledgerArgs = new ArrayList<>(granted.size() + 1);
+            ledgerArgs.add(campaignId);
+            ledgerArgs.addAll(granted);
+            jdbcTemplate.update(
+                    "INSERT INTO stone_grant_ledger (campaign_id, user_id)" +
+                            " SELECT ?, t.user_id FROM (VALUES " + placeholders(granted.size(), "(?::uuid)") + ") AS t(user_id)",
+                    ledgerArgs.toArray());
+        }
+
+        return new ChunkResult(granted.size(), locked.size() - granted.size(), unlocked);
+    }
+
+    private static String placeholders(int count, String placeholder) {
+        StringBuilder sb = new StringBuilder(count * (placeholder.length() + 1));
+        for (int i = 0; i < count; i++) {
+            if (i > 0) sb.append(',');
+            sb.append(placeholder);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * @param granted  付与した件数
+     * @param skipped  残高上限により付与できなかった件数
+     * @param unlocked 付与済み、または接続先にウォレットがなかったユーザー (再配置で移動した可能性がある)
+     */
+    public record ChunkResult(int granted, int skipped, List<UUID> unlocked) {
+    }
+}
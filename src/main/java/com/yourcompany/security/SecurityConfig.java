@@ -1,6 +1,11 @@
 package com.yourcompany.security;
 
 import com.sqlcanvas.sharedkernel.shared.filter.SharedRequestLoggingFilter; // ★ライブラリのインポート
+import com.yourcompany.security.ratelimit.RateLimitFilter;
+import com.yourcompany.security.ratelimit.RateLimiter;
+import com.yourcompany.web.filter.ErrorResponseWriter;
+import com.yourcompany.web.limit.ConcurrencyLimitFilter;
+import com.yourcompany.web.limit.ConcurrencyLimiter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -26,6 +31,9 @@ public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthFilter;
     private final UserDetailsService userDetailsService;
+    private final RateLimiter rateLimiter;
+    private final ErrorResponseWriter errorResponseWriter;
+    private final ConcurrencyLimiter concurrencyLimiter;
 
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
@@ -48,7 +56,9 @@ public class SecurityConfig {
                         // 認証不要なエンドポイント
                         .requestMatchers("/api/v1/auth/**").permitAll()
                         .requestMatchers("/v3/api-docs/**", "/swagger-ui/**").permitAll()
-                        .requestMatchers("/actuator/**").permitAll()
+                        // プローブ用のヘルスチェックのみ公開し、排出率ドリフトなど他の Actuator は管理者専用
+                        .requestMatchers("/actuator/health/**").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         // その他は全て認証必須
                         .anyRequest().authenticated()
                 )
@@ -57,7 +67,13 @@ public class SecurityConfig {
 
                 // 2. ★修正: ログフィルターを「JWT認証の後」に追加する
                 // これにより、SecurityContextにユーザー情報が入った状態でログが出力される
-                .addFilterAfter(sharedLoggingFilter, JwtAuthenticationFilter.class);
+                .addFilterAfter(sharedLoggingFilter, JwtAuthenticationFilter.class)
+
+                // 3. レート制限 (JWT認証の後に置き、ユーザー単位で制限する)
+                .addFilterAfter(new RateLimitFilter(rateLimiter, errorResponseWriter), JwtAuthenticationFilter.class)
+
+                // 4. 同時実行数の制御 (レート制限を通過したものだけを数える)
+                .addFilterAfter(new ConcurrencyLimitFilter(concurrencyLimiter, errorResponseWriter), RateLimitFilter.class);
 
         return http.build();
     }
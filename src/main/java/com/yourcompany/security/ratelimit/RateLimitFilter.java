@@ -0,0 +1,70 @@
+package com.yourcompany.security.ratelimit;
+
+import com.yourcompany.domain.shared.exception.GachaErrorCode;
+import com.yourcompany.security.CustomUserDetails;
+import com.yourcompany.web.filter.ErrorResponseWriter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * レート制限フィルター (JwtAuthenticationFilter の後に置き、認証済みユーザー単位で制限する)
+ * Bean にするとサーブレットフィルターとしても自動登録され、認証前に実行されてしまうため、
+ * SecurityConfig でインスタンスを生成してフィルターチェーンにのみ追加する。
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimiter rateLimiter;
+    private final ErrorResponseWriter errorResponseWriter;
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        RateLimiter.Route route = rateLimiter.isEnabled()
+                ? rateLimiter.match(request.getMethod(), request.getRequestURI())
+                : null;
+        if (route == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long retryAfterMs = rateLimiter.tryAcquire(route, resolveKey(route, request));
+        if (retryAfterMs > 0) {
+            if (log.isDebugEnabled()) {
+                log.debug("Rate limited. policy={}, retryAfterMs={}", route.policy().name(), retryAfterMs);
+            }
+            response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString((retryAfterMs + 999) / 1000));
+            errorResponseWriter.write(response, GachaErrorCode.RATE_LIMITED);
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    // IP はリバースプロキシ配下では server.forward-headers-strategy の設定を前提とする
+    private Object resolveKey(RateLimiter.Route route, HttpServletRequest request) {
+        if (route.policy().key() == RateLimitProperties.KeyType.USER) {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication != null && authentication.getPrincipal() instanceof CustomUserDetails userDetails) {
+                return userDetails.getUser().getId();
+            }
+        }
+        return request.getRemoteAddr();
+    }
+}
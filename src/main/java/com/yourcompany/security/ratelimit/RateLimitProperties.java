@@ -0,0 +1,45 @@
+package com.yourcompany.security.ratelimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * レート制限の設定 (gacha.ratelimit.*)
+ * ルートごとのポリシーはリストで指定するため @Value ではなくバインドで受け取る。
+ *
+ * @param maxKeys     保持するバケット数の上限 (超えた分の新規キーはポリシーごとの共有バケットを使う)
+ * @param idleTimeout 使われていないバケットを破棄するまでの時間 (満タンまでの補充時間より長くすること)
+ */
+@ConfigurationProperties(prefix = "gacha.ratelimit")
+public record RateLimitProperties(
+        boolean enabled,
+        int maxKeys,
+        Duration idleTimeout,
+        List<Policy> policies
+) {
+    public RateLimitProperties {
+        maxKeys = maxKeys > 0 ? maxKeys : 200_000;
+        idleTimeout = idleTimeout != null ? idleTimeout : Duration.ofMinutes(10);
+        policies = policies != null ? List.copyOf(policies) : List.of();
+    }
+
+    /**
+     * @param path    完全一致、または末尾 /** による前方一致
+     * @param method  null の場合は全メソッド
+     * @param key     USER: 認証済みユーザー単位 (未認証なら IP)、IP: 接続元アドレス単位
+     */
+    public record Policy(
+            String name,
+            String path,
+            String method,
+            KeyType key,
+            int capacity,
+            double refillPerSecond
+    ) {}
+
+    public enum KeyType {
+        USER, IP
+    }
+}
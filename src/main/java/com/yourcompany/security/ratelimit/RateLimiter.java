@@ -0,0 +1,146 @@
+package com.yourcompany.security.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * ルート別ポリシーとキー (ユーザーID / IP) ごとのトークンバケット管理
+ * バケットは上限付きのマップに保持し、一定時間使われていないものは定期的に破棄する。
+ * 上限に達した場合、新しいキーはポリシーごとの共有バケットに入る
+ * (大量の IP を使った攻撃でもメモリが増え続けないように、厳しい側に倒す)。
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimiter {
+
+    private final RateLimitProperties properties;
+    private final List<Route> routes;
+    private final long baseNanos = System.nanoTime();
+    private final AtomicInteger size = new AtomicInteger();
+
+    public RateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        List<Route> compiled = new ArrayList<>();
+        for (RateLimitProperties.Policy policy : properties.policies()) {
+            compiled.add(new Route(policy, meterRegistry.counter("gacha.ratelimit.rejected", "policy", policy.name()),
+                    new TokenBucket(policy.capacity(), policy.refillPerSecond(), 0)));
+            log.info("Rate limit policy registered. name={}, path={}, method={}, key={}, capacity={}, refillPerSecond={}",
+                    policy.name(), policy.path(), policy.method(), policy.key(), policy.capacity(), policy.refillPerSecond());
+        }
+        this.routes = List.copyOf(compiled);
+    }
+
+    public boolean isEnabled() {
+        return properties.enabled() && !routes.isEmpty();
+    }
+
+    /**
+     * リクエストに該当するポリシー (なければ null)。先に定義したものが優先
+     */
+    public Route match(String method, String path) {
+        for (Route route : routes) {
+            if (route.matches(method, path)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param key ユーザーID (UUID) または IP (String)。equals/hashCode を持つこと
+     * @return 0 なら許可。正の値は再試行までの待ち時間 (ms)
+     */
+    public long tryAcquire(Route route, Object key) {
+        long now = nowMs();
+        TokenBucket bucket = route.buckets.get(key);
+        if (bucket == null) {
+            bucket = newBucket(route, key, now);
+        }
+        long retryAfterMs = bucket.tryAcquire(now);
+        if (retryAfterMs > 0) {
+            route.rejected.increment();
+        }
+        return retryAfterMs;
+    }
+
+    private TokenBucket newBucket(Route route, Object key, long now) {
+        if (size.get() >= properties.maxKeys()) {
+            return route.overflow;
+        }
+        RateLimitProperties.Policy policy = route.policy;
+        TokenBucket created = new TokenBucket(policy.capacity(), policy.refillPerSecond(), now);
+        TokenBucket existing = route.buckets.putIfAbsent(key, created);
+        if (existing != null) {
+            return existing;
+        }
+        size.incrementAndGet();
+        return created;
+    }
+
+    /**
+     * 使われていないバケットの破棄 (満タンに戻っているため、破棄しても制限の結果は変わらない)
+     */
+    @Scheduled(fixedDelayString = "${gacha.ratelimit.sweep-interval-ms:30000}")
+    public void evictIdle() {
+        long threshold = nowMs() - properties.idleTimeout().toMillis();
+        int evicted = 0;
+        for (Route route : routes) {
+            for (var it = route.buckets.entrySet().iterator(); it.hasNext(); ) {
+                if (it.next().getValue().lastRefillMs() < threshold) {
+                    it.remove();
+                    size.decrementAndGet();
+                    evicted++;
+                }
+            }
+        }
+        if (evicted > 0) {
+            log.debug("Evicted idle rate limit buckets. count={}, remaining={}", evicted, size.get());
+        }
+    }
+
+    public int size() {
+        return size.get();
+    }
+
+    private long nowMs() {
+        return (System.nanoTime() - baseNanos) / 1_000_000;
+    }
+
+    public static final class Route {
+        private final RateLimitProperties.Policy policy;
+        private final Counter rejected;
+        private final TokenBucket overflow;
+        private final ConcurrentHashMap<Object, TokenBucket> buckets = new ConcurrentHashMap<>();
+        private final boolean prefix;
+        private final String pathPattern;
+
+        private Route(RateLimitProperties.Policy policy, Counter rejected, TokenBucket overflow) {
+            this.policy = policy;
+            this.rejected = rejected;
+            this.overflow = overflow;
+            this.prefix = policy.path().endsWith("/**");
+            this.pathPattern = prefix ? policy.path().substring(0, policy.path().length() - 2) : policy.path();
+        }
+
+        boolean matches(String method, String path) {
+            if (policy.method() != null && !policy.method().equalsIgnoreCase(method)) {
+                return false;
+            }
+            return prefix ? path.startsWith(pathPattern) : path.equals(pathPattern);
+        }
+
+        public RateLimitProperties.Policy policy() {
+            return policy;
+        }
+    }
+}
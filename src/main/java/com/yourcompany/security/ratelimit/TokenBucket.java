@@ -0,0 +1,78 @@
+package com.yourcompany.security.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ロックフリーのトークンバケット
+ * 状態 (最終補充時刻 + 残トークン) を1つの long に詰めて CAS で更新するため、
+ * 同一キーへの同時リクエストでもロックを取らず、リクエストごとのオブジェクト生成もない。
+ * <pre>
+ * | 最終補充時刻 ms (42bit) | 残トークン x1000 (22bit) |
+ * </pre>
+ */
+public final class TokenBucket {
+
+    private static final int TOKEN_BITS = 22;
+    private static final long TOKEN_MASK = (1L << TOKEN_BITS) - 1;
+    private static final long MILLI = 1000;
+
+    // ミリトークン換算で表現できる容量の上限
+    public static final int MAX_CAPACITY = (int) (TOKEN_MASK / MILLI);
+
+    private final long capacityMilli;
+    // 1ms あたりの補充量 (ミリトークン) = 1秒あたりの補充トークン数
+    private final double refillMilliPerMs;
+    private final AtomicLong state;
+
+    /**
+     * @param nowMs 単調増加する時刻 (ms)。満タンの状態で開始する
+     */
+    public TokenBucket(int capacity, double refillPerSecond, long nowMs) {
+        if (capacity < 1 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("capacity must be between 1 and " + MAX_CAPACITY + ": " + capacity);
+        }
+        if (!(refillPerSecond > 0)) {
+            throw new IllegalArgumentException("refillPerSecond must be positive: " + refillPerSecond);
+        }
+        this.capacityMilli = capacity * MILLI;
+        this.refillMilliPerMs = refillPerSecond;
+        this.state = new AtomicLong(pack(nowMs, capacityMilli));
+    }
+
+    /**
+     * トークンを1つ消費する
+     *
+     * @return 0 なら許可。正の値は次にトークンが貯まるまでの待ち時間 (ms)
+     */
+    public long tryAcquire(long nowMs) {
+        while (true) {
+            long current = state.get();
+            long last = current >>> TOKEN_BITS;
+            long tokens = current & TOKEN_MASK;
+
+            long elapsed = Math.max(0, nowMs - last);
+            long added = (long) (elapsed * refillMilliPerMs);
+            long available = Math.min(capacityMilli, tokens + added);
+            // 補充量が 0 の間は時刻を進めない (端数を捨てないため)
+            long stamp = added > 0 ? nowMs : last;
+
+            if (available < MILLI) {
+                return Math.max(1, (long) Math.ceil((MILLI - available) / refillMilliPerMs));
+            }
+            if (state.compareAndSet(current, pack(stamp, available - MILLI))) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * 最後に補充 (=利用) された時刻。長く使われていないバケットは満タンとみなして破棄できる
+     */
+    public long lastRefillMs() {
+        return state.get() >>> TOKEN_BITS;
+    }
+
+    private static long pack(long timeMs, long tokensMilli) {
+        return (timeMs << TOKEN_BITS) | tokensMilli;
+    }
+}
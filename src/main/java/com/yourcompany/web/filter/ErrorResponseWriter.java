@@ -0,0 +1,31 @@
+package com.yourcompany.web.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sqlcanvas.sharedkernel.shared.error.ErrorCode;
+import com.yourcompany.web.dto.ErrorResponse;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * フィルターで処理を打ち切る場合のエラーレスポンス出力
+ * コントローラーに到達しないため GlobalExceptionHandler を通らないが、形式は ErrorResponse に揃える。
+ */
+@Component
+@RequiredArgsConstructor
+public class ErrorResponseWriter {
+
+    private final ObjectMapper objectMapper;
+
+    public void write(HttpServletResponse response, ErrorCode errorCode) throws IOException {
+        response.setStatus(errorCode.getStatus().value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        objectMapper.writeValue(response.getOutputStream(),
+                new ErrorResponse(errorCode.getCode(), errorCode.getDefaultMessage()));
+    }
+}
@@ -0,0 +1,107 @@
+package com.yourcompany.web.limit;
+
+/**
+ * レイテンシの勾配に基づく同時実行数の上限 (Gradient + AIMD)
+ * 責務：
+ * 1. 短期 RTT と長期 RTT (基準) の比から、待ち行列が伸びているかを判定する
+ *    短期 RTT が基準より悪化していれば上限を下げ、同等なら少しずつ (sqrt(limit)) 広げる
+ * 2. エラー・タイムアウト (drop) の場合は乗算的に下げる
+ * 3. 上限まで使われていない (アプリ側が律速でない) 間は広げない
+ * サンプルの反映は synchronized だが、読み取り (getLimit) は volatile のみ。
+ */
+public class AdaptiveConcurrencyLimit {
+
+    private final int minLimit;
+    private final int maxLimit;
+    // 基準 RTT に対して許容する悪化の倍率
+    private final double tolerance;
+    // drop 時の縮小率
+    private final double backoffRatio;
+    // 新しい上限をどれだけ反映するか (0-1)
+    private final double smoothing;
+
+    private final Ema shortRtt = new Ema(10);
+    private final Ema longRtt = new Ema(600);
+
+    private volatile double limit;
+
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit,
+                                    double tolerance, double backoffRatio, double smoothing) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.backoffRatio = backoffRatio;
+        this.smoothing = smoothing;
+        this.limit = Math.clamp(initialLimit, minLimit, maxLimit);
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    /**
+     * @param rttNanos 処理時間
+     * @param inflight 開始時点の同時実行数
+     * @param dropped  エラー・タイムアウトなど、過負荷の兆候として扱う結果か
+     */
+    public synchronized void onSample(long rttNanos, int inflight, boolean dropped) {
+        double current = limit;
+        if (dropped) {
+            limit = Math.max(minLimit, current * backoffRatio);
+            return;
+        }
+
+        double shortValue = shortRtt.add(rttNanos);
+        double longValue = longRtt.add(rttNanos);
+
+        // 負荷が引いて短期 RTT が大きく改善した場合、基準が高止まりしないよう寄せる
+        if (longValue / shortValue > 2.0) {
+            longRtt.scale(0.95);
+            longValue = longRtt.value();
+        }
+
+        // 上限の半分も使っていないなら、計測された RTT は上限の妥当性を示さない
+        if (inflight < current / 2) {
+            return;
+        }
+
+        double gradient = Math.clamp(tolerance * longValue / shortValue, 0.5, 1.0);
+        double queueSize = Math.sqrt(current);
+        double candidate = current * gradient + queueSize;
+        double next = current * (1 - smoothing) + candidate * smoothing;
+        limit = Math.clamp(next, minLimit, maxLimit);
+    }
+
+    /**
+     * 指数移動平均 (最初の window 件は単純平均で立ち上げる)
+     */
+    private static final class Ema {
+        private final int window;
+        private final double factor;
+        private double value;
+        private int count;
+
+        private Ema(int window) {
+            this.window = window;
+            this.factor = 2.0 / (window + 1);
+        }
+
+        double add(double sample) {
+            if (count < window) {
+                count++;
+                value += (sample - value) / count;
+            } else {
+                value = value * (1 - factor) + sample * factor;
+            }
+            return value;
+        }
+
+        void scale(double ratio) {
+            value *= ratio;
+        }
+
+        double value() {
+            return value;
+        }
+    }
+}
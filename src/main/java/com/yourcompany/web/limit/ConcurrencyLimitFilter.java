@@ -0,0 +1,70 @@
+package com.yourcompany.web.limit;
+
+import com.yourcompany.domain.shared.exception.GachaErrorCode;
+import com.yourcompany.web.filter.ErrorResponseWriter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * API の同時実行数制御フィルター
+ * 抽選 (POST /api/v1/gachas/draw) を DRAW、それ以外の API を READ として ConcurrencyLimiter に問い合わせ、
+ * 上限を超える場合は 503 (Retry-After 付き) で即座に断る。
+ * RateLimitFilter と同様に SecurityConfig でフィルターチェーンにのみ追加する。
+ */
+@RequiredArgsConstructor
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final String API_PREFIX = "/api/";
+    private static final String DRAW_PATH = "/api/v1/gachas/draw";
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    private final ConcurrencyLimiter limiter;
+    private final ErrorResponseWriter errorResponseWriter;
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(API_PREFIX);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        ConcurrencyLimiter.Priority priority = "POST".equals(request.getMethod()) && DRAW_PATH.equals(request.getRequestURI())
+                ? ConcurrencyLimiter.Priority.DRAW
+                : ConcurrencyLimiter.Priority.READ;
+
+        ConcurrencyLimiter.Permit permit = limiter.tryAcquire(priority);
+        if (permit == null) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+            errorResponseWriter.write(response, GachaErrorCode.SERVER_OVERLOADED);
+            return;
+        }
+
+        boolean completed = false;
+        try {
+            filterChain.doFilter(request, response);
+            completed = true;
+        } finally {
+            if (!completed || response.getStatus() >= 500) {
+                permit.onDropped();
+            } else if (request.isAsyncStarted() || response.getStatus() >= 400) {
+                // ストリーミング応答は処理時間が長く、4xx は処理量が少ないため計測から外す
+                permit.onIgnore();
+            } else {
+                permit.onSuccess();
+            }
+        }
+    }
+}
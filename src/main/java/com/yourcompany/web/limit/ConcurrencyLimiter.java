@@ -0,0 +1,109 @@
+package com.yourcompany.web.limit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 同時実行数の制御 (ロードシェディング)
+ * 上限を超えるリクエストは待たせずに即座に断る。待たせると仮想スレッドが JDBC 接続や
+ * ウォレットのロック待ちで積み上がり、全員がクライアントのタイムアウトまで待たされるため。
+ * 優先度: 抽選は上限の drawShare までに抑え、残りを参照系に確保する
+ * (過負荷時は重い抽選から断り、履歴・ステータス確認などの軽い参照は通す)。
+ */
+@Slf4j
+@Component
+public class ConcurrencyLimiter {
+
+    public enum Priority {
+        DRAW, // 書き込み・ロックを伴う重い処理
+        READ  // 軽い参照系
+    }
+
+    private final AdaptiveConcurrencyLimit limit;
+    private final AtomicInteger inflight = new AtomicInteger();
+    private final double drawShare;
+    private final long dropThresholdNanos;
+    private final Counter shedDraw;
+    private final Counter shedRead;
+
+    public ConcurrencyLimiter(@Value("${gacha.concurrency.initial-limit:20}") int initialLimit,
+                              @Value("${gacha.concurrency.min-limit:4}") int minLimit,
+                              @Value("${gacha.concurrency.max-limit:500}") int maxLimit,
+                              @Value("${gacha.concurrency.draw-share:0.8}") double drawShare,
+                              @Value("${gacha.concurrency.drop-threshold-ms:2000}") long dropThresholdMs,
+                              MeterRegistry meterRegistry) {
+        this.limit = new AdaptiveConcurrencyLimit(initialLimit, minLimit, maxLimit, 1.5, 0.9, 0.2);
+        this.drawShare = drawShare;
+        this.dropThresholdNanos = dropThresholdMs * 1_000_000;
+        this.shedDraw = meterRegistry.counter("gacha.concurrency.shed", "priority", "draw");
+        this.shedRead = meterRegistry.counter("gacha.concurrency.shed", "priority", "read");
+        Gauge.builder("gacha.concurrency.limit", limit, AdaptiveConcurrencyLimit::getLimit).register(meterRegistry);
+        Gauge.builder("gacha.concurrency.inflight", inflight, AtomicInteger::get).register(meterRegistry);
+    }
+
+    /**
+     * @return 受け付けた場合は完了時に呼ぶ Permit、断る場合は null
+     */
+    public Permit tryAcquire(Priority priority) {
+        int currentLimit = limit.getLimit();
+        int allowed = priority == Priority.DRAW ? Math.max(1, (int) (currentLimit * drawShare)) : currentLimit;
+        while (true) {
+            int current = inflight.get();
+            if (current >= allowed) {
+                (priority == Priority.DRAW ? shedDraw : shedRead).increment();
+                return null;
+            }
+            if (inflight.compareAndSet(current, current + 1)) {
+                return new Permit(current + 1, System.nanoTime());
+            }
+        }
+    }
+
+    public int getLimit() {
+        return limit.getLimit();
+    }
+
+    public int getInflight() {
+        return inflight.get();
+    }
+
+    public final class Permit {
+        private final int inflightAtStart;
+        private final long startNanos;
+
+        private Permit(int inflightAtStart, long startNanos) {
+            this.inflightAtStart = inflightAtStart;
+            this.startNanos = startNanos;
+        }
+
+        /**
+         * 正常終了 (処理時間が閾値を超えた場合は過負荷の兆候として扱う)
+         */
+        public void onSuccess() {
+            long rtt = System.nanoTime() - startNanos;
+            inflight.decrementAndGet();
+            limit.onSample(rtt, inflightAtStart, rtt > dropThresholdNanos);
+        }
+
+        /**
+         * サーバーエラー・タイムアウト
+         */
+        public void onDropped() {
+            inflight.decrementAndGet();
+            limit.onSample(System.nanoTime() - startNanos, inflightAtStart, true);
+        }
+
+        /**
+         * 計測に使わない終了 (クライアントエラー、非同期処理への移行など)
+         */
+        public void onIgnore() {
+            inflight.decrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+-- ==========================================================
+-- レアリティ別の2段階抽選 (レアリティ → アイテム)
+-- guaranteed_trigger_count 回連続で guaranteed_min_rarity 未満だった次の1回を確定枠とする (0 は確定枠なし)
+-- gacha_pool_rate_ups: レアリティ内でピックアップ対象が占める割合 (basis point)。行がなければ weight の比のまま
+-- ==========================================================
+ALTER TABLE gacha_pools
+    ADD COLUMN guaranteed_min_rarity VARCHAR(20) NOT NULL DEFAULT 'SR'
+        CHECK (guaranteed_min_rarity IN ('COMMON', 'RARE', 'SR', 'SSR', 'UR', 'LR'));
+
+CREATE TABLE gacha_pool_rate_ups (
+                                     gacha_pool_id UUID NOT NULL REFERENCES gacha_pools(id) ON DELETE CASCADE,
+                                     rarity VARCHAR(20) NOT NULL CHECK (rarity IN ('COMMON', 'RARE', 'SR', 'SSR', 'UR', 'LR')),
+                                     pickup_share_bp INTEGER NOT NULL CHECK (pickup_share_bp BETWEEN 0 AND 10000),
+                                     PRIMARY KEY (gacha_pool_id, rarity)
+);
+
+-- ピックアップ設定の変更もプールの変更として通知し、版数を進める
+CREATE OR REPLACE FUNCTION notify_master_data_row_change() RETURNS TRIGGER AS $$
+DECLARE
+    target_table TEXT := TG_TABLE_NAME;
+    target_id UUID;
+BEGIN
+    IF TG_TABLE_NAME IN ('gacha_emissions', 'gacha_pool_rate_ups') THEN
+        target_table := 'gacha_pools';
+        target_id := CASE WHEN TG_OP = 'DELETE' THEN OLD.gacha_pool_id ELSE NEW.gacha_pool_id END;
+    ELSE
+        target_id := CASE WHEN TG_OP = 'DELETE' THEN OLD.id ELSE NEW.id END;
+    END IF;
+    PERFORM pg_notify('master_data_changed', 'row:' || target_table || ':' || target_id);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_gacha_pool_rate_ups_notify_change
+    AFTER INSERT OR UPDATE OR DELETE ON gacha_pool_rate_ups
+    FOR EACH ROW EXECUTE FUNCTION notify_master_data_row_change();
+
+CREATE TRIGGER trg_gacha_pool_rate_ups_master_version
+    AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON gacha_pool_rate_ups
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_master_data_version();
+
+-- 抽選方式 (NULL は導入前の一様な累積抽選)。監査リプレイで同じ方式を使うために記録する
+ALTER TABLE gacha_transactions ADD COLUMN rng_sampler VARCHAR(20);
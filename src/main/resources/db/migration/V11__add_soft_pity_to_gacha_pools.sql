@@ -0,0 +1,8 @@
+-- ==========================================================
+-- ソフト天井
+-- 最高レアリティが soft_pity_start_count 回連続で出なかった後は、1回ごとに最高レアリティの排出率を
+-- soft_pity_step_bp (basis point) ずつ上げる (0 はソフト天井なし)
+-- ==========================================================
+ALTER TABLE gacha_pools
+    ADD COLUMN soft_pity_start_count INTEGER NOT NULL DEFAULT 0 CHECK (soft_pity_start_count >= 0),
+    ADD COLUMN soft_pity_step_bp INTEGER NOT NULL DEFAULT 0 CHECK (soft_pity_step_bp BETWEEN 0 AND 10000);
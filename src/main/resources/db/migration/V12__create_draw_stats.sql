@@ -0,0 +1,57 @@
+-- ==========================================================
+-- 抽選の集計テーブル (履歴 gacha_transactions を走査せずに引くためのもの)
+-- GachaDrawnEvent をノード内でまとめてから一括 UPSERT で加算する (DrawStatsSubscriber)。
+-- イベントバスで破棄されたイベント・ノードの異常終了時に未反映だった分は加算されないため、
+-- 正確な値が必要な場合は履歴を正とすること
+-- ==========================================================
+
+-- ユーザー×プールの累計
+-- シャーディング有効時はユーザーの所属シャードに置く (再配置では wallets と一緒に移動する)
+-- 集計の反映は抽選より遅れるため、wallets への外部キーは張らない (再配置では明示的に削除する)
+CREATE TABLE user_pool_draw_stats (
+                                      user_id UUID NOT NULL,
+                                      pool_id UUID NOT NULL,
+                                      draw_count BIGINT NOT NULL DEFAULT 0,
+                                      emission_count BIGINT NOT NULL DEFAULT 0,
+                                      consumed_paid BIGINT NOT NULL DEFAULT 0,
+                                      consumed_free BIGINT NOT NULL DEFAULT 0,
+                                      last_drawn_at TIMESTAMP WITH TIME ZONE NOT NULL,
+                                      updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+                                      PRIMARY KEY (user_id, pool_id)
+);
+
+-- プール×日×レアリティ別の排出数
+-- stat_date は日本時間の日付。シャーディング有効時はディレクトリシャードにのみ書き込む
+CREATE TABLE pool_daily_rarity_stats (
+                                         pool_id UUID NOT NULL,
+                                         stat_date DATE NOT NULL,
+                                         rarity VARCHAR(20) NOT NULL,
+                                         emission_count BIGINT NOT NULL DEFAULT 0,
+                                         updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+                                         PRIMARY KEY (pool_id, stat_date, rarity)
+);
+
+-- 既存の履歴からの初期値
+-- シャーディング有効時、プール×日の初期値は各シャードの履歴の分だけになる (参照されるのはディレクトリシャードの値)
+INSERT INTO user_pool_draw_stats (user_id, pool_id, draw_count, emission_count, consumed_paid, consumed_free, last_drawn_at)
+SELECT user_id,
+       pool_id,
+       COUNT(*),
+       COALESCE(SUM(jsonb_array_length(result_json::jsonb)), 0),
+       SUM(consumed_paid),
+       SUM(consumed_free),
+       MAX(created_at)
+FROM gacha_transactions
+WHERE result_json IS NOT NULL
+GROUP BY user_id, pool_id;
+
+INSERT INTO pool_daily_rarity_stats (pool_id, stat_date, rarity, emission_count)
+SELECT t.pool_id,
+       (t.created_at AT TIME ZONE 'Asia/Tokyo')::date,
+       r.value ->> 'rarity',
+       COUNT(*)
+FROM gacha_transactions t
+         CROSS JOIN LATERAL jsonb_array_elements(t.result_json::jsonb) AS r(value)
+WHERE t.result_json IS NOT NULL
+  AND r.value ->> 'rarity' IS NOT NULL
+GROUP BY t.pool_id, (t.created_at AT TIME ZONE 'Asia/Tokyo')::date, r.value ->> 'rarity';
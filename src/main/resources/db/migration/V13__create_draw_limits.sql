@@ -0,0 +1,42 @@
+-- ==========================================================
+-- 抽選の上限
+-- 1. プールごとのユーザー1人あたりの1日 (日本時間) の抽選回数 (0 は上限なし)
+-- 2. ユーザーごとの月間 (日本時間の暦月) の有償石の利用上限 (未成年の課金上限など。行がなければ上限なし)
+-- 判定は履歴 (gacha_transactions) を集計せず、抽選と同じトランザクションで更新する集計行 (user_draw_counters) で行う
+-- ==========================================================
+ALTER TABLE gacha_pools
+    ADD COLUMN daily_draw_limit INTEGER NOT NULL DEFAULT 0 CHECK (daily_draw_limit >= 0);
+
+-- 月間の有償石の利用上限
+-- 変更時はウォレットの version も進める (各ノードのキャッシュをウォレットの version で無効にするため)
+CREATE TABLE user_spending_caps (
+                                    user_id UUID PRIMARY KEY REFERENCES wallets(user_id) ON DELETE CASCADE,
+                                    monthly_paid_cap INTEGER NOT NULL CHECK (monthly_paid_cap >= 0),
+                                    updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- 上限判定用の集計 (1つの集計につき1行を使い回し、期間が変わったら period_start を進めて数え直す)
+-- counter_type: MONTHLY_PAID (scope_id は nil UUID) / DAILY_POOL_DRAWS (scope_id はプール ID。上限のあるプールのみ)
+-- period_start: 期間の開始日 (日本時間。月間は月初日)
+CREATE TABLE user_draw_counters (
+                                    user_id UUID NOT NULL REFERENCES wallets(user_id) ON DELETE CASCADE,
+                                    counter_type VARCHAR(20) NOT NULL CHECK (counter_type IN ('MONTHLY_PAID', 'DAILY_POOL_DRAWS')),
+                                    scope_id UUID NOT NULL,
+                                    period_start DATE NOT NULL,
+                                    amount BIGINT NOT NULL CHECK (amount >= 0),
+                                    updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+                                    PRIMARY KEY (user_id, counter_type, scope_id)
+);
+
+-- 今月の有償石の利用額の初期値 (導入前の抽選分も上限に含める)
+INSERT INTO user_draw_counters (user_id, counter_type, scope_id, period_start, amount)
+SELECT t.user_id,
+       'MONTHLY_PAID',
+       '00000000-0000-0000-0000-000000000000',
+       date_trunc('month', CURRENT_TIMESTAMP AT TIME ZONE 'Asia/Tokyo')::date,
+       SUM(t.consumed_paid)
+FROM gacha_transactions t
+         JOIN wallets w ON w.user_id = t.user_id
+WHERE t.created_at >= date_trunc('month', CURRENT_TIMESTAMP AT TIME ZONE 'Asia/Tokyo') AT TIME ZONE 'Asia/Tokyo'
+GROUP BY t.user_id
+HAVING SUM(t.consumed_paid) > 0;
@@ -0,0 +1,8 @@
+-- ==========================================================
+-- 監査リプレイ用: 抽選時の設定の記録
+-- リプレイは現在のプール設定で再抽選するため、設定が変わった後の不一致を改ざん・不具合と区別できるよう
+-- 抽選時のマスタの版数と抽選表の設定の指紋を保存する
+-- ==========================================================
+-- 既存の履歴は記録がないため NULL 許容とする (パーティションにも追加される)
+ALTER TABLE gacha_transactions ADD COLUMN master_data_version BIGINT;
+ALTER TABLE gacha_transactions ADD COLUMN pool_fingerprint BIGINT;
@@ -0,0 +1,18 @@
+-- ==========================================================
+-- Outbox の再送制御
+-- 配信に失敗したメッセージは指数バックオフで次の試行時刻まで取り出さず、
+-- 試行回数の上限を超えたものはデッドレターとして配信対象から外す (削除はせず手動で調査・再投入する)
+-- ==========================================================
+ALTER TABLE draw_event_outbox ADD COLUMN next_attempt_at TIMESTAMP WITH TIME ZONE;
+ALTER TABLE draw_event_outbox ADD COLUMN dead_lettered_at TIMESTAMP WITH TIME ZONE;
+
+-- 未配信の取り出しとユーザーごとの先頭判定からデッドレターを除く
+DROP INDEX idx_draw_event_outbox_pending;
+DROP INDEX idx_draw_event_outbox_user_pending;
+CREATE INDEX idx_draw_event_outbox_pending ON draw_event_outbox (id)
+    WHERE published_at IS NULL AND dead_lettered_at IS NULL;
+CREATE INDEX idx_draw_event_outbox_user_pending ON draw_event_outbox (user_id, id)
+    WHERE published_at IS NULL AND dead_lettered_at IS NULL;
+-- デッドレターの調査用
+CREATE INDEX idx_draw_event_outbox_dead_lettered ON draw_event_outbox (dead_lettered_at)
+    WHERE dead_lettered_at IS NOT NULL;
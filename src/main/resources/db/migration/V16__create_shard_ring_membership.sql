@@ -0,0 +1,49 @@
+-- ==========================================================
+-- シャードリングの構成 (ディレクトリシャードのみ使用)
+-- 稼働中に追加したシャードを記録し、全インスタンスがここからリングを組み立てる。
+-- メンバーが変わるたびに版数を加算して NOTIFY shard_ring_changed '<version>' を送り、
+-- 各インスタンスは反映した版数を shard_ring_acks に報告する (再配置は全インスタンスの報告を待ってから始める)。
+-- 接続情報にはパスワードを含むため、ディレクトリ DB の権限で保護すること。
+-- ==========================================================
+CREATE TABLE shard_ring_members (
+                                    name VARCHAR(50) PRIMARY KEY,
+                                    url TEXT NOT NULL,
+                                    username VARCHAR(100) NOT NULL,
+                                    password TEXT,
+                                    state VARCHAR(20) NOT NULL CHECK (state IN ('JOINING', 'ACTIVE')),
+                                    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+                                    updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- 再配置中 (JOINING) のシャードは同時に1つまで
+CREATE UNIQUE INDEX uq_shard_ring_members_joining ON shard_ring_members ((TRUE)) WHERE state = 'JOINING';
+
+CREATE TABLE shard_ring_version (
+                                    id SMALLINT PRIMARY KEY DEFAULT 1 CHECK (id = 1),
+                                    version BIGINT NOT NULL DEFAULT 0,
+                                    updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+INSERT INTO shard_ring_version (id, version) VALUES (1, 0);
+
+-- インスタンスごとに反映済みのリング版数 (定期的に更新し、生存確認を兼ねる)
+CREATE TABLE shard_ring_acks (
+                                 node_id VARCHAR(200) PRIMARY KEY,
+                                 ring_version BIGINT NOT NULL,
+                                 reported_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE OR REPLACE FUNCTION bump_shard_ring_version() RETURNS TRIGGER AS $$
+DECLARE
+    new_version BIGINT;
+BEGIN
+    UPDATE shard_ring_version SET version = version + 1, updated_at = CURRENT_TIMESTAMP WHERE id = 1
+        RETURNING version INTO new_version;
+    PERFORM pg_notify('shard_ring_changed', new_version::text);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_shard_ring_members_version
+    AFTER INSERT OR UPDATE OR DELETE ON shard_ring_members
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_shard_ring_version();
@@ -0,0 +1,12 @@
+-- ==========================================================
+-- 集計の反映済みバッチ (DrawStatsSubscriber の反映の冪等化)
+-- 反映ごとに flush_id を発番し、加算と同じトランザクションで記録する。
+-- コミットの成否が分からずに再送した場合も、記録済みの flush_id は加算せずに読み飛ばす。
+-- 集計と同じシャード (ユーザー×プールは所属シャード、プール×日はディレクトリシャード) に書き、保持期間を過ぎたら削除する
+-- ==========================================================
+CREATE TABLE draw_stats_flushes (
+                                    flush_id UUID PRIMARY KEY,
+                                    flushed_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_draw_stats_flushes_flushed_at ON draw_stats_flushes (flushed_at);
@@ -0,0 +1,8 @@
+-- ==========================================================
+-- 監査リプレイ用: ボックスガチャの抽選前の箱の状態の記録
+-- ボックスガチャの結果はシードだけでなく抽選前の箱の残数にも依存するため、箱番号と残数 (user_box_states.remaining と同じ varint 列) を保存する
+-- 箱の構成の指紋 (BoxLayout#fingerprint) は pool_fingerprint に保存する
+-- ==========================================================
+-- 通常のプールと既存の履歴は記録がないため NULL 許容とする (パーティションにも追加される)
+ALTER TABLE gacha_transactions ADD COLUMN box_number INTEGER;
+ALTER TABLE gacha_transactions ADD COLUMN box_remaining BYTEA;
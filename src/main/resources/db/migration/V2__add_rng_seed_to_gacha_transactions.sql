@@ -0,0 +1,6 @@
+-- ==========================================================
+-- 監査リプレイ用: 抽選シードの記録
+-- ==========================================================
+-- 既存の履歴はシードを持たないため NULL 許容とする
+ALTER TABLE gacha_transactions ADD COLUMN rng_seed BIGINT;
+ALTER TABLE gacha_transactions ADD COLUMN rng_algorithm VARCHAR(50);
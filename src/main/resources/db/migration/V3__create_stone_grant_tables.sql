@@ -0,0 +1,35 @@
+-- ==========================================================
+-- 石の一括付与 (補填・ログインキャンペーン)
+-- ==========================================================
+
+-- キャンペーン定義と進捗 (checkpoint_user_id までの対象は処理済み)
+CREATE TABLE stone_grant_campaigns (
+                                       id UUID PRIMARY KEY DEFAULT gen_uuid_v7(),
+                                       name VARCHAR(100) NOT NULL CHECK (length(name) > 0),
+                                       paid_amount INTEGER NOT NULL CHECK (paid_amount >= 0),
+                                       free_amount INTEGER NOT NULL CHECK (free_amount >= 0),
+                                       target_mode VARCHAR(20) NOT NULL CHECK (target_mode IN ('ALL_WALLETS', 'LISTED')),
+                                       status VARCHAR(20) NOT NULL CHECK (status IN ('PENDING', 'RUNNING', 'COMPLETED', 'FAILED')),
+                                       checkpoint_user_id UUID,
+                                       granted_count BIGINT NOT NULL DEFAULT 0,
+                                       skipped_count BIGINT NOT NULL DEFAULT 0,
+                                       version BIGINT NOT NULL DEFAULT 0,
+                                       created_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+                                       updated_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+                                       CONSTRAINT chk_stone_grant_amount CHECK (paid_amount + free_amount > 0)
+);
+
+-- 対象ユーザー指定 (target_mode = LISTED の場合)
+CREATE TABLE stone_grant_targets (
+                                     campaign_id UUID NOT NULL REFERENCES stone_grant_campaigns(id) ON DELETE CASCADE,
+                                     user_id UUID NOT NULL,
+                                     PRIMARY KEY (campaign_id, user_id)
+);
+
+-- 付与済み台帳 (再実行・多重実行でも二重付与しないための冪等キー)
+CREATE TABLE stone_grant_ledger (
+                                    campaign_id UUID NOT NULL REFERENCES stone_grant_campaigns(id) ON DELETE CASCADE,
+                                    user_id UUID NOT NULL,
+                                    granted_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+                                    PRIMARY KEY (campaign_id, user_id)
+);
@@ -0,0 +1,2 @@
+-- ユーザー単位の履歴エクスポート・参照用 (パーティションごとに作成される)
+CREATE INDEX idx_gacha_transactions_user_created ON gacha_transactions (user_id, created_at);
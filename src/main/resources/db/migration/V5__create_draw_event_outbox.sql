@@ -0,0 +1,20 @@
+-- ==========================================================
+-- 抽選イベントの Transactional Outbox
+-- 抽選と同じトランザクションで書き込み、リレーが外部へ配信する
+-- ==========================================================
+CREATE TABLE draw_event_outbox (
+                                   id BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+                                   request_id VARCHAR(255) NOT NULL,
+                                   user_id UUID NOT NULL,
+                                   event_type VARCHAR(50) NOT NULL,
+                                   payload TEXT NOT NULL,
+                                   attempts INTEGER NOT NULL DEFAULT 0,
+                                   created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+                                   published_at TIMESTAMP WITH TIME ZONE
+);
+
+-- 未配信の取り出し (id 順) と、ユーザーごとの先頭判定
+CREATE INDEX idx_draw_event_outbox_pending ON draw_event_outbox (id) WHERE published_at IS NULL;
+CREATE INDEX idx_draw_event_outbox_user_pending ON draw_event_outbox (user_id, id) WHERE published_at IS NULL;
+-- 配信済みの掃除
+CREATE INDEX idx_draw_event_outbox_published ON draw_event_outbox (published_at) WHERE published_at IS NOT NULL;
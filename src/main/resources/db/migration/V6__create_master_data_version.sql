@@ -0,0 +1,32 @@
+-- ==========================================================
+-- マスタデータ (items / gacha_pools / gacha_emissions) の版数
+-- いずれかが変更されるたびにトリガーで加算し、
+-- マスタスナップショットファイルが古くなっていないかの判定に使う
+-- ==========================================================
+CREATE TABLE master_data_version (
+                                     id SMALLINT PRIMARY KEY DEFAULT 1 CHECK (id = 1),
+                                     version BIGINT NOT NULL DEFAULT 1,
+                                     updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+INSERT INTO master_data_version (id, version) VALUES (1, 1);
+
+CREATE OR REPLACE FUNCTION bump_master_data_version() RETURNS TRIGGER AS $$
+BEGIN
+    UPDATE master_data_version SET version = version + 1, updated_at = CURRENT_TIMESTAMP WHERE id = 1;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- 行数によらず1文につき1回だけ加算する
+CREATE TRIGGER trg_items_master_version
+    AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON items
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_master_data_version();
+
+CREATE TRIGGER trg_gacha_pools_master_version
+    AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON gacha_pools
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_master_data_version();
+
+CREATE TRIGGER trg_gacha_emissions_master_version
+    AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON gacha_emissions
+    FOR EACH STATEMENT EXECUTE FUNCTION bump_master_data_version();
@@ -0,0 +1,47 @@
+-- ==========================================================
+-- マスタ変更の通知 (LISTEN master_data_changed)
+-- 行トリガー   : 'row:<table>:<id>'              変更されたプール / アイテム (排出設定の変更はプールとして通知)
+-- 文トリガー   : 'version:<version>:<TG_OP>'     加算後の master_data_version
+-- NOTIFY はコミット時に送られ、同一トランザクション内では送信順が保たれる。
+-- 版数の加算は master_data_version の行ロックで直列化されるため、受信側は版数の連番で取りこぼしを検出できる。
+-- ==========================================================
+
+CREATE OR REPLACE FUNCTION notify_master_data_row_change() RETURNS TRIGGER AS $$
+DECLARE
+    target_table TEXT := TG_TABLE_NAME;
+    target_id UUID;
+BEGIN
+    IF TG_TABLE_NAME = 'gacha_emissions' THEN
+        target_table := 'gacha_pools';
+        target_id := CASE WHEN TG_OP = 'DELETE' THEN OLD.gacha_pool_id ELSE NEW.gacha_pool_id END;
+    ELSE
+        target_id := CASE WHEN TG_OP = 'DELETE' THEN OLD.id ELSE NEW.id END;
+    END IF;
+    PERFORM pg_notify('master_data_changed', 'row:' || target_table || ':' || target_id);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_items_notify_change
+    AFTER INSERT OR UPDATE OR DELETE ON items
+    FOR EACH ROW EXECUTE FUNCTION notify_master_data_row_change();
+
+CREATE TRIGGER trg_gacha_pools_notify_change
+    AFTER INSERT OR UPDATE OR DELETE ON gacha_pools
+    FOR EACH ROW EXECUTE FUNCTION notify_master_data_row_change();
+
+CREATE TRIGGER trg_gacha_emissions_notify_change
+    AFTER INSERT OR UPDATE OR DELETE ON gacha_emissions
+    FOR EACH ROW EXECUTE FUNCTION notify_master_data_row_change();
+
+-- 版数の加算と同時に通知する (TRUNCATE は行トリガーが動かないため、受信側で全件読み直す)
+CREATE OR REPLACE FUNCTION bump_master_data_version() RETURNS TRIGGER AS $$
+DECLARE
+    new_version BIGINT;
+BEGIN
+    UPDATE master_data_version SET version = version + 1, updated_at = CURRENT_TIMESTAMP WHERE id = 1
+        RETURNING version INTO new_version;
+    PERFORM pg_notify('master_data_changed', 'version:' || new_version || ':' || TG_OP);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
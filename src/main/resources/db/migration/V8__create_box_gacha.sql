@@ -0,0 +1,24 @@
+-- ==========================================================
+-- ボックスガチャ (非復元抽選)
+-- draw_mode = 'BOX' のプールでは、排出設定の box_count が1箱あたりの個数になり、
+-- ユーザーごとの箱の残数を user_box_states に保存する
+-- ==========================================================
+ALTER TABLE gacha_pools
+    ADD COLUMN draw_mode VARCHAR(10) NOT NULL DEFAULT 'NORMAL' CHECK (draw_mode IN ('NORMAL', 'BOX'));
+
+ALTER TABLE gacha_emissions
+    ADD COLUMN box_count INTEGER CHECK (box_count > 0);
+
+-- 箱の残数
+-- remaining: 排出設定の ID 順に並べた残数の varint 列
+-- layout_fingerprint: 保存時の箱の構成 (排出設定の ID と個数) のハッシュ。異なる場合は残数を捨てて新しい箱にする
+CREATE TABLE user_box_states (
+                                 user_id UUID NOT NULL REFERENCES wallets(user_id) ON DELETE CASCADE,
+                                 gacha_pool_id UUID NOT NULL REFERENCES gacha_pools(id) ON DELETE CASCADE,
+                                 box_number INTEGER NOT NULL DEFAULT 1 CHECK (box_number >= 1),
+                                 layout_fingerprint BIGINT NOT NULL,
+                                 remaining BYTEA NOT NULL,
+                                 version BIGINT NOT NULL DEFAULT 0,
+                                 updated_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+                                 PRIMARY KEY (user_id, gacha_pool_id)
+);
@@ -0,0 +1,32 @@
+-- ==========================================================
+-- 排出の全体在庫 (サーバー全体で N 個限定)
+-- 抽選ごとにこの行を減らすのではなく、各ノードがまとまった数 (ブロック) を先に借り受け (lease)、
+-- ノード内のカウンタから払い出す。借り受けた数は leased に加算され、leased <= total を DB で保証するため
+-- どのノードがどれだけ払い出しても total を超えることはない。
+-- シャーディング有効時はディレクトリシャードにのみ書き込む
+-- ==========================================================
+CREATE TABLE emission_stocks (
+                                 emission_id UUID PRIMARY KEY REFERENCES gacha_emissions(id) ON DELETE CASCADE,
+                                 total INTEGER NOT NULL CHECK (total >= 0),
+                                 leased INTEGER NOT NULL DEFAULT 0 CHECK (leased >= 0),
+                                 updated_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+                                 CONSTRAINT chk_emission_stock_not_oversold CHECK (leased <= total)
+);
+
+-- 借り受けの台帳
+-- consumed: ノードが非同期に報告する払い出し済みの数 (settled_at があれば確定値)
+-- 精算 (settle) で未使用分 (quantity - consumed) を emission_stocks.leased へ戻す。
+-- 精算されずに残った借り受け (ノードの異常終了) は払い出し済みとみなし、戻さない (売り越しより売り残しを選ぶ)
+CREATE TABLE emission_stock_leases (
+                                       id BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+                                       emission_id UUID NOT NULL REFERENCES emission_stocks(emission_id) ON DELETE CASCADE,
+                                       node_id VARCHAR(64) NOT NULL,
+                                       quantity INTEGER NOT NULL CHECK (quantity > 0),
+                                       consumed INTEGER NOT NULL DEFAULT 0,
+                                       leased_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+                                       reported_at TIMESTAMP WITH TIME ZONE,
+                                       settled_at TIMESTAMP WITH TIME ZONE,
+                                       CONSTRAINT chk_emission_stock_lease_consumed CHECK (consumed BETWEEN 0 AND quantity)
+);
+
+CREATE INDEX idx_emission_stock_leases_open ON emission_stock_leases (emission_id) WHERE settled_at IS NULL;
@@ -0,0 +1,6 @@
+-- ==========================================================
+-- シャード専用: 一括付与のキャンペーンはディレクトリシャードにのみ存在し、
+-- 台帳はウォレットと同じトランザクションで書くためユーザーの所属シャードに置く。
+-- 台帳からキャンペーンへの外部キーを外す (ディレクトリシャードでは適用しない)
+-- ==========================================================
+ALTER TABLE stone_grant_ledger DROP CONSTRAINT IF EXISTS stone_grant_ledger_campaign_id_fkey;
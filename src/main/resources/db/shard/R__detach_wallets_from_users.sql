@@ -0,0 +1,5 @@
+-- ==========================================================
+-- シャード専用: users はディレクトリシャードにのみ存在するため、
+-- ウォレットから users への外部キーを外す (ディレクトリシャードでは適用しない)
+-- ==========================================================
+ALTER TABLE wallets DROP CONSTRAINT IF EXISTS wallets_user_id_fkey;
@@ -0,0 +1,48 @@
+package com.yourcompany.config.infrastructure.datasource;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplicaLagGuardTest {
+
+    private static final long NOW = 1_000_000L;
+    private static final long PIN_WINDOW = 5_000L;
+    private static final long MAX_LAG = 3_000L;
+
+    private static DataSourceRole route(Long lastWriteAt, long lag) {
+        return ReplicaLagGuard.route(lastWriteAt, NOW, lag, PIN_WINDOW, MAX_LAG);
+    }
+
+    @Test
+    @DisplayName("正常系: 書き込みの記録がなく遅延が小さければレプリカで読む")
+    void testReplicaWhenFresh() {
+        assertThat(route(null, 0)).isEqualTo(DataSourceRole.REPLICA);
+        assertThat(route(null, MAX_LAG)).isEqualTo(DataSourceRole.REPLICA);
+    }
+
+    @Test
+    @DisplayName("異常系: 遅延が上限を超えた・測れない場合は全員プライマリで読む")
+    void testPrimaryWhenLagging() {
+        assertThat(route(null, MAX_LAG + 1)).isEqualTo(DataSourceRole.PRIMARY);
+        assertThat(route(null, ReplicaLagGuard.UNKNOWN_LAG)).isEqualTo(DataSourceRole.PRIMARY);
+    }
+
+    @Test
+    @DisplayName("正常系: 直近に書き込んだユーザーは固定時間の間プライマリで読み、過ぎればレプリカに戻る")
+    void testPinnedWithinWindow() {
+        assertThat(route(NOW - 100, 0)).isEqualTo(DataSourceRole.PRIMARY);
+        assertThat(route(NOW - PIN_WINDOW, 0)).isEqualTo(DataSourceRole.PRIMARY);
+        assertThat(route(NOW - PIN_WINDOW - 1, 0)).isEqualTo(DataSourceRole.REPLICA);
+    }
+
+    @Test
+    @DisplayName("正常系: 固定時間より遅延が長い場合は、遅延の分だけプライマリに固定する")
+    void testPinnedForMeasuredLag() {
+        long pinWindow = 500L;
+
+        assertThat(ReplicaLagGuard.route(NOW - 1_000, NOW, 2_000, pinWindow, MAX_LAG)).isEqualTo(DataSourceRole.PRIMARY);
+        assertThat(ReplicaLagGuard.route(NOW - 2_001, NOW, 2_000, pinWindow, MAX_LAG)).isEqualTo(DataSourceRole.REPLICA);
+    }
+}
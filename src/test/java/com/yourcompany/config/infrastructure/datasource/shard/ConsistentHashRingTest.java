@@ -0,0 +1,110 @@
+package com.yourcompany.config.infrastructure.datasource.shard;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConsistentHashRingTest {
+
+    private static final int USERS = 20_000;
+
+    private static List<UUID> users() {
+        Random random = new Random(42);
+        return Stream.generate(() -> new UUID(random.nextLong(), random.nextLong()))
+                .limit(USERS)
+                .toList();
+    }
+
+    @Nested
+    @DisplayName("振り分けのテスト")
+    class OwnerTest {
+
+        @Test
+        @DisplayName("同じユーザーは常に同じシャードに振り分けられること (構築順に依存しない)")
+        void shouldBeDeterministic() {
+            ConsistentHashRing ring1 = ConsistentHashRing.of(List.of("main", "shard-1", "shard-2"), 256);
+            ConsistentHashRing ring2 = ConsistentHashRing.of(List.of("shard-2", "main", "shard-1"), 256);
+
+            for (UUID userId : users()) {
+                assertThat(ring2.ownerOf(userId)).isEqualTo(ring1.ownerOf(userId));
+            }
+        }
+
+        @Test
+        @DisplayName("各シャードにおおむね均等に振り分けられること")
+        void shouldSpreadUsersEvenly() {
+            ConsistentHashRing ring = ConsistentHashRing.of(List.of("main", "shard-1", "shard-2", "shard-3"), 256);
+
+            Map<String, Integer> counts = new HashMap<>();
+            for (UUID userId : users()) {
+                counts.merge(ring.ownerOf(userId), 1, Integer::sum);
+            }
+
+            assertThat(counts).hasSize(4);
+            // 期待値 5,000 件に対して ±20% 以内
+            assertThat(counts.values()).allSatisfy(count -> assertThat(count).isBetween(4_000, 6_000));
+        }
+
+        @Test
+        @DisplayName("シャードが1つの場合はすべてそのシャードに振り分けられること")
+        void shouldRouteAllToSingleShard() {
+            ConsistentHashRing ring = ConsistentHashRing.of(List.of("main"), 16);
+
+            assertThat(users()).allSatisfy(userId -> assertThat(ring.ownerOf(userId)).isEqualTo("main"));
+        }
+    }
+
+    @Nested
+    @DisplayName("シャード追加のテスト")
+    class WithShardTest {
+
+        @Test
+        @DisplayName("移動するユーザーは追加したシャードへの移動だけで、割合は約 1/(N+1) であること")
+        void shouldMoveOnlyToNewShard() {
+            ConsistentHashRing before = ConsistentHashRing.of(List.of("main", "shard-1", "shard-2"), 256);
+            ConsistentHashRing after = before.withShard("shard-3");
+
+            int moved = 0;
+            for (UUID userId : users()) {
+                String oldOwner = before.ownerOf(userId);
+                String newOwner = after.ownerOf(userId);
+                if (!oldOwner.equals(newOwner)) {
+                    assertThat(newOwner).isEqualTo("shard-3");
+                    moved++;
+                }
+            }
+
+            // 期待値 1/4 = 5,000 件に対して ±20% 以内
+            assertThat(moved).isBetween(4_000, 6_000);
+        }
+
+        @Test
+        @DisplayName("追加前のリングは変更されないこと")
+        void shouldKeepOriginalRing() {
+            ConsistentHashRing before = ConsistentHashRing.of(List.of("main"), 16);
+
+            before.withShard("shard-1");
+
+            assertThat(before.shards()).containsExactly("main");
+        }
+
+        @Test
+        @DisplayName("登録済みのシャード名は追加できないこと")
+        void shouldRejectDuplicateShard() {
+            ConsistentHashRing ring = ConsistentHashRing.of(List.of("main", "shard-1"), 16);
+
+            assertThatThrownBy(() -> ring.withShard("shard-1"))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+}
@@ -9,6 +9,7 @@ import org.junit.jupiter.api.Test;
 
 import java.lang.reflect.Field;
 import java.time.Instant;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -141,4 +142,66 @@ class GachaStateTest {
             assertThat(state.isPityReached(0)).isFalse();
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    @DisplayName("nextSlot（枠の種類）のテスト")
+    class NextSlotTest {
+
+        @Test
+        @DisplayName("【正常系】確定枠の対象レアリティ以上が出れば確定枠カウントだけがリセットされること")
+        void shouldResetGuaranteedCountOnMinRarity() {
+            GachaState state = GachaState.create(userId, poolId);
+            GachaPool pool = createPool(90);
+            pool.restoreTierRules(10, Rarity.SR, Set.of());
+
+            for (int i = 0; i < 9; i++) state.updateState(Rarity.RARE, pool);
+            assertThat(state.nextSlot(pool)).isEqualTo(EmissionResult.EmissionType.GUARANTEED);
+
+            state.updateState(Rarity.SR, pool);
+
+            assertThat(state.getCurrentGuaranteedCount()).isZero();
+            assertThat(state.getCurrentPityCount()).isEqualTo(10);
+            assertThat(state.nextSlot(pool)).isEqualTo(EmissionResult.EmissionType.NORMAL);
+        }
+
+        @Test
+        @DisplayName("【境界値】天井と確定枠が重なった場合は天井枠を優先すること")
+        void shouldPreferPityOverGuaranteed() {
+            GachaState state = GachaState.create(userId, poolId);
+            GachaPool pool = createPool(10);
+            pool.restoreTierRules(10, Rarity.SR, Set.of());
+
+            for (int i = 0; i < 9; i++) state.updateState(Rarity.COMMON, pool);
+
+            assertThat(state.nextSlot(pool)).isEqualTo(EmissionResult.EmissionType.PITY);
+        }
+
+        @Test
+        @DisplayName("【境界値】ソフト天井の開始回数を超えた次の1回からソフト天井枠になること")
+        void shouldEnterSoftPityAfterStartCount() {
+            GachaState state = GachaState.create(userId, poolId);
+            GachaPool pool = createPool(90);
+            pool.restoreSoftPity(74, 600);
+
+            for (int i = 0; i < 73; i++) state.updateState(Rarity.SR, pool);
+            assertThat(state.nextSlot(pool)).isEqualTo(EmissionResult.EmissionType.NORMAL);
+
+            state.updateState(Rarity.SR, pool);
+            assertThat(state.nextSlot(pool)).isEqualTo(EmissionResult.EmissionType.SOFT_PITY);
+
+            state.updateState(Rarity.SSR, pool);
+            assertThat(state.nextSlot(pool)).isEqualTo(EmissionResult.EmissionType.NORMAL);
+        }
+
+        @Test
+        @DisplayName("【異常系】確定枠の設定が0（確定枠なし）の場合、確定枠にならないこと")
+        void shouldNotBeGuaranteedWhenTriggerIsZero() {
+            GachaState state = GachaState.create(userId, poolId);
+            GachaPool pool = createPool(0);
+
+            for (int i = 0; i < 100; i++) state.updateState(Rarity.COMMON, pool);
+
+            assertThat(state.nextSlot(pool)).isEqualTo(EmissionResult.EmissionType.NORMAL);
+        }
+    }
+}
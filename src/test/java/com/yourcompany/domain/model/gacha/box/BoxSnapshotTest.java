@@ -0,0 +1,55 @@
+package com.yourcompany.domain.model.gacha.box;
+
+import com.yourcompany.domain.model.gacha.DrawMode;
+import com.yourcompany.domain.model.gacha.GachaEmission;
+import com.yourcompany.domain.model.gacha.GachaPool;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BoxSnapshotTest {
+
+    private final UUID userId = UUID.randomUUID();
+    private final UUID poolId = UUID.randomUUID();
+
+    private GachaPool createBoxPool(int... boxCounts) {
+        GachaPool pool = GachaPool.create("Box Pool", Instant.now(), Instant.now().plusSeconds(3600), 100, 0, DrawMode.BOX)
+                .unwrap();
+        for (int boxCount : boxCounts) {
+            pool.addEmission(new GachaEmission(UUID.randomUUID(), 1, false, boxCount));
+        }
+        return pool;
+    }
+
+    @Test
+    @DisplayName("抽選前の箱を記録すれば、同じシードで箱の入れ替えをまたいでも同じ順に引き直せる")
+    void shouldReplayFromSnapshot() {
+        BoxLayout layout = BoxLayout.of(createBoxPool(1, 4, 15));
+        BoxState state = BoxState.fresh(userId, poolId, layout, 0L);
+        state.draw(13, new SplittableRandom(5));
+
+        BoxSnapshot snapshot = BoxSnapshot.of(state);
+        int[] drawn = state.draw(30, new SplittableRandom(42));
+
+        BoxState restored = snapshot.restore(userId, poolId, layout).orElseThrow();
+        assertThat(restored.getBoxNumber()).isEqualTo(1);
+        assertThat(restored.draw(30, new SplittableRandom(42))).containsExactly(drawn);
+        assertThat(restored.getBoxNumber()).isEqualTo(state.getBoxNumber());
+    }
+
+    @Test
+    @DisplayName("箱の構成が記録時と異なる場合は、新しい箱に入れ替えずに復元できないとする")
+    void shouldNotRestoreWhenLayoutChanged() {
+        GachaPool pool = createBoxPool(2, 3);
+        BoxSnapshot snapshot = BoxSnapshot.of(BoxState.fresh(userId, poolId, BoxLayout.of(pool), 0L));
+
+        pool.addEmission(new GachaEmission(UUID.randomUUID(), 1, false, 5));
+
+        assertThat(snapshot.restore(userId, poolId, BoxLayout.of(pool))).isEmpty();
+    }
+}
@@ -0,0 +1,128 @@
+package com.yourcompany.domain.model.gacha.box;
+
+import com.yourcompany.domain.model.gacha.DrawMode;
+import com.yourcompany.domain.model.gacha.GachaEmission;
+import com.yourcompany.domain.model.gacha.GachaPool;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BoxStateTest {
+
+    private final UUID userId = UUID.randomUUID();
+
+    private GachaPool createBoxPool(int... boxCounts) {
+        GachaPool pool = GachaPool.create("Box Pool", Instant.now(), Instant.now().plusSeconds(3600), 100, 0, DrawMode.BOX)
+                .unwrap();
+        for (int boxCount : boxCounts) {
+            pool.addEmission(new GachaEmission(UUID.randomUUID(), 1, false, boxCount));
+        }
+        return pool;
+    }
+
+    @Nested
+    @DisplayName("draw（非復元抽選）のテスト")
+    class DrawTest {
+
+        @Test
+        @DisplayName("箱の総数だけ引くと、各アイテムが個数どおりに出て箱が空になる")
+        void shouldDrawEveryItemExactlyOnceAcrossTheBox() {
+            BoxLayout layout = BoxLayout.of(createBoxPool(1, 4, 15));
+            BoxState state = BoxState.fresh(userId, UUID.randomUUID(), layout, -1);
+
+            int[] drawn = new int[layout.size()];
+            for (int slot : state.draw(20, new SplittableRandom(3))) {
+                drawn[slot]++;
+            }
+
+            assertThat(drawn).containsExactly(1, 4, 15);
+            assertThat(state.totalRemaining()).isZero();
+            assertThat(state.getBoxNumber()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("途中で箱が空になったら次の箱に入れ替えて引き続ける")
+        void shouldRefillWhenBoxIsEmpty() {
+            BoxLayout layout = BoxLayout.of(createBoxPool(1, 9));
+            BoxState state = BoxState.fresh(userId, UUID.randomUUID(), layout, -1);
+
+            int[] drawn = state.draw(100, new SplittableRandom(11));
+
+            assertThat(drawn).hasSize(100);
+            assertThat(state.getBoxNumber()).isEqualTo(10);
+            assertThat(state.totalRemaining()).isZero();
+            assertThat(Arrays.stream(drawn).filter(slot -> slot == 0).count()).isEqualTo(10);
+        }
+
+        @Test
+        @DisplayName("リセットすると次の満杯の箱になる")
+        void shouldResetToFullBox() {
+            BoxLayout layout = BoxLayout.of(createBoxPool(2, 3));
+            BoxState state = BoxState.fresh(userId, UUID.randomUUID(), layout, -1);
+            state.draw(4, new SplittableRandom(5));
+
+            state.reset();
+
+            assertThat(state.getBoxNumber()).isEqualTo(2);
+            assertThat(state.remaining(0)).isEqualTo(2);
+            assertThat(state.remaining(1)).isEqualTo(3);
+        }
+    }
+
+    @Nested
+    @DisplayName("残数の保存と復元のテスト")
+    class EncodingTest {
+
+        @Test
+        @DisplayName("varint で保存した残数をそのまま復元できる")
+        void shouldRoundTripRemaining() {
+            GachaPool pool = createBoxPool(1, 300, 70000);
+            BoxLayout layout = BoxLayout.of(pool);
+            BoxState state = BoxState.fresh(userId, pool.getId(), layout, -1);
+            state.draw(150, new SplittableRandom(9));
+
+            BoxState restored = BoxState.restore(userId, pool.getId(), layout,
+                    state.getBoxNumber(), layout.fingerprint(), state.encodeRemaining(), 4L);
+
+            assertThat(restored.getBoxNumber()).isEqualTo(1);
+            assertThat(restored.getVersion()).isEqualTo(4L);
+            for (int slot = 0; slot < layout.size(); slot++) {
+                assertThat(restored.remaining(slot)).isEqualTo(state.remaining(slot));
+            }
+        }
+
+        @Test
+        @DisplayName("箱の構成が変わっていたら残数を捨てて次の満杯の箱から始める")
+        void shouldStartNewBoxWhenLayoutChanged() {
+            GachaPool before = createBoxPool(5, 5);
+            BoxLayout oldLayout = BoxLayout.of(before);
+            BoxState state = BoxState.fresh(userId, before.getId(), oldLayout, -1);
+            state.draw(3, new SplittableRandom(1));
+
+            BoxLayout newLayout = BoxLayout.of(createBoxPool(5, 5, 1));
+            BoxState restored = BoxState.restore(userId, before.getId(), newLayout,
+                    state.getBoxNumber(), oldLayout.fingerprint(), state.encodeRemaining(), 2L);
+
+            assertThat(restored.getBoxNumber()).isEqualTo(2);
+            assertThat(restored.totalRemaining()).isEqualTo(11);
+        }
+
+        @Test
+        @DisplayName("壊れた残数は構成と合わないものとして扱う")
+        void shouldRejectCorruptedBytes() {
+            BoxLayout layout = BoxLayout.of(createBoxPool(3, 3));
+
+            assertThat(BoxState.decode(new byte[]{(byte) 0x80}, layout)).isNull();
+            assertThat(BoxState.decode(new byte[]{3, 3, 3}, layout)).isNull();
+            assertThat(BoxState.decode(new byte[]{4, 3}, layout)).isNull();
+            assertThat(BoxState.decode(new byte[]{2, 3}, layout)).containsExactly(2, 3);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.yourcompany.domain.model.gacha.box;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FenwickSamplerTest {
+
+    @Test
+    @DisplayName("累積残数の探索が線形探索と一致する")
+    void testFindMatchesLinearScan() {
+        int[] counts = {3, 0, 5, 1, 0, 0, 7, 2, 4};
+        FenwickSampler sampler = FenwickSampler.of(counts);
+
+        assertThat(sampler.total()).isEqualTo(22);
+        for (long target = 0; target < sampler.total(); target++) {
+            assertThat(sampler.find(target)).as("target=%d", target).isEqualTo(linearFind(counts, target));
+        }
+    }
+
+    @Test
+    @DisplayName("取り除いた後も探索が線形探索と一致する")
+    void testFindAfterRemoval() {
+        SplittableRandom random = new SplittableRandom(42);
+        FenwickSampler sampler = FenwickSampler.of(new int[]{5, 1, 0, 8, 3, 2, 6});
+
+        for (int i = 0; i < 10; i++) {
+            sampler.sampleAndRemove(random);
+            int[] counts = sampler.counts();
+            for (long target = 0; target < sampler.total(); target++) {
+                assertThat(sampler.find(target)).isEqualTo(linearFind(counts, target));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("全数を引き切ると各スロットがちょうど個数分だけ出て空になる")
+    void testDrawsExactlyEveryCount() {
+        int[] counts = {1, 10, 0, 25, 64};
+        FenwickSampler sampler = FenwickSampler.of(counts);
+        int[] drawn = new int[counts.length];
+        SplittableRandom random = new SplittableRandom(7);
+
+        for (int i = 0; i < 100; i++) {
+            drawn[sampler.sampleAndRemove(random)]++;
+        }
+
+        assertThat(drawn).containsExactly(counts);
+        assertThat(sampler.total()).isZero();
+        assertThatThrownBy(() -> sampler.sampleAndRemove(random))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("渡した配列は変更しない")
+    void testDoesNotMutateInput() {
+        int[] counts = {2, 2};
+        FenwickSampler sampler = FenwickSampler.of(counts);
+
+        sampler.sampleAndRemove(new SplittableRandom(1));
+
+        assertThat(counts).containsExactly(2, 2);
+        assertThat(sampler.total()).isEqualTo(3);
+    }
+
+    private static int linearFind(int[] counts, long target) {
+        long cumulative = 0;
+        for (int i = 0; i < counts.length; i++) {
+            cumulative += counts[i];
+            if (target < cumulative) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("target out of range: " + target);
+    }
+}
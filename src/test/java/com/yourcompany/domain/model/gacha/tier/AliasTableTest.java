@@ -0,0 +1,52 @@
+package com.yourcompany.domain.model.gacha.tier;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AliasTableTest {
+
+    @Test
+    @DisplayName("各列の確率が重みの比と厳密に一致する")
+    void testProbabilitiesAreExact() {
+        long[] weights = {300, 0, 1_400, 7, 8_293, 1};
+        AliasTable table = AliasTable.of(weights);
+
+        // 分母は size * total なので、分子は weight * size と一致する
+        for (int i = 0; i < weights.length; i++) {
+            assertThat(table.numerator(i)).as("index=%d", i).isEqualTo(weights[i] * weights.length);
+        }
+    }
+
+    @Test
+    @DisplayName("重み0の列は選ばれない")
+    void testZeroWeightIsNeverSampled() {
+        AliasTable table = AliasTable.of(new long[]{0, 5, 0, 1});
+        SplittableRandom random = new SplittableRandom(42);
+
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(table.sample(random)).isIn(1, 3);
+        }
+    }
+
+    @Test
+    @DisplayName("重みが1つだけなら乱数を使わずに返す")
+    void testSingleWeight() {
+        AliasTable table = AliasTable.of(new long[]{42});
+
+        assertThat(table.sample(new SplittableRandom(1))).isZero();
+        assertThat(table.numerator(0)).isEqualTo(42);
+    }
+
+    @Test
+    @DisplayName("空・負の重み・合計0は作れない")
+    void testRejectsInvalidWeights() {
+        assertThatThrownBy(() -> AliasTable.of(new long[0])).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> AliasTable.of(new long[]{1, -1})).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> AliasTable.of(new long[]{0, 0})).isInstanceOf(IllegalArgumentException.class);
+    }
+}
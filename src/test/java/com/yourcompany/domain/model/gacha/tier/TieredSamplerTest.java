@@ -0,0 +1,182 @@
+package com.yourcompany.domain.model.gacha.tier;
+
+import com.sqlcanvas.sharedkernel.shared.result.Result;
+import com.yourcompany.domain.model.gacha.EmissionResult.EmissionType;
+import com.yourcompany.domain.model.gacha.GachaEmission;
+import com.yourcompany.domain.model.gacha.GachaPool;
+import com.yourcompany.domain.model.gacha.Rarity;
+import com.yourcompany.domain.model.gacha.RateUpRule;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class TieredSamplerTest {
+
+    private final Map<UUID, Rarity> rarities = new HashMap<>();
+
+    private GachaPool newPool() {
+        return GachaPool.restore(UUID.randomUUID(), "Tiered",
+                Instant.parse("2026-01-01T00:00:00Z"), Instant.parse("2026-01-08T00:00:00Z"), 300, 90);
+    }
+
+    private GachaEmission add(GachaPool pool, Rarity rarity, int weight, boolean pickup) {
+        GachaEmission emission = GachaEmission.restore(UUID.randomUUID(), UUID.randomUUID(), weight, pickup);
+        pool.addEmission(emission);
+        rarities.put(emission.getItemId(), rarity);
+        return emission;
+    }
+
+    private TieredSampler compile(GachaPool pool) {
+        return TieredSampler.compile(pool, itemId -> Optional.ofNullable(rarities.get(itemId))).unwrap();
+    }
+
+    @Test
+    @DisplayName("確定枠は対象レアリティ以上、天井枠は最高レアリティだけから引く")
+    void testConditionalSlots() {
+        GachaPool pool = newPool();
+        pool.restoreTierRules(10, Rarity.SR, Set.of());
+        add(pool, Rarity.SSR, 300, true);
+        add(pool, Rarity.SR, 1_200, false);
+        add(pool, Rarity.RARE, 8_500, false);
+        TieredSampler sampler = compile(pool);
+        SplittableRandom random = new SplittableRandom(42);
+
+        for (int i = 0; i < 5_000; i++) {
+            assertThat(rarities.get(sampler.sample(EmissionType.GUARANTEED, random).getItemId()))
+                    .isIn(Rarity.SR, Rarity.SSR);
+            assertThat(rarities.get(sampler.sample(EmissionType.PITY, random).getItemId()))
+                    .isEqualTo(Rarity.SSR);
+        }
+        assertThat(sampler.candidates(EmissionType.PITY)).hasSize(1);
+        assertThat(sampler.candidates(EmissionType.NORMAL)).hasSize(3);
+    }
+
+    @Test
+    @DisplayName("対象レアリティの排出設定がない枠は通常枠として引く")
+    void testFallsBackToNormal() {
+        GachaPool pool = newPool();
+        add(pool, Rarity.SR, 1, false);
+        add(pool, Rarity.RARE, 9, false);
+        TieredSampler sampler = compile(pool);
+
+        assertThat(sampler.candidates(EmissionType.PITY)).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("確率アップがあればレアリティ内のピックアップ割合はその値になり、レアリティの排出率は変わらない")
+    void testRateUpShare() {
+        GachaPool pool = newPool();
+        pool.restoreTierRules(0, Rarity.SR, Set.of(new RateUpRule(Rarity.SSR, 7_000)));
+        GachaEmission pickup = add(pool, Rarity.SSR, 100, true);
+        GachaEmission other = add(pool, Rarity.SSR, 900, false);
+        add(pool, Rarity.RARE, 9_000, false);
+        TieredSampler sampler = compile(pool);
+
+        assertThat(sampler.normalRate(pickup)).isCloseTo(0.07, within(1e-12));
+        assertThat(sampler.normalRate(other)).isCloseTo(0.03, within(1e-12));
+
+        SplittableRandom random = new SplittableRandom(7);
+        int pickups = 0;
+        int draws = 100_000;
+        for (int i = 0; i < draws; i++) {
+            if (sampler.sample(EmissionType.PITY, random) == pickup) {
+                pickups++;
+            }
+        }
+        // 二項分布の標準偏差は約 0.0015
+        assertThat((double) pickups / draws).isCloseTo(0.7, within(0.01));
+    }
+
+    @Test
+    @DisplayName("確率アップがなければ weight の比のまま")
+    void testWeightRatioWithoutRateUp() {
+        GachaPool pool = newPool();
+        GachaEmission pickup = add(pool, Rarity.SSR, 100, true);
+        GachaEmission other = add(pool, Rarity.SSR, 300, false);
+        GachaEmission rare = add(pool, Rarity.RARE, 9_600, false);
+        TieredSampler sampler = compile(pool);
+
+        assertThat(sampler.normalRate(pickup)).isCloseTo(0.01, within(1e-12));
+        assertThat(sampler.normalRate(other)).isCloseTo(0.03, within(1e-12));
+        assertThat(sampler.normalRate(rare)).isCloseTo(0.96, within(1e-12));
+    }
+
+    @Test
+    @DisplayName("ソフト天井枠は天井カウントごとに最高レアリティの排出率が上がり、内訳の比は変わらない")
+    void testSoftPityCurve() {
+        GachaPool pool = GachaPool.restore(UUID.randomUUID(), "Soft pity",
+                Instant.parse("2026-01-01T00:00:00Z"), Instant.parse("2026-01-08T00:00:00Z"), 300, 90);
+        pool.restoreSoftPity(73, 600);
+        GachaEmission pickup = add(pool, Rarity.SSR, 30, true);
+        GachaEmission other = add(pool, Rarity.SSR, 30, false);
+        add(pool, Rarity.SR, 510, false);
+        add(pool, Rarity.RARE, 9_430, false);
+        TieredSampler sampler = compile(pool);
+        SplittableRandom random = new SplittableRandom(11);
+
+        // 開始前は通常の 0.6%、1回目で 6.6%、2回目で 12.6%、17回目以降は 100%
+        assertThat(topRate(sampler, EmissionType.SOFT_PITY, 72, random)).isCloseTo(0.006, within(0.002));
+        assertThat(topRate(sampler, EmissionType.SOFT_PITY, 73, random)).isCloseTo(0.066, within(0.005));
+        assertThat(topRate(sampler, EmissionType.SOFT_PITY, 74, random)).isCloseTo(0.126, within(0.006));
+        assertThat(topRate(sampler, EmissionType.SOFT_PITY, 89, random)).isEqualTo(1.0);
+
+        int pickups = 0;
+        for (int i = 0; i < 20_000; i++) {
+            GachaEmission drawn = sampler.sample(EmissionType.SOFT_PITY, 89, random);
+            assertThat(drawn).isIn(pickup, other);
+            if (drawn == pickup) {
+                pickups++;
+            }
+        }
+        assertThat(pickups / 20_000.0).isCloseTo(0.5, within(0.02));
+    }
+
+    private double topRate(TieredSampler sampler, EmissionType slot, int pityCount, SplittableRandom random) {
+        int draws = 50_000;
+        int top = 0;
+        for (int i = 0; i < draws; i++) {
+            if (rarities.get(sampler.sample(slot, pityCount, random).getItemId()).isTopTier()) {
+                top++;
+            }
+        }
+        return (double) top / draws;
+    }
+
+    @Test
+    @DisplayName("アイテムマスタがない排出枠を含むプールはコンパイルできない")
+    void testMissingItem() {
+        GachaPool pool = newPool();
+        add(pool, Rarity.SSR, 1, true);
+        pool.addEmission(GachaEmission.restore(UUID.randomUUID(), UUID.randomUUID(), 1, false));
+
+        Result<TieredSampler> result = TieredSampler.compile(pool, itemId -> Optional.ofNullable(rarities.get(itemId)));
+
+        assertThat(result).isInstanceOf(Result.Failure.class);
+    }
+
+    @Test
+    @DisplayName("同じ設定なら指紋は一致し、アイテムのレアリティが変わると指紋も変わる")
+    void testFingerprint() {
+        GachaPool pool = newPool();
+        pool.restoreTierRules(10, Rarity.SR, Set.of());
+        add(pool, Rarity.SSR, 300, true);
+        GachaEmission sr = add(pool, Rarity.SR, 1_200, false);
+        add(pool, Rarity.RARE, 8_500, false);
+
+        long before = compile(pool).fingerprint();
+        assertThat(compile(pool).fingerprint()).isEqualTo(before);
+
+        rarities.put(sr.getItemId(), Rarity.RARE);
+        assertThat(compile(pool).fingerprint()).isNotEqualTo(before);
+    }
+}
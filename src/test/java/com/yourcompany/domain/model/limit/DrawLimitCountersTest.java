@@ -0,0 +1,110 @@
+package com.yourcompany.domain.model.limit;
+
+import com.sqlcanvas.sharedkernel.shared.result.Result;
+import com.yourcompany.domain.model.limit.DrawLimitCounters.PeriodCount;
+import com.yourcompany.domain.shared.exception.GachaErrorCode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DrawLimitCountersTest {
+
+    private static final UUID USER_ID = UUID.randomUUID();
+    private static final UUID POOL_ID = UUID.randomUUID();
+
+    // 2025-01-31 23:30 (日本時間)
+    private static final Instant LATE_NIGHT = Instant.parse("2025-01-31T14:30:00Z");
+    // 2025-02-01 00:30 (日本時間。日付・月とも変わる)
+    private static final Instant NEXT_DAY = Instant.parse("2025-01-31T15:30:00Z");
+
+    @Nested
+    class DailyDrawsTest {
+        @Test
+        @DisplayName("正常系: 上限までは抽選でき、超える場合はエラー")
+        void testDailyLimit() {
+            DrawLimitCounters counters = DrawLimitCounters.empty(USER_ID)
+                    .record(POOL_ID, true, 10, 0, LATE_NIGHT);
+
+            assertThat(counters.checkDailyDraws(POOL_ID, 20, 10, LATE_NIGHT)).isInstanceOf(Result.Success.class);
+            Result<DrawLimitCounters> result = counters.checkDailyDraws(POOL_ID, 20, 11, LATE_NIGHT);
+            assertThat(result).isInstanceOf(Result.Failure.class);
+            assertThat(((Result.Failure<?>) result).errorCode()).isEqualTo(GachaErrorCode.DAILY_DRAW_LIMIT_EXCEEDED);
+        }
+
+        @Test
+        @DisplayName("正常系: 日本時間で日付が変わると回数は数え直しになる")
+        void testDayRollover() {
+            DrawLimitCounters counters = DrawLimitCounters.empty(USER_ID)
+                    .record(POOL_ID, true, 20, 0, LATE_NIGHT);
+
+            assertThat(counters.checkDailyDraws(POOL_ID, 20, 1, LATE_NIGHT)).isInstanceOf(Result.Failure.class);
+            assertThat(counters.dailyDraws(POOL_ID, NEXT_DAY)).isZero();
+            assertThat(counters.checkDailyDraws(POOL_ID, 20, 10, NEXT_DAY)).isInstanceOf(Result.Success.class);
+
+            DrawLimitCounters next = counters.record(POOL_ID, true, 10, 0, NEXT_DAY);
+            assertThat(next.dailyDrawCount(POOL_ID))
+                    .contains(new PeriodCount(LocalDate.of(2025, 2, 1), 10));
+        }
+
+        @Test
+        @DisplayName("正常系: 上限 0 のプールは回数を保持せず、常に抽選できる")
+        void testNoDailyLimit() {
+            DrawLimitCounters counters = DrawLimitCounters.empty(USER_ID)
+                    .record(POOL_ID, false, 1000, 0, LATE_NIGHT);
+
+            assertThat(counters.dailyDrawCount(POOL_ID)).isEmpty();
+            assertThat(counters.checkDailyDraws(POOL_ID, 0, 1000, LATE_NIGHT)).isInstanceOf(Result.Success.class);
+        }
+    }
+
+    @Nested
+    class MonthlyPaidTest {
+        @Test
+        @DisplayName("異常系: 今月の有償石の利用額が上限を超える場合はエラー")
+        void testMonthlyCap() {
+            DrawLimitCounters counters = DrawLimitCounters.restore(USER_ID, 5000,
+                    new PeriodCount(LocalDate.of(2025, 1, 1), 4800), Map.of());
+
+            assertThat(counters.checkMonthlyPaid(200, LATE_NIGHT)).isInstanceOf(Result.Success.class);
+            Result<DrawLimitCounters> result = counters.checkMonthlyPaid(300, LATE_NIGHT);
+            assertThat(result).isInstanceOf(Result.Failure.class);
+            assertThat(((Result.Failure<?>) result).errorCode()).isEqualTo(GachaErrorCode.SPENDING_LIMIT_EXCEEDED);
+
+            // 翌月 (日本時間) は 0 から数え直す
+            assertThat(counters.monthlyPaid(NEXT_DAY)).isZero();
+            assertThat(counters.checkMonthlyPaid(300, NEXT_DAY)).isInstanceOf(Result.Success.class);
+        }
+
+        @Test
+        @DisplayName("正常系: 上限がなければ利用額に関係なく通り、無償石のみの抽選は上限に関係しない")
+        void testNoCap() {
+            DrawLimitCounters uncapped = DrawLimitCounters.empty(USER_ID)
+                    .record(POOL_ID, false, 10, 1_000_000, LATE_NIGHT);
+            assertThat(uncapped.checkMonthlyPaid(1_000_000, LATE_NIGHT)).isInstanceOf(Result.Success.class);
+
+            DrawLimitCounters capped = uncapped.withMonthlyPaidCap(0);
+            assertThat(capped.checkMonthlyPaid(1, LATE_NIGHT)).isInstanceOf(Result.Failure.class);
+            assertThat(capped.checkMonthlyPaid(0, LATE_NIGHT)).isInstanceOf(Result.Success.class);
+        }
+    }
+
+    @Test
+    @DisplayName("正常系: record は元の集計を変更しない")
+    void testRecordIsImmutable() {
+        DrawLimitCounters original = DrawLimitCounters.empty(USER_ID);
+        DrawLimitCounters recorded = original.record(POOL_ID, true, 10, 3000, LATE_NIGHT);
+
+        assertThat(original.monthlyPaid(LATE_NIGHT)).isZero();
+        assertThat(original.dailyDraws(POOL_ID, LATE_NIGHT)).isZero();
+        assertThat(recorded.monthlyPaid(LATE_NIGHT)).isEqualTo(3000);
+        assertThat(recorded.dailyDraws(POOL_ID, LATE_NIGHT)).isEqualTo(10);
+        assertThat(recorded.getUserId()).isEqualTo(USER_ID);
+    }
+}
@@ -55,5 +55,16 @@ class GemsTest {
             assertThat(result).isInstanceOf(Result.Success.class);
             assertThat(result.orElseThrow(failure -> new RuntimeException(failure.message())).getAmount()).isEqualTo(60);
         }
+
+        @Test
+        @DisplayName("正常系: 0を引いた場合は新しい値を作らず同じ Result を返す")
+        void testZero() {
+            Gems gems = Gems.of(100).orElseThrow(failure -> new RuntimeException(failure.message()));
+
+            Result<Gems> result = gems.subtract(0);
+
+            assertThat(result).isSameAs(gems.add(0));
+            assertThat(result.orElseThrow(failure -> new RuntimeException(failure.message()))).isSameAs(gems);
+        }
     }
 }
\ No newline at end of file
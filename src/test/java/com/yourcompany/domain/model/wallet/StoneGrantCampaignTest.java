@@ -0,0 +1,97 @@
+package com.yourcompany.domain.model.wallet;
+
+import com.sqlcanvas.sharedkernel.shared.error.CommonErrorCode;
+import com.sqlcanvas.sharedkernel.shared.result.Result;
+import com.yourcompany.domain.shared.exception.GachaErrorCode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StoneGrantCampaignTest {
+
+    private StoneGrantCampaign newCampaign() {
+        return StoneGrantCampaign.create("メンテナンス補填", 0, 500, StoneGrantCampaign.TargetMode.ALL_WALLETS)
+                .orElseThrow(failure -> new RuntimeException(failure.message()));
+    }
+
+    @Nested
+    class CreateTest {
+        @Test
+        @DisplayName("異常系: 付与量が両方0ならエラー")
+        void testZeroAmount() {
+            Result<StoneGrantCampaign> result =
+                    StoneGrantCampaign.create("補填", 0, 0, StoneGrantCampaign.TargetMode.ALL_WALLETS);
+
+            assertThat(result).isInstanceOf(Result.Failure.class);
+            assertThat(((Result.Failure<?>) result).errorCode()).isEqualTo(CommonErrorCode.INVALID_PARAMETER);
+        }
+
+        @Test
+        @DisplayName("異常系: 残高上限を超える付与量はエラー")
+        void testOverMaxStones() {
+            Result<StoneGrantCampaign> result = StoneGrantCampaign.create(
+                    "補填", Wallet.MAX_STONES + 1, 0, StoneGrantCampaign.TargetMode.ALL_WALLETS);
+
+            assertThat(result).isInstanceOf(Result.Failure.class);
+        }
+
+        @Test
+        @DisplayName("正常系: PENDING で作成される")
+        void testSuccess() {
+            StoneGrantCampaign campaign = newCampaign();
+
+            assertThat(campaign.getStatus()).isEqualTo(StoneGrantCampaign.Status.PENDING);
+            assertThat(campaign.getCheckpointUserId()).isNull();
+        }
+    }
+
+    @Nested
+    class LifecycleTest {
+        @Test
+        @DisplayName("正常系: 失敗したキャンペーンはチェックポイントを保ったまま再開できる")
+        void testResumeAfterFailure() {
+            StoneGrantCampaign campaign = newCampaign();
+            UUID checkpoint = UUID.randomUUID();
+            campaign.start();
+            campaign.recordProgress(checkpoint, 1000, 2);
+            campaign.fail();
+
+            Result<StoneGrantCampaign> result = campaign.start();
+
+            assertThat(result).isInstanceOf(Result.Success.class);
+            assertThat(campaign.getStatus()).isEqualTo(StoneGrantCampaign.Status.RUNNING);
+            assertThat(campaign.getCheckpointUserId()).isEqualTo(checkpoint);
+            assertThat(campaign.getGrantedCount()).isEqualTo(1000);
+        }
+
+        @Test
+        @DisplayName("正常系: チェックポイントが進まない進捗でも件数は加算される")
+        void testProgressWithoutCheckpoint() {
+            StoneGrantCampaign campaign = newCampaign();
+            UUID checkpoint = UUID.randomUUID();
+            campaign.recordProgress(checkpoint, 10, 0);
+            campaign.recordProgress(null, 5, 1);
+
+            assertThat(campaign.getCheckpointUserId()).isEqualTo(checkpoint);
+            assertThat(campaign.getGrantedCount()).isEqualTo(15);
+            assertThat(campaign.getSkippedCount()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("異常系: 完了済みは再実行できない")
+        void testCompleted() {
+            StoneGrantCampaign campaign = newCampaign();
+            campaign.start();
+            campaign.complete();
+
+            Result<StoneGrantCampaign> result = campaign.start();
+
+            assertThat(result).isInstanceOf(Result.Failure.class);
+            assertThat(((Result.Failure<?>) result).errorCode()).isEqualTo(GachaErrorCode.STONE_GRANT_NOT_RUNNABLE);
+        }
+    }
+}
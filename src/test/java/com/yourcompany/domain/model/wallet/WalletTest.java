@@ -34,6 +34,19 @@ class WalletTest {
             assertThat(result).isInstanceOf(Result.Failure.class);
             assertThat(((Result.Failure<?>) result).errorCode()).isEqualTo(CommonErrorCode.INVALID_PARAMETER);
         }
+
+        @Test
+        @DisplayName("正常系: 成功時は毎回同じ Result を返し、有償石から消費される")
+        void testSuccessReusesResult() {
+            Wallet wallet = Wallet.restore(UUID.randomUUID(), 500, 500, 0L);
+
+            Result<Wallet> first = wallet.consume(300);
+            Result<Wallet> second = wallet.consume(300);
+
+            assertThat(first).isInstanceOf(Result.Success.class).isSameAs(second);
+            assertThat(wallet.getPaidStones()).isZero();
+            assertThat(wallet.getFreeStones()).isEqualTo(400);
+        }
     }
 
     @Nested
@@ -48,6 +61,16 @@ class WalletTest {
             assertThat(((Result.Failure<?>) result).errorCode()).isEqualTo(CommonErrorCode.INVALID_PARAMETER);
         }
 
+        @Test
+        @DisplayName("異常系: DBの上限を超える追加はエラー")
+        void testOverMaxStones() {
+            Wallet wallet = Wallet.create(UUID.randomUUID());
+            Result<Wallet> result = wallet.deposit(Wallet.MAX_STONES + 1, 0);
+
+            assertThat(result).isInstanceOf(Result.Failure.class);
+            assertThat(((Result.Failure<?>) result).errorCode()).isEqualTo(GachaErrorCode.INVENTORY_OVERFLOW);
+        }
+
         @Test
         @DisplayName("正常系: 加算される")
         void testSuccess() {
@@ -0,0 +1,27 @@
+package com.yourcompany.domain.shared.exception;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GachaExceptionTest {
+
+    @Test
+    @DisplayName("想定内の業務エラー (4xx) はスタックトレースを取得しない")
+    void testExpectedErrorHasNoStackTrace() {
+        GachaException exception = new GachaException(GachaErrorCode.INSUFFICIENT_BALANCE);
+
+        assertThat(exception.getStackTrace()).isEmpty();
+        assertThat(exception.getMessage()).isEqualTo(GachaErrorCode.INSUFFICIENT_BALANCE.getDefaultMessage());
+    }
+
+    @Test
+    @DisplayName("想定外のエラー (5xx) は原因調査のためスタックトレースを取得する")
+    void testUnexpectedErrorHasStackTrace() {
+        GachaException exception = new GachaException(GachaErrorCode.UNEXPECTED_ERROR, "boom");
+
+        assertThat(exception.getStackTrace()).isNotEmpty();
+        assertThat(exception.getMessage()).isEqualTo("boom");
+    }
+}
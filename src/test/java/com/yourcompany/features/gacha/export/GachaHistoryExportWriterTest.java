@@ -0,0 +1,66 @@
+package com.yourcompany.features.gacha.export;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.yourcompany.domain.model.gacha.DrawSeed;
+import com.yourcompany.domain.model.history.GachaTransaction;
+import com.yourcompany.domain.shared.value.RequestId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GachaHistoryExportWriterTest {
+
+    private static final String RESULT_JSON = "[{\"itemId\":\"" + UUID.randomUUID() + "\",\"type\":\"NORMAL\"}]";
+
+    private GachaTransaction newTransaction() {
+        return GachaTransaction.record(RequestId.generate(), UUID.randomUUID(), UUID.randomUUID(),
+                300, 0, RESULT_JSON, new DrawSeed(42L, "L64X128MixRandom"));
+    }
+
+    private String export(GachaHistoryExportFormat format, GachaTransaction... transactions) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GachaHistoryExportWriter writer = GachaHistoryExportWriter.open(format, out, new JsonFactory())) {
+            for (GachaTransaction tx : transactions) {
+                writer.write(tx);
+            }
+        }
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    @DisplayName("NDJSON: 1行1件で、result_json はそのまま JSON として埋め込まれる")
+    void testNdjson() throws IOException {
+        GachaTransaction tx = newTransaction();
+
+        String[] lines = export(GachaHistoryExportFormat.NDJSON, tx, newTransaction()).split("\n");
+
+        assertThat(lines).hasSize(2);
+        JsonNode first = new ObjectMapper().readTree(lines[0]);
+        assertThat(first.get("transactionId").asText()).isEqualTo(tx.getRequestId());
+        assertThat(first.get("consumedPaid").asInt()).isEqualTo(300);
+        assertThat(first.get("results").isArray()).isTrue();
+        assertThat(first.get("rngSeed").asLong()).isEqualTo(42L);
+    }
+
+    @Test
+    @DisplayName("CSV: ヘッダー付きで、カンマやダブルクォートを含む値はエスケープされる")
+    void testCsv() throws IOException {
+        GachaTransaction tx = newTransaction();
+
+        String[] lines = export(GachaHistoryExportFormat.CSV, tx).split("\n");
+
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).startsWith("transaction_id,user_id,pool_id");
+        assertThat(lines[1]).startsWith(tx.getRequestId() + ",");
+        assertThat(lines[1]).contains("\"" + RESULT_JSON.replace("\"", "\"\"") + "\"");
+        assertThat(lines[1]).contains(",42,L64X128MixRandom,");
+    }
+}
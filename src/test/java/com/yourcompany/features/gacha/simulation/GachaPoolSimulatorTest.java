@@ -0,0 +1,129 @@
+package com.yourcompany.features.gacha.simulation;
+
+import com.sqlcanvas.sharedkernel.shared.result.Result;
+import com.yourcompany.domain.model.gacha.GachaEmission;
+import com.yourcompany.domain.model.gacha.GachaPool;
+import com.yourcompany.domain.model.gacha.Rarity;
+import com.yourcompany.domain.model.gacha.tier.TieredSampler;
+import com.yourcompany.domain.shared.exception.GachaErrorCode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GachaPoolSimulatorTest {
+
+    private final GachaPoolSimulator simulator = new GachaPoolSimulator(2, 60_000);
+
+    private final Map<UUID, Rarity> rarities = new HashMap<>();
+
+    private GachaPool createPool(int ceiling) {
+        return GachaPool.create(
+                "Simulation Pool",
+                Instant.now(),
+                Instant.now().plusSeconds(3600),
+                300,
+                ceiling
+        ).unwrap();
+    }
+
+    private void add(GachaPool pool, Rarity rarity, int weight, boolean pickup) {
+        GachaEmission emission = GachaEmission.restore(UUID.randomUUID(), UUID.randomUUID(), weight, pickup);
+        pool.addEmission(emission);
+        rarities.put(emission.getItemId(), rarity);
+    }
+
+    // SSR 3% (うちピックアップ 1.5%) / その他 97%
+    private TieredSampler standardSampler(int ceiling) {
+        GachaPool pool = createPool(ceiling);
+        add(pool, Rarity.SSR, 150, true);
+        add(pool, Rarity.SSR, 150, false);
+        add(pool, Rarity.RARE, 9700, false);
+        return compile(pool);
+    }
+
+    // SSR 0.6% / SR 5.1% / その他 94.3%、天井 90 回
+    private TieredSampler lowRateSampler(int softPityStart, int softPityStepBp) {
+        GachaPool pool = createPool(90);
+        pool.restoreSoftPity(softPityStart, softPityStepBp);
+        add(pool, Rarity.SSR, 30, true);
+        add(pool, Rarity.SSR, 30, false);
+        add(pool, Rarity.SR, 510, false);
+        add(pool, Rarity.RARE, 9430, false);
+        return compile(pool);
+    }
+
+    private TieredSampler compile(GachaPool pool) {
+        return TieredSampler.compile(pool, itemId -> Optional.ofNullable(rarities.get(itemId))).unwrap();
+    }
+
+    @Test
+    @DisplayName("【正常系】天井がある場合、全ユーザーが天井回数以内にSSRへ到達すること")
+    void shouldReachTopTierWithinCeiling() {
+        SimulationHistogram histogram = simulator.run(standardSampler(50), rarities, 20_000, 50, 42L).unwrap();
+
+        assertThat(histogram.totalUsers()).isEqualTo(20_000);
+        assertThat(histogram.reachedRate()).isEqualTo(1.0);
+        assertThat(histogram.pullsPercentile(1.0)).isLessThanOrEqualTo(50);
+        // 3%で49回連続ハズレる確率は約22%
+        assertThat(histogram.pityHitRate()).isBetween(0.18, 0.26);
+        assertThat(histogram.pickupShare()).isBetween(0.45, 0.55);
+    }
+
+    @Test
+    @DisplayName("【正常系】ソフト天井があると、天井到達が減り1回あたりのSSR排出率が上がること")
+    void shouldRaiseTopTierRateWithSoftPity() {
+        SimulationHistogram hardOnly = simulator.run(lowRateSampler(0, 0), rarities, 100_000, 90, 5L).unwrap();
+        SimulationHistogram softPity = simulator.run(lowRateSampler(73, 600), rarities, 100_000, 90, 5L).unwrap();
+
+        // 天井のみ: 平均 約69.7回 (1回あたり約1.43%)、89回連続ハズレ (天井到達) は約58.5%
+        assertThat(hardOnly.meanPullsToTopTier()).isBetween(69.0, 70.4);
+        assertThat(hardOnly.pityHitRate()).isBetween(0.57, 0.60);
+        // 74回目から 6% ずつ上昇: 平均 約62.3回 (1回あたり約1.61%)、天井まで残ることはほぼない
+        assertThat(softPity.meanPullsToTopTier()).isBetween(61.6, 63.0);
+        assertThat(softPity.pityHitRate()).isLessThan(0.001);
+
+        double hardRate = (double) hardOnly.totalUsers() / hardOnly.totalPulls();
+        double softRate = (double) softPity.totalUsers() / softPity.totalPulls();
+        assertThat(softRate).isGreaterThan(hardRate).isBetween(0.0158, 0.0163);
+    }
+
+    @Test
+    @DisplayName("【正常系】同じシードなら同じ結果が再現されること")
+    void shouldBeReproducibleWithSameSeed() {
+        TieredSampler sampler = standardSampler(90);
+
+        SimulationHistogram first = simulator.run(sampler, rarities, 30_000, 90, 7L).unwrap();
+        SimulationHistogram second = simulator.run(sampler, rarities, 30_000, 90, 7L).unwrap();
+
+        assertThat(second.totalPulls()).isEqualTo(first.totalPulls());
+        assertThat(second.pullsPercentile(0.5)).isEqualTo(first.pullsPercentile(0.5));
+    }
+
+    @Test
+    @DisplayName("【境界値】天井なしで上限回数に達したユーザーは未到達として消費分布に含まれること")
+    void shouldCountNotReachedUsersAtMaxPulls() {
+        SimulationHistogram histogram = simulator.run(standardSampler(0), rarities, 10_000, 5, 1L).unwrap();
+
+        assertThat(histogram.reachedRate()).isLessThan(1.0);
+        assertThat(histogram.spentPullsPercentile(1.0)).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("【異常系】制限時間内に終わらない場合はタイムアウトを返すこと")
+    void shouldFailWhenTimedOut() {
+        GachaPoolSimulator impatient = new GachaPoolSimulator(1, 1);
+
+        Result<SimulationHistogram> result = impatient.run(standardSampler(0), rarities, 10_000_000, 10_000, 3L);
+        impatient.shutdown();
+
+        assertThat(result).isInstanceOf(Result.Failure.class);
+        assertThat(((Result.Failure<?>) result).errorCode()).isEqualTo(GachaErrorCode.SIMULATION_TIMEOUT);
+    }
+}
@@ -0,0 +1,138 @@
+package com.yourcompany.features.home;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HomePartLoaderTest {
+
+    @Test
+    @DisplayName("正常系: 全パーツが締め切り内に終われば値を返し、unavailable は空")
+    void testAllCompleted() {
+        try (HomePartLoader loader = new HomePartLoader()) {
+            HomePartLoader.Part<String> a = loader.fork("a", Duration.ofSeconds(5), () -> "A");
+            HomePartLoader.Part<Integer> b = loader.fork("b", Duration.ofSeconds(5), () -> 1);
+            loader.join();
+
+            assertThat(a.value()).contains("A");
+            assertThat(b.value()).contains(1);
+            assertThat(loader.unavailable()).isEmpty();
+        }
+    }
+
+    @Test
+    @DisplayName("正常系: パーツは並行に動き、待ち時間は合計ではなく最長の締め切りまで")
+    void testPartsRunConcurrently() {
+        // 2つのパーツが互いの開始を待つ (逐次実行なら締め切りまで終わらない)
+        CountDownLatch started = new CountDownLatch(2);
+        try (HomePartLoader loader = new HomePartLoader()) {
+            HomePartLoader.Part<Boolean> a = loader.fork("a", Duration.ofSeconds(5), () -> awaitBoth(started));
+            HomePartLoader.Part<Boolean> b = loader.fork("b", Duration.ofSeconds(5), () -> awaitBoth(started));
+            loader.join();
+
+            assertThat(a.value()).contains(true);
+            assertThat(b.value()).contains(true);
+        }
+    }
+
+    @Test
+    @DisplayName("異常系: 締め切りを過ぎたパーツは待たずに TIMED_OUT とし、他のパーツの値は返る")
+    void testTimeout() {
+        CountDownLatch release = new CountDownLatch(1);
+        try (HomePartLoader loader = new HomePartLoader()) {
+            HomePartLoader.Part<String> slow = loader.fork("slow", Duration.ofMillis(50), () -> awaitRelease(release));
+            HomePartLoader.Part<String> fast = loader.fork("fast", Duration.ofSeconds(5), () -> "ok");
+
+            long startedAt = System.nanoTime();
+            loader.join();
+
+            assertThat(Duration.ofNanos(System.nanoTime() - startedAt)).isLessThan(Duration.ofSeconds(5));
+            assertThat(slow.outcome()).isEqualTo(HomePartLoader.Outcome.TIMED_OUT);
+            assertThat(slow.value()).isEmpty();
+            assertThat(fast.value()).contains("ok");
+            assertThat(loader.unavailable()).extracting(HomePartLoader.Part::name).containsExactly("slow");
+            release.countDown();
+        }
+    }
+
+    @Test
+    @DisplayName("異常系: 締め切りを過ぎたパーツにも割り込まず、close はその終了を待たずに戻る")
+    void testCloseDoesNotAwaitOrInterrupt() throws InterruptedException {
+        AtomicBoolean interrupted = new AtomicBoolean();
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(1);
+        HomePartLoader loader = new HomePartLoader();
+        HomePartLoader.Part<String> slow = loader.fork("slow", Duration.ofMillis(10), () -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                interrupted.set(true);
+            }
+            finished.countDown();
+            return "late";
+        });
+        loader.join();
+
+        long startedAt = System.nanoTime();
+        loader.close();
+
+        assertThat(Duration.ofNanos(System.nanoTime() - startedAt)).isLessThan(Duration.ofSeconds(1));
+        assertThat(slow.outcome()).isEqualTo(HomePartLoader.Outcome.TIMED_OUT);
+        // 残ったパーツは close の後も動き続け、自分で終わる
+        release.countDown();
+        assertThat(finished.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(interrupted).isFalse();
+    }
+
+    @Test
+    @DisplayName("正常系: 締め切りまでの残り時間は読み込み開始から減っていき、過ぎると 0 以下になる")
+    void testRemaining() throws InterruptedException {
+        try (HomePartLoader loader = new HomePartLoader()) {
+            assertThat(loader.remaining(Duration.ofSeconds(5))).isPositive().isLessThanOrEqualTo(Duration.ofSeconds(5));
+            Thread.sleep(20);
+            assertThat(loader.remaining(Duration.ofMillis(10)).isNegative()).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("異常系: 例外で終わったパーツは FAILED となり、原因の例外を保持する")
+    void testFailure() {
+        try (HomePartLoader loader = new HomePartLoader()) {
+            HomePartLoader.Part<String> broken = loader.fork("broken", Duration.ofSeconds(5), () -> {
+                throw new IllegalStateException("db down");
+            });
+            HomePartLoader.Part<String> fine = loader.fork("fine", Duration.ofSeconds(5), () -> "ok");
+            loader.join();
+
+            assertThat(broken.outcome()).isEqualTo(HomePartLoader.Outcome.FAILED);
+            assertThat(broken.failure()).containsInstanceOf(IllegalStateException.class);
+            assertThat(fine.value()).contains("ok");
+            assertThat(loader.unavailable()).extracting(HomePartLoader.Part::name).containsExactly("broken");
+        }
+    }
+
+    private static String awaitRelease(CountDownLatch release) {
+        try {
+            release.await(2, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return "late";
+    }
+
+    private static boolean awaitBoth(CountDownLatch started) {
+        started.countDown();
+        try {
+            return started.await(2, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
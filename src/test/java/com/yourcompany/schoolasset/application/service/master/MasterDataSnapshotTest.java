@@ -0,0 +1,155 @@
+package com.yourcompany.schoolasset.application.service.master;
+
+import com.yourcompany.domain.model.gacha.DrawMode;
+import com.yourcompany.domain.model.gacha.GachaEmission;
+import com.yourcompany.domain.model.gacha.GachaPool;
+import com.yourcompany.domain.model.gacha.Rarity;
+import com.yourcompany.domain.model.gacha.RateUpRule;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+class MasterDataSnapshotTest {
+
+    @TempDir
+    Path dir;
+
+    private final ItemMaster ssr = new ItemMaster(UUID.randomUUID(), "伝説の剣", Rarity.SSR, 1);
+    private final ItemMaster rare = new ItemMaster(UUID.randomUUID(), "Potion", Rarity.RARE, 9999);
+
+    private GachaPool newPool() {
+        GachaPool pool = GachaPool.restore(UUID.randomUUID(), "New Year",
+                Instant.parse("2026-01-01T00:00:00.123456Z"), Instant.parse("2026-01-08T00:00:00Z"), 300, 90);
+        pool.addEmission(GachaEmission.restore(UUID.randomUUID(), ssr.id(), 300, true));
+        pool.addEmission(GachaEmission.restore(UUID.randomUUID(), rare.id(), 9700, false));
+        return pool;
+    }
+
+    private MasterDataSnapshot writeAndOpen(long version, List<ItemMaster> items, List<GachaPool> pools) throws IOException {
+        Path file = dir.resolve("master-data.bin");
+        MasterDataSnapshotWriter.write(file, version, items, pools);
+        return MasterDataSnapshot.open(file);
+    }
+
+    @Test
+    @DisplayName("書き出したアイテムとプールを UUID で引ける")
+    void testRoundTrip() throws IOException {
+        GachaPool pool = newPool();
+
+        MasterDataSnapshot snapshot = writeAndOpen(7L, List.of(rare, ssr), List.of(pool));
+
+        assertThat(snapshot.sourceVersion()).isEqualTo(7L);
+        assertThat(snapshot.itemCount()).isEqualTo(2);
+        assertThat(snapshot.findItem(ssr.id())).contains(ssr);
+        assertThat(snapshot.findItem(rare.id())).contains(rare);
+
+        GachaPool restored = snapshot.findPool(pool.getId()).orElseThrow();
+        assertThat(restored.getName()).isEqualTo("New Year");
+        assertThat(restored.getStartAt()).isEqualTo(pool.getStartAt());
+        assertThat(restored.getEndAt()).isEqualTo(pool.getEndAt());
+        assertThat(restored.getCostAmount()).isEqualTo(300);
+        assertThat(restored.getPityCeilingCount()).isEqualTo(90);
+        assertThat(restored.getEmissions())
+                .extracting(GachaEmission::getId, GachaEmission::getItemId, GachaEmission::getWeight, GachaEmission::isPickup)
+                .containsExactly(
+                        tuple(pool.getEmissions().get(0).getId(), ssr.id(), 300, true),
+                        tuple(pool.getEmissions().get(1).getId(), rare.id(), 9700, false));
+    }
+
+    @Test
+    @DisplayName("ボックスガチャの抽選方式と1箱あたりの個数も復元される")
+    void testBoxPoolRoundTrip() throws IOException {
+        GachaPool pool = GachaPool.restore(UUID.randomUUID(), "Box Event",
+                Instant.parse("2026-01-01T00:00:00Z"), Instant.parse("2026-01-08T00:00:00Z"), 100, 0, DrawMode.BOX);
+        pool.addEmission(GachaEmission.restore(UUID.randomUUID(), ssr.id(), 1, true, 1));
+        pool.addEmission(GachaEmission.restore(UUID.randomUUID(), rare.id(), 1, false, 99));
+
+        MasterDataSnapshot snapshot = writeAndOpen(3L, List.of(ssr, rare), List.of(pool, newPool()));
+
+        GachaPool restored = snapshot.findPool(pool.getId()).orElseThrow();
+        assertThat(restored.isBox()).isTrue();
+        assertThat(restored.getEmissions()).extracting(GachaEmission::getBoxCount).containsExactly(1, 99);
+        assertThat(snapshot.pools()).filteredOn(p -> !p.isBox())
+                .singleElement()
+                .satisfies(normal -> assertThat(normal.getEmissions()).extracting(GachaEmission::getBoxCount).containsOnlyNulls());
+    }
+
+    @Test
+    @DisplayName("確定枠・ピックアップの確率アップ・ソフト天井・1日の抽選上限の設定も復元される")
+    void testTierRulesRoundTrip() throws IOException {
+        GachaPool pool = newPool();
+        pool.restoreTierRules(10, Rarity.SR, Set.of(new RateUpRule(Rarity.SSR, 5_000), new RateUpRule(Rarity.SR, 2_500)));
+        pool.restoreSoftPity(74, 600);
+        pool.restoreDailyDrawLimit(30);
+
+        MasterDataSnapshot snapshot = writeAndOpen(4L, List.of(ssr, rare), List.of(pool));
+
+        GachaPool restored = snapshot.findPool(pool.getId()).orElseThrow();
+        assertThat(restored.getGuaranteedTriggerCount()).isEqualTo(10);
+        assertThat(restored.getGuaranteedMinRarity()).isEqualTo(Rarity.SR);
+        assertThat(restored.getRateUps()).containsExactlyInAnyOrderElementsOf(pool.getRateUps());
+        assertThat(restored.getSoftPityStartCount()).isEqualTo(74);
+        assertThat(restored.getSoftPityStepBp()).isEqualTo(600);
+        assertThat(restored.getDailyDrawLimit()).isEqualTo(30);
+        assertThat(restored.getEmissions()).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("存在しない UUID は空を返す")
+    void testMissing() throws IOException {
+        MasterDataSnapshot snapshot = writeAndOpen(1L, List.of(ssr), List.of());
+
+        assertThat(snapshot.findItem(UUID.randomUUID())).isEmpty();
+        assertThat(snapshot.findPool(UUID.randomUUID())).isEmpty();
+        assertThat(snapshot.pools()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("多数のアイテムでも二分探索ですべて引ける")
+    void testManyItems() throws IOException {
+        List<ItemMaster> items = IntStream.range(0, 500)
+                .mapToObj(i -> new ItemMaster(UUID.randomUUID(), "item-" + i, Rarity.COMMON, i + 1))
+                .toList();
+
+        MasterDataSnapshot snapshot = writeAndOpen(1L, items, List.of());
+
+        assertThat(items).allSatisfy(item -> assertThat(snapshot.findItem(item.id())).contains(item));
+    }
+
+    @Test
+    @DisplayName("内容が同じならチェックサムも同じ")
+    void testChecksumIsStable() throws IOException {
+        String first = writeAndOpen(1L, List.of(ssr, rare), List.of()).checksum();
+        String second = writeAndOpen(2L, List.of(rare, ssr), List.of()).checksum();
+
+        assertThat(first).hasSize(64).isEqualTo(second);
+    }
+
+    @Test
+    @DisplayName("ペイロードが壊れている場合は開けない")
+    void testCorrupted() throws IOException {
+        writeAndOpen(1L, List.of(ssr), List.of(newPool()));
+        Path file = dir.resolve("master-data.bin");
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length - 1] ^= 0x01;
+        Files.write(file, bytes);
+
+        assertThatThrownBy(() -> MasterDataSnapshot.open(file))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("checksum");
+    }
+}
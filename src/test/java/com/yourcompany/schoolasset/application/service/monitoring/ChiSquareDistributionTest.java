@@ -0,0 +1,38 @@
+package com.yourcompany.schoolasset.application.service.monitoring;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class ChiSquareDistributionTest {
+
+    @Test
+    @DisplayName("【正常系】既知の臨界値で p=0.05 になること")
+    void shouldMatchKnownCriticalValues() {
+        assertThat(ChiSquareDistribution.survival(3.841, 1)).isCloseTo(0.05, within(1e-4));
+        assertThat(ChiSquareDistribution.survival(18.307, 10)).isCloseTo(0.05, within(1e-4));
+    }
+
+    @Test
+    @DisplayName("【正常系】自由度2は指数分布 exp(-x/2) と一致すること")
+    void shouldMatchExponentialForTwoDegreesOfFreedom() {
+        assertThat(ChiSquareDistribution.survival(0.5, 2)).isCloseTo(Math.exp(-0.25), within(1e-10));
+    }
+
+    @Test
+    @DisplayName("【境界値】統計量0ならp値は1、大きな乖離ならほぼ0になること")
+    void shouldHandleExtremes() {
+        assertThat(ChiSquareDistribution.survival(0.0, 5)).isEqualTo(1.0);
+        assertThat(ChiSquareDistribution.survival(200.0, 3)).isLessThan(1e-30);
+    }
+
+    @Test
+    @DisplayName("【異常系】自由度が0以下なら例外")
+    void shouldRejectNonPositiveDegreesOfFreedom() {
+        assertThatThrownBy(() -> ChiSquareDistribution.survival(1.0, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,135 @@
+package com.yourcompany.schoolasset.application.service.state;
+
+import com.yourcompany.domain.model.gacha.GachaPool;
+import com.yourcompany.domain.model.gacha.GachaState;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GachaStateCacheTest {
+
+    private final UUID userId = UUID.randomUUID();
+    private final UUID poolA = UUID.randomUUID();
+    private final UUID poolB = UUID.randomUUID();
+
+    private final GachaStateCache cache = new GachaStateCache(1_000);
+
+    @Nested
+    @DisplayName("peek（読み込み）のテスト")
+    class PeekTest {
+
+        @Test
+        @DisplayName("一括読み込みした状態を取得でき、行がなかったプールは含まないこと")
+        void shouldReturnLoadedStates() {
+            cache.putAll(userId, 5L, Set.of(poolA, poolB), List.of(GachaState.restore(userId, poolA, 10, 3, 7L)));
+
+            List<GachaState> states = cache.peek(userId, Set.of(poolA, poolB)).orElseThrow();
+
+            assertThat(states).hasSize(1);
+            assertThat(states.get(0).getGachaPoolId()).isEqualTo(poolA);
+            assertThat(states.get(0).getCurrentPityCount()).isEqualTo(10);
+            assertThat(states.get(0).getVersion()).isEqualTo(7L);
+        }
+
+        @Test
+        @DisplayName("読み込んでいないプールを1つでも含む場合はミスになること")
+        void shouldMissWhenNotAllPoolsCovered() {
+            cache.putAll(userId, 5L, Set.of(poolA), List.of(GachaState.restore(userId, poolA, 1, 1, 0L)));
+
+            assertThat(cache.peek(userId, Set.of(poolA, poolB))).isEmpty();
+            assertThat(cache.uncovered(userId, Set.of(poolA, poolB))).containsExactly(poolB);
+        }
+
+        @Test
+        @DisplayName("同じウォレット version で足りないプールを読み込むと、既存のエントリに合流すること")
+        void shouldMergeSameWalletVersion() {
+            cache.putAll(userId, 5L, Set.of(poolA), List.of(GachaState.restore(userId, poolA, 1, 1, 0L)));
+
+            cache.putAll(userId, 5L, Set.of(poolB), List.of(GachaState.restore(userId, poolB, 2, 2, 0L)));
+
+            assertThat(cache.peek(userId, Set.of(poolA, poolB)).orElseThrow()).hasSize(2);
+        }
+
+        @Test
+        @DisplayName("ウォレット version が異なる読み込みでは、古いプールの情報を引き継がないこと")
+        void shouldDropOtherPoolsOnWalletVersionMismatch() {
+            cache.putAll(userId, 5L, Set.of(poolA), List.of(GachaState.restore(userId, poolA, 1, 1, 0L)));
+
+            cache.putAll(userId, 6L, Set.of(poolB), List.of());
+
+            assertThat(cache.peek(userId, Set.of(poolA, poolB))).isEmpty();
+            assertThat(cache.uncovered(userId, Set.of(poolA, poolB))).containsExactly(poolA);
+        }
+
+        @Test
+        @DisplayName("取り出した状態を変更してもキャッシュには影響しないこと")
+        void shouldReturnDefensiveCopy() {
+            cache.putAll(userId, 5L, Set.of(poolA), List.of(GachaState.restore(userId, poolA, 1, 1, 0L)));
+
+            GachaState state = cache.peek(userId, Set.of(poolA)).orElseThrow().get(0);
+            state.updateState(false, GachaPool.restore(poolA, "pool", Instant.EPOCH, Instant.MAX, 100, 0));
+
+            assertThat(cache.peek(userId, Set.of(poolA)).orElseThrow().get(0).getCurrentPityCount()).isEqualTo(1);
+        }
+    }
+
+    @Nested
+    @DisplayName("commit（書き込み）のテスト")
+    class CommitTest {
+
+        @Test
+        @DisplayName("抽選前の version で有効なエントリは、抽選後の version に進み他プールの状態も引き継ぐこと")
+        void shouldAdvanceVersionAndKeepOtherPools() {
+            cache.putAll(userId, 5L, Set.of(poolA, poolB), List.of(GachaState.restore(userId, poolB, 40, 40, 3L)));
+
+            cache.commit(userId, 5L, 6L, GachaState.restore(userId, poolA, 10, 10, 0L));
+
+            assertThat(cache.peek(userId, Set.of(poolA, poolB)).orElseThrow())
+                    .extracting(GachaState::getCurrentPityCount)
+                    .containsExactlyInAnyOrder(10, 40);
+            // 進めた version で読み込んだ結果にも合流する
+            cache.putAll(userId, 6L, Set.of(), List.of());
+            assertThat(cache.peek(userId, Set.of(poolA, poolB))).isPresent();
+        }
+
+        @Test
+        @DisplayName("抽選前の version が一致しない場合は、書き込んだプールのみ保持すること")
+        void shouldDropOtherPoolsWhenStale() {
+            cache.putAll(userId, 4L, Set.of(poolA, poolB), List.of(GachaState.restore(userId, poolB, 40, 40, 3L)));
+
+            cache.commit(userId, 5L, 6L, GachaState.restore(userId, poolA, 10, 10, 1L));
+
+            assertThat(cache.peek(userId, Set.of(poolA))).isPresent();
+            assertThat(cache.peek(userId, Set.of(poolA, poolB))).isEmpty();
+        }
+
+        @Test
+        @DisplayName("invalidate でユーザーのエントリが消えること")
+        void shouldInvalidate() {
+            cache.commit(userId, 5L, 6L, GachaState.restore(userId, poolA, 10, 10, 1L));
+
+            cache.invalidate(userId);
+
+            assertThat(cache.peek(userId, Set.of(poolA))).isEmpty();
+            assertThat(cache.uncovered(userId, Set.of(poolA))).containsExactly(poolA);
+        }
+    }
+
+    @Test
+    @DisplayName("上限を超えると古いユーザーから追い出されること")
+    void shouldEvictLeastRecentlyUsed() {
+        GachaStateCache small = new GachaStateCache(16);
+        for (int i = 0; i < 1_000; i++) {
+            small.putAll(UUID.randomUUID(), 1L, Set.of(poolA), List.of());
+        }
+
+        assertThat(small.size()).isLessThanOrEqualTo(16);
+    }
+}
@@ -0,0 +1,82 @@
+package com.yourcompany.schoolasset.application.service.stats;
+
+import com.yourcompany.domain.model.gacha.DrawSeed;
+import com.yourcompany.domain.model.gacha.EmissionResult;
+import com.yourcompany.domain.model.gacha.EmissionResult.EmissionType;
+import com.yourcompany.domain.model.gacha.event.GachaDrawnEvent;
+import com.yourcompany.domain.shared.value.RequestId;
+import com.yourcompany.schoolasset.application.service.stats.DrawStatsAccumulator.PoolDayDelta;
+import com.yourcompany.schoolasset.application.service.stats.DrawStatsAccumulator.UserPoolDelta;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class DrawStatsAccumulatorTest {
+
+    private final UUID userId = UUID.randomUUID();
+    private final UUID poolId = UUID.randomUUID();
+
+    private GachaDrawnEvent newEvent(UUID userId, Instant occurredAt, int paid, int free, String... rarities) {
+        List<EmissionResult> results = Arrays.stream(rarities)
+                .map(rarity -> new EmissionResult(UUID.randomUUID(), "item", rarity, false, EmissionType.NORMAL, 0))
+                .toList();
+        return new GachaDrawnEvent(RequestId.generate(), userId, poolId, paid, free, results,
+                new DrawSeed(1L, "L64X128MixRandom"), occurredAt);
+    }
+
+    @Test
+    @DisplayName("同じユーザー×プールへの加算は1行にまとまる")
+    void testCoalesceUserPool() {
+        DrawStatsAccumulator accumulator = new DrawStatsAccumulator();
+        Instant first = Instant.parse("2026-10-18T01:00:00Z");
+        Instant second = Instant.parse("2026-10-18T02:00:00Z");
+
+        accumulator.add(newEvent(userId, second, 300, 0, "SSR"));
+        accumulator.add(newEvent(userId, first, 1000, 2000, "RARE", "RARE", "SR"));
+
+        assertThat(accumulator.userPoolDeltas())
+                .singleElement()
+                .isEqualTo(new UserPoolDelta(userId, poolId, 2, 4, 1300, 2000, second));
+    }
+
+    @Test
+    @DisplayName("日別の排出数は日本時間の日付とレアリティごとに数える")
+    void testPoolDayUsesJst() {
+        DrawStatsAccumulator accumulator = new DrawStatsAccumulator();
+
+        // 2026-10-18T15:00Z は日本時間で 10/19 の 0:00
+        accumulator.add(newEvent(userId, Instant.parse("2026-10-18T14:59:59Z"), 0, 300, "SSR", "RARE"));
+        accumulator.add(newEvent(UUID.randomUUID(), Instant.parse("2026-10-18T15:00:00Z"), 0, 300, "SSR"));
+        accumulator.add(newEvent(UUID.randomUUID(), Instant.parse("2026-10-18T16:00:00Z"), 0, 300, "SSR"));
+
+        assertThat(accumulator.poolDayDeltas())
+                .extracting(PoolDayDelta::date, PoolDayDelta::rarity, PoolDayDelta::count)
+                .containsExactly(
+                        tuple(LocalDate.of(2026, 10, 18), "RARE", 1L),
+                        tuple(LocalDate.of(2026, 10, 18), "SSR", 1L),
+                        tuple(LocalDate.of(2026, 10, 19), "SSR", 2L));
+        assertThat(accumulator.size()).isEqualTo(3 + 3);
+    }
+
+    @Test
+    @DisplayName("反映する行はキー順に並ぶ (複数ノードからの更新でデッドロックしない)")
+    void testDeltasAreSorted() {
+        DrawStatsAccumulator accumulator = new DrawStatsAccumulator();
+        Instant now = Instant.parse("2026-10-18T01:00:00Z");
+        for (int i = 0; i < 50; i++) {
+            accumulator.add(newEvent(UUID.randomUUID(), now, 0, 300, "COMMON"));
+        }
+
+        List<UUID> userIds = accumulator.userPoolDeltas().stream().map(UserPoolDelta::userId).toList();
+
+        assertThat(userIds).hasSize(50).isSorted();
+    }
+}
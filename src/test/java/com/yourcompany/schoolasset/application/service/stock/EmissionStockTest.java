@@ -0,0 +1,127 @@
+package com.yourcompany.schoolasset.application.service.stock;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class EmissionStockTest {
+
+    @Test
+    @DisplayName("同時に払い出しても借り受けた数を超えない")
+    void testNeverOversellsUnderContention() throws Exception {
+        EmissionStock stock = new EmissionStock(UUID.randomUUID());
+        stock.addLease(1L, 500);
+        AtomicInteger taken = new AtomicInteger();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 1000; i++) {
+                        if (stock.tryTake()) {
+                            taken.incrementAndGet();
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+
+        assertThat(taken.get()).isEqualTo(500);
+        assertThat(stock.available()).isZero();
+        assertThat(stock.tryTake()).isFalse();
+    }
+
+    @Test
+    @DisplayName("取り消した払い出しは再び払い出せる")
+    void testReleaseReturnsUnit() {
+        EmissionStock stock = new EmissionStock(UUID.randomUUID());
+        stock.addLease(1L, 1);
+
+        assertThat(stock.tryTake()).isTrue();
+        stock.release();
+
+        assertThat(stock.tryTake()).isTrue();
+        assertThat(stock.tryTake()).isFalse();
+    }
+
+    @Test
+    @DisplayName("使用数は古い借り受けから割り当て、使い切った借り受けは精算対象として台帳から外す")
+    void testUsageIsAllocatedOldestFirst() {
+        EmissionStock stock = new EmissionStock(UUID.randomUUID());
+        stock.addLease(1L, 3);
+        stock.addLease(2L, 5);
+        for (int i = 0; i < 4; i++) {
+            stock.tryTake();
+        }
+
+        assertThat(stock.usage())
+                .extracting(EmissionStock.LeaseUsage::leaseId, EmissionStock.LeaseUsage::consumed, EmissionStock.LeaseUsage::settled)
+                .containsExactly(tuple(1L, 3, true), tuple(2L, 1, false));
+        // 精算済みの借り受けは次回の報告に含まれない
+        assertThat(stock.usage())
+                .extracting(EmissionStock.LeaseUsage::leaseId, EmissionStock.LeaseUsage::consumed)
+                .containsExactly(tuple(2L, 1));
+    }
+
+    @Test
+    @DisplayName("停止時は手元の残りを新しい借り受けの未使用分として返し、以降は払い出さない")
+    void testCloseReturnsRemainingAndStopsTaking() {
+        EmissionStock stock = new EmissionStock(UUID.randomUUID());
+        stock.addLease(1L, 2);
+        stock.addLease(2L, 2);
+        stock.tryTake();
+        stock.tryTake();
+        stock.tryTake();
+        // 払い出し中 (未コミット) の1個は払い出し済みとして精算する
+
+        assertThat(stock.close())
+                .extracting(EmissionStock.LeaseUsage::leaseId, EmissionStock.LeaseUsage::consumed, EmissionStock.LeaseUsage::settled)
+                .containsExactly(tuple(1L, 2, true), tuple(2L, 1, true));
+        stock.release();
+        assertThat(stock.tryTake()).isFalse();
+    }
+
+    @Test
+    @DisplayName("手元が空の間は補充の終了を待ち、補充されれば払い出せる")
+    void testAwaitRefillWakesOnLease() throws Exception {
+        EmissionStock stock = new EmissionStock(UUID.randomUUID());
+        assertThat(stock.beginRefill()).isTrue();
+
+        try (ExecutorService executor = Executors.newSingleThreadExecutor()) {
+            executor.submit(() -> {
+                Thread.sleep(50);
+                stock.addLease(1L, 3);
+                stock.endRefill();
+                return null;
+            });
+
+            assertThat(stock.awaitRefill(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(stock.tryTake()).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("補充が失敗した・待ち時間を過ぎた場合は false を返す")
+    void testAwaitRefillFailsWithoutLease() throws Exception {
+        EmissionStock stock = new EmissionStock(UUID.randomUUID());
+        stock.beginRefill();
+
+        assertThat(stock.awaitRefill(20, TimeUnit.MILLISECONDS)).isFalse();
+        stock.endRefill();
+        assertThat(stock.awaitRefill(5, TimeUnit.SECONDS)).isFalse();
+    }
+}
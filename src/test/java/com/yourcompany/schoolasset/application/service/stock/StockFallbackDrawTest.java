@@ -0,0 +1,99 @@
+package com.yourcompany.schoolasset.application.service.stock;
+
+import com.sqlcanvas.sharedkernel.shared.result.Result;
+import com.yourcompany.domain.model.gacha.EmissionResult.EmissionType;
+import com.yourcompany.domain.model.gacha.GachaEmission;
+import com.yourcompany.domain.model.gacha.GachaPool;
+import com.yourcompany.domain.model.gacha.Rarity;
+import com.yourcompany.domain.model.gacha.tier.TieredSampler;
+import com.yourcompany.domain.shared.exception.GachaErrorCode;
+import com.yourcompany.schoolasset.application.service.LotteryService;
+import com.yourcompany.schoolasset.application.service.stock.StockFallbackDraw.Outcome;
+import com.yourcompany.schoolasset.application.service.stock.StockFallbackDraw.Take;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StockFallbackDrawTest {
+
+    private final Map<UUID, Rarity> rarities = new HashMap<>();
+    private final LotteryService lotteryService = new LotteryService();
+
+    private GachaPool newPool() {
+        GachaPool pool = GachaPool.restore(UUID.randomUUID(), "Stocked",
+                Instant.parse("2026-01-01T00:00:00Z"), Instant.parse("2026-01-08T00:00:00Z"), 300, 90);
+        add(pool, Rarity.SSR, 300);
+        add(pool, Rarity.SR, 1_200);
+        add(pool, Rarity.RARE, 4_000);
+        add(pool, Rarity.RARE, 4_500);
+        return pool;
+    }
+
+    private TieredSampler compile(GachaPool pool) {
+        return TieredSampler.compile(pool, itemId -> Optional.ofNullable(rarities.get(itemId))).unwrap();
+    }
+
+    private void add(GachaPool pool, Rarity rarity, int weight) {
+        GachaEmission emission = GachaEmission.restore(UUID.randomUUID(), UUID.randomUUID(), weight, false);
+        pool.addEmission(emission);
+        rarities.put(emission.getItemId(), rarity);
+    }
+
+    @Test
+    @DisplayName("記録した在庫切れの排出枠を在庫切れとして扱うと、同じシードで引き直しまで同じ結果になる")
+    void testReplayReproducesFallback() {
+        GachaPool pool = newPool();
+        TieredSampler sampler = compile(pool);
+        // 抽選時: RARE の排出枠が在庫切れ
+        Set<UUID> exhausted = new HashSet<>();
+        pool.getEmissions().stream()
+                .filter(emission -> rarities.get(emission.getItemId()) == Rarity.RARE)
+                .forEach(emission -> exhausted.add(emission.getId()));
+        SplittableRandom live = new SplittableRandom(99);
+        SplittableRandom replay = new SplittableRandom(99);
+        int fallbacks = 0;
+
+        for (int i = 0; i < 20; i++) {
+            Outcome drawn = StockFallbackDraw.draw(sampler, EmissionType.NORMAL, 0, live, lotteryService,
+                    emission -> exhausted.contains(emission.getId()) ? Take.OUT_OF_STOCK : Take.TAKEN).unwrap();
+            // リプレイは履歴に記録された除外だけを在庫切れとして扱う
+            Set<UUID> recorded = Set.copyOf(drawn.soldOutEmissionIds());
+            Outcome replayed = StockFallbackDraw.draw(sampler, EmissionType.NORMAL, 0, replay, lotteryService,
+                    emission -> recorded.contains(emission.getId()) ? Take.OUT_OF_STOCK : Take.TAKEN).unwrap();
+
+            assertThat(exhausted).doesNotContain(drawn.emission().getId());
+            assertThat(replayed.emission()).isSameAs(drawn.emission());
+            assertThat(replayed.soldOutEmissionIds()).isEqualTo(drawn.soldOutEmissionIds());
+            if (drawn.fellBack()) {
+                fallbacks++;
+            }
+        }
+        assertThat(fallbacks).isPositive();
+    }
+
+    @Test
+    @DisplayName("枠の対象がすべて在庫切れなら OUT_OF_STOCK、借り受けが間に合わなければ引き直さずに失敗する")
+    void testFailures() {
+        TieredSampler sampler = compile(newPool());
+
+        Result<Outcome> soldOut = StockFallbackDraw.draw(sampler, EmissionType.NORMAL, 0, new SplittableRandom(1),
+                lotteryService, emission -> Take.OUT_OF_STOCK);
+        Result<Outcome> unavailable = StockFallbackDraw.draw(sampler, EmissionType.NORMAL, 0, new SplittableRandom(1),
+                lotteryService, emission -> Take.UNAVAILABLE);
+
+        assertThat(soldOut).isInstanceOf(Result.Failure.class);
+        assertThat(((Result.Failure<Outcome>) soldOut).errorCode()).isEqualTo(GachaErrorCode.OUT_OF_STOCK);
+        assertThat(unavailable).isInstanceOf(Result.Failure.class);
+        assertThat(((Result.Failure<Outcome>) unavailable).errorCode()).isEqualTo(GachaErrorCode.STOCK_UNAVAILABLE);
+    }
+}
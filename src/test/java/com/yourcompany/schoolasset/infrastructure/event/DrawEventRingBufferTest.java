@@ -0,0 +1,126 @@
+package com.yourcompany.schoolasset.infrastructure.event;
+
+import com.yourcompany.domain.model.gacha.DrawSeed;
+import com.yourcompany.domain.model.gacha.event.GachaDrawnEvent;
+import com.yourcompany.domain.shared.value.RequestId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DrawEventRingBufferTest {
+
+    private GachaDrawnEvent newEvent() {
+        return new GachaDrawnEvent(RequestId.generate(), UUID.randomUUID(), UUID.randomUUID(),
+                0, 300, List.of(), new DrawSeed(1L, "L64X128MixRandom"));
+    }
+
+    @Nested
+    class RingBufferTest {
+        @Test
+        @DisplayName("異常系: サイズが2の累乗でなければエラー")
+        void testInvalidSize() {
+            assertThatThrownBy(() -> new DrawEventRingBuffer(1000))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+
+        @Test
+        @DisplayName("正常系: 最も遅い購読者を追い越さず、満杯なら発行しない")
+        void testGating() {
+            DrawEventRingBuffer buffer = new DrawEventRingBuffer(4);
+            AtomicLong consumer = new AtomicLong(-1);
+            buffer.addGatingSequence(consumer);
+
+            for (int i = 0; i < 4; i++) {
+                assertThat(buffer.tryPublish(newEvent())).isTrue();
+            }
+            assertThat(buffer.tryPublish(newEvent())).isFalse();
+
+            // 1件消費すると1件空く
+            consumer.set(0);
+            assertThat(buffer.tryPublish(newEvent())).isTrue();
+            assertThat(buffer.highestPublished(1, buffer.cursor())).isEqualTo(4);
+        }
+    }
+
+    @Nested
+    class ProcessorTest {
+        @Test
+        @DisplayName("正常系: 複数スレッドから発行したイベントを全購読者が1件ずつ漏れなく受け取る")
+        void testMultiProducer() throws InterruptedException {
+            int producers = 4;
+            int perProducer = 5_000;
+            int total = producers * perProducer;
+            DrawEventRingBuffer buffer = new DrawEventRingBuffer(1024);
+
+            List<CollectingSubscriber> subscribers = List.of(
+                    new CollectingSubscriber("a", total), new CollectingSubscriber("b", total));
+            List<DrawEventProcessor> processors = new ArrayList<>();
+            for (CollectingSubscriber subscriber : subscribers) {
+                DrawEventProcessor processor = new DrawEventProcessor(
+                        buffer, subscriber, WaitStrategy.of(WaitStrategy.Kind.YIELDING), 64);
+                processors.add(processor);
+                Thread.ofPlatform().daemon().start(processor);
+            }
+
+            List<Thread> threads = new ArrayList<>();
+            for (int p = 0; p < producers; p++) {
+                threads.add(Thread.ofPlatform().start(() -> {
+                    for (int i = 0; i < perProducer; i++) {
+                        GachaDrawnEvent event = newEvent();
+                        while (!buffer.tryPublish(event)) {
+                            Thread.onSpinWait();
+                        }
+                    }
+                }));
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+
+            for (CollectingSubscriber subscriber : subscribers) {
+                assertThat(subscriber.done.await(10, TimeUnit.SECONDS)).isTrue();
+                assertThat(subscriber.requestIds).hasSize(total);
+                assertThat(subscriber.batchEnds).isPositive();
+            }
+            processors.forEach(DrawEventProcessor::halt);
+        }
+    }
+
+    private static final class CollectingSubscriber implements DrawEventSubscriber {
+        private final String name;
+        private final CountDownLatch done;
+        private final java.util.Set<RequestId> requestIds = Collections.newSetFromMap(new ConcurrentHashMap<>());
+        private volatile int batchEnds;
+
+        private CollectingSubscriber(String name, int expected) {
+            this.name = name;
+            this.done = new CountDownLatch(expected);
+        }
+
+        @Override
+        public String name() {
+            return name;
+        }
+
+        @Override
+        public void onEvent(GachaDrawnEvent event, long sequence, boolean endOfBatch) {
+            requestIds.add(event.requestId());
+            if (endOfBatch) {
+                batchEnds++;
+            }
+            done.countDown();
+        }
+    }
+}
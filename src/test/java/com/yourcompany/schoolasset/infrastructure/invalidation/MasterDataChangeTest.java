@@ -0,0 +1,48 @@
+package com.yourcompany.schoolasset.infrastructure.invalidation;
+
+import com.yourcompany.schoolasset.infrastructure.invalidation.MasterDataChangeListener.MasterDataChange;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MasterDataChangeTest {
+
+    @Test
+    @DisplayName("プールの行通知をプール変更として解釈できること")
+    void shouldParsePoolChange() {
+        UUID poolId = UUID.randomUUID();
+
+        assertThat(MasterDataChange.parse("row:gacha_pools:" + poolId))
+                .isEqualTo(new MasterDataChange.PoolChanged(poolId));
+    }
+
+    @Test
+    @DisplayName("アイテムの行通知をアイテム変更として解釈できること")
+    void shouldParseItemChange() {
+        UUID itemId = UUID.randomUUID();
+
+        assertThat(MasterDataChange.parse("row:items:" + itemId))
+                .isEqualTo(new MasterDataChange.ItemChanged(itemId));
+    }
+
+    @Test
+    @DisplayName("版数の通知を解釈でき、TRUNCATE の場合は全件の読み直しが必要となること")
+    void shouldParseVersion() {
+        assertThat(MasterDataChange.parse("version:42:UPDATE"))
+                .isEqualTo(new MasterDataChange.VersionAdvanced(42L, false));
+        assertThat(MasterDataChange.parse("version:43:TRUNCATE"))
+                .isEqualTo(new MasterDataChange.VersionAdvanced(43L, true));
+    }
+
+    @Test
+    @DisplayName("形式が不正な通知は Unknown として扱うこと")
+    void shouldTreatMalformedAsUnknown() {
+        assertThat(MasterDataChange.parse("row:items:not-a-uuid")).isInstanceOf(MasterDataChange.Unknown.class);
+        assertThat(MasterDataChange.parse("row:users:" + UUID.randomUUID())).isInstanceOf(MasterDataChange.Unknown.class);
+        assertThat(MasterDataChange.parse("version:abc:INSERT")).isInstanceOf(MasterDataChange.Unknown.class);
+        assertThat(MasterDataChange.parse(null)).isInstanceOf(MasterDataChange.Unknown.class);
+    }
+}
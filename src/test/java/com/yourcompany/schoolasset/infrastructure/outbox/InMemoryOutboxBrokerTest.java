@@ -0,0 +1,52 @@
+package com.yourcompany.schoolasset.infrastructure.outbox;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryOutboxBrokerTest {
+
+    private OutboxMessage message(long id, UUID userId) {
+        return new OutboxMessage(id, UUID.randomUUID().toString(), userId, DrawEventPayload.EVENT_TYPE,
+                "{}", 0, Instant.now());
+    }
+
+    @Test
+    @DisplayName("正常系: 同一ユーザーのメッセージは同じパーティションに配信順のまま入る")
+    void testPerUserOrdering() throws InterruptedException {
+        InMemoryOutboxBroker broker = new InMemoryOutboxBroker(4);
+        UUID alice = UUID.randomUUID();
+        UUID bob = UUID.randomUUID();
+
+        broker.publish(List.of(message(1, alice), message(2, bob), message(3, alice)));
+        broker.publish(List.of(message(4, alice)));
+
+        List<Long> aliceIds = new ArrayList<>();
+        for (OutboxMessage m : broker.poll(broker.partitionOf(alice), 100, 0, TimeUnit.MILLISECONDS)) {
+            if (m.userId().equals(alice)) {
+                aliceIds.add(m.id());
+            }
+        }
+        assertThat(aliceIds).containsExactly(1L, 3L, 4L);
+    }
+
+    @Test
+    @DisplayName("正常系: 取り出した分だけブローカーから消える")
+    void testPoll() throws InterruptedException {
+        InMemoryOutboxBroker broker = new InMemoryOutboxBroker(1);
+        UUID userId = UUID.randomUUID();
+        broker.publish(List.of(message(1, userId), message(2, userId), message(3, userId)));
+
+        List<OutboxMessage> first = broker.poll(0, 2, 0, TimeUnit.MILLISECONDS);
+
+        assertThat(first).extracting(OutboxMessage::id).containsExactly(1L, 2L);
+        assertThat(broker.size()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,46 @@
+package com.yourcompany.schoolasset.infrastructure.outbox;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OutboxRetryPolicyTest {
+
+    private final OutboxRetryPolicy policy = new OutboxRetryPolicy(Duration.ofSeconds(1), Duration.ofMinutes(5), 5);
+
+    @Test
+    @DisplayName("正常系: 待ち時間は失敗ごとに倍になり、上限で頭打ちになる")
+    void testExponentialBackoff() {
+        assertThat(policy.delayFor(0)).isEqualTo(Duration.ofSeconds(1));
+        assertThat(policy.delayFor(1)).isEqualTo(Duration.ofSeconds(2));
+        assertThat(policy.delayFor(4)).isEqualTo(Duration.ofSeconds(16));
+        assertThat(policy.delayFor(9)).isEqualTo(Duration.ofMinutes(5));
+        assertThat(policy.delayFor(1_000)).isEqualTo(Duration.ofMinutes(5));
+
+        Instant failedAt = Instant.parse("2026-01-01T00:00:00Z");
+        assertThat(policy.nextAttemptAt(2, failedAt)).isEqualTo(failedAt.plusSeconds(4));
+    }
+
+    @Test
+    @DisplayName("正常系: 今回の失敗で試行回数の上限に達したものだけがデッドレターになる")
+    void testExhausted() {
+        assertThat(policy.exhausted(0)).isFalse();
+        assertThat(policy.exhausted(3)).isFalse();
+        assertThat(policy.exhausted(4)).isTrue();
+        assertThat(policy.exhausted(10)).isTrue();
+    }
+
+    @Test
+    @DisplayName("異常系: 上限が初回より短い設定は拒否する")
+    void testInvalidPolicy() {
+        assertThatThrownBy(() -> new OutboxRetryPolicy(Duration.ofMinutes(1), Duration.ofSeconds(1), 5))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new OutboxRetryPolicy(Duration.ofSeconds(1), Duration.ofMinutes(1), 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,95 @@
+package com.yourcompany.schoolasset.infrastructure.persistence.repository;
+
+import com.yourcompany.domain.model.gacha.GachaState;
+import com.yourcompany.domain.model.inventory.InventoryItem;
+import com.yourcompany.domain.model.wallet.Wallet;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DrawContextTest {
+
+    private final UUID userId = UUID.randomUUID();
+    private final UUID poolId = UUID.randomUUID();
+    private final UUID ownedItem = UUID.randomUUID();
+    private final UUID newItem = UUID.randomUUID();
+
+    private DrawContext context(DrawContext.StateRow state) {
+        return new DrawContext(userId, poolId,
+                new DrawContext.WalletRow(1000, 200, 4L),
+                state,
+                Map.of(ownedItem, new DrawContext.InventoryRow(3, 9L)));
+    }
+
+    @Test
+    @DisplayName("ロック時点の残高と version でウォレットを復元できること")
+    void shouldRestoreWallet() {
+        Wallet wallet = context(null).restoreWallet();
+
+        assertThat(wallet.getUserId()).isEqualTo(userId);
+        assertThat(wallet.getPaidStones()).isEqualTo(1000);
+        assertThat(wallet.getFreeStones()).isEqualTo(200);
+        assertThat(wallet.getVersion()).isEqualTo(4L);
+    }
+
+    @Nested
+    @DisplayName("ガチャ状態の復元")
+    class StateTest {
+
+        @Test
+        @DisplayName("行がある場合は天井カウントと version を引き継ぐこと")
+        void shouldRestoreExistingState() {
+            DrawContext context = context(new DrawContext.StateRow(42, 1, 7L));
+
+            GachaState state = context.restoreState();
+
+            assertThat(state.getCurrentPityCount()).isEqualTo(42);
+            assertThat(state.getCurrentGuaranteedCount()).isEqualTo(1);
+            assertThat(context.stateVersion()).isEqualTo(7L);
+        }
+
+        @Test
+        @DisplayName("行がない場合は初期状態となり、新規行用の version を返すこと")
+        void shouldCreateInitialState() {
+            DrawContext context = context(null);
+
+            GachaState state = context.restoreState();
+
+            assertThat(state.getCurrentPityCount()).isZero();
+            assertThat(state.getGachaPoolId()).isEqualTo(poolId);
+            assertThat(context.stateVersion()).isEqualTo(GachaStateJdbcRepository.NEW_STATE_VERSION);
+        }
+    }
+
+    @Nested
+    @DisplayName("所持レコードの復元")
+    class InventoryTest {
+
+        @Test
+        @DisplayName("所持済みのアイテムは所持数と version を引き継ぐこと")
+        void shouldRestoreOwnedItem() {
+            DrawContext context = context(null);
+
+            InventoryItem item = context.restoreInventory(ownedItem);
+
+            assertThat(item.getQuantity()).isEqualTo(3);
+            assertThat(context.inventoryVersion(ownedItem)).isEqualTo(9L);
+        }
+
+        @Test
+        @DisplayName("未所持のアイテムは所持数0で作成され、新規行用の version を返すこと")
+        void shouldCreateNewItem() {
+            DrawContext context = context(null);
+
+            InventoryItem item = context.restoreInventory(newItem);
+
+            assertThat(item.getQuantity()).isZero();
+            assertThat(context.inventoryVersion(newItem)).isEqualTo(DrawContext.NEW_ROW_VERSION);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.yourcompany.security.ratelimit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TokenBucketTest {
+
+    @Test
+    @DisplayName("正常系: 容量分は即座に許可され、超えると待ち時間が返る")
+    void testBurst() {
+        TokenBucket bucket = new TokenBucket(3, 1.0, 0);
+
+        assertThat(bucket.tryAcquire(0)).isZero();
+        assertThat(bucket.tryAcquire(0)).isZero();
+        assertThat(bucket.tryAcquire(0)).isZero();
+        assertThat(bucket.tryAcquire(0)).isEqualTo(1000);
+    }
+
+    @Test
+    @DisplayName("正常系: 経過時間に応じて補充され、容量を超えては貯まらない")
+    void testRefill() {
+        TokenBucket bucket = new TokenBucket(2, 2.0, 0);
+        bucket.tryAcquire(0);
+        bucket.tryAcquire(0);
+
+        assertThat(bucket.tryAcquire(250)).isEqualTo(250); // 0.5 トークンしか貯まっていない
+        assertThat(bucket.tryAcquire(500)).isZero();
+
+        // 長時間放置しても容量 (2) までしか貯まらない
+        assertThat(bucket.tryAcquire(60_000)).isZero();
+        assertThat(bucket.tryAcquire(60_000)).isZero();
+        assertThat(bucket.tryAcquire(60_000)).isPositive();
+    }
+
+    @Test
+    @DisplayName("正常系: 小刻みなアクセスでも補充の端数が失われない")
+    void testFractionalRefill() {
+        TokenBucket bucket = new TokenBucket(1, 0.2, 0); // 5秒に1回
+        bucket.tryAcquire(0);
+
+        for (long t = 1; t < 5_000; t += 1) {
+            assertThat(bucket.tryAcquire(t)).isPositive();
+        }
+        assertThat(bucket.tryAcquire(5_000)).isZero();
+    }
+
+    @Test
+    @DisplayName("正常系: 同時アクセスでも容量を超えて許可しない")
+    void testConcurrent() throws InterruptedException {
+        TokenBucket bucket = new TokenBucket(1000, 0.001, 0);
+        AtomicInteger allowed = new AtomicInteger();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            threads.add(Thread.ofPlatform().start(() -> {
+                for (int j = 0; j < 500; j++) {
+                    if (bucket.tryAcquire(0) == 0) {
+                        allowed.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertThat(allowed.get()).isEqualTo(1000);
+    }
+
+    @Test
+    @DisplayName("異常系: 表現できない容量はエラー")
+    void testInvalidCapacity() {
+        assertThatThrownBy(() -> new TokenBucket(TokenBucket.MAX_CAPACITY + 1, 1.0, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,110 @@
+package com.yourcompany.web.limit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimitTest {
+
+    private static final long MILLIS = 1_000_000L;
+
+    private AdaptiveConcurrencyLimit newLimit() {
+        return new AdaptiveConcurrencyLimit(20, 4, 200, 1.5, 0.9, 0.2);
+    }
+
+    @Nested
+    class GradientTest {
+        @Test
+        @DisplayName("正常系: レイテンシが安定して上限まで使われている間は上限が広がる")
+        void testGrowWhenHealthy() {
+            AdaptiveConcurrencyLimit limit = newLimit();
+
+            for (int i = 0; i < 200; i++) {
+                limit.onSample(10 * MILLIS, limit.getLimit(), false);
+            }
+
+            assertThat(limit.getLimit()).isGreaterThan(20);
+        }
+
+        @Test
+        @DisplayName("正常系: 上限を使い切っていない間は広げない")
+        void testNoGrowWhenAppLimited() {
+            AdaptiveConcurrencyLimit limit = newLimit();
+
+            for (int i = 0; i < 200; i++) {
+                limit.onSample(10 * MILLIS, 2, false);
+            }
+
+            assertThat(limit.getLimit()).isEqualTo(20);
+        }
+
+        @Test
+        @DisplayName("正常系: レイテンシが基準より大きく悪化すると上限が下がる")
+        void testShrinkOnLatency() {
+            AdaptiveConcurrencyLimit limit = newLimit();
+            for (int i = 0; i < 600; i++) {
+                limit.onSample(10 * MILLIS, limit.getLimit(), false);
+            }
+            int healthy = limit.getLimit();
+
+            for (int i = 0; i < 50; i++) {
+                limit.onSample(100 * MILLIS, limit.getLimit(), false);
+            }
+
+            assertThat(limit.getLimit()).isLessThan(healthy);
+        }
+
+        @Test
+        @DisplayName("正常系: drop は乗算的に下げ、下限は守る")
+        void testBackoff() {
+            AdaptiveConcurrencyLimit limit = newLimit();
+
+            limit.onSample(10 * MILLIS, 20, true);
+            assertThat(limit.getLimit()).isEqualTo(18);
+
+            for (int i = 0; i < 100; i++) {
+                limit.onSample(10 * MILLIS, 20, true);
+            }
+            assertThat(limit.getLimit()).isEqualTo(4);
+        }
+    }
+
+    @Nested
+    class PriorityTest {
+        @Test
+        @DisplayName("正常系: 抽選は上限の一部までに抑えられ、残りは参照系が使える")
+        void testDrawShare() {
+            ConcurrencyLimiter limiter = new ConcurrencyLimiter(10, 4, 100, 0.8, 2000, new SimpleMeterRegistry());
+
+            int draws = 0;
+            while (limiter.tryAcquire(ConcurrencyLimiter.Priority.DRAW) != null) {
+                draws++;
+            }
+            int reads = 0;
+            while (limiter.tryAcquire(ConcurrencyLimiter.Priority.READ) != null) {
+                reads++;
+            }
+
+            assertThat(draws).isEqualTo(8);
+            assertThat(reads).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("正常系: 完了すると枠が空く")
+        void testRelease() {
+            ConcurrencyLimiter limiter = new ConcurrencyLimiter(4, 4, 100, 1.0, 2000, new SimpleMeterRegistry());
+            ConcurrencyLimiter.Permit permit = null;
+            for (int i = 0; i < 4; i++) {
+                permit = limiter.tryAcquire(ConcurrencyLimiter.Priority.DRAW);
+            }
+            assertThat(limiter.tryAcquire(ConcurrencyLimiter.Priority.DRAW)).isNull();
+
+            permit.onIgnore();
+
+            assertThat(limiter.tryAcquire(ConcurrencyLimiter.Priority.DRAW)).isNotNull();
+        }
+    }
+}